@@ -20,13 +20,17 @@ import net.ibbaa.keepitup.db.AccessTypeDataDAOTest;
 import net.ibbaa.keepitup.db.AccessTypeDataDBConstantsTest;
 import net.ibbaa.keepitup.db.DBMigrateTest;
 import net.ibbaa.keepitup.db.DBSetupTest;
+import net.ibbaa.keepitup.db.DownloadValidatorDAOTest;
 import net.ibbaa.keepitup.db.HeaderDBConstantsTest;
 import net.ibbaa.keepitup.db.IntervalDAOTest;
 import net.ibbaa.keepitup.db.IntervalDBConstantsTest;
 import net.ibbaa.keepitup.db.LogDAOTest;
 import net.ibbaa.keepitup.db.LogDBConstantsTest;
+import net.ibbaa.keepitup.db.LogRetentionTest;
+import net.ibbaa.keepitup.db.NetworkTaskCounterRegistryTest;
 import net.ibbaa.keepitup.db.NetworkTaskDAOTest;
 import net.ibbaa.keepitup.db.NetworkTaskDBConstantsTest;
+import net.ibbaa.keepitup.db.NetworkTaskSnapshotCacheTest;
 import net.ibbaa.keepitup.db.ResolveDAOTest;
 import net.ibbaa.keepitup.db.ResolveDBConstantsTest;
 import net.ibbaa.keepitup.db.SchedulerIdGeneratorTest;
@@ -66,12 +70,18 @@ import net.ibbaa.keepitup.resources.encryption.JSONEncryptSetupTest;
 import net.ibbaa.keepitup.resources.encryption.MainKeyAccessTest;
 import net.ibbaa.keepitup.service.ConnectNetworkTaskWorkerTest;
 import net.ibbaa.keepitup.service.DownloadNetworkTaskWorkerTest;
+import net.ibbaa.keepitup.service.NetworkTaskCancellationRegistryTest;
+import net.ibbaa.keepitup.service.NetworkTaskDueQueueTest;
+import net.ibbaa.keepitup.service.NetworkTaskExecutionEngineTest;
+import net.ibbaa.keepitup.service.NetworkTaskExecutionStatisticsTest;
 import net.ibbaa.keepitup.service.NetworkTaskProcessBroadcastReceiverTest;
 import net.ibbaa.keepitup.service.NetworkTaskProcessPoolTest;
 import net.ibbaa.keepitup.service.NetworkTaskProcessServiceSchedulerTest;
 import net.ibbaa.keepitup.service.NetworkTaskRunningNotificationServiceTest;
+import net.ibbaa.keepitup.service.NetworkTaskStartupPlannerTest;
 import net.ibbaa.keepitup.service.NetworkTaskWorkerTest;
 import net.ibbaa.keepitup.service.NullNetworkTaskWorkerTest;
+import net.ibbaa.keepitup.service.ParallelAddressProbeTest;
 import net.ibbaa.keepitup.service.PingNetworkTaskWorkerTest;
 import net.ibbaa.keepitup.service.SystemDocumentManagerTest;
 import net.ibbaa.keepitup.service.SystemFileManagerTest;
@@ -82,7 +92,14 @@ import net.ibbaa.keepitup.service.alarm.AlarmServiceMockTest;
 import net.ibbaa.keepitup.service.alarm.AlarmServiceTest;
 import net.ibbaa.keepitup.service.alarm.SystemAlarmMediaPlayerTest;
 import net.ibbaa.keepitup.service.network.ConnectCommandTest;
+import net.ibbaa.keepitup.service.network.ConnectSelectorTest;
+import net.ibbaa.keepitup.service.network.DNSCacheTest;
+import net.ibbaa.keepitup.service.network.DNSStubResolverTest;
 import net.ibbaa.keepitup.service.network.DownloadCommandTest;
+import net.ibbaa.keepitup.service.network.DownloadDigestTest;
+import net.ibbaa.keepitup.service.network.DownloadPhaseListenerTest;
+import net.ibbaa.keepitup.service.network.HTTPClientRegistryTest;
+import net.ibbaa.keepitup.service.network.ICMPPingCommandTest;
 import net.ibbaa.keepitup.service.network.PingCommandTest;
 import net.ibbaa.keepitup.service.network.PingOutputParserTest;
 import net.ibbaa.keepitup.ui.adapter.NetworkTaskUIWrapperTest;
@@ -90,6 +107,7 @@ import net.ibbaa.keepitup.ui.clipboard.SystemClipboardManagerTest;
 import net.ibbaa.keepitup.ui.mapping.EnumMappingTest;
 import net.ibbaa.keepitup.ui.sync.DBPurgeTaskTest;
 import net.ibbaa.keepitup.ui.sync.DBSyncHandlerTest;
+import net.ibbaa.keepitup.ui.sync.ExecutionStatisticsExportTaskTest;
 import net.ibbaa.keepitup.ui.sync.ExportTaskTest;
 import net.ibbaa.keepitup.ui.sync.HeaderBulkDeleteTaskTest;
 import net.ibbaa.keepitup.ui.sync.HeaderSyncHandlerTest;
@@ -105,6 +123,7 @@ import net.ibbaa.keepitup.ui.validation.BasicAuthPasswordFieldValidatorTest;
 import net.ibbaa.keepitup.ui.validation.BasicAuthUsernameFieldValidatorTest;
 import net.ibbaa.keepitup.ui.validation.ConnectCountFieldValidatorTest;
 import net.ibbaa.keepitup.ui.validation.CredentialInfoTest;
+import net.ibbaa.keepitup.ui.validation.ExpectedDigestFieldValidatorTest;
 import net.ibbaa.keepitup.ui.validation.FilenameFieldValidatorTest;
 import net.ibbaa.keepitup.ui.validation.HeaderNameExistsFieldValidatorTest;
 import net.ibbaa.keepitup.ui.validation.HeaderNameFieldValidatorTest;
@@ -135,6 +154,7 @@ import net.ibbaa.keepitup.ui.validation.URLFieldValidatorTest;
 import net.ibbaa.keepitup.ui.validation.URLValidatorTest;
 import net.ibbaa.keepitup.ui.validation.ValidationResultTest;
 import net.ibbaa.keepitup.util.BundleUtilTest;
+import net.ibbaa.keepitup.util.CRC32CChecksumTest;
 import net.ibbaa.keepitup.util.CollectionUtilTest;
 import net.ibbaa.keepitup.util.DebugUtilTest;
 import net.ibbaa.keepitup.util.ExceptionUtilTest;
@@ -160,13 +180,17 @@ import org.junit.runners.Suite;
         AccessTypeDataDBConstantsTest.class,
         DBMigrateTest.class,
         DBSetupTest.class,
+        DownloadValidatorDAOTest.class,
         HeaderDBConstantsTest.class,
         IntervalDAOTest.class,
         IntervalDBConstantsTest.class,
         LogDAOTest.class,
         LogDBConstantsTest.class,
+        LogRetentionTest.class,
+        NetworkTaskCounterRegistryTest.class,
         NetworkTaskDAOTest.class,
         NetworkTaskDBConstantsTest.class,
+        NetworkTaskSnapshotCacheTest.class,
         ResolveDAOTest.class,
         ResolveDBConstantsTest.class,
         SchedulerIdGeneratorTest.class,
@@ -213,12 +237,18 @@ import org.junit.runners.Suite;
         //net.ibbaa.keepitup.service
         ConnectNetworkTaskWorkerTest.class,
         DownloadNetworkTaskWorkerTest.class,
+        NetworkTaskCancellationRegistryTest.class,
+        NetworkTaskDueQueueTest.class,
+        NetworkTaskExecutionEngineTest.class,
+        NetworkTaskExecutionStatisticsTest.class,
         NetworkTaskProcessBroadcastReceiverTest.class,
         NetworkTaskProcessPoolTest.class,
         NetworkTaskProcessServiceSchedulerTest.class,
         NetworkTaskRunningNotificationServiceTest.class,
+        NetworkTaskStartupPlannerTest.class,
         NetworkTaskWorkerTest.class,
         NullNetworkTaskWorkerTest.class,
+        ParallelAddressProbeTest.class,
         PingNetworkTaskWorkerTest.class,
         SystemDocumentManagerTest.class,
         SystemFileManagerTest.class,
@@ -231,7 +261,14 @@ import org.junit.runners.Suite;
         SystemAlarmMediaPlayerTest.class,
         //net.ibbaa.keepitup.service.network
         ConnectCommandTest.class,
+        ConnectSelectorTest.class,
+        DNSCacheTest.class,
+        DNSStubResolverTest.class,
         DownloadCommandTest.class,
+        DownloadDigestTest.class,
+        DownloadPhaseListenerTest.class,
+        HTTPClientRegistryTest.class,
+        ICMPPingCommandTest.class,
         PingCommandTest.class,
         PingOutputParserTest.class,
         //net.ibbaa.keepitup.ui.adaper
@@ -243,6 +280,7 @@ import org.junit.runners.Suite;
         //net.ibbaa.keepitup.ui.sync
         DBPurgeTaskTest.class,
         DBSyncHandlerTest.class,
+        ExecutionStatisticsExportTaskTest.class,
         ExportTaskTest.class,
         HeaderBulkDeleteTaskTest.class,
         HeaderSyncHandlerTest.class,
@@ -259,6 +297,7 @@ import org.junit.runners.Suite;
         BasicAuthUsernameFieldValidatorTest.class,
         ConnectCountFieldValidatorTest.class,
         CredentialInfoTest.class,
+        ExpectedDigestFieldValidatorTest.class,
         FilenameFieldValidatorTest.class,
         HeaderNameExistsFieldValidatorTest.class,
         HeaderNameFieldValidatorTest.class,
@@ -290,6 +329,7 @@ import org.junit.runners.Suite;
         ValidationResultTest.class,
         //net.ibbaa.keepitup.util
         BundleUtilTest.class,
+        CRC32CChecksumTest.class,
         CollectionUtilTest.class,
         DebugUtilTest.class,
         ExceptionUtilTest.class,
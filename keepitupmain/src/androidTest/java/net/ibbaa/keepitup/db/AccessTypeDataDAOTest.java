@@ -28,6 +28,7 @@ import net.ibbaa.keepitup.logging.Dump;
 import net.ibbaa.keepitup.model.AccessType;
 import net.ibbaa.keepitup.model.AccessTypeData;
 import net.ibbaa.keepitup.model.NetworkTask;
+import net.ibbaa.keepitup.model.ProbeMode;
 import net.ibbaa.keepitup.test.mock.TestRegistry;
 
 import org.junit.After;
@@ -125,16 +126,22 @@ public class AccessTypeDataDAOTest {
         readData2.setStopOnSuccess(false);
         readData2.setIgnoreSSLError(false);
         readData2.setUseDefaultHeaders(true);
+        readData2.setProbeMode(ProbeMode.STATUS);
+        readData2.setExpectedDigest("e3069283");
         accessTypeDataDAO.updateAccessTypeData(readData2);
         readData2 = accessTypeDataDAO.readAccessTypeDataForNetworkTask(1);
         assertEquals(9, readData2.getPingCount());
         assertFalse(readData2.isStopOnSuccess());
         assertFalse(readData2.isIgnoreSSLError());
         assertTrue(readData2.isUseDefaultHeaders());
+        assertEquals(ProbeMode.STATUS, readData2.getProbeMode());
+        assertEquals("e3069283", readData2.getExpectedDigest());
         readData2.setPingCount(data2.getPingCount());
         readData2.setStopOnSuccess(data2.isStopOnSuccess());
         readData2.setIgnoreSSLError(data2.isIgnoreSSLError());
         readData2.setUseDefaultHeaders(data2.isUseDefaultHeaders());
+        readData2.setProbeMode(data2.getProbeMode());
+        readData2.setExpectedDigest(data2.getExpectedDigest());
         assertTrue(data2.isEqual(readData2));
         readData1.setPingPackageSize(12);
         readData1.setConnectCount(1);
@@ -219,6 +226,8 @@ public class AccessTypeDataDAOTest {
         data.setStopOnSuccess(true);
         data.setIgnoreSSLError(true);
         data.setUseDefaultHeaders(false);
+        data.setProbeMode(ProbeMode.RANGE);
+        data.setExpectedDigest("sha256:ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
         return data;
     }
 
@@ -43,6 +43,8 @@ public class AccessTypeDataDBConstantsTest {
         assertEquals(getResourceString(R.string.accesstypedata_stoponsuccess_column_name), dbConstants.getStopOnSuccessColumnName());
         assertEquals(getResourceString(R.string.accesstypedata_ignoresslerror_column_name), dbConstants.getIgnoreSSLErrorColumnName());
         assertEquals(getResourceString(R.string.accesstypedata_usedefaultheaders_column_name), dbConstants.getUseDefaultHeadersColumnName());
+        assertEquals(getResourceString(R.string.accesstypedata_probemode_column_name), dbConstants.getProbeModeColumnName());
+        assertEquals(getResourceString(R.string.accesstypedata_expecteddigest_column_name), dbConstants.getExpectedDigestColumnName());
     }
 
     private String getResourceString(int id) {
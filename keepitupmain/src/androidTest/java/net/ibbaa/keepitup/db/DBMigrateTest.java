@@ -17,6 +17,7 @@
 package net.ibbaa.keepitup.db;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -28,12 +29,16 @@ import androidx.test.filters.MediumTest;
 import net.ibbaa.keepitup.logging.Dump;
 import net.ibbaa.keepitup.model.AccessType;
 import net.ibbaa.keepitup.model.AccessTypeData;
+import net.ibbaa.keepitup.model.DownloadValidator;
 import net.ibbaa.keepitup.model.Header;
 import net.ibbaa.keepitup.model.Interval;
+import net.ibbaa.keepitup.model.LogEntry;
 import net.ibbaa.keepitup.model.NetworkTask;
+import net.ibbaa.keepitup.model.ProbeMode;
 import net.ibbaa.keepitup.model.Resolve;
 import net.ibbaa.keepitup.resources.PreferenceManager;
 import net.ibbaa.keepitup.test.mock.TestRegistry;
+import net.ibbaa.keepitup.test.mock.TestUtil;
 
 import org.junit.After;
 import org.junit.Before;
@@ -54,6 +59,7 @@ public class DBMigrateTest {
     private AccessTypeDataDAO accessTypeDataDAO;
     private ResolveDAO resolveDAO;
     private HeaderDAO headerDAO;
+    private LogDAO logDAO;
     private PreferenceManager preferenceManager;
 
     @Before
@@ -67,6 +73,7 @@ public class DBMigrateTest {
         accessTypeDataDAO = new AccessTypeDataDAO(TestRegistry.getContext());
         resolveDAO = new ResolveDAO(TestRegistry.getContext());
         headerDAO = new HeaderDAO(TestRegistry.getContext());
+        logDAO = new LogDAO(TestRegistry.getContext());
         preferenceManager = new PreferenceManager(TestRegistry.getContext());
         preferenceManager.removeAllPreferences();
         setup.dropTables();
@@ -280,6 +287,134 @@ public class DBMigrateTest {
         assertEquals(1, headerDAO.readAllHeaders().size());
     }
 
+    @Test
+    public void testUpgradeFrom7To8() {
+        setup.createTables();
+        setup.dropLogTable();
+        LogDBConstants logDBConstants = new LogDBConstants(TestRegistry.getContext());
+        DBOpenHelper.getInstance(TestRegistry.getContext()).getWritableDatabase().execSQL(logDBConstants.getCreateTableStatementWithoutPhaseTimes());
+        migrate.doUpgrade(TestRegistry.getContext(), 7, 8);
+        LogEntry logEntry = getLogEntry();
+        logDAO.insertAndDeleteLog(logEntry);
+        List<LogEntry> logEntries = logDAO.readAllLogs();
+        assertEquals(1, logEntries.size());
+        assertTrue(logEntry.isTechnicallyEqual(logEntries.get(0)));
+    }
+
+    @Test
+    public void testUpgradeFrom7To8ExistingPhaseTimeColumn() {
+        setup.createTables();
+        setup.dropLogTable();
+        LogDBConstants logDBConstants = new LogDBConstants(TestRegistry.getContext());
+        DBOpenHelper.getInstance(TestRegistry.getContext()).getWritableDatabase().execSQL(logDBConstants.getCreateTableStatementWithoutPhaseTimes());
+        DBOpenHelper.getInstance(TestRegistry.getContext()).getWritableDatabase().execSQL(logDBConstants.getAddPhaseTimeColumnStatement(logDBConstants.getPhaseTimeColumnNames()[0]));
+        migrate.doUpgrade(TestRegistry.getContext(), 7, 8);
+        LogEntry logEntry = getLogEntry();
+        logDAO.insertAndDeleteLog(logEntry);
+        List<LogEntry> logEntries = logDAO.readAllLogs();
+        assertEquals(1, logEntries.size());
+        assertTrue(logEntry.isTechnicallyEqual(logEntries.get(0)));
+    }
+
+    @Test(expected = SQLiteException.class)
+    public void testDowngradeFrom8To7() {
+        setup.createTables();
+        migrate.doDowngrade(TestRegistry.getContext(), 8, 7);
+        logDAO.insertAndDeleteLog(getLogEntry());
+        logDAO.readAllLogs();
+    }
+
+    @Test
+    public void testUpgradeFrom8To9() {
+        setup.createTables();
+        setup.dropAccessTypeDataTable();
+        AccessTypeDataDBConstants accessTypeDataDBConstants = new AccessTypeDataDBConstants(TestRegistry.getContext());
+        DBOpenHelper.getInstance(TestRegistry.getContext()).getWritableDatabase().execSQL(accessTypeDataDBConstants.getCreateTableStatementWithoutProbeMode());
+        migrate.doUpgrade(TestRegistry.getContext(), 8, 9);
+        AccessTypeData data = new AccessTypeData();
+        data.setProbeMode(ProbeMode.RANGE);
+        accessTypeDataDAO.insertAccessTypeData(data);
+        List<AccessTypeData> accessTypeData = accessTypeDataDAO.readAllAccessTypeData();
+        assertEquals(1, accessTypeData.size());
+        assertTrue(data.isTechnicallyEqual(accessTypeData.get(0)));
+    }
+
+    @Test(expected = SQLiteException.class)
+    public void testDowngradeFrom9To8() {
+        setup.createTables();
+        migrate.doDowngrade(TestRegistry.getContext(), 9, 8);
+        accessTypeDataDAO.insertAccessTypeData(new AccessTypeData());
+        accessTypeDataDAO.readAllAccessTypeData();
+    }
+
+    @Test
+    public void testUpgradeFrom9To10() {
+        setup.createTables();
+        setup.dropDownloadValidatorTable();
+        migrate.doUpgrade(TestRegistry.getContext(), 9, 10);
+        DownloadValidatorDAO downloadValidatorDAO = new DownloadValidatorDAO(TestRegistry.getContext());
+        DownloadValidator downloadValidator = new DownloadValidator(1);
+        downloadValidator.setUrl("http://test.com");
+        downloadValidator.setETag("\"abc\"");
+        downloadValidatorDAO.insertOrReplaceDownloadValidator(downloadValidator);
+        List<DownloadValidator> downloadValidators = downloadValidatorDAO.readAllDownloadValidators();
+        assertEquals(1, downloadValidators.size());
+        assertTrue(downloadValidator.isTechnicallyEqual(downloadValidators.get(0)));
+    }
+
+    @Test(expected = SQLiteException.class)
+    public void testDowngradeFrom10To9() {
+        setup.createTables();
+        migrate.doDowngrade(TestRegistry.getContext(), 10, 9);
+        new DownloadValidatorDAO(TestRegistry.getContext()).readAllDownloadValidators();
+    }
+
+    @Test
+    public void testUpgradeFrom10To11() {
+        setup.createTables();
+        setup.dropAccessTypeDataTable();
+        AccessTypeDataDBConstants accessTypeDataDBConstants = new AccessTypeDataDBConstants(TestRegistry.getContext());
+        DBOpenHelper.getInstance(TestRegistry.getContext()).getWritableDatabase().execSQL(accessTypeDataDBConstants.getCreateTableStatementWithoutExpectedDigest());
+        migrate.doUpgrade(TestRegistry.getContext(), 10, 11);
+        AccessTypeData data = new AccessTypeData();
+        data.setExpectedDigest("crc32c:e3069283");
+        accessTypeDataDAO.insertAccessTypeData(data);
+        List<AccessTypeData> accessTypeData = accessTypeDataDAO.readAllAccessTypeData();
+        assertEquals(1, accessTypeData.size());
+        assertTrue(data.isTechnicallyEqual(accessTypeData.get(0)));
+    }
+
+    @Test(expected = SQLiteException.class)
+    public void testDowngradeFrom11To10() {
+        setup.createTables();
+        migrate.doDowngrade(TestRegistry.getContext(), 11, 10);
+        accessTypeDataDAO.insertAccessTypeData(new AccessTypeData());
+        accessTypeDataDAO.readAllAccessTypeData();
+    }
+
+    @Test
+    public void testUpgradeFrom11To12() {
+        String indexName = new LogDBConstants(TestRegistry.getContext()).getNetworkTaskIdTimestampIndexName();
+        setup.createTables();
+        setup.dropLogIndex();
+        assertFalse(TestUtil.hasIndex(indexName));
+        migrate.doUpgrade(TestRegistry.getContext(), 11, 12);
+        assertTrue(TestUtil.hasIndex(indexName));
+        logDAO.insertAndDeleteLog(getLogEntry());
+        assertEquals(1, logDAO.readAllLogs().size());
+    }
+
+    @Test
+    public void testDowngradeFrom12To11() {
+        String indexName = new LogDBConstants(TestRegistry.getContext()).getNetworkTaskIdTimestampIndexName();
+        setup.createTables();
+        assertTrue(TestUtil.hasIndex(indexName));
+        migrate.doDowngrade(TestRegistry.getContext(), 12, 11);
+        assertFalse(TestUtil.hasIndex(indexName));
+        logDAO.insertAndDeleteLog(getLogEntry());
+        assertEquals(1, logDAO.readAllLogs().size());
+    }
+
     @Test(expected = SQLiteException.class)
     public void testDowngradeFrom6To5ResolveTable() {
         setup.createTables();
@@ -308,6 +443,7 @@ public class DBMigrateTest {
         NetworkTaskDBConstants networkTaskDBConstants = new NetworkTaskDBConstants(TestRegistry.getContext());
         DBOpenHelper.getInstance(TestRegistry.getContext()).getWritableDatabase().execSQL(networkTaskDBConstants.getCreateTableStatementWithoutAddedColumns());
         migrate.doUpgrade(TestRegistry.getContext(), 0, 6);
+        setup.addProbeModeColumnToAccessTypeDataTable();
         NetworkTask task1 = networkTaskDAO.insertNetworkTask(getNetworkTask1());
         AccessTypeData data = new AccessTypeData();
         data.setNetworkTaskId(task1.getId());
@@ -346,6 +482,49 @@ public class DBMigrateTest {
         HeaderDBConstants headerDBConstants = new HeaderDBConstants(TestRegistry.getContext());
         DBOpenHelper.getInstance(TestRegistry.getContext()).getWritableDatabase().execSQL(headerDBConstants.getCreateTableStatementWithoutHeaderTypeAndValueIV());
         migrate.doUpgrade(TestRegistry.getContext(), 0, 7);
+        setup.addProbeModeColumnToAccessTypeDataTable();
+        NetworkTask task1 = networkTaskDAO.insertNetworkTask(getNetworkTask1());
+        AccessTypeData data = new AccessTypeData();
+        data.setNetworkTaskId(task1.getId());
+        accessTypeDataDAO.insertAccessTypeData(data);
+        Resolve resolve = new Resolve();
+        resolve.setNetworkTaskId(task1.getId());
+        resolveDAO.insertResolve(resolve);
+        Header header = new Header();
+        header.setNetworkTaskId(task1.getId());
+        headerDAO.insertHeader(header);
+        intervalDAO.insertInterval(new Interval());
+        List<Interval> intervals = intervalDAO.readAllIntervals();
+        assertEquals(1, intervals.size());
+        assertNotNull(schedulerStateDAO.readSchedulerState());
+        AccessTypeData data1 = accessTypeDataDAO.readAccessTypeDataForNetworkTask(task1.getId());
+        assertTrue(data.isTechnicallyEqual(data1));
+        Resolve resolve1 = resolveDAO.readResolveForNetworkTask(task1.getId());
+        assertTrue(resolve.isTechnicallyEqual(resolve1));
+        Header header1 = headerDAO.readHeadersForNetworkTask(task1.getId()).get(0);
+        assertTrue(header.isTechnicallyEqual(header1));
+    }
+
+    @Test
+    @SuppressWarnings({"SequencedCollectionMethodCanBeUsed"})
+    public void testUpgradeFrom0To8() {
+        setup.createTables();
+        setup.dropIntervalTable();
+        setup.dropNetworkTaskTable();
+        setup.dropAccessTypeDataTable();
+        setup.dropResolveTable();
+        setup.dropHeaderTable();
+        setup.dropLogTable();
+        AccessTypeDataDBConstants accessTypeDataDBConstants = new AccessTypeDataDBConstants(TestRegistry.getContext());
+        DBOpenHelper.getInstance(TestRegistry.getContext()).getWritableDatabase().execSQL(accessTypeDataDBConstants.getCreateTableStatementWithoutAddedColumns());
+        NetworkTaskDBConstants networkTaskDBConstants = new NetworkTaskDBConstants(TestRegistry.getContext());
+        DBOpenHelper.getInstance(TestRegistry.getContext()).getWritableDatabase().execSQL(networkTaskDBConstants.getCreateTableStatementWithoutAddedColumns());
+        HeaderDBConstants headerDBConstants = new HeaderDBConstants(TestRegistry.getContext());
+        DBOpenHelper.getInstance(TestRegistry.getContext()).getWritableDatabase().execSQL(headerDBConstants.getCreateTableStatementWithoutHeaderTypeAndValueIV());
+        LogDBConstants logDBConstants = new LogDBConstants(TestRegistry.getContext());
+        DBOpenHelper.getInstance(TestRegistry.getContext()).getWritableDatabase().execSQL(logDBConstants.getCreateTableStatementWithoutPhaseTimes());
+        migrate.doUpgrade(TestRegistry.getContext(), 0, 8);
+        setup.addProbeModeColumnToAccessTypeDataTable();
         NetworkTask task1 = networkTaskDAO.insertNetworkTask(getNetworkTask1());
         AccessTypeData data = new AccessTypeData();
         data.setNetworkTaskId(task1.getId());
@@ -366,6 +545,70 @@ public class DBMigrateTest {
         assertTrue(resolve.isTechnicallyEqual(resolve1));
         Header header1 = headerDAO.readHeadersForNetworkTask(task1.getId()).get(0);
         assertTrue(header.isTechnicallyEqual(header1));
+        LogEntry logEntry = getLogEntry();
+        logEntry.setNetworkTaskId(task1.getId());
+        logDAO.insertAndDeleteLog(logEntry);
+        assertTrue(logEntry.isTechnicallyEqual(logDAO.readMostRecentLogForNetworkTask(task1.getId())));
+    }
+
+    @Test
+    @SuppressWarnings({"SequencedCollectionMethodCanBeUsed"})
+    public void testUpgradeFrom0To9() {
+        setup.createTables();
+        setup.dropIntervalTable();
+        setup.dropNetworkTaskTable();
+        setup.dropAccessTypeDataTable();
+        setup.dropResolveTable();
+        setup.dropHeaderTable();
+        setup.dropLogTable();
+        AccessTypeDataDBConstants accessTypeDataDBConstants = new AccessTypeDataDBConstants(TestRegistry.getContext());
+        DBOpenHelper.getInstance(TestRegistry.getContext()).getWritableDatabase().execSQL(accessTypeDataDBConstants.getCreateTableStatementWithoutAddedColumns());
+        NetworkTaskDBConstants networkTaskDBConstants = new NetworkTaskDBConstants(TestRegistry.getContext());
+        DBOpenHelper.getInstance(TestRegistry.getContext()).getWritableDatabase().execSQL(networkTaskDBConstants.getCreateTableStatementWithoutAddedColumns());
+        HeaderDBConstants headerDBConstants = new HeaderDBConstants(TestRegistry.getContext());
+        DBOpenHelper.getInstance(TestRegistry.getContext()).getWritableDatabase().execSQL(headerDBConstants.getCreateTableStatementWithoutHeaderTypeAndValueIV());
+        LogDBConstants logDBConstants = new LogDBConstants(TestRegistry.getContext());
+        DBOpenHelper.getInstance(TestRegistry.getContext()).getWritableDatabase().execSQL(logDBConstants.getCreateTableStatementWithoutPhaseTimes());
+        migrate.doUpgrade(TestRegistry.getContext(), 0, 9);
+        NetworkTask task1 = networkTaskDAO.insertNetworkTask(getNetworkTask1());
+        AccessTypeData data = new AccessTypeData();
+        data.setNetworkTaskId(task1.getId());
+        data.setProbeMode(ProbeMode.HEAD);
+        accessTypeDataDAO.insertAccessTypeData(data);
+        Resolve resolve = new Resolve();
+        resolve.setNetworkTaskId(task1.getId());
+        resolveDAO.insertResolve(resolve);
+        Header header = new Header();
+        header.setNetworkTaskId(task1.getId());
+        headerDAO.insertHeader(header);
+        intervalDAO.insertInterval(new Interval());
+        List<Interval> intervals = intervalDAO.readAllIntervals();
+        assertEquals(1, intervals.size());
+        assertNotNull(schedulerStateDAO.readSchedulerState());
+        AccessTypeData data1 = accessTypeDataDAO.readAccessTypeDataForNetworkTask(task1.getId());
+        assertTrue(data.isTechnicallyEqual(data1));
+        Resolve resolve1 = resolveDAO.readResolveForNetworkTask(task1.getId());
+        assertTrue(resolve.isTechnicallyEqual(resolve1));
+        Header header1 = headerDAO.readHeadersForNetworkTask(task1.getId()).get(0);
+        assertTrue(header.isTechnicallyEqual(header1));
+        LogEntry logEntry = getLogEntry();
+        logEntry.setNetworkTaskId(task1.getId());
+        logDAO.insertAndDeleteLog(logEntry);
+        assertTrue(logEntry.isTechnicallyEqual(logDAO.readMostRecentLogForNetworkTask(task1.getId())));
+    }
+
+    private LogEntry getLogEntry() {
+        LogEntry logEntry = new LogEntry();
+        logEntry.setNetworkTaskId(1);
+        logEntry.setTimestamp(123);
+        logEntry.setSuccess(true);
+        logEntry.setMessage("message");
+        logEntry.setDNSTime(1.5);
+        logEntry.setConnectTime(2.5);
+        logEntry.setTLSTime(3.5);
+        logEntry.setTTFBTime(4.5);
+        logEntry.setTransferTime(5.5);
+        return logEntry;
     }
 
     private NetworkTask getNetworkTask1() {
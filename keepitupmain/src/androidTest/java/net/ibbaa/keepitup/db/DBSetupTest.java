@@ -43,6 +43,7 @@ import net.ibbaa.keepitup.model.Time;
 import net.ibbaa.keepitup.resources.ConstantPreferenceManager;
 import net.ibbaa.keepitup.resources.PreferenceManager;
 import net.ibbaa.keepitup.test.mock.TestRegistry;
+import net.ibbaa.keepitup.test.mock.TestUtil;
 import net.ibbaa.keepitup.util.StringUtil;
 
 import org.junit.After;
@@ -244,6 +245,41 @@ public class DBSetupTest {
         assertEquals(1, accessTypeDataDAO.readAllAccessTypeData().size());
     }
 
+    @Test
+    public void testCreateDropLogIndex() {
+        String indexName = new LogDBConstants(TestRegistry.getContext()).getNetworkTaskIdTimestampIndexName();
+        assertTrue(TestUtil.hasIndex(indexName));
+        setup.dropLogIndex();
+        assertFalse(TestUtil.hasIndex(indexName));
+        setup.createLogIndex();
+        assertTrue(TestUtil.hasIndex(indexName));
+        setup.recreateLogTable();
+        assertTrue(TestUtil.hasIndex(indexName));
+    }
+
+    @Test
+    public void testAddExpectedDigestColumn() {
+        setup.dropAccessTypeDataTable();
+        AccessTypeDataDBConstants accessTypeDataDBConstants = new AccessTypeDataDBConstants(TestRegistry.getContext());
+        DBOpenHelper.getInstance(TestRegistry.getContext()).getWritableDatabase().execSQL(accessTypeDataDBConstants.getCreateTableStatementWithoutExpectedDigest());
+        setup.addExpectedDigestColumnToAccessTypeDataTable();
+        AccessTypeData data = new AccessTypeData();
+        data.setExpectedDigest("e3069283");
+        accessTypeDataDAO.insertAccessTypeData(data);
+        assertEquals(1, accessTypeDataDAO.readAllAccessTypeData().size());
+        assertEquals("e3069283", accessTypeDataDAO.readAllAccessTypeData().get(0).getExpectedDigest());
+    }
+
+    @Test
+    public void testAddProbeModeColumn() {
+        setup.dropAccessTypeDataTable();
+        AccessTypeDataDBConstants accessTypeDataDBConstants = new AccessTypeDataDBConstants(TestRegistry.getContext());
+        DBOpenHelper.getInstance(TestRegistry.getContext()).getWritableDatabase().execSQL(accessTypeDataDBConstants.getCreateTableStatementWithoutProbeMode());
+        setup.addProbeModeColumnToAccessTypeDataTable();
+        accessTypeDataDAO.insertAccessTypeData(new AccessTypeData());
+        assertEquals(1, accessTypeDataDAO.readAllAccessTypeData().size());
+    }
+
     @Test
     public void testInitializeFailureCountColumn() {
         NetworkTask task1 = new NetworkTask();
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.MediumTest;
+
+import net.ibbaa.keepitup.logging.Dump;
+import net.ibbaa.keepitup.model.AccessType;
+import net.ibbaa.keepitup.model.DownloadValidator;
+import net.ibbaa.keepitup.model.NetworkTask;
+import net.ibbaa.keepitup.test.mock.TestRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+@MediumTest
+@SuppressWarnings({"SequencedCollectionMethodCanBeUsed"})
+@RunWith(AndroidJUnit4.class)
+public class DownloadValidatorDAOTest {
+
+    private DownloadValidatorDAO downloadValidatorDAO;
+    private NetworkTaskDAO networkTaskDAO;
+
+    @Before
+    public void beforeEachTestMethod() {
+        Dump.initialize(null);
+        downloadValidatorDAO = new DownloadValidatorDAO(TestRegistry.getContext());
+        downloadValidatorDAO.deleteAllDownloadValidators();
+        networkTaskDAO = new NetworkTaskDAO(TestRegistry.getContext());
+        networkTaskDAO.deleteAllNetworkTasks();
+    }
+
+    @After
+    public void afterEachTestMethod() {
+        downloadValidatorDAO.deleteAllDownloadValidators();
+        networkTaskDAO.deleteAllNetworkTasks();
+    }
+
+    @Test
+    public void testInsertReadDelete() {
+        DownloadValidator downloadValidator1 = getDownloadValidator1();
+        downloadValidator1 = downloadValidatorDAO.insertOrReplaceDownloadValidator(downloadValidator1);
+        List<DownloadValidator> readDownloadValidators = downloadValidatorDAO.readAllDownloadValidators();
+        assertEquals(1, readDownloadValidators.size());
+        DownloadValidator readDownloadValidator = readDownloadValidators.get(0);
+        assertTrue(readDownloadValidator.getId() > 0);
+        assertTrue(downloadValidator1.isTechnicallyEqual(readDownloadValidator));
+        readDownloadValidator = downloadValidatorDAO.readDownloadValidatorForNetworkTask(1);
+        assertTrue(downloadValidator1.isTechnicallyEqual(readDownloadValidator));
+        assertNull(downloadValidatorDAO.readDownloadValidatorForNetworkTask(2));
+        DownloadValidator downloadValidator2 = getDownloadValidator2();
+        downloadValidatorDAO.insertOrReplaceDownloadValidator(downloadValidator2);
+        readDownloadValidators = downloadValidatorDAO.readAllDownloadValidators();
+        assertEquals(2, readDownloadValidators.size());
+        downloadValidatorDAO.deleteDownloadValidatorForNetworkTask(2);
+        assertNull(downloadValidatorDAO.readDownloadValidatorForNetworkTask(2));
+        readDownloadValidators = downloadValidatorDAO.readAllDownloadValidators();
+        assertEquals(1, readDownloadValidators.size());
+        assertTrue(downloadValidator1.isTechnicallyEqual(readDownloadValidators.get(0)));
+        downloadValidatorDAO.deleteAllDownloadValidators();
+        assertTrue(downloadValidatorDAO.readAllDownloadValidators().isEmpty());
+    }
+
+    @Test
+    public void testReplace() {
+        downloadValidatorDAO.insertOrReplaceDownloadValidator(getDownloadValidator1());
+        DownloadValidator downloadValidator = getDownloadValidator1();
+        downloadValidator.setUrl("https://www.test.com/other");
+        downloadValidator.setETag("W/\"other\"");
+        downloadValidator.setLastModified(null);
+        downloadValidatorDAO.insertOrReplaceDownloadValidator(downloadValidator);
+        List<DownloadValidator> readDownloadValidators = downloadValidatorDAO.readAllDownloadValidators();
+        assertEquals(1, readDownloadValidators.size());
+        DownloadValidator readDownloadValidator = readDownloadValidators.get(0);
+        assertEquals("https://www.test.com/other", readDownloadValidator.getUrl());
+        assertEquals("W/\"other\"", readDownloadValidator.getETag());
+        assertNull(readDownloadValidator.getLastModified());
+    }
+
+    @Test
+    public void testDeleteOrphan() {
+        NetworkTask task = networkTaskDAO.insertNetworkTask(getNetworkTask());
+        DownloadValidator downloadValidator1 = getDownloadValidator1();
+        DownloadValidator downloadValidator2 = getDownloadValidator2();
+        downloadValidator1.setNetworkTaskId(task.getId());
+        downloadValidator2.setNetworkTaskId(task.getId() + 1);
+        downloadValidatorDAO.insertOrReplaceDownloadValidator(downloadValidator1);
+        downloadValidatorDAO.insertOrReplaceDownloadValidator(downloadValidator2);
+        assertEquals(2, downloadValidatorDAO.readAllDownloadValidators().size());
+        downloadValidatorDAO.deleteAllOrphanDownloadValidators();
+        List<DownloadValidator> readDownloadValidators = downloadValidatorDAO.readAllDownloadValidators();
+        assertEquals(1, readDownloadValidators.size());
+        assertTrue(downloadValidator1.isTechnicallyEqual(readDownloadValidators.get(0)));
+    }
+
+    private NetworkTask getNetworkTask() {
+        NetworkTask task = new NetworkTask();
+        task.setId(0);
+        task.setIndex(1);
+        task.setSchedulerId(0);
+        task.setName("name");
+        task.setInstances(1);
+        task.setAddress("www.test.com");
+        task.setPort(80);
+        task.setAccessType(AccessType.DOWNLOAD);
+        task.setInterval(15);
+        task.setOnlyWifi(false);
+        task.setNotification(true);
+        task.setRunning(true);
+        task.setLastScheduled(0);
+        task.setFailureCount(1);
+        task.setHighPrio(true);
+        return task;
+    }
+
+    private DownloadValidator getDownloadValidator1() {
+        DownloadValidator downloadValidator = new DownloadValidator(1);
+        downloadValidator.setUrl("https://www.test.com");
+        downloadValidator.setETag("\"abc\"");
+        downloadValidator.setLastModified("Wed, 21 Oct 2025 07:28:00 GMT");
+        return downloadValidator;
+    }
+
+    private DownloadValidator getDownloadValidator2() {
+        DownloadValidator downloadValidator = new DownloadValidator(2);
+        downloadValidator.setUrl("http://www.test.com/file.zip");
+        downloadValidator.setETag(null);
+        downloadValidator.setLastModified("Thu, 22 Oct 2025 08:00:00 GMT");
+        return downloadValidator;
+    }
+}
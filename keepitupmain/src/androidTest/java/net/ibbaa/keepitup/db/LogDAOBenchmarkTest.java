@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import android.content.ContentValues;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+
+import net.ibbaa.keepitup.R;
+import net.ibbaa.keepitup.logging.Dump;
+import net.ibbaa.keepitup.logging.Log;
+import net.ibbaa.keepitup.model.LogEntry;
+import net.ibbaa.keepitup.test.mock.TestRegistry;
+import net.ibbaa.keepitup.test.mock.TestUtil;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class LogDAOBenchmarkTest {
+
+    private final static int NETWORK_TASKS = 10;
+    private final static int WARMUP_ITERATIONS = 20;
+    private final static int MEASURE_ITERATIONS = 200;
+    private final static int INSERT_MEASURE_ITERATIONS = 2000;
+
+    private LogDAO logDAO;
+
+    @Before
+    public void beforeEachTestMethod() {
+        assumeTrue(TestUtil.isBenchmarkEnabled());
+        Dump.initialize(null);
+        logDAO = new LogDAO(TestRegistry.getContext());
+        logDAO.deleteAllLogs();
+    }
+
+    @After
+    public void afterEachTestMethod() {
+        if (logDAO != null) {
+            logDAO.deleteAllLogs();
+        }
+    }
+
+    @Test
+    public void testReadCost() {
+        fillLogTable(10000, NETWORK_TASKS);
+        long recentCost10k = measureReadMostRecentCost();
+        long allRecentCost10k = measureReadAllMostRecentCost();
+        fillLogTable(100000, NETWORK_TASKS);
+        long recentCost100k = measureReadMostRecentCost();
+        long allRecentCost100k = measureReadAllMostRecentCost();
+        Log.i(LogDAOBenchmarkTest.class.getName(), "Most recent log read cost with 10k rows: " + recentCost10k + " ns");
+        Log.i(LogDAOBenchmarkTest.class.getName(), "Most recent log read cost with 100k rows: " + recentCost100k + " ns");
+        Log.i(LogDAOBenchmarkTest.class.getName(), "All most recent logs read cost with 10k rows: " + allRecentCost10k + " ns");
+        Log.i(LogDAOBenchmarkTest.class.getName(), "All most recent logs read cost with 100k rows: " + allRecentCost100k + " ns");
+    }
+
+    @Test
+    public void testInsertCost() {
+        int limit = TestRegistry.getContext().getResources().getInteger(R.integer.log_count_maximum);
+        int networkTasks10k = Math.max(10000 / limit, NETWORK_TASKS);
+        fillLogTable(10000, networkTasks10k);
+        long insertCost10k = measureInsertCost();
+        assertLogCountBounded(networkTasks10k, limit);
+        int networkTasks100k = Math.max(100000 / limit, NETWORK_TASKS);
+        fillLogTable(100000, networkTasks100k);
+        long insertCost100k = measureInsertCost();
+        assertLogCountBounded(networkTasks100k, limit);
+        Log.i(LogDAOBenchmarkTest.class.getName(), "Insert cost with 10k rows: " + insertCost10k + " ns");
+        Log.i(LogDAOBenchmarkTest.class.getName(), "Insert cost with 100k rows: " + insertCost100k + " ns");
+    }
+
+    private void assertLogCountBounded(int networkTasks, int limit) {
+        int pruneInterval = TestRegistry.getContext().getResources().getInteger(R.integer.log_prune_interval);
+        long rowCount = TestUtil.getRowCount(new LogDBConstants(TestRegistry.getContext()).getTableName());
+        assertTrue(rowCount <= (long) networkTasks * limit + (long) NETWORK_TASKS * (pruneInterval - 1));
+        for (int ii = 0; ii < NETWORK_TASKS; ii++) {
+            assertEquals(limit, logDAO.readAllLogsForNetworkTask(ii).size());
+        }
+    }
+
+    private long measureReadMostRecentCost() {
+        for (int ii = 0; ii < WARMUP_ITERATIONS; ii++) {
+            assertNotNull(logDAO.readMostRecentLogForNetworkTask(ii % NETWORK_TASKS));
+        }
+        long start = System.nanoTime();
+        for (int ii = 0; ii < MEASURE_ITERATIONS; ii++) {
+            assertNotNull(logDAO.readMostRecentLogForNetworkTask(ii % NETWORK_TASKS));
+        }
+        return (System.nanoTime() - start) / MEASURE_ITERATIONS;
+    }
+
+    private long measureReadAllMostRecentCost() {
+        for (int ii = 0; ii < WARMUP_ITERATIONS; ii++) {
+            assertEquals(NETWORK_TASKS, logDAO.readAllMostRecentLogsForNetworkTasks().size());
+        }
+        long start = System.nanoTime();
+        for (int ii = 0; ii < MEASURE_ITERATIONS; ii++) {
+            assertEquals(NETWORK_TASKS, logDAO.readAllMostRecentLogsForNetworkTasks().size());
+        }
+        return (System.nanoTime() - start) / MEASURE_ITERATIONS;
+    }
+
+    private long measureInsertCost() {
+        long timestamp = System.currentTimeMillis();
+        for (int ii = 0; ii < WARMUP_ITERATIONS; ii++) {
+            logDAO.insertAndDeleteLog(getLogEntry(ii % NETWORK_TASKS, timestamp + ii));
+        }
+        long start = System.nanoTime();
+        for (int ii = 0; ii < INSERT_MEASURE_ITERATIONS; ii++) {
+            logDAO.insertAndDeleteLog(getLogEntry(ii % NETWORK_TASKS, timestamp + WARMUP_ITERATIONS + ii));
+        }
+        return (System.nanoTime() - start) / INSERT_MEASURE_ITERATIONS;
+    }
+
+    private void fillLogTable(int rows, int networkTasks) {
+        logDAO.deleteAllLogs();
+        LogDBConstants dbConstants = new LogDBConstants(TestRegistry.getContext());
+        SQLiteDatabase db = DBOpenHelper.getInstance(TestRegistry.getContext()).getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (int ii = 0; ii < rows; ii++) {
+                ContentValues values = new ContentValues();
+                values.put(dbConstants.getNetworkTaskIdColumnName(), ii % networkTasks);
+                values.put(dbConstants.getTimestampColumnName(), (long) ii);
+                values.put(dbConstants.getSuccessColumnName(), 1);
+                values.put(dbConstants.getMessageColumnName(), "Benchmark message " + ii);
+                db.insert(dbConstants.getTableName(), null, values);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private LogEntry getLogEntry(long networkTaskId, long timestamp) {
+        LogEntry logEntry = new LogEntry();
+        logEntry.setNetworkTaskId(networkTaskId);
+        logEntry.setTimestamp(timestamp);
+        logEntry.setSuccess(true);
+        logEntry.setMessage("Benchmark message");
+        return logEntry;
+    }
+}
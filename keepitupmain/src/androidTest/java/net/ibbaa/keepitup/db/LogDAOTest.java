@@ -24,11 +24,13 @@ import static org.junit.Assert.assertTrue;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 import androidx.test.filters.MediumTest;
 
+import net.ibbaa.keepitup.R;
 import net.ibbaa.keepitup.logging.Dump;
 import net.ibbaa.keepitup.model.AccessType;
 import net.ibbaa.keepitup.model.LogEntry;
 import net.ibbaa.keepitup.model.NetworkTask;
 import net.ibbaa.keepitup.test.mock.TestRegistry;
+import net.ibbaa.keepitup.test.mock.TestUtil;
 
 import org.junit.After;
 import org.junit.Before;
@@ -154,35 +156,60 @@ public class LogDAOTest {
 
     @Test
     public void testInsertLimitExceeded() {
+        int limit = getLogCountMaximum();
         LogEntry logEntryForId2 = getLogEntryWithNetworkTaskId(2);
         logDAO.insertAndDeleteLog(logEntryForId2);
         logDAO.insertAndDeleteLog(logEntryForId2);
-        for (int ii = 0; ii < 100; ii++) {
+        for (int ii = 0; ii < limit; ii++) {
             LogEntry logEntry = getLogEntryWithTimestamp(ii);
             logDAO.insertAndDeleteLog(logEntry);
         }
         List<LogEntry> allEntries = logDAO.readAllLogsForNetworkTask(1);
-        assertEquals(100, allEntries.size());
+        assertEquals(limit, allEntries.size());
         LogEntry readLogEntry1 = allEntries.get(0);
-        LogEntry readLogEntry2 = allEntries.get(99);
-        assertEquals(99, readLogEntry1.getTimestamp());
+        LogEntry readLogEntry2 = allEntries.get(limit - 1);
+        assertEquals(limit - 1, readLogEntry1.getTimestamp());
         assertEquals(0, readLogEntry2.getTimestamp());
-        LogEntry logEntry = getLogEntryWithTimestamp(100);
+        LogEntry logEntry = getLogEntryWithTimestamp(limit);
         logDAO.insertAndDeleteLog(logEntry);
         allEntries = logDAO.readAllLogsForNetworkTask(1);
-        assertEquals(100, allEntries.size());
+        assertEquals(limit, allEntries.size());
         readLogEntry1 = allEntries.get(0);
-        readLogEntry2 = allEntries.get(99);
-        assertEquals(100, readLogEntry1.getTimestamp());
+        readLogEntry2 = allEntries.get(limit - 1);
+        assertEquals(limit, readLogEntry1.getTimestamp());
         assertEquals(1, readLogEntry2.getTimestamp());
-        logEntry = getLogEntryWithTimestamp(101);
+        logEntry = getLogEntryWithTimestamp(limit + 1);
         logDAO.insertAndDeleteLog(logEntry);
         allEntries = logDAO.readAllLogsForNetworkTask(1);
-        assertEquals(100, allEntries.size());
+        assertEquals(limit, allEntries.size());
         readLogEntry1 = allEntries.get(0);
-        readLogEntry2 = allEntries.get(99);
-        assertEquals(101, readLogEntry1.getTimestamp());
+        readLogEntry2 = allEntries.get(limit - 1);
+        assertEquals(limit + 1, readLogEntry1.getTimestamp());
         assertEquals(2, readLogEntry2.getTimestamp());
+        assertEquals(2, logDAO.readAllLogsForNetworkTask(2).size());
+    }
+
+    @Test
+    public void testPruneExceedingLogs() {
+        int limit = getLogCountMaximum();
+        int pruneInterval = getLogPruneInterval();
+        String tableName = new LogDBConstants(TestRegistry.getContext()).getTableName();
+        for (int ii = 0; ii < limit + pruneInterval; ii++) {
+            LogEntry logEntry = getLogEntryWithTimestamp(ii);
+            logDAO.insertAndDeleteLog(logEntry);
+        }
+        assertTrue(TestUtil.getRowCount(tableName) > limit);
+        assertTrue(TestUtil.getRowCount(tableName) < limit + pruneInterval);
+        List<LogEntry> allEntries = logDAO.readAllLogs();
+        assertEquals(limit, allEntries.size());
+        assertEquals(limit + pruneInterval - 1, allEntries.get(0).getTimestamp());
+        assertEquals(pruneInterval, allEntries.get(limit - 1).getTimestamp());
+        logDAO.insertAndDeleteLog(getLogEntryWithTimestamp(limit + pruneInterval));
+        assertEquals(limit, TestUtil.getRowCount(tableName));
+        allEntries = logDAO.readAllLogs();
+        assertEquals(limit, allEntries.size());
+        assertEquals(limit + pruneInterval, allEntries.get(0).getTimestamp());
+        assertEquals(pruneInterval + 1, allEntries.get(limit - 1).getTimestamp());
     }
 
     @Test
@@ -267,6 +294,18 @@ public class LogDAOTest {
         assertFalse(containsLogEntry(logEntries, orphan2));
     }
 
+    @Test
+    public void testQueryPlanUsesNetworkTaskIdTimestampIndex() {
+        LogDBConstants dbConstants = new LogDBConstants(TestRegistry.getContext());
+        String indexName = dbConstants.getNetworkTaskIdTimestampIndexName();
+        assertTrue(TestUtil.hasIndex(indexName));
+        assertTrue(TestUtil.getQueryPlan(dbConstants.getReadMostRecentLogStatement(), new String[]{"1"}).contains(indexName));
+        assertTrue(TestUtil.getQueryPlan(dbConstants.getReadAllLogsForNetworkTaskStatement(), new String[]{"1", "10"}).contains(indexName));
+        assertTrue(TestUtil.getQueryPlan(dbConstants.getReadAllMostRecentLogsForNetworkTasksStatement(), null).contains(indexName));
+        String exceedingLogsStatement = "SELECT " + dbConstants.getIdColumnName() + " FROM " + dbConstants.getTableName() + " WHERE " + dbConstants.getExceedingLogsSelection(10);
+        assertTrue(TestUtil.getQueryPlan(exceedingLogsStatement, new String[]{"1"}).contains(indexName));
+    }
+
     private boolean containsLogEntry(List<LogEntry> logEntries, LogEntry entry) {
         for (LogEntry currentEntry : logEntries) {
             if (currentEntry.isEqual(entry)) {
@@ -303,6 +342,11 @@ public class LogDAOTest {
         insertedLogEntry1.setSuccess(true);
         insertedLogEntry1.setTimestamp(123);
         insertedLogEntry1.setMessage("TestMessage1");
+        insertedLogEntry1.setDNSTime(1.25);
+        insertedLogEntry1.setConnectTime(2.5);
+        insertedLogEntry1.setTLSTime(3.75);
+        insertedLogEntry1.setTTFBTime(4);
+        insertedLogEntry1.setTransferTime(5.125);
         return insertedLogEntry1;
     }
 
@@ -313,6 +357,7 @@ public class LogDAOTest {
         insertedLogEntry2.setSuccess(false);
         insertedLogEntry2.setTimestamp(456);
         insertedLogEntry2.setMessage("TestMessage2");
+        insertedLogEntry2.setConnectTime(0.5);
         return insertedLogEntry2;
     }
 
@@ -336,6 +381,14 @@ public class LogDAOTest {
         return insertedLogEntry;
     }
 
+    private int getLogCountMaximum() {
+        return TestRegistry.getContext().getResources().getInteger(R.integer.log_count_maximum);
+    }
+
+    private int getLogPruneInterval() {
+        return TestRegistry.getContext().getResources().getInteger(R.integer.log_prune_interval);
+    }
+
     private LogEntry getLogEntryWithTimestamp(long timestamp) {
         LogEntry insertedLogEntry = new LogEntry();
         insertedLogEntry.setId(0);
@@ -40,6 +40,13 @@ public class LogDBConstantsTest {
         assertEquals(getResourceString(R.string.log_timestamp_column_name), dbConstants.getTimestampColumnName());
         assertEquals(getResourceString(R.string.log_success_column_name), dbConstants.getSuccessColumnName());
         assertEquals(getResourceString(R.string.log_message_column_name), dbConstants.getMessageColumnName());
+        assertEquals(getResourceString(R.string.log_dnstime_column_name), dbConstants.getDNSTimeColumnName());
+        assertEquals(getResourceString(R.string.log_connecttime_column_name), dbConstants.getConnectTimeColumnName());
+        assertEquals(getResourceString(R.string.log_tlstime_column_name), dbConstants.getTLSTimeColumnName());
+        assertEquals(getResourceString(R.string.log_ttfbtime_column_name), dbConstants.getTTFBTimeColumnName());
+        assertEquals(getResourceString(R.string.log_transfertime_column_name), dbConstants.getTransferTimeColumnName());
+        assertEquals(getResourceString(R.string.log_taskid_timestamp_index_name), dbConstants.getNetworkTaskIdTimestampIndexName());
+        assertEquals(5, dbConstants.getPhaseTimeColumnNames().length);
     }
 
     private String getResourceString(int id) {
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.db;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.SmallTest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@SmallTest
+@RunWith(AndroidJUnit4.class)
+public class LogRetentionTest {
+
+    private LogRetention retention;
+
+    @Before
+    public void beforeEachTestMethod() {
+        retention = LogRetention.getInstance();
+        retention.clear();
+    }
+
+    @After
+    public void afterEachTestMethod() {
+        retention.clear();
+    }
+
+    @Test
+    public void testPruneDue() {
+        assertTrue(retention.isPruneDue(1, 3));
+        assertFalse(retention.isPruneDue(1, 3));
+        assertFalse(retention.isPruneDue(1, 3));
+        assertTrue(retention.isPruneDue(1, 3));
+        assertFalse(retention.isPruneDue(1, 3));
+        assertTrue(retention.isPruneDue(2, 3));
+        assertFalse(retention.isPruneDue(2, 3));
+        assertFalse(retention.isPruneDue(1, 3));
+        assertTrue(retention.isPruneDue(1, 3));
+    }
+
+    @Test
+    public void testPruneDueIntervalOne() {
+        assertTrue(retention.isPruneDue(1, 1));
+        assertTrue(retention.isPruneDue(1, 1));
+        assertTrue(retention.isPruneDue(1, 1));
+    }
+
+    @Test
+    public void testResetClear() {
+        assertTrue(retention.isPruneDue(1, 10));
+        assertFalse(retention.isPruneDue(1, 10));
+        retention.reset(1);
+        assertTrue(retention.isPruneDue(1, 10));
+        assertTrue(retention.isPruneDue(2, 10));
+        assertFalse(retention.isPruneDue(1, 10));
+        assertFalse(retention.isPruneDue(2, 10));
+        retention.clear();
+        assertTrue(retention.isPruneDue(1, 10));
+        assertTrue(retention.isPruneDue(2, 10));
+    }
+}
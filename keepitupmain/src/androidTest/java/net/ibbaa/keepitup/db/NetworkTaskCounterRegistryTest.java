@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.MediumTest;
+
+import net.ibbaa.keepitup.test.mock.TestUtil;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@MediumTest
+@RunWith(AndroidJUnit4.class)
+public class NetworkTaskCounterRegistryTest {
+
+    private NetworkTaskCounterRegistry registry;
+
+    @Before
+    public void beforeEachTestMethod() {
+        registry = NetworkTaskCounterRegistry.getInstance();
+        registry.shutdown();
+        registry.clear();
+    }
+
+    @After
+    public void afterEachTestMethod() {
+        registry.shutdown();
+        registry.clear();
+    }
+
+    @Test
+    public void testRegister() {
+        NetworkTaskCounterRegistry.Counters counters = registry.register(1, 2, 3);
+        assertEquals(2, counters.getInstances());
+        assertEquals(3, counters.getFailureCount());
+        assertSame(counters, registry.register(1, 5, 5));
+        assertSame(counters, registry.get(1));
+        assertEquals(1, registry.size());
+        counters = registry.register(2, -1, -1);
+        assertEquals(0, counters.getInstances());
+        assertEquals(0, counters.getFailureCount());
+        assertEquals(2, registry.size());
+        registry.remove(1);
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void testTryIncreaseInstances() {
+        NetworkTaskCounterRegistry.Counters counters = registry.register(1, 0, 0);
+        assertTrue(counters.tryIncreaseInstances(2));
+        assertTrue(counters.tryIncreaseInstances(2));
+        assertFalse(counters.tryIncreaseInstances(2));
+        assertEquals(2, counters.getInstances());
+        counters.decreaseInstances();
+        assertTrue(counters.tryIncreaseInstances(2));
+        assertFalse(counters.tryIncreaseInstances(2));
+        assertEquals(2, counters.getInstances());
+    }
+
+    @Test
+    public void testTryIncreaseInstancesConcurrent() throws Exception {
+        NetworkTaskCounterRegistry.Counters counters = registry.register(1, 0, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        AtomicInteger successful = new AtomicInteger();
+        for (int ii = 0; ii < 100; ii++) {
+            executor.execute(() -> {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException exc) {
+                    return;
+                }
+                if (counters.tryIncreaseInstances(10)) {
+                    successful.incrementAndGet();
+                }
+            });
+        }
+        startLatch.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(10, successful.get());
+        assertEquals(10, counters.getInstances());
+    }
+
+    @Test
+    public void testDecreaseInstancesNotNegative() {
+        NetworkTaskCounterRegistry.Counters counters = registry.register(1, 1, 0);
+        assertEquals(0, counters.decreaseInstances());
+        assertEquals(0, counters.decreaseInstances());
+        assertEquals(0, counters.getInstances());
+        counters.increaseInstances();
+        assertEquals(1, counters.getInstances());
+    }
+
+    @Test
+    public void testFailureCount() {
+        NetworkTaskCounterRegistry.Counters counters = registry.register(1, 0, 1);
+        counters.increaseFailureCount();
+        assertEquals(2, counters.getFailureCount());
+        counters.resetFailureCount();
+        assertEquals(0, counters.getFailureCount());
+    }
+
+    @Test
+    public void testDrainDirty() {
+        NetworkTaskCounterRegistry.Counters counters1 = registry.register(1, 1, 2);
+        registry.register(2, 3, 4);
+        assertFalse(registry.hasDirty());
+        registry.markDirty(1);
+        registry.markDirty(2);
+        registry.markDirty(2);
+        registry.markDirty(3);
+        assertTrue(registry.hasDirty());
+        counters1.increaseInstances();
+        List<NetworkTaskCounterRegistry.CounterSnapshot> snapshots = registry.drainDirty();
+        assertFalse(registry.hasDirty());
+        assertEquals(2, snapshots.size());
+        NetworkTaskCounterRegistry.CounterSnapshot snapshot1 = snapshots.get(0).taskId() == 1 ? snapshots.get(0) : snapshots.get(1);
+        NetworkTaskCounterRegistry.CounterSnapshot snapshot2 = snapshots.get(0).taskId() == 2 ? snapshots.get(0) : snapshots.get(1);
+        assertEquals(1, snapshot1.taskId());
+        assertEquals(2, snapshot1.instances());
+        assertEquals(2, snapshot1.failureCount());
+        assertEquals(2, snapshot2.taskId());
+        assertEquals(3, snapshot2.instances());
+        assertEquals(4, snapshot2.failureCount());
+        assertTrue(registry.drainDirty().isEmpty());
+    }
+
+    @Test
+    public void testDrainDirtyRemovedTask() {
+        registry.register(1, 1, 1);
+        registry.markDirty(1);
+        registry.remove(1);
+        assertFalse(registry.hasDirty());
+        assertTrue(registry.drainDirty().isEmpty());
+    }
+
+    @Test
+    public void testScheduleFlushCoalesced() throws Exception {
+        AtomicInteger flushCount = new AtomicInteger();
+        registry.scheduleFlush(flushCount::incrementAndGet, 200);
+        registry.scheduleFlush(flushCount::incrementAndGet, 200);
+        registry.scheduleFlush(flushCount::incrementAndGet, 200);
+        TestUtil.waitUntil(() -> flushCount.get() == 1, 50);
+        Thread.sleep(500);
+        assertEquals(1, flushCount.get());
+        registry.scheduleFlush(flushCount::incrementAndGet, 0);
+        TestUtil.waitUntil(() -> flushCount.get() == 2, 50);
+    }
+
+    @Test
+    public void testScheduleFlushException() {
+        AtomicInteger flushCount = new AtomicInteger();
+        registry.scheduleFlush(() -> {
+            throw new RuntimeException("flush");
+        }, 0);
+        TestUtil.waitUntil(() -> {
+            registry.scheduleFlush(flushCount::incrementAndGet, 0);
+            return flushCount.get() > 0;
+        }, 50);
+    }
+
+    @Test
+    public void testShutdownRunsPendingFlush() {
+        AtomicInteger flushCount = new AtomicInteger();
+        registry.scheduleFlush(flushCount::incrementAndGet, 60000);
+        assertEquals(0, flushCount.get());
+        registry.shutdown();
+        assertEquals(1, flushCount.get());
+        registry.shutdown();
+        assertEquals(1, flushCount.get());
+        registry.scheduleFlush(flushCount::incrementAndGet, 0);
+        TestUtil.waitUntil(() -> flushCount.get() == 2, 50);
+    }
+}
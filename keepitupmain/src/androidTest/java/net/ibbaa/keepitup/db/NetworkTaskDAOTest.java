@@ -415,6 +415,40 @@ public class NetworkTaskDAOTest {
         assertEquals(0, networkTaskDAO.readNetworkTaskInstances(insertedTask2.getId()));
     }
 
+    @Test
+    public void testTryIncreaseInstances() {
+        NetworkTask insertedTask1 = getNetworkTask1();
+        insertedTask1 = networkTaskDAO.insertNetworkTask(insertedTask1);
+        assertTrue(networkTaskDAO.tryIncreaseNetworkTaskInstances(insertedTask1.getId(), 2));
+        assertTrue(networkTaskDAO.tryIncreaseNetworkTaskInstances(insertedTask1.getId(), 2));
+        assertFalse(networkTaskDAO.tryIncreaseNetworkTaskInstances(insertedTask1.getId(), 2));
+        assertEquals(2, networkTaskDAO.readNetworkTaskInstances(insertedTask1.getId()));
+        networkTaskDAO.decreaseNetworkTaskInstances(insertedTask1.getId());
+        assertTrue(networkTaskDAO.tryIncreaseNetworkTaskInstances(insertedTask1.getId(), 2));
+        assertFalse(networkTaskDAO.tryIncreaseNetworkTaskInstances(5000, 2));
+        assertEquals(-1, networkTaskDAO.readNetworkTaskInstances(5000));
+    }
+
+    @Test
+    public void testFlushAndLoadCounters() {
+        NetworkTask insertedTask1 = getNetworkTask1();
+        insertedTask1 = networkTaskDAO.insertNetworkTask(insertedTask1);
+        networkTaskDAO.increaseNetworkTaskInstances(insertedTask1.getId());
+        networkTaskDAO.increaseNetworkTaskFailureCount(insertedTask1.getId());
+        networkTaskDAO.increaseNetworkTaskFailureCount(insertedTask1.getId());
+        assertTrue(NetworkTaskCounterRegistry.getInstance().hasDirty());
+        networkTaskDAO.flushNetworkTaskCounters();
+        assertFalse(NetworkTaskCounterRegistry.getInstance().hasDirty());
+        NetworkTaskCounterRegistry.getInstance().clear();
+        NetworkTask readTask1 = networkTaskDAO.readNetworkTask(insertedTask1.getId());
+        assertEquals(1, readTask1.getInstances());
+        assertEquals(2, readTask1.getFailureCount());
+        networkTaskDAO.loadNetworkTaskCounters();
+        assertEquals(1, NetworkTaskCounterRegistry.getInstance().size());
+        assertEquals(1, networkTaskDAO.readNetworkTaskInstances(insertedTask1.getId()));
+        assertEquals(2, networkTaskDAO.readNetworkTaskFailureCount(insertedTask1.getId()));
+    }
+
     @Test
     public void testIncreaseResetFailureCount() {
         NetworkTask insertedTask1 = getNetworkTask1();
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.MediumTest;
+
+import net.ibbaa.keepitup.logging.Dump;
+import net.ibbaa.keepitup.model.AccessType;
+import net.ibbaa.keepitup.model.AccessTypeData;
+import net.ibbaa.keepitup.model.NetworkTask;
+import net.ibbaa.keepitup.model.Resolve;
+import net.ibbaa.keepitup.test.mock.TestRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@MediumTest
+@RunWith(AndroidJUnit4.class)
+public class NetworkTaskSnapshotCacheTest {
+
+    private NetworkTaskDAO networkTaskDAO;
+    private AccessTypeDataDAO accessTypeDataDAO;
+    private ResolveDAO resolveDAO;
+    private NetworkTaskSnapshotCache cache;
+
+    @Before
+    public void beforeEachTestMethod() {
+        Dump.initialize(null);
+        networkTaskDAO = new NetworkTaskDAO(TestRegistry.getContext());
+        accessTypeDataDAO = new AccessTypeDataDAO(TestRegistry.getContext());
+        resolveDAO = new ResolveDAO(TestRegistry.getContext());
+        networkTaskDAO.deleteAllNetworkTasks();
+        accessTypeDataDAO.deleteAllAccessTypeData();
+        resolveDAO.deleteAllResolve();
+        cache = NetworkTaskSnapshotCache.getInstance();
+        cache.clear();
+        cache.resetStatistics();
+    }
+
+    @After
+    public void afterEachTestMethod() {
+        networkTaskDAO.deleteAllNetworkTasks();
+        accessTypeDataDAO.deleteAllAccessTypeData();
+        resolveDAO.deleteAllResolve();
+        cache.clear();
+        cache.resetStatistics();
+    }
+
+    @Test
+    public void testNetworkTaskHitMiss() {
+        NetworkTask task = networkTaskDAO.insertNetworkTask(getNetworkTask());
+        NetworkTask readTask = networkTaskDAO.readNetworkTask(task.getId());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        readTask.setName("modified");
+        NetworkTask cachedTask = networkTaskDAO.readNetworkTask(task.getId());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals("name", cachedTask.getName());
+        assertEquals(readTask.getSchedulerId(), cachedTask.getSchedulerId());
+        networkTaskDAO.updateNetworkTaskLastScheduled(task.getId(), 12345);
+        cachedTask = networkTaskDAO.readNetworkTask(task.getId());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(12345, cachedTask.getLastScheduled());
+        networkTaskDAO.updateNetworkTaskName(task.getId(), "newname");
+        cachedTask = networkTaskDAO.readNetworkTask(task.getId());
+        assertEquals(2, cache.getMissCount());
+        assertEquals("newname", cachedTask.getName());
+        networkTaskDAO.deleteNetworkTask(task);
+        assertNull(networkTaskDAO.readNetworkTask(task.getId()));
+    }
+
+    @Test
+    public void testAccessTypeDataAndResolve() {
+        NetworkTask task = networkTaskDAO.insertNetworkTask(getNetworkTask());
+        AccessTypeData data = new AccessTypeData();
+        data.setNetworkTaskId(task.getId());
+        data.setPingCount(3);
+        data = accessTypeDataDAO.insertAccessTypeData(data);
+        assertEquals(3, accessTypeDataDAO.readAccessTypeDataForNetworkTask(task.getId()).getPingCount());
+        assertEquals(3, accessTypeDataDAO.readAccessTypeDataForNetworkTask(task.getId()).getPingCount());
+        assertEquals(1, cache.getHitCount());
+        data.setPingCount(5);
+        accessTypeDataDAO.updateAccessTypeData(data);
+        assertEquals(5, accessTypeDataDAO.readAccessTypeDataForNetworkTask(task.getId()).getPingCount());
+        Resolve resolve = new Resolve();
+        resolve.setNetworkTaskId(task.getId());
+        resolve.setTargetAddress("127.0.0.1");
+        resolveDAO.insertResolve(resolve);
+        assertNotNull(resolveDAO.readResolveForNetworkTask(task.getId()));
+        assertEquals("127.0.0.1", resolveDAO.readResolveForNetworkTask(task.getId()).getTargetAddress());
+        resolveDAO.deleteResolveForNetworkTask(task.getId());
+        assertNull(resolveDAO.readResolveForNetworkTask(task.getId()));
+    }
+
+    @Test
+    public void testStaleVersionNotCached() {
+        NetworkTask task = networkTaskDAO.insertNetworkTask(getNetworkTask());
+        long version = cache.getNetworkTaskVersion();
+        cache.invalidateNetworkTask(task.getId());
+        cache.putNetworkTask(task, version);
+        assertNull(cache.getNetworkTask(task.getId()));
+        cache.putNetworkTask(task, cache.getNetworkTaskVersion());
+        assertNotNull(cache.getNetworkTask(task.getId()));
+    }
+
+    private NetworkTask getNetworkTask() {
+        NetworkTask task = new NetworkTask();
+        task.setIndex(1);
+        task.setName("name");
+        task.setAddress("127.0.0.1");
+        task.setPort(80);
+        task.setAccessType(AccessType.PING);
+        task.setInterval(15);
+        task.setRunning(true);
+        return task;
+    }
+}
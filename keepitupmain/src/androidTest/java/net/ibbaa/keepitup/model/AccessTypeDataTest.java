@@ -19,6 +19,7 @@ package net.ibbaa.keepitup.model;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import android.os.Bundle;
@@ -65,6 +66,8 @@ public class AccessTypeDataTest {
         assertFalse(data.isStopOnSuccess());
         assertFalse(data.isIgnoreSSLError());
         assertTrue(data.isUseDefaultHeaders());
+        assertEquals(ProbeMode.FULL, data.getProbeMode());
+        assertNull(data.getExpectedDigest());
         PersistableBundle persistableBundle = data.toPersistableBundle();
         assertNotNull(persistableBundle);
         data = new AccessTypeData(persistableBundle);
@@ -76,6 +79,7 @@ public class AccessTypeDataTest {
         assertFalse(data.isStopOnSuccess());
         assertFalse(data.isIgnoreSSLError());
         assertTrue(data.isUseDefaultHeaders());
+        assertEquals(ProbeMode.FULL, data.getProbeMode());
         Bundle bundle = data.toBundle();
         assertNotNull(bundle);
         data = new AccessTypeData(bundle);
@@ -87,6 +91,7 @@ public class AccessTypeDataTest {
         assertFalse(data.isStopOnSuccess());
         assertFalse(data.isIgnoreSSLError());
         assertTrue(data.isUseDefaultHeaders());
+        assertEquals(ProbeMode.FULL, data.getProbeMode());
         Map<String, ?> map = data.toMap();
         assertNotNull(map);
         data = new AccessTypeData(map);
@@ -98,6 +103,7 @@ public class AccessTypeDataTest {
         assertFalse(data.isStopOnSuccess());
         assertFalse(data.isIgnoreSSLError());
         assertTrue(data.isUseDefaultHeaders());
+        assertEquals(ProbeMode.FULL, data.getProbeMode());
     }
 
     @Test
@@ -111,6 +117,8 @@ public class AccessTypeDataTest {
         data.setStopOnSuccess(true);
         data.setIgnoreSSLError(true);
         data.setUseDefaultHeaders(false);
+        data.setProbeMode(ProbeMode.HEAD);
+        data.setExpectedDigest("sha256:ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
         AccessTypeData copyData = new AccessTypeData(data);
         assertEquals(-1, copyData.getId());
         assertEquals(-1, copyData.getNetworkTaskId());
@@ -120,6 +128,8 @@ public class AccessTypeDataTest {
         assertTrue(copyData.isStopOnSuccess());
         assertTrue(copyData.isIgnoreSSLError());
         assertFalse(copyData.isUseDefaultHeaders());
+        assertEquals(ProbeMode.HEAD, copyData.getProbeMode());
+        assertEquals("sha256:ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", copyData.getExpectedDigest());
     }
 
     @Test
@@ -133,6 +143,7 @@ public class AccessTypeDataTest {
         assertFalse(data.isStopOnSuccess());
         assertFalse(data.isIgnoreSSLError());
         assertTrue(data.isUseDefaultHeaders());
+        assertEquals(ProbeMode.FULL, data.getProbeMode());
     }
 
     @Test
@@ -146,6 +157,7 @@ public class AccessTypeDataTest {
         map.put("stopOnSuccess", "stopOnSuccess");
         map.put("ignoreSSLError", "isIgnoreSSLError");
         map.put("useDefaultHeaders", "zyx");
+        map.put("probeMode", "probeMode");
         AccessTypeData data = new AccessTypeData(map);
         assertEquals(-1, data.getId());
         assertEquals(-1, data.getNetworkTaskId());
@@ -155,6 +167,7 @@ public class AccessTypeDataTest {
         assertFalse(data.isStopOnSuccess());
         assertFalse(data.isIgnoreSSLError());
         assertTrue(data.isUseDefaultHeaders());
+        assertEquals(ProbeMode.FULL, data.getProbeMode());
     }
 
     @Test
@@ -168,6 +181,7 @@ public class AccessTypeDataTest {
         map.put("stopOnSuccess", "true");
         map.put("ignoreSSLError", "true");
         map.put("useDefaultHeaders", "false");
+        map.put("probeMode", "3");
         AccessTypeData data = new AccessTypeData(map);
         assertEquals(1, data.getId());
         assertEquals(2, data.getNetworkTaskId());
@@ -177,6 +191,7 @@ public class AccessTypeDataTest {
         assertTrue(data.isStopOnSuccess());
         assertTrue(data.isIgnoreSSLError());
         assertFalse(data.isUseDefaultHeaders());
+        assertEquals(ProbeMode.RANGE, data.getProbeMode());
     }
 
     @Test
@@ -197,6 +212,7 @@ public class AccessTypeDataTest {
         assertTrue(data.isStopOnSuccess());
         assertTrue(data.isIgnoreSSLError());
         assertFalse(data.isUseDefaultHeaders());
+        assertEquals(ProbeMode.FULL, data.getProbeMode());
         preferenceManager.removeAllPreferences();
         data = new AccessTypeData(TestRegistry.getContext());
         assertEquals(-1, data.getId());
@@ -207,6 +223,7 @@ public class AccessTypeDataTest {
         assertFalse(data.isStopOnSuccess());
         assertFalse(data.isIgnoreSSLError());
         assertTrue(data.isUseDefaultHeaders());
+        assertEquals(ProbeMode.FULL, data.getProbeMode());
     }
 
     @Test
@@ -220,6 +237,8 @@ public class AccessTypeDataTest {
         data.setStopOnSuccess(true);
         data.setIgnoreSSLError(true);
         data.setUseDefaultHeaders(false);
+        data.setProbeMode(ProbeMode.STATUS);
+        data.setExpectedDigest("crc32c:e3069283");
         assertEquals(1, data.getId());
         assertEquals(2, data.getNetworkTaskId());
         assertEquals(123, data.getPingCount());
@@ -228,6 +247,8 @@ public class AccessTypeDataTest {
         assertTrue(data.isStopOnSuccess());
         assertTrue(data.isIgnoreSSLError());
         assertFalse(data.isUseDefaultHeaders());
+        assertEquals(ProbeMode.STATUS, data.getProbeMode());
+        assertEquals("crc32c:e3069283", data.getExpectedDigest());
         PersistableBundle persistableBundle = data.toPersistableBundle();
         assertNotNull(persistableBundle);
         data = new AccessTypeData(persistableBundle);
@@ -239,6 +260,8 @@ public class AccessTypeDataTest {
         assertTrue(data.isStopOnSuccess());
         assertTrue(data.isIgnoreSSLError());
         assertFalse(data.isUseDefaultHeaders());
+        assertEquals(ProbeMode.STATUS, data.getProbeMode());
+        assertEquals("crc32c:e3069283", data.getExpectedDigest());
         Bundle bundle = data.toBundle();
         assertNotNull(bundle);
         data = new AccessTypeData(bundle);
@@ -250,6 +273,8 @@ public class AccessTypeDataTest {
         assertTrue(data.isStopOnSuccess());
         assertTrue(data.isIgnoreSSLError());
         assertFalse(data.isUseDefaultHeaders());
+        assertEquals(ProbeMode.STATUS, data.getProbeMode());
+        assertEquals("crc32c:e3069283", data.getExpectedDigest());
     }
 
     @Test
@@ -263,6 +288,8 @@ public class AccessTypeDataTest {
         data.setStopOnSuccess(true);
         data.setIgnoreSSLError(true);
         data.setUseDefaultHeaders(false);
+        data.setProbeMode(ProbeMode.STATUS);
+        data.setExpectedDigest("crc32c:e3069283");
         Map<String, ?> map = data.toMap();
         assertNotNull(map);
         data = new AccessTypeData(map);
@@ -274,6 +301,8 @@ public class AccessTypeDataTest {
         assertTrue(data.isStopOnSuccess());
         assertTrue(data.isIgnoreSSLError());
         assertFalse(data.isUseDefaultHeaders());
+        assertEquals(ProbeMode.STATUS, data.getProbeMode());
+        assertEquals("crc32c:e3069283", data.getExpectedDigest());
     }
 
     @Test
@@ -313,6 +342,16 @@ public class AccessTypeDataTest {
         assertFalse(data1.isEqual(data2));
         data2.setUseDefaultHeaders(false);
         assertTrue(data1.isEqual(data2));
+        data1.setProbeMode(ProbeMode.RANGE);
+        assertFalse(data1.isEqual(data2));
+        data2.setProbeMode(ProbeMode.RANGE);
+        assertTrue(data1.isEqual(data2));
+        data1.setExpectedDigest("e3069283");
+        assertFalse(data1.isEqual(data2));
+        assertFalse(data1.isTechnicallyEqual(data2));
+        data2.setExpectedDigest("e3069283");
+        assertTrue(data1.isEqual(data2));
+        assertTrue(data1.isTechnicallyEqual(data2));
     }
 
     @Test
@@ -352,5 +391,15 @@ public class AccessTypeDataTest {
         assertFalse(data1.isEqual(data2));
         data2.setUseDefaultHeaders(false);
         assertTrue(data1.isEqual(data2));
+        data1.setProbeMode(ProbeMode.RANGE);
+        assertFalse(data1.isEqual(data2));
+        data2.setProbeMode(ProbeMode.RANGE);
+        assertTrue(data1.isEqual(data2));
+        data1.setExpectedDigest("e3069283");
+        assertFalse(data1.isEqual(data2));
+        assertFalse(data1.isTechnicallyEqual(data2));
+        data2.setExpectedDigest("e3069283");
+        assertTrue(data1.isEqual(data2));
+        assertTrue(data1.isTechnicallyEqual(data2));
     }
 }
@@ -46,6 +46,11 @@ public class LogEntryTest {
         assertEquals(-1, logEntry.getTimestamp());
         assertFalse(logEntry.isSuccess());
         assertNull(logEntry.getMessage());
+        assertEquals(-1, logEntry.getDNSTime(), 0);
+        assertEquals(-1, logEntry.getConnectTime(), 0);
+        assertEquals(-1, logEntry.getTLSTime(), 0);
+        assertEquals(-1, logEntry.getTTFBTime(), 0);
+        assertEquals(-1, logEntry.getTransferTime(), 0);
         PersistableBundle persistableBundle = logEntry.toPersistableBundle();
         assertNotNull(persistableBundle);
         logEntry = new LogEntry(persistableBundle);
@@ -64,12 +69,15 @@ public class LogEntryTest {
         assertNull(logEntry.getMessage());
         Map<String, ?> map = logEntry.toMap();
         assertNotNull(map);
+        assertFalse(map.containsKey("dnstime"));
         logEntry = new LogEntry(map);
         assertEquals(-1, logEntry.getId());
         assertEquals(-1, logEntry.getNetworkTaskId());
         assertEquals(-1, logEntry.getTimestamp());
         assertFalse(logEntry.isSuccess());
         assertNull(logEntry.getMessage());
+        assertEquals(-1, logEntry.getDNSTime(), 0);
+        assertEquals(-1, logEntry.getTransferTime(), 0);
     }
 
     @Test
@@ -91,12 +99,14 @@ public class LogEntryTest {
         map.put("success", "success");
         map.put("timestamp", "timestamp");
         map.put("message", null);
+        map.put("dnstime", "dnstime");
         LogEntry logEntry = new LogEntry(map);
         assertEquals(-1, logEntry.getId());
         assertEquals(-1, logEntry.getNetworkTaskId());
         assertEquals(-1, logEntry.getTimestamp());
         assertFalse(logEntry.isSuccess());
         assertNull(logEntry.getMessage());
+        assertEquals(-1, logEntry.getDNSTime(), 0);
     }
 
     @Test
@@ -107,12 +117,17 @@ public class LogEntryTest {
         map.put("success", "true");
         map.put("timestamp", "3");
         map.put("message", "null");
+        map.put("dnstime", "1.5");
+        map.put("connecttime", "2");
         LogEntry logEntry = new LogEntry(map);
         assertEquals(1, logEntry.getId());
         assertEquals(2, logEntry.getNetworkTaskId());
         assertEquals(3, logEntry.getTimestamp());
         assertTrue(logEntry.isSuccess());
         assertEquals("null", logEntry.getMessage());
+        assertEquals(1.5, logEntry.getDNSTime(), 0.001);
+        assertEquals(2, logEntry.getConnectTime(), 0.001);
+        assertEquals(-1, logEntry.getTLSTime(), 0);
     }
 
     @Test
@@ -124,11 +139,17 @@ public class LogEntryTest {
         logEntry.setTimestamp(timestamp);
         logEntry.setSuccess(true);
         logEntry.setMessage("Message");
+        logEntry.setDNSTime(1.5);
+        logEntry.setConnectTime(2.5);
+        logEntry.setTLSTime(3.5);
+        logEntry.setTTFBTime(4.5);
+        logEntry.setTransferTime(5.5);
         assertEquals(1, logEntry.getId());
         assertEquals(2, logEntry.getNetworkTaskId());
         assertEquals(timestamp, logEntry.getTimestamp());
         assertTrue(logEntry.isSuccess());
         assertEquals("Message", logEntry.getMessage());
+        assertPhaseTimes(logEntry);
         PersistableBundle persistableBundle = logEntry.toPersistableBundle();
         assertNotNull(persistableBundle);
         logEntry = new LogEntry(persistableBundle);
@@ -137,6 +158,7 @@ public class LogEntryTest {
         assertEquals(timestamp, logEntry.getTimestamp());
         assertTrue(logEntry.isSuccess());
         assertEquals("Message", logEntry.getMessage());
+        assertPhaseTimes(logEntry);
         Bundle bundle = logEntry.toBundle();
         assertNotNull(bundle);
         logEntry = new LogEntry(bundle);
@@ -145,6 +167,7 @@ public class LogEntryTest {
         assertEquals(timestamp, logEntry.getTimestamp());
         assertTrue(logEntry.isSuccess());
         assertEquals("Message", logEntry.getMessage());
+        assertPhaseTimes(logEntry);
     }
 
     @Test
@@ -156,6 +179,11 @@ public class LogEntryTest {
         logEntry.setTimestamp(timestamp);
         logEntry.setSuccess(true);
         logEntry.setMessage("Message");
+        logEntry.setDNSTime(1.5);
+        logEntry.setConnectTime(2.5);
+        logEntry.setTLSTime(3.5);
+        logEntry.setTTFBTime(4.5);
+        logEntry.setTransferTime(5.5);
         Map<String, ?> map = logEntry.toMap();
         assertNotNull(map);
         logEntry = new LogEntry(map);
@@ -164,6 +192,7 @@ public class LogEntryTest {
         assertEquals(timestamp, logEntry.getTimestamp());
         assertTrue(logEntry.isSuccess());
         assertEquals("Message", logEntry.getMessage());
+        assertPhaseTimes(logEntry);
     }
 
     @Test
@@ -191,6 +220,26 @@ public class LogEntryTest {
         assertFalse(logEntry1.isEqual(logEntry2));
         logEntry2.setMessage("message");
         assertTrue(logEntry1.isEqual(logEntry2));
+        logEntry1.setDNSTime(1);
+        assertFalse(logEntry1.isEqual(logEntry2));
+        logEntry2.setDNSTime(1);
+        assertTrue(logEntry1.isEqual(logEntry2));
+        logEntry1.setConnectTime(2);
+        assertFalse(logEntry1.isEqual(logEntry2));
+        logEntry2.setConnectTime(2);
+        assertTrue(logEntry1.isEqual(logEntry2));
+        logEntry1.setTLSTime(3);
+        assertFalse(logEntry1.isEqual(logEntry2));
+        logEntry2.setTLSTime(3);
+        assertTrue(logEntry1.isEqual(logEntry2));
+        logEntry1.setTTFBTime(4);
+        assertFalse(logEntry1.isEqual(logEntry2));
+        logEntry2.setTTFBTime(4);
+        assertTrue(logEntry1.isEqual(logEntry2));
+        logEntry1.setTransferTime(5);
+        assertFalse(logEntry1.isEqual(logEntry2));
+        logEntry2.setTransferTime(5);
+        assertTrue(logEntry1.isEqual(logEntry2));
     }
 
     @Test
@@ -218,5 +267,33 @@ public class LogEntryTest {
         assertFalse(logEntry1.isTechnicallyEqual(logEntry2));
         logEntry2.setMessage("message");
         assertTrue(logEntry1.isTechnicallyEqual(logEntry2));
+        logEntry1.setDNSTime(1);
+        assertFalse(logEntry1.isTechnicallyEqual(logEntry2));
+        logEntry2.setDNSTime(1);
+        assertTrue(logEntry1.isTechnicallyEqual(logEntry2));
+        logEntry1.setConnectTime(2);
+        assertFalse(logEntry1.isTechnicallyEqual(logEntry2));
+        logEntry2.setConnectTime(2);
+        assertTrue(logEntry1.isTechnicallyEqual(logEntry2));
+        logEntry1.setTLSTime(3);
+        assertFalse(logEntry1.isTechnicallyEqual(logEntry2));
+        logEntry2.setTLSTime(3);
+        assertTrue(logEntry1.isTechnicallyEqual(logEntry2));
+        logEntry1.setTTFBTime(4);
+        assertFalse(logEntry1.isTechnicallyEqual(logEntry2));
+        logEntry2.setTTFBTime(4);
+        assertTrue(logEntry1.isTechnicallyEqual(logEntry2));
+        logEntry1.setTransferTime(5);
+        assertFalse(logEntry1.isTechnicallyEqual(logEntry2));
+        logEntry2.setTransferTime(5);
+        assertTrue(logEntry1.isTechnicallyEqual(logEntry2));
+    }
+
+    private void assertPhaseTimes(LogEntry logEntry) {
+        assertEquals(1.5, logEntry.getDNSTime(), 0.001);
+        assertEquals(2.5, logEntry.getConnectTime(), 0.001);
+        assertEquals(3.5, logEntry.getTLSTime(), 0.001);
+        assertEquals(4.5, logEntry.getTTFBTime(), 0.001);
+        assertEquals(5.5, logEntry.getTransferTime(), 0.001);
     }
 }
@@ -339,6 +339,18 @@ public class PreferenceManagerTest {
         assertFalse(preferenceManager.getPreferenceEnforceDefaultPingPackageSize());
     }
 
+    @Test
+    public void testGetSetRemovePreferencePingSocketEngine() {
+        assertFalse(preferenceManager.getPreferencePingSocketEngine());
+        preferenceManager.setPreferencePingSocketEngine(true);
+        assertTrue(preferenceManager.getPreferencePingSocketEngine());
+        preferenceManager.removeAllPreferences();
+        assertFalse(preferenceManager.getPreferencePingSocketEngine());
+        preferenceManager.setPreferencePingSocketEngine(true);
+        preferenceManager.removePreferencePingSocketEngine();
+        assertFalse(preferenceManager.getPreferencePingSocketEngine());
+    }
+
     @Test
     public void testGetSetRemovePreferenceDownloadExternalStorage() {
         assertFalse(preferenceManager.getPreferenceDownloadExternalStorage());
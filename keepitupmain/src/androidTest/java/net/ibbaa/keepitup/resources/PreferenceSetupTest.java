@@ -62,6 +62,7 @@ public class PreferenceSetupTest {
         preferenceManager.setPreferenceNotificationAfterFailures(3);
         preferenceManager.setPreferenceSuspensionEnabled(false);
         preferenceManager.setPreferenceEnforceDefaultPingPackageSize(true);
+        preferenceManager.setPreferencePingSocketEngine(true);
         preferenceManager.setPreferenceDownloadExternalStorage(true);
         preferenceManager.setPreferenceDownloadFolder("folder");
         preferenceManager.setPreferenceArbitraryDownloadFolder("/123");
@@ -77,6 +78,7 @@ public class PreferenceSetupTest {
         assertEquals(1, preferenceManager.getPreferenceNotificationAfterFailures());
         assertTrue(preferenceManager.getPreferenceSuspensionEnabled());
         assertFalse(preferenceManager.getPreferenceEnforceDefaultPingPackageSize());
+        assertFalse(preferenceManager.getPreferencePingSocketEngine());
         assertFalse(preferenceManager.getPreferenceDownloadExternalStorage());
         assertEquals("download", preferenceManager.getPreferenceDownloadFolder());
         assertEquals("/Documents", preferenceManager.getPreferenceArbitraryDownloadFolder());
@@ -95,6 +97,7 @@ public class PreferenceSetupTest {
         globalSettings.put("preferenceNotificationAfterFailures", 2);
         globalSettings.put("preferenceSuspensionEnabled", false);
         globalSettings.put("preferenceEnforceDefaultPingPackageSize", true);
+        globalSettings.put("preferencePingSocketEngine", true);
         globalSettings.put("preferenceDownloadExternalStorage", true);
         globalSettings.put("preferenceDownloadFolder", "folder");
         globalSettings.put("preferenceArbitraryDownloadFolder", "/123");
@@ -109,6 +112,7 @@ public class PreferenceSetupTest {
         assertEquals(2, preferenceManager.getPreferenceNotificationAfterFailures());
         assertFalse(preferenceManager.getPreferenceSuspensionEnabled());
         assertTrue(preferenceManager.getPreferenceEnforceDefaultPingPackageSize());
+        assertTrue(preferenceManager.getPreferencePingSocketEngine());
         assertTrue(preferenceManager.getPreferenceDownloadExternalStorage());
         assertEquals("folder", preferenceManager.getPreferenceDownloadFolder());
         assertEquals("/123", preferenceManager.getPreferenceArbitraryDownloadFolder());
@@ -460,6 +464,7 @@ public class PreferenceSetupTest {
         assertEquals(globalSettings.get("preferenceNotificationAfterFailures"), preferenceManager.getPreferenceNotificationAfterFailures());
         assertEquals(globalSettings.get("preferenceSuspensionEnabled"), preferenceManager.getPreferenceSuspensionEnabled());
         assertEquals(globalSettings.get("preferenceEnforceDefaultPingPackageSize"), preferenceManager.getPreferenceEnforceDefaultPingPackageSize());
+        assertEquals(globalSettings.get("preferencePingSocketEngine"), preferenceManager.getPreferencePingSocketEngine());
         assertEquals(globalSettings.get("preferenceDownloadExternalStorage"), preferenceManager.getPreferenceDownloadExternalStorage());
         assertEquals(globalSettings.get("preferenceDownloadFolder"), preferenceManager.getPreferenceDownloadFolder());
         assertEquals(globalSettings.get("preferenceArbitraryDownloadFolder"), preferenceManager.getPreferenceArbitraryDownloadFolder());
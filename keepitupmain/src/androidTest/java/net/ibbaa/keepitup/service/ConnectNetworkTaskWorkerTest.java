@@ -80,6 +80,26 @@ public class ConnectNetworkTaskWorkerTest {
         assertEquals("Connected to 127.0.0.1:22 successfully. 1 connection attempt. 1 successful connection attempt. 0 timeouts. 0 other errors. 1 msec connect time.", logEntry.getMessage());
     }
 
+    @Test
+    public void testPhaseTimes() throws Exception {
+        DNSLookupResult dnsLookupResult = new DNSLookupResult(Arrays.asList(InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1")), "127.0.0.1", null, 2.5);
+        ConnectCommandResult connectCommandResult = new ConnectCommandResult(true, 2, 2, 0, 0, 1.5, null);
+        prepareTestConnectNetworkTaskWorker(dnsLookupResult, connectCommandResult);
+        LogEntry logEntry = connectNetworkTaskWorker.execute(getNetworkTask(), getAccessTypeData()).getLogEntry();
+        assertTrue(logEntry.isSuccess());
+        assertEquals(2.5, logEntry.getDNSTime(), 0.001);
+        assertEquals(1.5, logEntry.getConnectTime(), 0.001);
+        assertEquals(-1, logEntry.getTLSTime(), 0);
+        assertEquals(-1, logEntry.getTTFBTime(), 0);
+        assertEquals(-1, logEntry.getTransferTime(), 0);
+        connectCommandResult = new ConnectCommandResult(false, 2, 0, 2, 0, 0, null);
+        prepareTestConnectNetworkTaskWorker(dnsLookupResult, connectCommandResult);
+        logEntry = connectNetworkTaskWorker.execute(getNetworkTask(), getAccessTypeData()).getLogEntry();
+        assertFalse(logEntry.isSuccess());
+        assertEquals(2.5, logEntry.getDNSTime(), 0.001);
+        assertEquals(-1, logEntry.getConnectTime(), 0);
+    }
+
     @Test
     public void testSuccessfulCallMultipleAttempts() throws Exception {
         DNSLookupResult dnsLookupResult = new DNSLookupResult(Arrays.asList(InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1")), "127.0.0.1", null);
@@ -94,6 +114,20 @@ public class ConnectNetworkTaskWorkerTest {
         assertEquals("Connected to 127.0.0.1:22 successfully. 3 connection attempts. 3 successful connection attempts. 0 timeouts. 0 other errors. 1 sec average time.", logEntry.getMessage());
     }
 
+    @Test
+    public void testSuccessfulCallMultipleAttemptsWithAttemptTimes() throws Exception {
+        DNSLookupResult dnsLookupResult = new DNSLookupResult(Arrays.asList(InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1")), "127.0.0.1", null);
+        ConnectCommandResult connectCommandResult = new ConnectCommandResult(true, 3, 3, 0, 0, 1000, new double[]{1500, 500, 1000}, null);
+        prepareTestConnectNetworkTaskWorker(dnsLookupResult, connectCommandResult);
+        NetworkTaskWorker.ExecutionResult executionResult = connectNetworkTaskWorker.execute(getNetworkTask(), getAccessTypeData());
+        LogEntry logEntry = executionResult.getLogEntry();
+        assertEquals(45, logEntry.getNetworkTaskId());
+        assertEquals(getTestTimestamp(), logEntry.getTimestamp());
+        assertEquals(3, connectNetworkTaskWorker.getConnectCount());
+        assertTrue(logEntry.isSuccess());
+        assertEquals("Connected to 127.0.0.1:22 successfully. 3 connection attempts. 3 successful connection attempts. 0 timeouts. 0 other errors. 1 sec average time. 500 msec minimum, 1.5 sec maximum. 1.5 sec 95% percentile time.", logEntry.getMessage());
+    }
+
     @Test
     public void testSuccessfulCallOneAttemptWithException() throws Exception {
         DNSLookupResult dnsLookupResult = new DNSLookupResult(Arrays.asList(InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1")), "127.0.0.1", null);
@@ -257,6 +291,45 @@ public class ConnectNetworkTaskWorkerTest {
         return task;
     }
 
+    @Test
+    public void testProbeAllAddressesStopOnSuccess() throws Exception {
+        DNSLookupResult dnsLookupResult = new DNSLookupResult(Arrays.asList(InetAddress.getByName("::1"), InetAddress.getByName("127.0.0.1")), "127.0.0.1", null);
+        ConnectCommandResult connectCommandResult = new ConnectCommandResult(true, 1, 1, 0, 0, 1, null);
+        prepareTestConnectNetworkTaskWorker(dnsLookupResult, connectCommandResult);
+        connectNetworkTaskWorker.setProbeAllAddresses(true);
+        LogEntry logEntry = connectNetworkTaskWorker.execute(getNetworkTask(), getAccessTypeData()).getLogEntry();
+        assertEquals(45, logEntry.getNetworkTaskId());
+        assertEquals(getTestTimestamp(), logEntry.getTimestamp());
+        assertEquals(Collections.singletonList("127.0.0.1"), connectNetworkTaskWorker.getProbedAddresses());
+        assertTrue(logEntry.isSuccess());
+        assertEquals(1, logEntry.getConnectTime(), 0.001);
+        assertEquals("1 of 2 addresses reachable. Connected to 127.0.0.1:22 successfully. 1 connection attempt. 1 successful connection attempt. 0 timeouts. 0 other errors. 1 msec connect time. Probe of [::1]:22 skipped after success.", logEntry.getMessage());
+    }
+
+    @Test
+    public void testProbeAllAddressesFailed() throws Exception {
+        DNSLookupResult dnsLookupResult = new DNSLookupResult(Arrays.asList(InetAddress.getByName("::1"), InetAddress.getByName("127.0.0.1")), "127.0.0.1", null);
+        ConnectCommandResult connectCommandResult = new ConnectCommandResult(false, 1, 0, 1, 0, 0, null);
+        prepareTestConnectNetworkTaskWorker(dnsLookupResult, connectCommandResult);
+        connectNetworkTaskWorker.setProbeAllAddresses(true);
+        LogEntry logEntry = connectNetworkTaskWorker.execute(getNetworkTask(), getAccessTypeData()).getLogEntry();
+        assertEquals(Arrays.asList("127.0.0.1", "::1"), connectNetworkTaskWorker.getProbedAddresses());
+        assertFalse(logEntry.isSuccess());
+        assertEquals(-1, logEntry.getConnectTime(), 0);
+        assertEquals("0 of 2 addresses reachable. Connection to 127.0.0.1:22 failed. 1 connection attempt. 0 successful connection attempts. 1 timeout. 0 other errors. Connection to [::1]:22 failed. 1 connection attempt. 0 successful connection attempts. 1 timeout. 0 other errors.", logEntry.getMessage());
+    }
+
+    @Test
+    public void testProbeAllAddressesSingleAddress() throws Exception {
+        DNSLookupResult dnsLookupResult = new DNSLookupResult(Collections.singletonList(InetAddress.getByName("127.0.0.1")), "127.0.0.1", null);
+        ConnectCommandResult connectCommandResult = new ConnectCommandResult(true, 1, 1, 0, 0, 1, null);
+        prepareTestConnectNetworkTaskWorker(dnsLookupResult, connectCommandResult);
+        connectNetworkTaskWorker.setProbeAllAddresses(true);
+        LogEntry logEntry = connectNetworkTaskWorker.execute(getNetworkTask(), getAccessTypeData()).getLogEntry();
+        assertTrue(logEntry.isSuccess());
+        assertEquals("Connected to 127.0.0.1:22 successfully. 1 connection attempt. 1 successful connection attempt. 0 timeouts. 0 other errors. 1 msec connect time.", logEntry.getMessage());
+    }
+
     private AccessTypeData getAccessTypeData() {
         AccessTypeData data = new AccessTypeData();
         data.setId(0);
@@ -38,12 +38,15 @@ import net.ibbaa.keepitup.model.Header;
 import net.ibbaa.keepitup.model.HeaderType;
 import net.ibbaa.keepitup.model.LogEntry;
 import net.ibbaa.keepitup.model.NetworkTask;
+import net.ibbaa.keepitup.model.ProbeMode;
 import net.ibbaa.keepitup.model.Resolve;
 import net.ibbaa.keepitup.notification.NotificationHandler;
 import net.ibbaa.keepitup.resources.PreferenceManager;
 import net.ibbaa.keepitup.service.network.DNSLookupResult;
 import net.ibbaa.keepitup.service.network.DownloadCommandResult;
 import net.ibbaa.keepitup.service.network.DownloadConnectResult;
+import net.ibbaa.keepitup.service.network.DownloadDigestResult;
+import net.ibbaa.keepitup.service.network.DownloadPhaseTimes;
 import net.ibbaa.keepitup.test.mock.MockDNSLookup;
 import net.ibbaa.keepitup.test.mock.MockDocumentManager;
 import net.ibbaa.keepitup.test.mock.MockDownloadCommand;
@@ -461,6 +464,152 @@ public class DownloadNetworkTaskWorkerTest {
         assertEquals("Request to 127.0.0.1:22 was successful. Server returned redirect 301 test. Request to host:123 was successful. The following headers were not submitted because they are invalid: name1, name2. The download from http://127.0.0.1 was successful. The file was deleted after download. 999 msec download time.", logEntry.getMessage());
     }
 
+    @Test
+    public void testProbeModeHead() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(false);
+        DNSLookupResult dnsLookupResult = new DNSLookupResult(Arrays.asList(InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1")), null, null);
+        DownloadCommandResult downloadCommandResult = new DownloadCommandResult(new URL("http://127.0.0.1"), List.of(getDownloadConnectResult(true, List.of(getInvalidHeader(1, 1)))), true, false, false, true, false, List.of(HttpURLConnection.HTTP_OK), List.of(""), null, 999, 0, null, null, null);
+        TestDownloadNetworkTaskWorker downloadNetworkTaskWorker = prepareTestDownloadNetworkTaskWorker(dnsLookupResult, downloadCommandResult);
+        AccessTypeData data = getAccessTypeData();
+        data.setProbeMode(ProbeMode.HEAD);
+        NetworkTaskWorker.ExecutionResult executionResult = downloadNetworkTaskWorker.execute(getNetworkTask(), data);
+        LogEntry logEntry = executionResult.getLogEntry();
+        assertEquals(45, logEntry.getNetworkTaskId());
+        assertEquals(getTestTimestamp(), logEntry.getTimestamp());
+        assertTrue(logEntry.isSuccess());
+        assertEquals("Request to host:123 was successful. The following headers were not submitted because they are invalid: name1. The probe of http://127.0.0.1 (HEAD request) was successful. 999 msec response time.", logEntry.getMessage());
+    }
+
+    @Test
+    public void testProbeModeRangeWithRedirect() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(true);
+        DNSLookupResult dnsLookupResult = new DNSLookupResult(Arrays.asList(InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1")), null, null);
+        DownloadCommandResult downloadCommandResult = new DownloadCommandResult(new URL("http://127.0.0.1"), List.of(getDownloadConnectResult(InetAddress.getByName("127.0.0.1"), 22, true), getDownloadConnectResult(true)), true, false, false, true, false, List.of(HttpURLConnection.HTTP_MOVED_PERM, HttpURLConnection.HTTP_PARTIAL), List.of("test", ""), null, 999, 1024, null, null, null);
+        TestDownloadNetworkTaskWorker downloadNetworkTaskWorker = prepareTestDownloadNetworkTaskWorker(dnsLookupResult, downloadCommandResult);
+        AccessTypeData data = getAccessTypeData();
+        data.setProbeMode(ProbeMode.RANGE);
+        NetworkTaskWorker.ExecutionResult executionResult = downloadNetworkTaskWorker.execute(getNetworkTask(), data);
+        LogEntry logEntry = executionResult.getLogEntry();
+        assertTrue(logEntry.isSuccess());
+        assertEquals("Request to 127.0.0.1:22 was successful. Server returned redirect 301 test. Request to host:123 was successful. The probe of http://127.0.0.1 (First bytes only) was successful. 1024 bytes received. 999 msec response time.", logEntry.getMessage());
+    }
+
+    @Test
+    public void testDiscard() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(false);
+        DNSLookupResult dnsLookupResult = new DNSLookupResult(Arrays.asList(InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1")), null, null);
+        DownloadCommandResult downloadCommandResult = new DownloadCommandResult(new URL("http://127.0.0.1"), List.of(getDownloadConnectResult(true)), true, false, false, true, false, List.of(HttpURLConnection.HTTP_OK), List.of(""), null, 1000, 2048, "0a1b2c3d", null, null);
+        TestDownloadNetworkTaskWorker downloadNetworkTaskWorker = prepareTestDownloadNetworkTaskWorker(dnsLookupResult, downloadCommandResult);
+        downloadNetworkTaskWorker.setDiscard(true);
+        preferenceManager.setPreferenceDownloadExternalStorage(false);
+        fileManager.setInternalDownloadDirectory(null);
+        NetworkTaskWorker.ExecutionResult executionResult = downloadNetworkTaskWorker.execute(getNetworkTask(), getAccessTypeData());
+        LogEntry logEntry = executionResult.getLogEntry();
+        assertEquals(45, logEntry.getNetworkTaskId());
+        assertEquals(getTestTimestamp(), logEntry.getTimestamp());
+        assertTrue(logEntry.isSuccess());
+        assertNull(downloadNetworkTaskWorker.getMockDownloadCommand().getFolder());
+        assertEquals("Request to host:123 was successful. The download from http://127.0.0.1 was successful. The data was discarded without storing a file. 2048 bytes received. 2 KB/s throughput. CRC32 checksum: 0a1b2c3d. 1 sec download time.", logEntry.getMessage());
+    }
+
+    @Test
+    public void testDiscardDigestVerified() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(false);
+        DNSLookupResult dnsLookupResult = new DNSLookupResult(Arrays.asList(InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1")), null, null);
+        DownloadDigestResult digestResult = new DownloadDigestResult("CRC32C", "b4080b3a", "b4080b3a", true);
+        DownloadCommandResult downloadCommandResult = new DownloadCommandResult(new URL("http://127.0.0.1"), List.of(getDownloadConnectResult(true)), true, false, false, true, false, List.of(HttpURLConnection.HTTP_OK), List.of(""), null, 1000, 2048, "0a1b2c3d", false, digestResult, null, null);
+        TestDownloadNetworkTaskWorker downloadNetworkTaskWorker = prepareTestDownloadNetworkTaskWorker(dnsLookupResult, downloadCommandResult);
+        downloadNetworkTaskWorker.setDiscard(true);
+        NetworkTaskWorker.ExecutionResult executionResult = downloadNetworkTaskWorker.execute(getNetworkTask(), getAccessTypeData());
+        LogEntry logEntry = executionResult.getLogEntry();
+        assertEquals(45, logEntry.getNetworkTaskId());
+        assertTrue(logEntry.isSuccess());
+        assertEquals("Request to host:123 was successful. The download from http://127.0.0.1 was successful. The data was discarded without storing a file. 2048 bytes received. 2 KB/s throughput. CRC32 checksum: 0a1b2c3d. CRC32C digest verified: b4080b3a. 1 sec download time.", logEntry.getMessage());
+    }
+
+    @Test
+    public void testDiscardDigestMismatch() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(false);
+        DNSLookupResult dnsLookupResult = new DNSLookupResult(Arrays.asList(InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1")), null, null);
+        DownloadDigestResult digestResult = new DownloadDigestResult("CRC32C", "b4080b3a", "0a1b2c3d", false);
+        DownloadCommandResult downloadCommandResult = new DownloadCommandResult(new URL("http://127.0.0.1"), List.of(getDownloadConnectResult(true)), true, false, false, true, false, List.of(HttpURLConnection.HTTP_OK), List.of(""), null, 1000, 2048, null, false, digestResult, null, null);
+        TestDownloadNetworkTaskWorker downloadNetworkTaskWorker = prepareTestDownloadNetworkTaskWorker(dnsLookupResult, downloadCommandResult);
+        downloadNetworkTaskWorker.setDiscard(true);
+        NetworkTaskWorker.ExecutionResult executionResult = downloadNetworkTaskWorker.execute(getNetworkTask(), getAccessTypeData());
+        LogEntry logEntry = executionResult.getLogEntry();
+        assertEquals(45, logEntry.getNetworkTaskId());
+        assertFalse(logEntry.isSuccess());
+        assertEquals("Request to host:123 was successful. The CRC32C digest of the download from http://127.0.0.1 does not match. Expected b4080b3a, received 0a1b2c3d. The data was discarded without storing a file. 1 sec download time.", logEntry.getMessage());
+    }
+
+    @Test
+    public void testFileDigestMismatch() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(false);
+        preferenceManager.setPreferenceDownloadKeep(true);
+        DNSLookupResult dnsLookupResult = new DNSLookupResult(Arrays.asList(InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1")), null, null);
+        DownloadDigestResult digestResult = new DownloadDigestResult("SHA-256", "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", "cd00e292c5970d3c5e2f0ffa5171e555bc46bfc4faddfb4a418b6840b86e79a3", false);
+        DownloadCommandResult downloadCommandResult = new DownloadCommandResult(new URL("http://127.0.0.1"), List.of(getDownloadConnectResult(true)), true, true, false, true, false, List.of(HttpURLConnection.HTTP_OK), List.of(""), "testfile", 1000, -1, null, false, digestResult, null, null);
+        TestDownloadNetworkTaskWorker downloadNetworkTaskWorker = prepareTestDownloadNetworkTaskWorker(dnsLookupResult, downloadCommandResult);
+        NetworkTaskWorker.ExecutionResult executionResult = downloadNetworkTaskWorker.execute(getNetworkTask(), getAccessTypeData());
+        LogEntry logEntry = executionResult.getLogEntry();
+        assertFalse(logEntry.isSuccess());
+        assertTrue(logEntry.getMessage().startsWith("Request to host:123 was successful. The SHA-256 digest of the download from http://127.0.0.1 does not match. Expected ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad, received cd00e292c5970d3c5e2f0ffa5171e555bc46bfc4faddfb4a418b6840b86e79a3. Downloaded file: "));
+        assertTrue(logEntry.getMessage().endsWith("testfile. 1 sec download time."));
+    }
+
+    @Test
+    public void testDigestInvalid() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(false);
+        DNSLookupResult dnsLookupResult = new DNSLookupResult(Arrays.asList(InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1")), null, null);
+        DownloadDigestResult digestResult = new DownloadDigestResult(null, "xyz", null, false);
+        DownloadCommandResult downloadCommandResult = new DownloadCommandResult(new URL("http://127.0.0.1"), List.of(getDownloadConnectResult(true)), true, false, false, true, false, List.of(HttpURLConnection.HTTP_OK), List.of(""), null, 1000, 2048, null, false, digestResult, null, null);
+        TestDownloadNetworkTaskWorker downloadNetworkTaskWorker = prepareTestDownloadNetworkTaskWorker(dnsLookupResult, downloadCommandResult);
+        downloadNetworkTaskWorker.setDiscard(true);
+        NetworkTaskWorker.ExecutionResult executionResult = downloadNetworkTaskWorker.execute(getNetworkTask(), getAccessTypeData());
+        LogEntry logEntry = executionResult.getLogEntry();
+        assertFalse(logEntry.isSuccess());
+        assertEquals("Request to host:123 was successful. The expected digest xyz is invalid. Use 64 hex digits for SHA-256 or 8 hex digits for CRC32C. The data was discarded without storing a file. 1 sec download time.", logEntry.getMessage());
+    }
+
+    @Test
+    public void testDiscardWithoutChecksum() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(false);
+        DNSLookupResult dnsLookupResult = new DNSLookupResult(Arrays.asList(InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1")), null, null);
+        DownloadCommandResult downloadCommandResult = new DownloadCommandResult(new URL("http://127.0.0.1"), List.of(getDownloadConnectResult(true)), true, false, false, true, false, List.of(HttpURLConnection.HTTP_OK), List.of(""), null, 500, 1, null, null, null);
+        TestDownloadNetworkTaskWorker downloadNetworkTaskWorker = prepareTestDownloadNetworkTaskWorker(dnsLookupResult, downloadCommandResult);
+        downloadNetworkTaskWorker.setDiscard(true);
+        NetworkTaskWorker.ExecutionResult executionResult = downloadNetworkTaskWorker.execute(getNetworkTask(), getAccessTypeData());
+        LogEntry logEntry = executionResult.getLogEntry();
+        assertTrue(logEntry.isSuccess());
+        assertEquals("Request to host:123 was successful. The download from http://127.0.0.1 was successful. The data was discarded without storing a file. 1 byte received. 2 B/s throughput. 500 msec download time.", logEntry.getMessage());
+    }
+
+    @Test
+    public void testNotModified() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(false);
+        DNSLookupResult dnsLookupResult = new DNSLookupResult(Arrays.asList(InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1")), null, null);
+        DownloadCommandResult downloadCommandResult = new DownloadCommandResult(new URL("http://127.0.0.1"), List.of(getDownloadConnectResult(true)), true, false, false, true, false, List.of(HttpURLConnection.HTTP_NOT_MODIFIED), List.of(""), null, 1000, 0, null, true, null, null);
+        TestDownloadNetworkTaskWorker downloadNetworkTaskWorker = prepareTestDownloadNetworkTaskWorker(dnsLookupResult, downloadCommandResult);
+        NetworkTaskWorker.ExecutionResult executionResult = downloadNetworkTaskWorker.execute(getNetworkTask(), getAccessTypeData());
+        LogEntry logEntry = executionResult.getLogEntry();
+        assertEquals(45, logEntry.getNetworkTaskId());
+        assertEquals(getTestTimestamp(), logEntry.getTimestamp());
+        assertTrue(logEntry.isSuccess());
+        assertEquals("Request to host:123 was successful. http://127.0.0.1 has not been modified since the last download. 1 sec download time.", logEntry.getMessage());
+    }
+
+    @Test
+    public void testNotModifiedInvalid() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(false);
+        DNSLookupResult dnsLookupResult = new DNSLookupResult(Arrays.asList(InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1")), null, null);
+        DownloadCommandResult downloadCommandResult = new DownloadCommandResult(new URL("http://127.0.0.1"), List.of(getDownloadConnectResult(true)), false, false, false, false, false, List.of(HttpURLConnection.HTTP_NOT_MODIFIED), List.of(""), null, 1000, 0, null, true, null, null);
+        TestDownloadNetworkTaskWorker downloadNetworkTaskWorker = prepareTestDownloadNetworkTaskWorker(dnsLookupResult, downloadCommandResult);
+        NetworkTaskWorker.ExecutionResult executionResult = downloadNetworkTaskWorker.execute(getNetworkTask(), getAccessTypeData());
+        LogEntry logEntry = executionResult.getLogEntry();
+        assertFalse(logEntry.isSuccess());
+        assertFalse(logEntry.getMessage().contains("has not been modified"));
+    }
+
     @Test
     public void testConnectionFailed() throws Exception {
         preferenceManager.setPreferenceDownloadFollowsRedirects(false);
@@ -2049,6 +2198,31 @@ public class DownloadNetworkTaskWorkerTest {
         assertEquals("Request to [::1]:999 was successful. Server returned redirect 302 1. Request to [::1]:999 was successful. Server returned redirect 302 1. Request to [::1]:999 was successful. The download from http://127.0.0.1 was successful. The deletion of the downloaded file failed. 22 msec download time. Exception: Test", logEntry.getMessage());
     }
 
+    @Test
+    public void testPhaseTimes() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(false);
+        DNSLookupResult dnsLookupResult = new DNSLookupResult(Arrays.asList(InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1")), null, null, 7.5);
+        DownloadCommandResult downloadCommandResult = new DownloadCommandResult(new URL("http://127.0.0.1"), List.of(getDownloadConnectResult(true)), true, true, true, true, false, List.of(HttpURLConnection.HTTP_OK), List.of(""), "testfile", 1000, new DownloadPhaseTimes(1, 2, 3, 4, 5), null);
+        TestDownloadNetworkTaskWorker downloadNetworkTaskWorker = prepareTestDownloadNetworkTaskWorker(dnsLookupResult, downloadCommandResult);
+        preferenceManager.setPreferenceDownloadKeep(false);
+        preferenceManager.setPreferenceDownloadExternalStorage(true);
+        fileManager.setExternalDirectory(new File("Test"), 0);
+        NetworkTask networkTask = networkTaskDAO.insertNetworkTask(getNetworkTask());
+        LogEntry logEntry = downloadNetworkTaskWorker.execute(networkTask, getAccessTypeData()).getLogEntry();
+        assertTrue(logEntry.isSuccess());
+        assertEquals(1, logEntry.getDNSTime(), 0.001);
+        assertEquals(2, logEntry.getConnectTime(), 0.001);
+        assertEquals(3, logEntry.getTLSTime(), 0.001);
+        assertEquals(4, logEntry.getTTFBTime(), 0.001);
+        assertEquals(5, logEntry.getTransferTime(), 0.001);
+        resolveDAO.insertResolve(getResolve(networkTask.getId()));
+        logEntry = downloadNetworkTaskWorker.execute(networkTask, getAccessTypeData()).getLogEntry();
+        assertTrue(logEntry.isSuccess());
+        assertEquals(7.5, logEntry.getDNSTime(), 0.001);
+        assertEquals(2, logEntry.getConnectTime(), 0.001);
+        assertEquals(5, logEntry.getTransferTime(), 0.001);
+    }
+
     @Test
     @SuppressWarnings({"BusyWait", "resource"})
     public void testDownloadThreadInterrupted() throws Exception {
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.SmallTest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@SmallTest
+@RunWith(AndroidJUnit4.class)
+public class NetworkTaskCancellationRegistryTest {
+
+    private NetworkTaskCancellationRegistry registry;
+
+    @Before
+    public void beforeEachTestMethod() {
+        registry = new NetworkTaskCancellationRegistry();
+    }
+
+    @Test
+    public void testRegisterDeregister() {
+        NetworkTaskCancellationRegistry.CancellationToken token1 = registry.register(1);
+        NetworkTaskCancellationRegistry.CancellationToken token2 = registry.register(1);
+        NetworkTaskCancellationRegistry.CancellationToken token3 = registry.register(2);
+        assertTrue(token1.isValid());
+        assertFalse(token1.isStopped());
+        assertEquals(2, registry.getRegisteredCount(1));
+        assertEquals(1, registry.getRegisteredCount(2));
+        registry.deregister(1, token1);
+        assertEquals(1, registry.getRegisteredCount(1));
+        registry.deregister(1, token2);
+        registry.deregister(2, token3);
+        assertEquals(0, registry.getRegisteredCount(1));
+        assertEquals(0, registry.getRegisteredCount(2));
+        registry.deregister(3, token3);
+        assertEquals(0, registry.getRegisteredCount(3));
+    }
+
+    @Test
+    public void testInvalidate() {
+        NetworkTaskCancellationRegistry.CancellationToken token1 = registry.register(1);
+        NetworkTaskCancellationRegistry.CancellationToken token2 = registry.register(1);
+        NetworkTaskCancellationRegistry.CancellationToken token3 = registry.register(2);
+        registry.invalidate(1);
+        assertFalse(token1.isValid());
+        assertFalse(token1.isStopped());
+        assertFalse(token2.isValid());
+        assertFalse(token2.isStopped());
+        assertTrue(token3.isValid());
+        registry.invalidate(3);
+        assertTrue(token3.isValid());
+    }
+
+    @Test
+    public void testStop() {
+        NetworkTaskCancellationRegistry.CancellationToken token1 = registry.register(1);
+        NetworkTaskCancellationRegistry.CancellationToken token2 = registry.register(2);
+        registry.stop(1);
+        registry.invalidate(1);
+        assertFalse(token1.isValid());
+        assertTrue(token1.isStopped());
+        assertTrue(token2.isValid());
+        assertFalse(token2.isStopped());
+    }
+
+    @Test
+    public void testSignalAfterDeregister() {
+        NetworkTaskCancellationRegistry.CancellationToken token = registry.register(1);
+        registry.deregister(1, token);
+        registry.stop(1);
+        assertTrue(token.isValid());
+        assertFalse(token.isStopped());
+    }
+
+    @Test
+    public void testReset() {
+        registry.register(1);
+        registry.register(2);
+        registry.reset();
+        assertEquals(0, registry.getRegisteredCount(1));
+        assertEquals(0, registry.getRegisteredCount(2));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.SmallTest;
+
+import net.ibbaa.keepitup.model.NetworkTask;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+@SmallTest
+@RunWith(AndroidJUnit4.class)
+public class NetworkTaskDueQueueTest {
+
+    private NetworkTaskDueQueue queue;
+
+    @Before
+    public void beforeEachTestMethod() {
+        queue = new NetworkTaskDueQueue();
+    }
+
+    @Test
+    public void testScheduleAndPollDue() {
+        assertEquals(-1, queue.getNextDueTime());
+        queue.schedule(getNetworkTask(1), 300);
+        queue.schedule(getNetworkTask(2), 100);
+        queue.schedule(getNetworkTask(3), 200);
+        assertEquals(3, queue.size());
+        assertEquals(100, queue.getNextDueTime());
+        assertTrue(queue.pollDue(99).isEmpty());
+        List<NetworkTask> dueTasks = queue.pollDue(200);
+        assertEquals(2, dueTasks.size());
+        assertEquals(2, dueTasks.get(0).getSchedulerId());
+        assertEquals(3, dueTasks.get(1).getSchedulerId());
+        assertEquals(1, queue.size());
+        assertEquals(300, queue.getNextDueTime());
+        dueTasks = queue.pollDue(1000);
+        assertEquals(1, dueTasks.size());
+        assertEquals(1, dueTasks.get(0).getSchedulerId());
+        assertEquals(0, queue.size());
+        assertEquals(-1, queue.getNextDueTime());
+    }
+
+    @Test
+    public void testReplaceAndRemove() {
+        queue.schedule(getNetworkTask(1), 100);
+        queue.schedule(getNetworkTask(2), 200);
+        queue.schedule(getNetworkTask(1), 300);
+        assertEquals(2, queue.size());
+        assertEquals(200, queue.getNextDueTime());
+        assertTrue(queue.contains(1));
+        assertTrue(queue.remove(2));
+        assertFalse(queue.remove(2));
+        assertFalse(queue.contains(2));
+        assertEquals(300, queue.getNextDueTime());
+        List<NetworkTask> dueTasks = queue.pollDue(300);
+        assertEquals(1, dueTasks.size());
+        assertEquals(1, dueTasks.get(0).getSchedulerId());
+    }
+
+    @Test
+    public void testPollDueWithTolerance() {
+        queue.schedule(getNetworkTask(1), 100);
+        queue.schedule(getNetworkTask(2), 120);
+        queue.schedule(getNetworkTask(3), 131);
+        queue.schedule(getNetworkTask(4), 200);
+        List<NetworkTask> dueTasks = queue.pollDue(100, 30);
+        assertEquals(2, dueTasks.size());
+        assertEquals(1, dueTasks.get(0).getSchedulerId());
+        assertEquals(2, dueTasks.get(1).getSchedulerId());
+        dueTasks = queue.pollDue(100, 0);
+        assertEquals(0, dueTasks.size());
+        dueTasks = queue.pollDue(Long.MAX_VALUE - 10, 30);
+        assertEquals(2, dueTasks.size());
+        assertEquals(3, dueTasks.get(0).getSchedulerId());
+        assertEquals(4, dueTasks.get(1).getSchedulerId());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testDispatchingAndReset() {
+        assertFalse(queue.isInitialized());
+        assertFalse(queue.isDispatching());
+        queue.setInitialized();
+        assertEquals(-1, queue.getDispatchTimestamp());
+        queue.beginDispatch(100);
+        assertTrue(queue.isDispatching());
+        assertEquals(100, queue.getDispatchTimestamp());
+        queue.beginDispatch(200);
+        assertEquals(200, queue.getDispatchTimestamp());
+        queue.endDispatch();
+        assertTrue(queue.isDispatching());
+        assertEquals(200, queue.getDispatchTimestamp());
+        queue.endDispatch();
+        assertFalse(queue.isDispatching());
+        assertEquals(-1, queue.getDispatchTimestamp());
+        queue.schedule(getNetworkTask(1), 100);
+        queue.reset();
+        assertFalse(queue.isInitialized());
+        assertEquals(0, queue.size());
+        assertEquals(-1, queue.getNextDueTime());
+    }
+
+    private NetworkTask getNetworkTask(int schedulerId) {
+        NetworkTask task = new NetworkTask();
+        task.setId(schedulerId);
+        task.setSchedulerId(schedulerId);
+        task.setInterval(1);
+        task.setRunning(true);
+        return task;
+    }
+}
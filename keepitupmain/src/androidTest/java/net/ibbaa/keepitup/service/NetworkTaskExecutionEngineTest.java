@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.MediumTest;
+
+import net.ibbaa.keepitup.R;
+import net.ibbaa.keepitup.model.AccessType;
+import net.ibbaa.keepitup.test.mock.TestRegistry;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@MediumTest
+@RunWith(AndroidJUnit4.class)
+public class NetworkTaskExecutionEngineTest {
+
+    private NetworkTaskExecutionEngine executionEngine;
+
+    @Before
+    public void beforeEachTestMethod() {
+        executionEngine = new NetworkTaskExecutionEngine(TestRegistry.getContext());
+    }
+
+    @Test
+    public void testSubmitCommand() throws Exception {
+        Future<String> future = executionEngine.submitCommand(AccessType.PING, () -> "ping");
+        assertEquals("ping", future.get(5, TimeUnit.SECONDS));
+        future = executionEngine.submitCommand(AccessType.CONNECT, () -> "connect");
+        assertEquals("connect", future.get(5, TimeUnit.SECONDS));
+        future = executionEngine.submitCommand(AccessType.DOWNLOAD, () -> "download");
+        assertEquals("download", future.get(5, TimeUnit.SECONDS));
+        future = executionEngine.submitCommand(null, () -> "null");
+        assertEquals("null", future.get(5, TimeUnit.SECONDS));
+        future = executionEngine.submitDNSLookup(() -> "dns");
+        assertEquals("dns", future.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSubmitWorker() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int ii = 0; ii < 50; ii++) {
+            futures.add(executionEngine.submitWorker(AccessType.CONNECT, counter::incrementAndGet, 0));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(50, counter.get());
+        assertEquals(0, executionEngine.getQueueDepth(AccessType.CONNECT));
+        assertEquals(0, executionEngine.getRejectedCount(AccessType.CONNECT));
+    }
+
+    @Test
+    public void testDeadline() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        Future<?> future = executionEngine.submitWorker(AccessType.PING, () -> {
+            try {
+                latch.await();
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+        }, 100);
+        Thread.sleep(1000);
+        assertTrue(future.isCancelled());
+        latch.countDown();
+    }
+
+    @Test
+    public void testDeadlineStartsWhenRunning() throws Exception {
+        int poolSize = TestRegistry.getContext().getResources().getInteger(R.integer.worker_engine_download_pool_size);
+        CountDownLatch latch = new CountDownLatch(1);
+        Runnable blocking = () -> {
+            try {
+                latch.await();
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        List<Future<?>> futures = new ArrayList<>();
+        for (int ii = 0; ii < poolSize; ii++) {
+            futures.add(executionEngine.submitWorker(AccessType.DOWNLOAD, blocking, 0));
+        }
+        AtomicInteger counter = new AtomicInteger();
+        Future<?> queued = executionEngine.submitWorker(AccessType.DOWNLOAD, counter::incrementAndGet, 100);
+        Thread.sleep(500);
+        assertEquals(1, executionEngine.getQueueDepth(AccessType.DOWNLOAD));
+        assertFalse(queued.isCancelled());
+        latch.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        queued.get(5, TimeUnit.SECONDS);
+        assertFalse(queued.isCancelled());
+        assertEquals(1, counter.get());
+    }
+
+    @Test
+    public void testQueueDepthAndRejection() throws Exception {
+        int poolSize = TestRegistry.getContext().getResources().getInteger(R.integer.worker_engine_download_pool_size);
+        int queueCapacity = TestRegistry.getContext().getResources().getInteger(R.integer.worker_engine_queue_capacity);
+        CountDownLatch latch = new CountDownLatch(1);
+        Runnable blocking = () -> {
+            try {
+                latch.await();
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        List<Future<?>> futures = new ArrayList<>();
+        for (int ii = 0; ii < poolSize + queueCapacity; ii++) {
+            futures.add(executionEngine.submitWorker(AccessType.DOWNLOAD, blocking, 0));
+        }
+        Thread.sleep(200);
+        assertEquals(queueCapacity, executionEngine.getQueueDepth(AccessType.DOWNLOAD));
+        assertEquals(poolSize, executionEngine.getActiveCount(AccessType.DOWNLOAD));
+        try {
+            executionEngine.submitWorker(AccessType.DOWNLOAD, blocking, 0);
+            fail("RejectedExecutionException expected");
+        } catch (RejectedExecutionException exc) {
+            assertEquals(1, executionEngine.getRejectedCount(AccessType.DOWNLOAD));
+        }
+        assertEquals(0, executionEngine.getQueueDepth(AccessType.PING));
+        latch.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(0, executionEngine.getQueueDepth(AccessType.DOWNLOAD));
+    }
+
+    @Test
+    public void testStatistics() {
+        List<NetworkTaskExecutionEngine.PoolStatistics> statistics = executionEngine.getStatistics();
+        assertEquals(AccessType.values().length * 2 + 2, statistics.size());
+        for (NetworkTaskExecutionEngine.PoolStatistics currentStatistics : statistics) {
+            assertFalse(currentStatistics.name().isEmpty());
+            assertEquals(0, currentStatistics.rejectedCount());
+        }
+    }
+}
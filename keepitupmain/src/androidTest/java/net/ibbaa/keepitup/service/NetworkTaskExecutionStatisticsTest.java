@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.SmallTest;
+
+import net.ibbaa.keepitup.service.NetworkTaskExecutionStatistics.Phase;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+@SmallTest
+@RunWith(AndroidJUnit4.class)
+public class NetworkTaskExecutionStatisticsTest {
+
+    private NetworkTaskExecutionStatistics statistics;
+
+    @Before
+    public void beforeEachTestMethod() {
+        statistics = new NetworkTaskExecutionStatistics(3);
+    }
+
+    @Test
+    public void testRecordAndAggregate() {
+        assertNull(statistics.getStatistics(1));
+        statistics.record(1, "name", getSample(10, 4, 2, 1));
+        statistics.record(1, "name", getSample(20, 8, 4, 3));
+        statistics.record(2, "other", getSample(30, 30, 30, 30));
+        assertEquals(2, statistics.size());
+        NetworkTaskExecutionStatistics.TaskStatistics taskStatistics = statistics.getStatistics(1);
+        assertEquals(1, taskStatistics.networkTaskId());
+        assertEquals("name", taskStatistics.name());
+        assertEquals(2, taskStatistics.total());
+        assertEquals(2, taskStatistics.samples());
+        assertEquals(30000000, taskStatistics.wakeLockTotal());
+        assertEquals(15000000, taskStatistics.wakeLockAverage());
+        assertEquals(6000000, taskStatistics.wallAverage());
+        assertEquals(8000000, taskStatistics.wallMax());
+        assertEquals(3000000, taskStatistics.cpuAverage());
+        assertEquals(2000000, taskStatistics.getPhaseAverage(Phase.COMMAND));
+        assertEquals(0, taskStatistics.getPhaseAverage(Phase.DNS));
+        List<NetworkTaskExecutionStatistics.TaskStatistics> statisticsList = statistics.getStatistics();
+        assertEquals(2, statisticsList.size());
+        assertEquals(1, statisticsList.get(0).networkTaskId());
+        assertEquals(2, statisticsList.get(1).networkTaskId());
+        statistics.remove(2);
+        assertEquals(1, statistics.size());
+        statistics.reset();
+        assertEquals(0, statistics.size());
+    }
+
+    @Test
+    public void testRollingWindow() {
+        for (int ii = 1; ii <= 5; ii++) {
+            statistics.record(1, "name", getSample(ii, ii, ii, ii));
+        }
+        NetworkTaskExecutionStatistics.TaskStatistics taskStatistics = statistics.getStatistics(1);
+        assertEquals(5, taskStatistics.total());
+        assertEquals(3, taskStatistics.samples());
+        assertEquals(4000000, taskStatistics.wallAverage());
+        assertEquals(5000000, taskStatistics.wallMax());
+        assertEquals(12000000, taskStatistics.wakeLockTotal());
+    }
+
+    @Test
+    public void testCSV() {
+        statistics.record(1, "name, quoted \"x\"", getSample(10, 4, 2, 1));
+        String[] lines = statistics.toCSV().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("networktaskid,name,total,samples,wakelock_total_ms"));
+        assertTrue(lines[0].endsWith("db_avg_ms,dns_avg_ms,command_avg_ms,log_avg_ms,notification_avg_ms"));
+        assertEquals("1,\"name, quoted \"\"x\"\"\",1,1,10,10,4,4,2,0,0,1,0,0", lines[1]);
+    }
+
+    @Test
+    public void testJSON() throws Exception {
+        statistics.record(1, "name", getSample(10, 4, 2, 1));
+        JSONObject json = statistics.toJSON();
+        assertEquals(3, json.getInt("window"));
+        JSONArray tasks = json.getJSONArray("tasks");
+        assertEquals(1, tasks.length());
+        JSONObject task = tasks.getJSONObject(0);
+        assertEquals(1, task.getLong("networktaskid"));
+        assertEquals("name", task.getString("name"));
+        assertEquals(10, task.getLong("wakelock_total_ms"));
+        assertEquals(4, task.getLong("wall_max_ms"));
+        assertEquals(1, task.getJSONObject("phases").getLong("command_avg_ms"));
+    }
+
+    @Test
+    public void testTrace() {
+        TestExecutionTrace trace = new TestExecutionTrace(0);
+        trace.time = 10;
+        trace.cpuTime = 100;
+        trace.start();
+        trace.switchTo(Phase.DB);
+        trace.time = 20;
+        trace.switchTo(Phase.COMMAND);
+        trace.time = 25;
+        assertEquals(Phase.COMMAND, trace.switchTo(Phase.DNS));
+        trace.time = 45;
+        trace.switchTo(Phase.COMMAND);
+        trace.time = 50;
+        trace.switchTo(Phase.LOG);
+        trace.time = 60;
+        trace.cpuTime = 130;
+        NetworkTaskExecutionStatistics.Sample sample = trace.finish();
+        assertEquals(60, sample.wakeLock());
+        assertEquals(50, sample.wall());
+        assertEquals(30, sample.cpu());
+        assertEquals(10, sample.getPhase(Phase.DB));
+        assertEquals(10, sample.getPhase(Phase.COMMAND));
+        assertEquals(20, sample.getPhase(Phase.DNS));
+        assertEquals(10, sample.getPhase(Phase.LOG));
+        assertEquals(0, sample.getPhase(Phase.NOTIFICATION));
+        trace = new TestExecutionTrace(-1);
+        trace.cpuTime = -1;
+        trace.time = 10;
+        trace.start();
+        trace.time = 15;
+        sample = trace.finish();
+        assertEquals(5, sample.wakeLock());
+        assertEquals(5, sample.wall());
+        assertEquals(0, sample.cpu());
+    }
+
+    private NetworkTaskExecutionStatistics.Sample getSample(long wakeLockMillis, long wallMillis, long cpuMillis, long commandMillis) {
+        long[] phases = new long[Phase.values().length];
+        phases[Phase.COMMAND.ordinal()] = commandMillis * 1000000L;
+        return new NetworkTaskExecutionStatistics.Sample(wakeLockMillis * 1000000L, wallMillis * 1000000L, cpuMillis * 1000000L, phases);
+    }
+
+    private static class TestExecutionTrace extends NetworkTaskExecutionTrace {
+
+        private long time;
+        private long cpuTime;
+
+        public TestExecutionTrace(long wakeLockStart) {
+            super(wakeLockStart);
+        }
+
+        @Override
+        protected long getNanoTime() {
+            return time;
+        }
+
+        @Override
+        protected long getThreadCpuTime() {
+            return cpuTime;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assume.assumeTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+
+import net.ibbaa.keepitup.logging.Log;
+import net.ibbaa.keepitup.test.mock.TestUtil;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class NetworkTaskProcessPoolBenchmarkTest {
+
+    private final static int WARMUP_ITERATIONS = 2000;
+    private final static int MEASURE_ITERATIONS = 20000;
+
+    @Before
+    public void beforeEachTestMethod() {
+        assumeTrue(TestUtil.isBenchmarkEnabled());
+    }
+
+    @Test
+    public void testSubmissionCost() {
+        long cost10 = measureSubmissionCost(10);
+        long cost100 = measureSubmissionCost(100);
+        long cost1000 = measureSubmissionCost(1000);
+        Log.i(NetworkTaskProcessPoolBenchmarkTest.class.getName(), "Submission cost with 10 running tasks: " + cost10 + " ns");
+        Log.i(NetworkTaskProcessPoolBenchmarkTest.class.getName(), "Submission cost with 100 running tasks: " + cost100 + " ns");
+        Log.i(NetworkTaskProcessPoolBenchmarkTest.class.getName(), "Submission cost with 1000 running tasks: " + cost1000 + " ns");
+    }
+
+    private long measureSubmissionCost(int runningTasks) {
+        NetworkTaskProcessPool processPool = new NetworkTaskProcessPool();
+        List<NetworkTaskProcessPool.PooledFuture> running = new ArrayList<>();
+        for (int ii = 0; ii < runningTasks; ii++) {
+            NetworkTaskProcessPool.PooledFuture future = processPool.createFuture(ii, () -> {
+            });
+            processPool.pool(ii, future);
+            running.add(future);
+        }
+        assertEquals(runningTasks, processPool.getActiveCount());
+        submit(processPool, runningTasks, WARMUP_ITERATIONS);
+        long start = System.nanoTime();
+        submit(processPool, runningTasks, MEASURE_ITERATIONS);
+        long cost = (System.nanoTime() - start) / MEASURE_ITERATIONS;
+        assertEquals(runningTasks, processPool.getActiveCount());
+        for (NetworkTaskProcessPool.PooledFuture future : running) {
+            future.run();
+        }
+        assertFalse(processPool.hasActive());
+        return cost;
+    }
+
+    private void submit(NetworkTaskProcessPool processPool, int runningTasks, int iterations) {
+        for (int ii = 0; ii < iterations; ii++) {
+            int schedulerId = ii % runningTasks;
+            NetworkTaskProcessPool.PooledFuture future = processPool.createFuture(schedulerId, () -> {
+            });
+            processPool.pool(schedulerId, future);
+            future.run();
+        }
+    }
+}
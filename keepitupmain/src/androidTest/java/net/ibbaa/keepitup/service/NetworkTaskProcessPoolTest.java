@@ -16,18 +16,23 @@
 
 package net.ibbaa.keepitup.service;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 import androidx.test.filters.SmallTest;
 
-import net.ibbaa.keepitup.test.mock.MockFuture;
+import net.ibbaa.keepitup.test.mock.MockPooledFuture;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @SmallTest
 @RunWith(AndroidJUnit4.class)
 public class NetworkTaskProcessPoolTest {
@@ -41,10 +46,10 @@ public class NetworkTaskProcessPoolTest {
 
     @Test
     public void testPoolCancel() {
-        MockFuture<?> future1 = new MockFuture<>();
-        MockFuture<?> future2 = new MockFuture<>();
-        MockFuture<?> future3 = new MockFuture<>();
-        MockFuture<?> future4 = new MockFuture<>();
+        MockPooledFuture future1 = new MockPooledFuture(processPool, 1);
+        MockPooledFuture future2 = new MockPooledFuture(processPool, 1);
+        MockPooledFuture future3 = new MockPooledFuture(processPool, 1);
+        MockPooledFuture future4 = new MockPooledFuture(processPool, 2);
         processPool.pool(1, future1);
         processPool.pool(1, future2);
         processPool.pool(1, future3);
@@ -60,10 +65,10 @@ public class NetworkTaskProcessPoolTest {
 
     @Test
     public void testPoolCancelAll() {
-        MockFuture<?> future1 = new MockFuture<>();
-        MockFuture<?> future2 = new MockFuture<>();
-        MockFuture<?> future3 = new MockFuture<>();
-        MockFuture<?> future4 = new MockFuture<>();
+        MockPooledFuture future1 = new MockPooledFuture(processPool, 1);
+        MockPooledFuture future2 = new MockPooledFuture(processPool, 1);
+        MockPooledFuture future3 = new MockPooledFuture(processPool, 2);
+        MockPooledFuture future4 = new MockPooledFuture(processPool, 3);
         processPool.pool(1, future1);
         processPool.pool(1, future2);
         processPool.pool(2, future3);
@@ -77,10 +82,10 @@ public class NetworkTaskProcessPoolTest {
 
     @Test
     public void testCleanUp() {
-        MockFuture<?> future1 = new MockFuture<>();
-        MockFuture<?> future2 = new MockFuture<>();
-        MockFuture<?> future3 = new MockFuture<>();
-        MockFuture<?> future4 = new MockFuture<>();
+        MockPooledFuture future1 = new MockPooledFuture(processPool, 1);
+        MockPooledFuture future2 = new MockPooledFuture(processPool, 1);
+        MockPooledFuture future3 = new MockPooledFuture(processPool, 1);
+        MockPooledFuture future4 = new MockPooledFuture(processPool, 1);
         future1.setDone(true);
         future4.setDone(true);
         processPool.pool(1, future1);
@@ -102,10 +107,10 @@ public class NetworkTaskProcessPoolTest {
 
     @Test
     public void testCleanUpMultipleSchedulerIds() {
-        MockFuture<?> future1 = new MockFuture<>();
-        MockFuture<?> future2 = new MockFuture<>();
-        MockFuture<?> future3 = new MockFuture<>();
-        MockFuture<?> future4 = new MockFuture<>();
+        MockPooledFuture future1 = new MockPooledFuture(processPool, 1);
+        MockPooledFuture future2 = new MockPooledFuture(processPool, 2);
+        MockPooledFuture future3 = new MockPooledFuture(processPool, 3);
+        MockPooledFuture future4 = new MockPooledFuture(processPool, 4);
         future1.setDone(true);
         future2.setDone(true);
         future3.setDone(true);
@@ -123,9 +128,9 @@ public class NetworkTaskProcessPoolTest {
 
     @Test
     public void testCleanUpMultipleSchedulerIdsAndFutures() {
-        MockFuture<?> future1 = new MockFuture<>();
-        MockFuture<?> future2 = new MockFuture<>();
-        MockFuture<?> future3 = new MockFuture<>();
+        MockPooledFuture future1 = new MockPooledFuture(processPool, 1);
+        MockPooledFuture future2 = new MockPooledFuture(processPool, 2);
+        MockPooledFuture future3 = new MockPooledFuture(processPool, 2);
         processPool.pool(1, future1);
         processPool.pool(2, future2);
         future1.setDone(true);
@@ -138,9 +143,9 @@ public class NetworkTaskProcessPoolTest {
 
     @Test
     public void testHasActive() {
-        MockFuture<?> future1 = new MockFuture<>();
-        MockFuture<?> future2 = new MockFuture<>();
-        MockFuture<?> future3 = new MockFuture<>();
+        MockPooledFuture future1 = new MockPooledFuture(processPool, 1);
+        MockPooledFuture future2 = new MockPooledFuture(processPool, 2);
+        MockPooledFuture future3 = new MockPooledFuture(processPool, 2);
         processPool.pool(1, future1);
         processPool.pool(2, future2);
         processPool.pool(2, future3);
@@ -150,4 +155,81 @@ public class NetworkTaskProcessPoolTest {
         future1.setDone(true);
         assertFalse(processPool.hasActive());
     }
+
+    @Test
+    public void testPooledFutureSelfRemoving() {
+        AtomicInteger counter = new AtomicInteger();
+        NetworkTaskProcessPool.PooledFuture future1 = processPool.createFuture(1, counter::incrementAndGet);
+        NetworkTaskProcessPool.PooledFuture future2 = processPool.createFuture(1, counter::incrementAndGet);
+        NetworkTaskProcessPool.PooledFuture future3 = processPool.createFuture(2, counter::incrementAndGet);
+        processPool.pool(1, future1);
+        processPool.pool(1, future2);
+        processPool.pool(2, future3);
+        assertEquals(3, processPool.getActiveCount());
+        future1.run();
+        assertEquals(1, counter.get());
+        assertEquals(2, processPool.getActiveCount());
+        future3.cancel(true);
+        assertEquals(1, processPool.getActiveCount());
+        future2.run();
+        assertEquals(2, counter.get());
+        assertFalse(processPool.hasActive());
+        future1.run();
+        assertEquals(0, processPool.getActiveCount());
+        NetworkTaskProcessPool.PooledFuture future4 = processPool.createFuture(3, counter::incrementAndGet);
+        future4.run();
+        processPool.pool(3, future4);
+        assertFalse(processPool.hasActive());
+    }
+
+    @Test
+    public void testPooledFutureCancel() {
+        NetworkTaskProcessPool.PooledFuture future1 = processPool.createFuture(1, () -> {
+        });
+        NetworkTaskProcessPool.PooledFuture future2 = processPool.createFuture(2, () -> {
+        });
+        processPool.pool(1, future1);
+        processPool.pool(2, future2);
+        processPool.cancelAll();
+        assertTrue(future1.isCancelled());
+        assertTrue(future2.isCancelled());
+        assertFalse(processPool.hasActive());
+    }
+
+    @Test
+    public void testConcurrentPoolAndComplete() throws Exception {
+        int threadCount = 4;
+        int iterations = 2000;
+        List<Thread> threads = new ArrayList<>();
+        for (int ii = 0; ii < threadCount; ii++) {
+            threads.add(new Thread(() -> {
+                for (int jj = 0; jj < iterations; jj++) {
+                    NetworkTaskProcessPool.PooledFuture future = processPool.createFuture(1, () -> {
+                    });
+                    processPool.pool(1, future);
+                    future.run();
+                }
+            }));
+        }
+        NetworkTaskProcessPool.PooledFuture runningFuture = processPool.createFuture(2, () -> {
+        });
+        processPool.pool(2, runningFuture);
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, processPool.getActiveCount());
+        processPool.cancel(2);
+        assertTrue(runningFuture.isCancelled());
+        assertFalse(processPool.hasActive());
+        NetworkTaskProcessPool.PooledFuture future = processPool.createFuture(1, () -> {
+        });
+        processPool.pool(1, future);
+        assertTrue(processPool.hasActive());
+        processPool.cancel(1);
+        assertTrue(future.isCancelled());
+        assertFalse(processPool.hasActive());
+    }
 }
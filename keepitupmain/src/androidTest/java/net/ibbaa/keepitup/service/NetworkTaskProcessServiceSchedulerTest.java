@@ -76,6 +76,9 @@ public class NetworkTaskProcessServiceSchedulerTest {
         scheduler.setTimeBasedSuspensionScheduler(timeBasedScheduler);
         timeBasedScheduler.setNetworkTaskScheduler(scheduler);
         NetworkTaskProcessServiceScheduler.getNetworkTaskProcessPool().reset();
+        NetworkTaskProcessServiceScheduler.getNetworkTaskDueQueue().reset();
+        NetworkTaskProcessServiceScheduler.getNetworkTaskStartupPlanner().reset();
+        NetworkTaskProcessServiceScheduler.getNetworkTaskCancellationRegistry().reset();
         networkTaskDAO = new NetworkTaskDAO(TestRegistry.getContext());
         networkTaskDAO.deleteAllNetworkTasks();
         intervalDAO = new IntervalDAO(TestRegistry.getContext());
@@ -93,6 +96,9 @@ public class NetworkTaskProcessServiceSchedulerTest {
         scheduler.reset();
         scheduler.cancelAll();
         NetworkTaskProcessServiceScheduler.getNetworkTaskProcessPool().reset();
+        NetworkTaskProcessServiceScheduler.getNetworkTaskDueQueue().reset();
+        NetworkTaskProcessServiceScheduler.getNetworkTaskStartupPlanner().reset();
+        NetworkTaskProcessServiceScheduler.getNetworkTaskCancellationRegistry().reset();
         networkTaskDAO.deleteAllNetworkTasks();
         intervalDAO.deleteAllIntervals();
         schedulerStateDAO.insertSchedulerState(new SchedulerState(0, false, 0));
@@ -299,6 +305,132 @@ public class NetworkTaskProcessServiceSchedulerTest {
         assertEquals(setAlarmCall1.pendingIntent(), cancelAlarmCall1.pendingIntent());
     }
 
+    @Test
+    public void testSingleAlarmRescheduleTerminate() {
+        NetworkTask task1 = getNetworkTask1();
+        NetworkTask task2 = getNetworkTask2();
+        task1 = networkTaskDAO.insertNetworkTask(task1);
+        task2 = networkTaskDAO.insertNetworkTask(task2);
+        scheduler.setSingleAlarmScheduling(true);
+        setTestTime(125);
+        task1.setRunning(true);
+        networkTaskDAO.updateNetworkTaskRunning(task1.getId(), true);
+        scheduler.reschedule(task1, Delay.IMMEDIATE);
+        NetworkTaskDueQueue queue = NetworkTaskProcessServiceScheduler.getNetworkTaskDueQueue();
+        assertEquals(1, queue.size());
+        assertEquals(125, queue.getNextDueTime());
+        List<MockAlarmManager.SetAlarmCall> setAlarmCalls = alarmManager.getSetAlarmCalls();
+        assertEquals(1, setAlarmCalls.size());
+        assertEquals(0, setAlarmCalls.get(0).delay());
+        task2.setRunning(true);
+        networkTaskDAO.updateNetworkTaskRunning(task2.getId(), true);
+        scheduler.reschedule(task2, Delay.INTERVAL);
+        assertEquals(2, queue.size());
+        setAlarmCalls = alarmManager.getSetAlarmCalls();
+        assertEquals(2, setAlarmCalls.size());
+        assertEquals(0, setAlarmCalls.get(1).delay());
+        assertEquals(setAlarmCalls.get(0).pendingIntent(), setAlarmCalls.get(1).pendingIntent());
+        alarmManager.reset();
+        scheduler.terminate(task1);
+        assertEquals(1, queue.size());
+        setAlarmCalls = alarmManager.getSetAlarmCalls();
+        assertEquals(1, setAlarmCalls.size());
+        assertEquals(60 * 1000, setAlarmCalls.get(0).delay());
+        assertFalse(alarmManager.wasCancelAlarmCalled());
+        alarmManager.reset();
+        scheduler.terminate(task2);
+        assertEquals(0, queue.size());
+        assertFalse(alarmManager.wasSetAlarmCalled());
+        assertTrue(alarmManager.wasCancelAlarmCalled());
+    }
+
+    @Test
+    public void testBatchExecution() {
+        NetworkTask task1 = getNetworkTask1();
+        NetworkTask task2 = getNetworkTask2();
+        task1 = networkTaskDAO.insertNetworkTask(task1);
+        task2 = networkTaskDAO.insertNetworkTask(task2);
+        assertEquals(0, scheduler.getBatchTolerance());
+        scheduler.setBatchExecution(true);
+        long tolerance = TestRegistry.getContext().getResources().getInteger(R.integer.worker_batch_tolerance) * 1000L;
+        assertEquals(tolerance, scheduler.getBatchTolerance());
+        setTestTime(125);
+        task1.setRunning(true);
+        task2.setRunning(true);
+        networkTaskDAO.updateNetworkTaskRunning(task1.getId(), true);
+        networkTaskDAO.updateNetworkTaskRunning(task2.getId(), true);
+        NetworkTaskDueQueue queue = NetworkTaskProcessServiceScheduler.getNetworkTaskDueQueue();
+        queue.beginDispatch(100);
+        scheduler.reschedule(task1, Delay.IMMEDIATE);
+        setTestTime(150);
+        scheduler.reschedule(task2, Delay.INTERVAL);
+        assertEquals(2, queue.size());
+        assertFalse(alarmManager.wasSetAlarmCalled());
+        queue.endDispatch();
+        scheduler.rearmTick();
+        List<MockAlarmManager.SetAlarmCall> setAlarmCalls = alarmManager.getSetAlarmCalls();
+        assertEquals(1, setAlarmCalls.size());
+        assertEquals(0, setAlarmCalls.get(0).delay());
+        List<NetworkTask> dueTasks = queue.pollDue(125);
+        assertEquals(1, dueTasks.size());
+        assertEquals(task1.getSchedulerId(), dueTasks.get(0).getSchedulerId());
+        assertEquals(100 + 60 * 1000, queue.getNextDueTime());
+        dueTasks = queue.pollDue(100 + 60 * 1000 - tolerance, tolerance);
+        assertEquals(1, dueTasks.size());
+        assertEquals(task2.getSchedulerId(), dueTasks.get(0).getSchedulerId());
+    }
+
+    @Test
+    public void testSingleAlarmQueueRestoredFromDatabase() {
+        NetworkTask task1 = getNetworkTask1();
+        NetworkTask task2 = getNetworkTask2();
+        task1 = networkTaskDAO.insertNetworkTask(task1);
+        task2 = networkTaskDAO.insertNetworkTask(task2);
+        networkTaskDAO.updateNetworkTaskRunning(task1.getId(), true);
+        networkTaskDAO.updateNetworkTaskRunning(task2.getId(), true);
+        networkTaskDAO.updateNetworkTaskLastScheduled(task1.getId(), 125);
+        networkTaskDAO.updateNetworkTaskLastScheduled(task2.getId(), 125);
+        scheduler.setSingleAlarmScheduling(true);
+        setTestTime(125);
+        scheduler.initializeDueQueue();
+        NetworkTaskDueQueue queue = NetworkTaskProcessServiceScheduler.getNetworkTaskDueQueue();
+        assertEquals(2, queue.size());
+        assertEquals(125 + 60 * 1000, queue.getNextDueTime());
+        List<NetworkTask> dueTasks = queue.pollDue(125 + 60 * 1000);
+        assertEquals(1, dueTasks.size());
+        assertEquals(task2.getSchedulerId(), dueTasks.get(0).getSchedulerId());
+        assertEquals(125 + 20 * 60 * 1000, queue.getNextDueTime());
+    }
+
+    @Test
+    public void testSingleAlarmQueueRestoredWithStartupSpreading() {
+        NetworkTask task1 = getNetworkTask1();
+        NetworkTask task2 = getNetworkTask2();
+        task1 = networkTaskDAO.insertNetworkTask(task1);
+        task2 = networkTaskDAO.insertNetworkTask(task2);
+        networkTaskDAO.updateNetworkTaskRunning(task1.getId(), true);
+        networkTaskDAO.updateNetworkTaskRunning(task2.getId(), true);
+        networkTaskDAO.updateNetworkTaskLastScheduled(task1.getId(), 1);
+        networkTaskDAO.updateNetworkTaskLastScheduled(task2.getId(), 1);
+        NetworkTaskProcessServiceScheduler.getNetworkTaskStartupPlanner().reset();
+        scheduler.setSingleAlarmScheduling(true);
+        scheduler.setStartupSpreading(true);
+        setTestTime(1210000);
+        scheduler.initializeDueQueue();
+        NetworkTaskDueQueue queue = NetworkTaskProcessServiceScheduler.getNetworkTaskDueQueue();
+        assertEquals(2, queue.size());
+        long maxSpread = TestRegistry.getContext().getResources().getInteger(R.integer.worker_startup_spread_max) * 1000L;
+        long offset1 = NetworkTaskStartupPlanner.getPhaseOffset(task1.getSchedulerId(), maxSpread);
+        long offset2 = NetworkTaskStartupPlanner.getPhaseOffset(task2.getSchedulerId(), maxSpread);
+        assertEquals(1210000 + Math.min(offset1, offset2), queue.getNextDueTime());
+        List<NetworkTask> dueTasks = queue.pollDue(1210000 + Math.min(offset1, offset2));
+        assertEquals(offset1 == offset2 ? 2 : 1, dueTasks.size());
+        assertEquals(offset1 <= offset2 ? task1.getSchedulerId() : task2.getSchedulerId(), dueTasks.get(0).getSchedulerId());
+        if (offset1 != offset2) {
+            assertEquals(1210000 + Math.max(offset1, offset2), queue.getNextDueTime());
+        }
+    }
+
     @Test
     public void testRescheduleTerminateImmediate() {
         NetworkTask task1 = getNetworkTask1();
@@ -461,6 +593,43 @@ public class NetworkTaskProcessServiceSchedulerTest {
         assertEquals(1, readTask2.getFailureCount());
     }
 
+    @Test
+    public void testStartupSpreading() {
+        NetworkTask task1 = getNetworkTask1();
+        NetworkTask task2 = getNetworkTask2();
+        task1 = networkTaskDAO.insertNetworkTask(task1);
+        task2 = networkTaskDAO.insertNetworkTask(task2);
+        scheduler.start(task1);
+        scheduler.start(task2);
+        scheduler.terminate(task1);
+        scheduler.terminate(task2);
+        alarmManager.reset();
+        scheduler.setStartupSpreading(true);
+        setTestTime(1210000);
+        networkTaskDAO.updateNetworkTaskLastScheduled(task1.getId(), 1);
+        networkTaskDAO.updateNetworkTaskLastScheduled(task2.getId(), 1);
+        scheduler.startup();
+        List<MockAlarmManager.SetAlarmCall> setAlarmCalls = alarmManager.getSetAlarmCalls();
+        assertEquals(2, setAlarmCalls.size());
+        NetworkTask readTask1 = networkTaskDAO.readNetworkTask(task1.getId());
+        NetworkTask readTask2 = networkTaskDAO.readNetworkTask(task2.getId());
+        long maxSpread = TestRegistry.getContext().getResources().getInteger(R.integer.worker_startup_spread_max) * 1000L;
+        long offset1 = NetworkTaskStartupPlanner.getPhaseOffset(readTask1.getSchedulerId(), maxSpread);
+        long offset2 = NetworkTaskStartupPlanner.getPhaseOffset(readTask2.getSchedulerId(), maxSpread);
+        assertTrue(offset1 < maxSpread);
+        assertTrue(offset2 < maxSpread);
+        assertEquals(offset1, setAlarmCalls.get(0).delay());
+        assertEquals(offset2, setAlarmCalls.get(1).delay());
+        alarmManager.reset();
+        NetworkTaskProcessServiceScheduler.getNetworkTaskStartupPlanner().reset();
+        NetworkTaskProcessServiceScheduler.getNetworkTaskCancellationRegistry().reset();
+        scheduler.startup();
+        setAlarmCalls = alarmManager.getSetAlarmCalls();
+        assertEquals(2, setAlarmCalls.size());
+        assertEquals(offset1, setAlarmCalls.get(0).delay());
+        assertEquals(offset2, setAlarmCalls.get(1).delay());
+    }
+
     @Test
     public void testCancelAll() {
         NetworkTask task1 = getNetworkTask1();
@@ -603,6 +772,27 @@ public class NetworkTaskProcessServiceSchedulerTest {
         assertEquals(2, cancelAlarmCalls.size());
     }
 
+    @Test
+    public void testCancelSignalsCancellationToken() {
+        NetworkTask task1 = getNetworkTask1();
+        NetworkTask task2 = getNetworkTask2();
+        task1 = networkTaskDAO.insertNetworkTask(task1);
+        task2 = networkTaskDAO.insertNetworkTask(task2);
+        task1 = scheduler.start(task1);
+        task2 = scheduler.start(task2);
+        NetworkTaskCancellationRegistry registry = NetworkTaskProcessServiceScheduler.getNetworkTaskCancellationRegistry();
+        NetworkTaskCancellationRegistry.CancellationToken token1 = registry.register(task1.getSchedulerId());
+        NetworkTaskCancellationRegistry.CancellationToken token2 = registry.register(task2.getSchedulerId());
+        scheduler.cancel(task1);
+        assertFalse(token1.isValid());
+        assertTrue(token1.isStopped());
+        assertTrue(token2.isValid());
+        assertFalse(token2.isStopped());
+        scheduler.terminate(task2);
+        assertFalse(token2.isValid());
+        assertFalse(token2.isStopped());
+    }
+
     private boolean isTaskMarkedAsRunningInDatabase(NetworkTask task) {
         task = networkTaskDAO.readNetworkTask(task.getId());
         return task.isRunning();
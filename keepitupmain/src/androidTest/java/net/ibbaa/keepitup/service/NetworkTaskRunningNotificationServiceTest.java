@@ -34,9 +34,9 @@ import net.ibbaa.keepitup.model.AccessType;
 import net.ibbaa.keepitup.model.NetworkTask;
 import net.ibbaa.keepitup.notification.NotificationHandler;
 import net.ibbaa.keepitup.test.mock.MockAlarmManager;
-import net.ibbaa.keepitup.test.mock.MockFuture;
 import net.ibbaa.keepitup.test.mock.MockNotificationBuilder;
 import net.ibbaa.keepitup.test.mock.MockNotificationManager;
+import net.ibbaa.keepitup.test.mock.MockPooledFuture;
 import net.ibbaa.keepitup.test.mock.TestNetworkTaskRunningNotificationService;
 import net.ibbaa.keepitup.test.mock.TestRegistry;
 
@@ -113,8 +113,8 @@ public class NetworkTaskRunningNotificationServiceTest {
 
     @Test
     public void testOnDestroy() {
-        MockFuture<?> future1 = new MockFuture<>();
-        MockFuture<?> future2 = new MockFuture<>();
+        MockPooledFuture future1 = new MockPooledFuture(NetworkTaskProcessServiceScheduler.getNetworkTaskProcessPool(), 1);
+        MockPooledFuture future2 = new MockPooledFuture(NetworkTaskProcessServiceScheduler.getNetworkTaskProcessPool(), 2);
         NetworkTaskProcessServiceScheduler.getNetworkTaskProcessPool().pool(1, future1);
         NetworkTaskProcessServiceScheduler.getNetworkTaskProcessPool().pool(2, future2);
         service.onDestroy();
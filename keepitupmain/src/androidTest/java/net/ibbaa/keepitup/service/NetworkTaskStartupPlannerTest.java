@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.SmallTest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@SmallTest
+@RunWith(AndroidJUnit4.class)
+public class NetworkTaskStartupPlannerTest {
+
+    private NetworkTaskStartupPlanner planner;
+
+    @Before
+    public void beforeEachTestMethod() {
+        planner = new NetworkTaskStartupPlanner();
+    }
+
+    @Test
+    public void testPhaseOffset() {
+        assertEquals(0, NetworkTaskStartupPlanner.getPhaseOffset(1, 0));
+        assertEquals(NetworkTaskStartupPlanner.getPhaseOffset(12345, 60000), NetworkTaskStartupPlanner.getPhaseOffset(12345, 60000));
+        Set<Long> offsets = new HashSet<>();
+        for (int ii = -50; ii < 50; ii++) {
+            long offset = NetworkTaskStartupPlanner.getPhaseOffset(ii, 60000);
+            assertTrue(offset >= 0);
+            assertTrue(offset < 60000);
+            offsets.add(offset);
+        }
+        assertTrue(offsets.size() > 90);
+        assertNotEquals(NetworkTaskStartupPlanner.getPhaseOffset(1, 60000), NetworkTaskStartupPlanner.getPhaseOffset(2, 60000));
+    }
+
+    @Test
+    public void testPlanDueTask() {
+        long offset = NetworkTaskStartupPlanner.getPhaseOffset(5, 30000);
+        assertEquals(offset, planner.plan(5, 30000, 0, 100000, 60000, 0));
+        offset = NetworkTaskStartupPlanner.getPhaseOffset(5, 60000);
+        assertEquals(offset, planner.plan(5, 1200000, 0, 100000, 60000, 0));
+        assertEquals(5000, planner.plan(5, 1200000, 5000, 100000, 60000, 0));
+    }
+
+    @Test
+    public void testBurstLimit() {
+        for (int ii = 0; ii < 3; ii++) {
+            assertEquals(5000, planner.plan(ii, 1200000, 5000, 100000, 60000, 3));
+        }
+        assertEquals(3, planner.getPlannedStarts(105));
+        assertEquals(6000, planner.plan(3, 1200000, 5000, 100000, 60000, 3));
+        assertEquals(1, planner.getPlannedStarts(106));
+        assertEquals(5900, planner.plan(4, 1200000, 5000, 100100, 60000, 3));
+        assertEquals(2, planner.getPlannedStarts(106));
+        assertEquals(3000, planner.plan(5, 1200000, 3000, 103000, 60000, 3));
+        assertEquals(3, planner.getPlannedStarts(106));
+        assertEquals(3, planner.getPlannedStarts(105));
+        assertEquals(1000, planner.plan(6, 1200000, 1000, 107000, 60000, 3));
+        assertEquals(0, planner.getPlannedStarts(105));
+        assertEquals(0, planner.getPlannedStarts(106));
+    }
+
+    @Test
+    public void testBurstLimitLargeTimestamp() {
+        for (int ii = 0; ii < 4; ii++) {
+            assertEquals(0, planner.plan(ii, 1200000, 0, Long.MAX_VALUE, 0, 4));
+        }
+        assertEquals(1000 - Long.MAX_VALUE % 1000, planner.plan(4, 1200000, 0, Long.MAX_VALUE, 0, 4));
+    }
+}
@@ -78,6 +78,7 @@ public class NetworkTaskWorkerTest {
         logDAO.deleteAllLogs();
         preferenceManager = new PreferenceManager(TestRegistry.getContext());
         preferenceManager.removeAllPreferences();
+        NetworkTaskProcessServiceScheduler.getNetworkTaskExecutionStatistics(TestRegistry.getContext()).reset();
     }
 
     @After
@@ -115,6 +116,11 @@ public class NetworkTaskWorkerTest {
         NotificationHandler notificationHandler = testNetworkTaskWorker.getNotificationHandler();
         MockNotificationManager notificationManager = (MockNotificationManager) notificationHandler.getNotificationManager();
         assertFalse(notificationManager.wasNotifyCalled());
+        NetworkTaskExecutionStatistics.TaskStatistics statistics = NetworkTaskProcessServiceScheduler.getNetworkTaskExecutionStatistics(TestRegistry.getContext()).getStatistics(task.getId());
+        assertEquals(1, statistics.total());
+        assertEquals(1, statistics.samples());
+        assertTrue(statistics.wallAverage() >= statistics.getPhaseAverage(NetworkTaskExecutionStatistics.Phase.COMMAND));
+        assertTrue(statistics.wakeLockTotal() >= statistics.wallAverage());
     }
 
     @Test
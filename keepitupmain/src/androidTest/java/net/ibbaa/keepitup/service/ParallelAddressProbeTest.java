@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.MediumTest;
+
+import net.ibbaa.keepitup.model.AccessType;
+import net.ibbaa.keepitup.test.mock.TestRegistry;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@MediumTest
+@RunWith(AndroidJUnit4.class)
+public class ParallelAddressProbeTest {
+
+    private NetworkTaskExecutionEngine executionEngine;
+
+    @Before
+    public void beforeEachTestMethod() {
+        executionEngine = new NetworkTaskExecutionEngine(TestRegistry.getContext());
+    }
+
+    @Test
+    public void testSortAddresses() throws Exception {
+        InetAddress ip41 = InetAddress.getByName("127.0.0.1");
+        InetAddress ip42 = InetAddress.getByName("127.0.0.2");
+        InetAddress ip43 = InetAddress.getByName("127.0.0.3");
+        InetAddress ip61 = InetAddress.getByName("::1");
+        InetAddress ip62 = InetAddress.getByName("::2");
+        List<InetAddress> addresses = Arrays.asList(ip61, ip41, ip62, ip42, ip43, ip41);
+        assertEquals(Arrays.asList(ip41, ip61, ip42, ip62, ip43), ParallelAddressProbe.sortAddresses(addresses, true));
+        assertEquals(Arrays.asList(ip61, ip41, ip62, ip42, ip43), ParallelAddressProbe.sortAddresses(addresses, false));
+        assertEquals(Arrays.asList(ip41, ip42), ParallelAddressProbe.sortAddresses(Arrays.asList(ip41, ip42), false));
+    }
+
+    @Test
+    public void testAllAddressesProbed() throws Exception {
+        List<InetAddress> addresses = Arrays.asList(InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1"), InetAddress.getByName("127.0.0.2"));
+        ParallelAddressProbe<String> probe = new ParallelAddressProbe<>(executionEngine, AccessType.CONNECT, 50);
+        List<ParallelAddressProbe.Result<String>> results = probe.execute(addresses, address -> () -> {
+            if ("127.0.0.2".equals(address.getHostAddress())) {
+                return "failure";
+            }
+            return "success";
+        }, "success"::equals, false, 5000);
+        assertEquals(3, results.size());
+        assertEquals(addresses.get(0), results.get(0).address());
+        assertTrue(results.get(0).success());
+        assertEquals("success", results.get(0).result());
+        assertEquals(addresses.get(1), results.get(1).address());
+        assertTrue(results.get(1).success());
+        assertEquals(addresses.get(2), results.get(2).address());
+        assertFalse(results.get(2).success());
+        assertEquals("failure", results.get(2).result());
+        assertFalse(results.get(2).cancelled());
+        assertNull(results.get(2).exception());
+    }
+
+    @Test
+    public void testStopOnSuccess() throws Exception {
+        List<InetAddress> addresses = Arrays.asList(InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1"), InetAddress.getByName("127.0.0.2"));
+        ParallelAddressProbe<String> probe = new ParallelAddressProbe<>(executionEngine, AccessType.CONNECT, 100);
+        long start = System.currentTimeMillis();
+        List<ParallelAddressProbe.Result<String>> results = probe.execute(addresses, address -> () -> {
+            if ("127.0.0.1".equals(address.getHostAddress())) {
+                Thread.sleep(10000);
+            }
+            return "success";
+        }, "success"::equals, true, 20000);
+        assertTrue(System.currentTimeMillis() - start < 5000);
+        assertTrue(results.get(0).cancelled());
+        assertFalse(results.get(0).success());
+        assertTrue(results.get(1).success());
+        assertTrue(results.get(2).cancelled());
+        assertNull(results.get(2).result());
+    }
+
+    @Test
+    public void testFailureStartsNextProbe() throws Exception {
+        List<InetAddress> addresses = Arrays.asList(InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1"), InetAddress.getByName("127.0.0.2"));
+        ParallelAddressProbe<String> probe = new ParallelAddressProbe<>(executionEngine, AccessType.CONNECT, 10000);
+        AtomicInteger calls = new AtomicInteger();
+        long start = System.currentTimeMillis();
+        List<ParallelAddressProbe.Result<String>> results = probe.execute(addresses, address -> () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("failure");
+        }, "success"::equals, false, 5000);
+        assertTrue(System.currentTimeMillis() - start < 5000);
+        assertEquals(3, calls.get());
+        for (ParallelAddressProbe.Result<String> result : results) {
+            assertFalse(result.success());
+            assertFalse(result.cancelled());
+            assertTrue(result.exception() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        List<InetAddress> addresses = Arrays.asList(InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1"));
+        ParallelAddressProbe<String> probe = new ParallelAddressProbe<>(executionEngine, AccessType.CONNECT, 0);
+        List<ParallelAddressProbe.Result<String>> results = probe.execute(addresses, address -> () -> {
+            if ("::1".equals(address.getHostAddress())) {
+                Thread.sleep(10000);
+            }
+            return "success";
+        }, "success"::equals, false, 500);
+        assertTrue(results.get(0).success());
+        assertFalse(results.get(1).success());
+        assertFalse(results.get(1).cancelled());
+        assertTrue(results.get(1).exception() instanceof TimeoutException);
+    }
+
+    @Test
+    public void testProbeCreationError() throws Exception {
+        List<InetAddress> addresses = Arrays.asList(InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1"));
+        ParallelAddressProbe<String> probe = new ParallelAddressProbe<>(executionEngine, AccessType.CONNECT, 0);
+        List<ParallelAddressProbe.Result<String>> results = probe.execute(addresses, address -> {
+            if ("127.0.0.1".equals(address.getHostAddress())) {
+                throw new IllegalArgumentException("creation");
+            }
+            return () -> "success";
+        }, "success"::equals, false, 5000);
+        assertFalse(results.get(0).success());
+        assertTrue(results.get(0).exception() instanceof IllegalArgumentException);
+        assertTrue(results.get(1).success());
+    }
+}
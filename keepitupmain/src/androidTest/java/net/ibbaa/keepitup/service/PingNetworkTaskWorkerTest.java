@@ -109,7 +109,7 @@ public class PingNetworkTaskWorkerTest {
         assertEquals(getTestTimestamp(), logEntry.getTimestamp());
         assertEquals(10, pingNetworkTaskWorker.getPingCount());
         assertTrue(logEntry.isSuccess());
-        assertEquals("Pinged ::1 successfully. 64 bytes received per packet. 3 packets transmitted. 3 packets received. 0% packet loss. 0.08 msec average time.", logEntry.getMessage());
+        assertEquals("Pinged ::1 successfully. 64 bytes received per packet. 3 packets transmitted. 3 packets received. 0% packet loss. 0.08 msec average time. 0.08 msec minimum, 0.08 msec maximum, 0 msec deviation, 0 msec jitter. 0.08 msec 95% percentile time.", logEntry.getMessage());
     }
 
     @Test
@@ -151,7 +151,7 @@ public class PingNetworkTaskWorkerTest {
         assertEquals(getTestTimestamp(), logEntry.getTimestamp());
         assertEquals(10, pingNetworkTaskWorker.getPingCount());
         assertTrue(logEntry.isSuccess());
-        assertEquals("Pinged ::1 successfully. 65535 bytes received per packet. 3 packets transmitted. 3 packets received. 0% packet loss. 20.5 msec average time.", logEntry.getMessage());
+        assertEquals("Pinged ::1 successfully. 65535 bytes received per packet. 3 packets transmitted. 3 packets received. 0% packet loss. 20.5 msec average time. 10.5 msec minimum, 30.5 msec maximum, 8.16 msec deviation, 10 msec jitter. 30.5 msec 95% percentile time.", logEntry.getMessage());
     }
 
     @Test
@@ -193,7 +193,7 @@ public class PingNetworkTaskWorkerTest {
         assertEquals(getTestTimestamp(), logEntry.getTimestamp());
         assertEquals(10, pingNetworkTaskWorker.getPingCount());
         assertTrue(logEntry.isSuccess());
-        assertEquals("Pinged 127.0.0.1 successfully. 64 bytes received per packet. 3 packets transmitted. 3 packets received. 0% packet loss. 2 sec average time.", logEntry.getMessage());
+        assertEquals("Pinged 127.0.0.1 successfully. 64 bytes received per packet. 3 packets transmitted. 3 packets received. 0% packet loss. 2 sec average time. 1 sec minimum, 3 sec maximum, 816.5 msec deviation, 1 sec jitter. 3 sec 95% percentile time.", logEntry.getMessage());
     }
 
     @Test
@@ -278,7 +278,7 @@ public class PingNetworkTaskWorkerTest {
         assertEquals(getTestTimestamp(), logEntry.getTimestamp());
         assertEquals(10, pingNetworkTaskWorker.getPingCount());
         assertFalse(logEntry.isSuccess());
-        assertEquals("Ping to 127.0.0.1 failed. 64 bytes received per packet. 3 packets transmitted. 3 packets received. 0% packet loss. 0.08 msec average time.", logEntry.getMessage());
+        assertEquals("Ping to 127.0.0.1 failed. 64 bytes received per packet. 3 packets transmitted. 3 packets received. 0% packet loss. 0.08 msec average time. 0.08 msec minimum, 0.08 msec maximum, 0 msec deviation, 0 msec jitter. 0.08 msec 95% percentile time.", logEntry.getMessage());
     }
 
     @Test
@@ -398,6 +398,44 @@ public class PingNetworkTaskWorkerTest {
         return task;
     }
 
+    @Test
+    public void testProbeAllAddresses() throws Exception {
+        DNSLookupResult dnsLookupResult = new DNSLookupResult(Arrays.asList(InetAddress.getByName("::1"), InetAddress.getByName("127.0.0.1")), "127.0.0.1", null);
+        PingCommandResult pingCommandResult = new PingCommandResult(0, 1, "testoutput", null);
+        prepareTestPingNetworkTaskWorker(dnsLookupResult, pingCommandResult);
+        pingNetworkTaskWorker.setProbeAllAddresses(true);
+        LogEntry logEntry = pingNetworkTaskWorker.execute(getNetworkTask(), getAccessTypeData(false)).getLogEntry();
+        assertEquals(45, logEntry.getNetworkTaskId());
+        assertEquals(getTestTimestamp(), logEntry.getTimestamp());
+        assertEquals(Arrays.asList("127.0.0.1", "::1"), pingNetworkTaskWorker.getProbedAddresses());
+        assertTrue(logEntry.isSuccess());
+        assertEquals("2 of 2 addresses reachable. Pinged 127.0.0.1 successfully. testoutput Pinged ::1 successfully. testoutput", logEntry.getMessage());
+    }
+
+    @Test
+    public void testProbeAllAddressesStopOnSuccess() throws Exception {
+        DNSLookupResult dnsLookupResult = new DNSLookupResult(Arrays.asList(InetAddress.getByName("::1"), InetAddress.getByName("127.0.0.1")), "127.0.0.1", null);
+        PingCommandResult pingCommandResult = new PingCommandResult(0, 1, "testoutput", null);
+        prepareTestPingNetworkTaskWorker(dnsLookupResult, pingCommandResult);
+        pingNetworkTaskWorker.setProbeAllAddresses(true);
+        LogEntry logEntry = pingNetworkTaskWorker.execute(getNetworkTask(), getAccessTypeData(true)).getLogEntry();
+        assertEquals(Collections.singletonList("127.0.0.1"), pingNetworkTaskWorker.getProbedAddresses());
+        assertTrue(logEntry.isSuccess());
+        assertEquals("1 of 2 addresses reachable. Pinged 127.0.0.1 successfully. testoutput Probe of ::1 skipped after success.", logEntry.getMessage());
+    }
+
+    @Test
+    public void testProbeAllAddressesFailed() throws Exception {
+        DNSLookupResult dnsLookupResult = new DNSLookupResult(Arrays.asList(InetAddress.getByName("::1"), InetAddress.getByName("127.0.0.1")), "127.0.0.1", null);
+        PingCommandResult pingCommandResult = new PingCommandResult(0, 1, null, new IllegalArgumentException("TestException"));
+        prepareTestPingNetworkTaskWorker(dnsLookupResult, pingCommandResult);
+        pingNetworkTaskWorker.setProbeAllAddresses(true);
+        LogEntry logEntry = pingNetworkTaskWorker.execute(getNetworkTask(), getAccessTypeData(true)).getLogEntry();
+        assertEquals(Arrays.asList("127.0.0.1", "::1"), pingNetworkTaskWorker.getProbedAddresses());
+        assertFalse(logEntry.isSuccess());
+        assertEquals("0 of 2 addresses reachable. Ping to 127.0.0.1 failed. IllegalArgumentException: TestException Ping to ::1 failed. IllegalArgumentException: TestException", logEntry.getMessage());
+    }
+
     private AccessTypeData getAccessTypeData(boolean stopOnSuccess) {
         AccessTypeData data = new AccessTypeData();
         data.setId(0);
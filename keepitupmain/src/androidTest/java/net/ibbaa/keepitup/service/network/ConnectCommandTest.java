@@ -31,6 +31,8 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -344,4 +346,72 @@ public class ConnectCommandTest {
         assertEquals(1, result.averageTime(), 0.01);
         assertNull(result.exception());
     }
+
+    @Test
+    public void testAttemptTimes() {
+        TestConnectCommand connectCommand = new TestConnectCommand(TestRegistry.getContext(), null, 80, 4, false);
+        List<TestConnectCommand.MockConnectionResult> connectionResultList = new ArrayList<>(4);
+        connectionResultList.add(new TestConnectCommand.MockConnectionResult(true, 4, null));
+        connectionResultList.add(new TestConnectCommand.MockConnectionResult(false, 3, null));
+        connectionResultList.add(new TestConnectCommand.MockConnectionResult(true, 1, null));
+        connectionResultList.add(new TestConnectCommand.MockConnectionResult(true, 7, null));
+        connectCommand.setConnectionResults(connectionResultList);
+        ConnectCommandResult result = connectCommand.call();
+        assertEquals(3, result.successfulAttempts());
+        assertEquals(3, result.attemptTimes().length);
+        assertEquals(4, result.averageTime(), 0.01);
+        assertEquals(1, result.minTime(), 0.01);
+        assertEquals(7, result.maxTime(), 0.01);
+        assertEquals(4, result.percentileTime(50), 0.01);
+        assertEquals(7, result.percentileTime(90), 0.01);
+    }
+
+    @Test
+    public void testSelectorConnectSuccess() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            TestConnectCommand connectCommand = new TestConnectCommand(TestRegistry.getContext(), InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), 6, false);
+            connectCommand.setSelectorConnect(true);
+            ConnectCommandResult result = connectCommand.call();
+            assertTrue(result.success());
+            assertEquals(6, result.attempts());
+            assertEquals(6, result.successfulAttempts());
+            assertEquals(0, result.timeoutAttempts());
+            assertEquals(0, result.errorAttempts());
+            assertEquals(6, result.attemptTimes().length);
+            assertTrue(result.minTime() <= result.maxTime());
+            assertNull(result.exception());
+        }
+    }
+
+    @Test
+    public void testSelectorConnectStopOnSuccess() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            TestConnectCommand connectCommand = new TestConnectCommand(TestRegistry.getContext(), InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), 3, true);
+            connectCommand.setSelectorConnect(true);
+            ConnectCommandResult result = connectCommand.call();
+            assertTrue(result.success());
+            assertEquals(1, result.attempts());
+            assertEquals(1, result.successfulAttempts());
+            assertEquals(1, result.attemptTimes().length);
+            assertNull(result.exception());
+        }
+    }
+
+    @Test
+    public void testSelectorConnectRefused() throws Exception {
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            port = serverSocket.getLocalPort();
+        }
+        TestConnectCommand connectCommand = new TestConnectCommand(TestRegistry.getContext(), InetAddress.getLoopbackAddress(), port, 3, false);
+        connectCommand.setSelectorConnect(true);
+        ConnectCommandResult result = connectCommand.call();
+        assertFalse(result.success());
+        assertEquals(3, result.attempts());
+        assertEquals(0, result.successfulAttempts());
+        assertEquals(0, result.timeoutAttempts());
+        assertEquals(3, result.errorAttempts());
+        assertEquals(0, result.attemptTimes().length);
+        assertTrue(result.exception() instanceof IOException);
+    }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.MediumTest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+
+@MediumTest
+@RunWith(AndroidJUnit4.class)
+public class ConnectSelectorTest {
+
+    private ConnectSelector selector;
+
+    @Before
+    public void beforeEachTestMethod() {
+        selector = new ConnectSelector();
+    }
+
+    @After
+    public void afterEachTestMethod() {
+        selector.shutdown();
+    }
+
+    @Test
+    public void testMultiplexedConnects() throws Exception {
+        try (ServerSocket serverSocket1 = new ServerSocket(0, 50, InetAddress.getLoopbackAddress()); ServerSocket serverSocket2 = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            List<ConnectSelector.ConnectAttempt> attempts = new ArrayList<>();
+            for (int ii = 0; ii < 20; ii++) {
+                ServerSocket serverSocket = ii % 2 == 0 ? serverSocket1 : serverSocket2;
+                attempts.add(selector.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort()), 5000));
+            }
+            for (ConnectSelector.ConnectAttempt attempt : attempts) {
+                assertTrue(attempt.await(10000));
+                assertTrue(attempt.isSuccess());
+                assertFalse(attempt.isTimeout());
+                assertTrue(attempt.getDuration() >= 0);
+            }
+            assertEquals(0, selector.getPendingCount());
+        }
+    }
+
+    @Test
+    public void testConnectRefused() throws Exception {
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            port = serverSocket.getLocalPort();
+        }
+        ConnectSelector.ConnectAttempt attempt = selector.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 5000);
+        assertTrue(attempt.await(10000));
+        assertFalse(attempt.isSuccess());
+        assertFalse(attempt.isTimeout());
+        assertNotNull(attempt.getException());
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            ConnectSelector.ConnectAttempt attempt = selector.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort()), 5000);
+            attempt.cancel();
+            assertTrue(attempt.isDone());
+            assertTrue(attempt.await(0));
+        }
+    }
+}
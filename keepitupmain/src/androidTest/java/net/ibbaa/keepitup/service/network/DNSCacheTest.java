@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.SmallTest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SmallTest
+@RunWith(AndroidJUnit4.class)
+public class DNSCacheTest {
+
+    private TestDNSCache cache;
+    private List<Runnable> refreshes;
+
+    @Before
+    public void beforeEachTestMethod() {
+        cache = new TestDNSCache(3, 1000, 100, 5000);
+        refreshes = new ArrayList<>();
+    }
+
+    @Test
+    public void testHitAndExpiry() throws Exception {
+        CountingLookup lookup = new CountingLookup("127.0.0.1");
+        DNSLookupResult result = cache.lookup("host", lookup, refreshes::add);
+        assertEquals("127.0.0.1", result.getAddresses().get(0).getHostAddress());
+        assertEquals(1, lookup.getCalls());
+        cache.setTime(999);
+        result = cache.lookup("HOST", lookup, refreshes::add);
+        assertEquals("127.0.0.1", result.getAddresses().get(0).getHostAddress());
+        assertEquals(1, lookup.getCalls());
+        assertTrue(refreshes.isEmpty());
+        cache.setTime(6000);
+        cache.lookup("host", lookup, refreshes::add);
+        assertEquals(2, lookup.getCalls());
+        DNSCache.Statistics statistics = cache.getStatistics();
+        assertEquals(3, statistics.lookups());
+        assertEquals(1, statistics.hits());
+        assertEquals(2, statistics.misses());
+        assertEquals(2, statistics.resolveCount());
+        assertEquals(1.0 / 3, statistics.hitRate(), 0.001);
+    }
+
+    @Test
+    public void testRecordTTL() throws Exception {
+        CountingLookup lookup = new CountingLookup("127.0.0.1", 3);
+        cache.lookup("host", lookup, refreshes::add);
+        cache.setTime(2999);
+        cache.lookup("host", lookup, refreshes::add);
+        assertTrue(refreshes.isEmpty());
+        cache.setTime(3000);
+        cache.lookup("host", lookup, refreshes::add);
+        assertEquals(1, lookup.getCalls());
+        assertEquals(1, refreshes.size());
+    }
+
+    @Test
+    public void testStaleWhileRevalidate() throws Exception {
+        CountingLookup lookup = new CountingLookup("127.0.0.1");
+        cache.lookup("host", lookup, refreshes::add);
+        cache.setTime(1500);
+        lookup.setAddress("127.0.0.2");
+        DNSLookupResult result = cache.lookup("host", lookup, refreshes::add);
+        assertEquals("127.0.0.1", result.getAddresses().get(0).getHostAddress());
+        result = cache.lookup("host", lookup, refreshes::add);
+        assertEquals("127.0.0.1", result.getAddresses().get(0).getHostAddress());
+        assertEquals(1, refreshes.size());
+        assertEquals(1, lookup.getCalls());
+        refreshes.get(0).run();
+        assertEquals(2, lookup.getCalls());
+        result = cache.lookup("host", lookup, refreshes::add);
+        assertEquals("127.0.0.2", result.getAddresses().get(0).getHostAddress());
+        DNSCache.Statistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.staleHits());
+        assertEquals(1, statistics.hits());
+        assertEquals(1, statistics.refreshes());
+    }
+
+    @Test
+    public void testStaleEntryKeptOnRefreshError() throws Exception {
+        CountingLookup lookup = new CountingLookup("127.0.0.1");
+        cache.lookup("host", lookup, refreshes::add);
+        cache.setTime(1500);
+        lookup.setAddress(null);
+        cache.lookup("host", lookup, refreshes::add);
+        refreshes.get(0).run();
+        DNSLookupResult result = cache.lookup("host", lookup, refreshes::add);
+        assertNull(result.getException());
+        assertEquals("127.0.0.1", result.getAddresses().get(0).getHostAddress());
+    }
+
+    @Test
+    public void testRefreshRejected() throws Exception {
+        CountingLookup lookup = new CountingLookup("127.0.0.1");
+        cache.lookup("host", lookup, refreshes::add);
+        cache.setTime(1500);
+        DNSLookupResult result = cache.lookup("host", lookup, runnable -> {
+            throw new RejectedExecutionException();
+        });
+        assertEquals("127.0.0.1", result.getAddresses().get(0).getHostAddress());
+        cache.lookup("host", lookup, refreshes::add);
+        assertEquals(1, refreshes.size());
+    }
+
+    @Test
+    public void testNegativeCaching() throws Exception {
+        CountingLookup lookup = new CountingLookup(null);
+        DNSLookupResult result = cache.lookup("host", lookup, refreshes::add);
+        assertNotNull(result.getException());
+        cache.setTime(99);
+        result = cache.lookup("host", lookup, refreshes::add);
+        assertNotNull(result.getException());
+        assertEquals(1, lookup.getCalls());
+        cache.setTime(100);
+        lookup.setAddress("127.0.0.1");
+        result = cache.lookup("host", lookup, refreshes::add);
+        assertNull(result.getException());
+        assertEquals(2, lookup.getCalls());
+        assertTrue(refreshes.isEmpty());
+        assertEquals(1, cache.getStatistics().negativeHits());
+    }
+
+    @Test
+    public void testMaxEntries() throws Exception {
+        CountingLookup lookup = new CountingLookup("127.0.0.1");
+        cache.lookup("host1", lookup, refreshes::add);
+        cache.lookup("host2", lookup, refreshes::add);
+        cache.lookup("host3", lookup, refreshes::add);
+        cache.lookup("host1", lookup, refreshes::add);
+        cache.lookup("host4", lookup, refreshes::add);
+        assertEquals(3, cache.size());
+        assertEquals(4, lookup.getCalls());
+        cache.lookup("host1", lookup, refreshes::add);
+        assertEquals(4, lookup.getCalls());
+        cache.lookup("host2", lookup, refreshes::add);
+        assertEquals(5, lookup.getCalls());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getStatistics().lookups());
+    }
+
+    @Test
+    public void testCoalescing() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Callable<DNSLookupResult> lookup = () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return new DNSLookupResult(Collections.singletonList(InetAddress.getByName("127.0.0.1")), "host", null, 1);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<DNSLookupResult> first = executor.submit(() -> cache.lookup("host", lookup, refreshes::add));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            Future<DNSLookupResult> second = executor.submit(() -> cache.lookup("host", lookup, refreshes::add));
+            long timeout = System.currentTimeMillis() + 10000;
+            while (cache.getStatistics().coalesced() == 0 && System.currentTimeMillis() < timeout) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            assertEquals("127.0.0.1", first.get(10, TimeUnit.SECONDS).getAddresses().get(0).getHostAddress());
+            assertEquals("127.0.0.1", second.get(10, TimeUnit.SECONDS).getAddresses().get(0).getHostAddress());
+            assertEquals(1, calls.get());
+            assertEquals(1, cache.getStatistics().coalesced());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static class TestDNSCache extends DNSCache {
+
+        private volatile long time;
+
+        public TestDNSCache(int maxEntries, long ttl, long negativeTTL, long staleTTL) {
+            super(maxEntries, ttl, negativeTTL, staleTTL);
+        }
+
+        public void setTime(long time) {
+            this.time = time;
+        }
+
+        @Override
+        protected long getCurrentTime() {
+            return time;
+        }
+    }
+
+    private static class CountingLookup implements Callable<DNSLookupResult> {
+
+        private final long ttl;
+        private String address;
+        private int calls;
+
+        public CountingLookup(String address) {
+            this(address, -1);
+        }
+
+        public CountingLookup(String address, long ttl) {
+            this.address = address;
+            this.ttl = ttl;
+        }
+
+        public void setAddress(String address) {
+            this.address = address;
+        }
+
+        public int getCalls() {
+            return calls;
+        }
+
+        @Override
+        public DNSLookupResult call() throws Exception {
+            calls++;
+            if (address == null) {
+                return new DNSLookupResult(Collections.emptyList(), "host", new UnknownHostException("host"), 1);
+            }
+            return new DNSLookupResult(Collections.singletonList(InetAddress.getByName(address)), "host", null, 1, ttl);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.MediumTest;
+
+import net.ibbaa.keepitup.test.mock.TestDNSServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@MediumTest
+@RunWith(AndroidJUnit4.class)
+public class DNSStubResolverTest {
+
+    private TestDNSServer server;
+
+    @Before
+    public void beforeEachTestMethod() throws Exception {
+        server = new TestDNSServer();
+        server.addRecord("host.test", Arrays.asList(InetAddress.getByName("10.0.0.1"), InetAddress.getByName("2001:db8::1")), 120);
+        server.start();
+    }
+
+    @After
+    public void afterEachTestMethod() {
+        server.stop();
+    }
+
+    @Test
+    public void testResolve() throws Exception {
+        DNSStubResolver resolver = new DNSStubResolver(Collections.singletonList(server.getAddress()), 2000, 1);
+        DNSStubResolver.Result result = resolver.resolve("host.test");
+        assertEquals(2, result.addresses().size());
+        assertEquals(InetAddress.getByName("10.0.0.1"), result.addresses().get(0));
+        assertEquals(InetAddress.getByName("2001:db8::1"), result.addresses().get(1));
+        assertEquals(120, result.ttl());
+        assertEquals(server.getAddress(), result.server());
+        assertEquals(2, server.getUDPQueries());
+        assertEquals(0, server.getTCPQueries());
+    }
+
+    @Test
+    public void testResolveAlias() throws Exception {
+        server.addAlias("www.host.test", "host.test");
+        DNSStubResolver resolver = new DNSStubResolver(Collections.singletonList(server.getAddress()), 2000, 1);
+        DNSStubResolver.Result result = resolver.resolve("WWW.host.test.");
+        assertEquals(2, result.addresses().size());
+        assertEquals(120, result.ttl());
+    }
+
+    @Test
+    public void testResolveNoData() throws Exception {
+        server.addRecord("ip4.test", Collections.singletonList(InetAddress.getByName("10.0.0.2")), 30);
+        server.addRecord("empty.test", Collections.emptyList(), 30);
+        DNSStubResolver resolver = new DNSStubResolver(Collections.singletonList(server.getAddress()), 2000, 1);
+        DNSStubResolver.Result result = resolver.resolve("ip4.test");
+        assertEquals(Collections.singletonList(InetAddress.getByName("10.0.0.2")), result.addresses());
+        assertEquals(30, result.ttl());
+        result = resolver.resolve("empty.test");
+        assertTrue(result.addresses().isEmpty());
+        assertEquals(-1, result.ttl());
+    }
+
+    @Test
+    public void testNameNotFound() throws Exception {
+        DNSStubResolver resolver = new DNSStubResolver(Collections.singletonList(server.getAddress()), 2000, 2);
+        try {
+            resolver.resolve("unknown.test");
+            fail("NameNotFoundException expected");
+        } catch (DNSStubResolver.NameNotFoundException exc) {
+            assertEquals(2, server.getUDPQueries());
+        }
+    }
+
+    @Test
+    public void testServerFailure() throws Exception {
+        server.setRCode(2);
+        DNSStubResolver resolver = new DNSStubResolver(Collections.singletonList(server.getAddress()), 2000, 2);
+        try {
+            resolver.resolve("host.test");
+            fail("IOException expected");
+        } catch (IOException exc) {
+            assertFalse(exc instanceof UnknownHostException);
+            assertEquals(4, server.getUDPQueries());
+        }
+    }
+
+    @Test
+    public void testPartialServerFailure() throws Exception {
+        server.setRCode(DNSStubResolver.TYPE_AAAA, 2);
+        DNSStubResolver resolver = new DNSStubResolver(Collections.singletonList(server.getAddress()), 2000, 1);
+        DNSStubResolver.Result result = resolver.resolve("host.test");
+        assertEquals(Collections.singletonList(InetAddress.getByName("10.0.0.1")), result.addresses());
+        assertEquals(120, result.ttl());
+        server.setRCode(DNSStubResolver.TYPE_AAAA, DNSStubResolver.RCODE_NOERROR);
+        server.setRCode(DNSStubResolver.TYPE_A, 2);
+        result = resolver.resolve("host.test");
+        assertEquals(Collections.singletonList(InetAddress.getByName("2001:db8::1")), result.addresses());
+        assertEquals(120, result.ttl());
+    }
+
+    @Test
+    public void testPartialNameNotFound() throws Exception {
+        server.setRCode(DNSStubResolver.TYPE_AAAA, DNSStubResolver.RCODE_NXDOMAIN);
+        DNSStubResolver resolver = new DNSStubResolver(Collections.singletonList(server.getAddress()), 2000, 1);
+        DNSStubResolver.Result result = resolver.resolve("host.test");
+        assertEquals(Collections.singletonList(InetAddress.getByName("10.0.0.1")), result.addresses());
+        assertEquals(120, result.ttl());
+    }
+
+    @Test
+    public void testNameNotFoundAndServerFailure() throws Exception {
+        server.setRCode(DNSStubResolver.TYPE_A, DNSStubResolver.RCODE_NXDOMAIN);
+        server.setRCode(DNSStubResolver.TYPE_AAAA, 2);
+        DNSStubResolver resolver = new DNSStubResolver(Collections.singletonList(server.getAddress()), 2000, 1);
+        try {
+            resolver.resolve("host.test");
+            fail("IOException expected");
+        } catch (IOException exc) {
+            assertFalse(exc instanceof UnknownHostException);
+        }
+    }
+
+    @Test
+    public void testPartialTimeout() throws Exception {
+        server.setSilent(DNSStubResolver.TYPE_AAAA, true);
+        DNSStubResolver resolver = new DNSStubResolver(Collections.singletonList(server.getAddress()), 200, 1);
+        DNSStubResolver.Result result = resolver.resolve("host.test");
+        assertEquals(Collections.singletonList(InetAddress.getByName("10.0.0.1")), result.addresses());
+        assertEquals(120, result.ttl());
+        assertEquals(2, server.getUDPQueries());
+    }
+
+    @Test
+    public void testTruncatedFallsBackToTCP() throws Exception {
+        server.setTruncate(true);
+        DNSStubResolver resolver = new DNSStubResolver(Collections.singletonList(server.getAddress()), 2000, 1);
+        DNSStubResolver.Result result = resolver.resolve("host.test");
+        assertEquals(2, result.addresses().size());
+        assertEquals(120, result.ttl());
+        assertEquals(2, server.getUDPQueries());
+        assertEquals(2, server.getTCPQueries());
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        server.setSilent(true);
+        DNSStubResolver resolver = new DNSStubResolver(Collections.singletonList(server.getAddress()), 200, 1);
+        long start = System.nanoTime();
+        try {
+            resolver.resolve("host.test");
+            fail("SocketTimeoutException expected");
+        } catch (SocketTimeoutException exc) {
+            long duration = (System.nanoTime() - start) / 1000000L;
+            assertTrue(duration >= 150);
+            assertTrue(duration < 2000);
+        }
+    }
+
+    @Test
+    public void testFallbackToNextServer() throws Exception {
+        TestDNSServer silentServer = new TestDNSServer();
+        silentServer.setSilent(true);
+        silentServer.start();
+        try {
+            DNSStubResolver resolver = new DNSStubResolver(Arrays.asList(silentServer.getAddress(), server.getAddress()), 200, 1);
+            DNSStubResolver.Result result = resolver.resolve("host.test");
+            assertEquals(2, result.addresses().size());
+            assertEquals(server.getAddress(), result.server());
+            assertEquals(2, silentServer.getUDPQueries());
+        } finally {
+            silentServer.stop();
+        }
+    }
+
+    @Test
+    public void testNoServers() {
+        DNSStubResolver resolver = new DNSStubResolver(Collections.emptyList(), 200, 1);
+        try {
+            resolver.resolve("host.test");
+            fail("IOException expected");
+        } catch (IOException exc) {
+            assertFalse(exc instanceof UnknownHostException);
+        }
+    }
+
+    @Test
+    public void testCreateQuery() throws Exception {
+        byte[] query = DNSStubResolver.createQuery(0x1234, "www.host.test", DNSStubResolver.TYPE_AAAA);
+        assertEquals(12 + 15 + 4, query.length);
+        assertEquals(0x12, query[0]);
+        assertEquals(0x34, query[1]);
+        assertEquals(1, query[5]);
+        assertEquals(3, query[12]);
+        assertEquals('w', query[13]);
+        assertEquals(0, query[26]);
+        assertEquals(DNSStubResolver.TYPE_AAAA, query[28]);
+        assertEquals(DNSStubResolver.CLASS_IN, query[30]);
+    }
+
+    @Test
+    public void testEncodeNameInvalid() {
+        assertEncodeNameInvalid("");
+        assertEncodeNameInvalid("host..test");
+        assertEncodeNameInvalid(".");
+        char[] label = new char[64];
+        Arrays.fill(label, 'a');
+        assertEncodeNameInvalid(new String(label) + ".test");
+    }
+
+    @Test
+    public void testParseServers() throws Exception {
+        List<InetSocketAddress> servers = DNSStubResolver.parseServers(" 127.0.0.1, ::1 ,invalid,", 5353);
+        assertEquals(2, servers.size());
+        assertEquals(new InetSocketAddress(InetAddress.getByName("127.0.0.1"), 5353), servers.get(0));
+        assertEquals(new InetSocketAddress(InetAddress.getByName("::1"), 5353), servers.get(1));
+        assertTrue(DNSStubResolver.parseServers("", 53).isEmpty());
+        assertTrue(DNSStubResolver.parseServers(null, 53).isEmpty());
+    }
+
+    @Test
+    public void testDNSLookup() throws Exception {
+        DNSStubResolver resolver = new DNSStubResolver(Collections.singletonList(server.getAddress()), 2000, 1);
+        DNSLookupResult result = new DNSLookup("host.test", resolver).call();
+        assertNull(result.getException());
+        assertEquals(2, result.getAddresses().size());
+        assertEquals(120, result.getTTL());
+        assertEquals("host.test", result.getHost());
+        result = new DNSLookup("unknown.test", resolver).call();
+        assertTrue(result.getException() instanceof DNSStubResolver.NameNotFoundException);
+        assertTrue(result.getAddresses().isEmpty());
+        int queries = server.getUDPQueries();
+        result = new DNSLookup("127.0.0.1", resolver).call();
+        assertNull(result.getException());
+        assertEquals(InetAddress.getByName("127.0.0.1"), result.getAddresses().get(0));
+        assertEquals(-1, result.getTTL());
+        assertEquals(queries, server.getUDPQueries());
+    }
+
+    private void assertEncodeNameInvalid(String host) {
+        try {
+            DNSStubResolver.encodeName(host);
+            fail("UnknownHostException expected for " + host);
+        } catch (UnknownHostException exc) {
+            //expected
+        }
+    }
+}
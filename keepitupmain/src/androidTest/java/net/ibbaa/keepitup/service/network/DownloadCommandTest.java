@@ -28,15 +28,21 @@ import androidx.documentfile.provider.DocumentFile;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 import androidx.test.filters.MediumTest;
 
+import net.ibbaa.keepitup.db.DownloadValidatorDAO;
 import net.ibbaa.keepitup.db.HeaderDAO;
 import net.ibbaa.keepitup.db.NetworkTaskDAO;
 import net.ibbaa.keepitup.logging.Dump;
 import net.ibbaa.keepitup.model.AccessType;
+import net.ibbaa.keepitup.model.AccessTypeData;
+import net.ibbaa.keepitup.model.DownloadValidator;
 import net.ibbaa.keepitup.model.Header;
 import net.ibbaa.keepitup.model.HeaderType;
 import net.ibbaa.keepitup.model.NetworkTask;
+import net.ibbaa.keepitup.model.ProbeMode;
 import net.ibbaa.keepitup.model.Resolve;
 import net.ibbaa.keepitup.resources.PreferenceManager;
+import net.ibbaa.keepitup.service.NetworkTaskCancellationRegistry;
+import net.ibbaa.keepitup.service.NetworkTaskProcessServiceScheduler;
 import net.ibbaa.keepitup.service.SystemFileManager;
 import net.ibbaa.keepitup.test.mock.BlockingTestInputStream;
 import net.ibbaa.keepitup.test.mock.ExceptionResponseBody;
@@ -65,11 +71,14 @@ import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.GregorianCalendar;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.zip.CRC32;
 
 import okhttp3.Headers;
 import okhttp3.Protocol;
@@ -84,6 +93,7 @@ public class DownloadCommandTest {
 
     private NetworkTaskDAO networkTaskDAO;
     private HeaderDAO headerDAO;
+    private DownloadValidatorDAO downloadValidatorDAO;
     private SystemFileManager fileManager;
     private PreferenceManager preferenceManager;
 
@@ -96,6 +106,8 @@ public class DownloadCommandTest {
         networkTaskDAO.deleteAllNetworkTasks();
         headerDAO = new HeaderDAO(TestRegistry.getContext());
         headerDAO.deleteAllHeaders();
+        downloadValidatorDAO = new DownloadValidatorDAO(TestRegistry.getContext());
+        downloadValidatorDAO.deleteAllDownloadValidators();
         fileManager = new SystemFileManager(TestRegistry.getContext());
         fileManager.delete(fileManager.getExternalDirectory(fileManager.getDefaultDownloadDirectoryName(), 0));
     }
@@ -104,6 +116,7 @@ public class DownloadCommandTest {
     public void afterEachTestMethod() {
         networkTaskDAO.deleteAllNetworkTasks();
         headerDAO.deleteAllHeaders();
+        downloadValidatorDAO.deleteAllDownloadValidators();
         fileManager.delete(fileManager.getExternalDirectory(fileManager.getDefaultDownloadDirectoryName(), 0));
     }
 
@@ -524,6 +537,118 @@ public class DownloadCommandTest {
         testResponse.close();
     }
 
+    @Test
+    public void testProbeModeHead() throws Exception {
+        AccessTypeData data = new AccessTypeData();
+        data.setProbeMode(ProbeMode.HEAD);
+        TestDownloadCommand downloadCommand = new TestDownloadCommand(TestRegistry.getContext(), null, data, new URL("http://test.com"), null, false, null, null);
+        setCurrentTime(downloadCommand);
+        Response testResponse = prepareResponse("http://test.com", HttpURLConnection.HTTP_OK, "Everything ok", null);
+        MockFileManager fileManager = new MockFileManager();
+        downloadCommand.addResponse("http://test.com", testResponse);
+        downloadCommand.setFileManager(fileManager);
+        DownloadCommandResult result = downloadCommand.call();
+        assertEquals("HEAD", downloadCommand.getRequest(new URL("http://test.com")).method());
+        assertNull(downloadCommand.getRequest(new URL("http://test.com")).header("Range"));
+        assertEquals(1, result.connectResults().size());
+        assertTrue(result.connectResults().get(0).success());
+        assertTrue(result.downloadSuccess());
+        assertFalse(result.fileExists());
+        assertFalse(result.deleteSuccess());
+        assertTrue(result.valid());
+        assertFalse(result.stopped());
+        assertEquals(1, result.httpResponseCodes().size());
+        assertEquals(HttpURLConnection.HTTP_OK, result.httpResponseCodes().get(0).intValue());
+        assertEquals("Everything ok", result.httpResponseMessages().get(0));
+        assertNull(result.fileName());
+        assertEquals(0, result.bytesRead());
+        assertEquals(99, result.duration());
+        assertNull(result.exception());
+        testResponse.close();
+    }
+
+    @Test
+    public void testProbeModeRange() throws Exception {
+        AccessTypeData data = new AccessTypeData();
+        data.setProbeMode(ProbeMode.RANGE);
+        TestDownloadCommand downloadCommand = new TestDownloadCommand(TestRegistry.getContext(), null, data, new URL("http://test.com"), null, false, null, null);
+        setCurrentTime(downloadCommand);
+        Response testResponse = prepareResponse("http://test.com", HttpURLConnection.HTTP_PARTIAL, "Partial content", new ByteArrayInputStream(new byte[5000]));
+        downloadCommand.addResponse("http://test.com", testResponse);
+        DownloadCommandResult result = downloadCommand.call();
+        assertEquals("GET", downloadCommand.getRequest(new URL("http://test.com")).method());
+        assertEquals("bytes=0-1023", downloadCommand.getRequest(new URL("http://test.com")).header("Range"));
+        assertTrue(result.downloadSuccess());
+        assertFalse(result.fileExists());
+        assertTrue(result.valid());
+        assertEquals(HttpURLConnection.HTTP_PARTIAL, result.httpResponseCodes().get(0).intValue());
+        assertNull(result.fileName());
+        assertEquals(1024, result.bytesRead());
+        assertNull(result.exception());
+        testResponse.close();
+        downloadCommand.reset();
+        testResponse = prepareResponse("http://test.com", HttpURLConnection.HTTP_OK, "Everything ok", new ByteArrayInputStream(new byte[100]));
+        downloadCommand.addResponse("http://test.com", testResponse);
+        result = downloadCommand.call();
+        assertTrue(result.downloadSuccess());
+        assertEquals(100, result.bytesRead());
+        testResponse.close();
+    }
+
+    @Test
+    public void testProbeModeStatus() throws Exception {
+        AccessTypeData data = new AccessTypeData();
+        data.setProbeMode(ProbeMode.STATUS);
+        TestDownloadCommand downloadCommand = new TestDownloadCommand(TestRegistry.getContext(), null, data, new URL("http://test.com"), null, false, null, null);
+        setCurrentTime(downloadCommand);
+        Response testResponse = prepareResponse("http://test.com", HttpURLConnection.HTTP_OK, "Everything ok", new ByteArrayInputStream(new byte[5000]));
+        downloadCommand.addResponse("http://test.com", testResponse);
+        DownloadCommandResult result = downloadCommand.call();
+        assertEquals("GET", downloadCommand.getRequest(new URL("http://test.com")).method());
+        assertNull(downloadCommand.getRequest(new URL("http://test.com")).header("Range"));
+        assertTrue(result.downloadSuccess());
+        assertFalse(result.fileExists());
+        assertNull(result.fileName());
+        assertEquals(0, result.bytesRead());
+        assertNull(result.exception());
+        testResponse.close();
+        downloadCommand.reset();
+        testResponse = prepareResponse("http://test.com", HttpURLConnection.HTTP_NOT_FOUND, "not found", null);
+        downloadCommand.addResponse("http://test.com", testResponse);
+        result = downloadCommand.call();
+        assertFalse(result.downloadSuccess());
+        assertEquals(HttpURLConnection.HTTP_NOT_FOUND, result.httpResponseCodes().get(0).intValue());
+        testResponse.close();
+    }
+
+    @Test
+    public void testDiscard() throws Exception {
+        TestDownloadCommand downloadCommand = new TestDownloadCommand(TestRegistry.getContext(), null, null, new URL("http://test.com"), null, true, true, null, null);
+        setCurrentTime(downloadCommand);
+        byte[] data = new byte[10000];
+        Arrays.fill(data, (byte) 7);
+        Response testResponse = prepareResponse("http://test.com", HttpURLConnection.HTTP_OK, "Everything ok", new ByteArrayInputStream(data), Map.of("Content-Disposition", "attachment; filename=\"test.txt\""));
+        downloadCommand.addResponse("http://test.com", testResponse);
+        DownloadCommandResult result = downloadCommand.call();
+        assertEquals("GET", downloadCommand.getRequest(new URL("http://test.com")).method());
+        assertEquals(1, result.connectResults().size());
+        assertTrue(result.connectResults().get(0).success());
+        assertTrue(result.downloadSuccess());
+        assertFalse(result.fileExists());
+        assertFalse(result.deleteSuccess());
+        assertTrue(result.valid());
+        assertFalse(result.stopped());
+        assertEquals(HttpURLConnection.HTTP_OK, result.httpResponseCodes().get(0).intValue());
+        assertNull(result.fileName());
+        assertEquals(10000, result.bytesRead());
+        CRC32 checksum = new CRC32();
+        checksum.update(data, 0, data.length);
+        assertEquals(String.format(Locale.US, "%08x", checksum.getValue()), result.checksum());
+        assertEquals(99, result.duration());
+        assertNull(result.exception());
+        testResponse.close();
+    }
+
     @Test
     public void testFileNameFromContentDispositionException() throws Exception {
         preferenceManager.setPreferenceDownloadFollowsRedirects(false);
@@ -819,6 +944,60 @@ public class DownloadCommandTest {
         testResponse.close();
     }
 
+    @Test
+    public void testNetworkTaskCancellationTokenInvalidated() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(false);
+        NetworkTask databaseTask = networkTaskDAO.insertNetworkTask(getNetworkTask());
+        NetworkTask task = getNetworkTaskWithId(databaseTask);
+        NetworkTaskCancellationRegistry registry = NetworkTaskProcessServiceScheduler.getNetworkTaskCancellationRegistry();
+        File externalDir = fileManager.getExternalDirectory(fileManager.getDefaultDownloadDirectoryName(), 0);
+        TestDownloadCommand downloadCommand = new TestDownloadCommand(TestRegistry.getContext(), task, null, new URL("http://www.host.com"), externalDir.getAbsolutePath(), true, null, null);
+        setCurrentTime(downloadCommand);
+        Response testResponse = prepareResponse("http://www.host.com", HttpURLConnection.HTTP_OK, "Everything ok", new BlockingTestInputStream(() -> {
+            assertEquals(1, registry.getRegisteredCount(task.getSchedulerId()));
+            registry.invalidate(task.getSchedulerId());
+            return downloadCommand.isValid();
+        }), Map.of("Content-Disposition", "attachment; filename=\"test.jpg\""));
+        downloadCommand.addResponse("http://www.host.com", testResponse);
+        DownloadCommandResult result = downloadCommand.call();
+        assertFalse(result.downloadSuccess());
+        assertTrue(result.fileExists());
+        assertTrue(result.deleteSuccess());
+        assertFalse(result.valid());
+        assertFalse(result.stopped());
+        assertEquals("test.jpg", result.fileName());
+        assertNull(result.exception());
+        assertEquals(0, registry.getRegisteredCount(task.getSchedulerId()));
+        testResponse.close();
+    }
+
+    @Test
+    public void testNetworkTaskCancellationTokenStopped() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(false);
+        NetworkTask databaseTask = networkTaskDAO.insertNetworkTask(getNetworkTask());
+        NetworkTask task = getNetworkTaskWithId(databaseTask);
+        NetworkTaskCancellationRegistry registry = NetworkTaskProcessServiceScheduler.getNetworkTaskCancellationRegistry();
+        File externalDir = fileManager.getExternalDirectory(fileManager.getDefaultDownloadDirectoryName(), 0);
+        TestDownloadCommand downloadCommand = new TestDownloadCommand(TestRegistry.getContext(), task, null, new URL("http://www.host.com"), externalDir.getAbsolutePath(), true, null, null);
+        setCurrentTime(downloadCommand);
+        Response testResponse = prepareResponse("http://www.host.com", HttpURLConnection.HTTP_OK, "Everything ok", new BlockingTestInputStream(() -> {
+            registry.stop(task.getSchedulerId());
+            registry.invalidate(task.getSchedulerId());
+            return downloadCommand.isValid();
+        }), Map.of("Content-Disposition", "attachment; filename=\"test.jpg\""));
+        downloadCommand.addResponse("http://www.host.com", testResponse);
+        DownloadCommandResult result = downloadCommand.call();
+        assertFalse(result.downloadSuccess());
+        assertTrue(result.fileExists());
+        assertTrue(result.deleteSuccess());
+        assertFalse(result.valid());
+        assertTrue(result.stopped());
+        assertEquals("test.jpg", result.fileName());
+        assertNull(result.exception());
+        assertEquals(0, registry.getRegisteredCount(task.getSchedulerId()));
+        testResponse.close();
+    }
+
     @Test
     public void testSuccessNot200() throws Exception {
         preferenceManager.setPreferenceDownloadFollowsRedirects(false);
@@ -1469,6 +1648,182 @@ public class DownloadCommandTest {
         testResponse.close();
     }
 
+    @Test
+    public void testDownloadValidatorStored() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(false);
+        NetworkTask task = networkTaskDAO.insertNetworkTask(getNetworkTask());
+        TestDownloadCommand downloadCommand = new TestDownloadCommand(TestRegistry.getContext(), task, null, new URL("http://www.host.com"), null, true, true, null, Collections.emptyList());
+        setCurrentTime(downloadCommand);
+        Response testResponse = prepareResponse("http://www.host.com", HttpURLConnection.HTTP_OK, "Everything ok", new ByteArrayInputStream(new byte[100]), Map.of("ETag", "\"abc\"", "Last-Modified", "Wed, 21 Oct 2025 07:28:00 GMT"));
+        downloadCommand.addResponse("http://www.host.com", testResponse);
+        DownloadCommandResult result = downloadCommand.call();
+        assertTrue(result.downloadSuccess());
+        assertFalse(result.notModified());
+        assertEquals(100, result.bytesRead());
+        Request request = downloadCommand.getRequest(new URL("http://www.host.com"));
+        assertNull(request.header("If-None-Match"));
+        assertNull(request.header("If-Modified-Since"));
+        DownloadValidator downloadValidator = downloadValidatorDAO.readDownloadValidatorForNetworkTask(task.getId());
+        assertNotNull(downloadValidator);
+        assertEquals("http://www.host.com", downloadValidator.getUrl());
+        assertEquals("\"abc\"", downloadValidator.getETag());
+        assertEquals("Wed, 21 Oct 2025 07:28:00 GMT", downloadValidator.getLastModified());
+        testResponse.close();
+    }
+
+    @Test
+    public void testDownloadValidatorNotModified() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(false);
+        NetworkTask task = networkTaskDAO.insertNetworkTask(getNetworkTask());
+        downloadValidatorDAO.insertOrReplaceDownloadValidator(getDownloadValidator(task.getId(), "http://www.host.com"));
+        TestDownloadCommand downloadCommand = new TestDownloadCommand(TestRegistry.getContext(), task, null, new URL("http://www.host.com"), null, true, true, null, Collections.emptyList());
+        setCurrentTime(downloadCommand);
+        Response testResponse = prepareResponse("http://www.host.com", HttpURLConnection.HTTP_NOT_MODIFIED, "Not modified", null);
+        downloadCommand.addResponse("http://www.host.com", testResponse);
+        DownloadCommandResult result = downloadCommand.call();
+        Request request = downloadCommand.getRequest(new URL("http://www.host.com"));
+        assertEquals("\"abc\"", request.header("If-None-Match"));
+        assertEquals("Wed, 21 Oct 2025 07:28:00 GMT", request.header("If-Modified-Since"));
+        assertTrue(result.connectResults().get(0).success());
+        assertTrue(result.downloadSuccess());
+        assertTrue(result.notModified());
+        assertTrue(result.valid());
+        assertEquals(0, result.bytesRead());
+        assertEquals(1, result.httpResponseCodes().size());
+        assertEquals(HttpURLConnection.HTTP_NOT_MODIFIED, result.httpResponseCodes().get(0).intValue());
+        assertEquals("Not modified", result.httpResponseMessages().get(0));
+        assertNull(result.exception());
+        assertTrue(getDownloadValidator(task.getId(), "http://www.host.com").isTechnicallyEqual(downloadValidatorDAO.readDownloadValidatorForNetworkTask(task.getId())));
+        testResponse.close();
+    }
+
+    @Test
+    public void testDownloadValidatorURLChanged() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(false);
+        NetworkTask task = networkTaskDAO.insertNetworkTask(getNetworkTask());
+        downloadValidatorDAO.insertOrReplaceDownloadValidator(getDownloadValidator(task.getId(), "http://www.otherhost.com"));
+        TestDownloadCommand downloadCommand = new TestDownloadCommand(TestRegistry.getContext(), task, null, new URL("http://www.host.com"), null, true, true, null, Collections.emptyList());
+        setCurrentTime(downloadCommand);
+        Response testResponse = prepareResponse("http://www.host.com", HttpURLConnection.HTTP_OK, "Everything ok", new ByteArrayInputStream(new byte[100]));
+        downloadCommand.addResponse("http://www.host.com", testResponse);
+        DownloadCommandResult result = downloadCommand.call();
+        assertTrue(result.downloadSuccess());
+        assertFalse(result.notModified());
+        Request request = downloadCommand.getRequest(new URL("http://www.host.com"));
+        assertNull(request.header("If-None-Match"));
+        assertNull(request.header("If-Modified-Since"));
+        assertNull(downloadValidatorDAO.readDownloadValidatorForNetworkTask(task.getId()));
+        testResponse.close();
+    }
+
+    @Test
+    public void testDownloadValidatorUnexpectedNotModified() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(false);
+        NetworkTask task = networkTaskDAO.insertNetworkTask(getNetworkTask());
+        TestDownloadCommand downloadCommand = new TestDownloadCommand(TestRegistry.getContext(), task, null, new URL("http://www.host.com"), null, true, true, null, Collections.emptyList());
+        setCurrentTime(downloadCommand);
+        Response testResponse = prepareResponse("http://www.host.com", HttpURLConnection.HTTP_NOT_MODIFIED, "Not modified", null);
+        downloadCommand.addResponse("http://www.host.com", testResponse);
+        DownloadCommandResult result = downloadCommand.call();
+        assertFalse(result.downloadSuccess());
+        assertFalse(result.notModified());
+        assertEquals(HttpURLConnection.HTTP_NOT_MODIFIED, result.httpResponseCodes().get(0).intValue());
+        testResponse.close();
+    }
+
+    @Test
+    public void testDigestFileMatch() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(false);
+        NetworkTask task = networkTaskDAO.insertNetworkTask(getNetworkTask());
+        AccessTypeData data = new AccessTypeData();
+        data.setExpectedDigest("crc32c:b4080b3a");
+        File externalDir = fileManager.getExternalDirectory(fileManager.getDefaultDownloadDirectoryName(), 0);
+        TestDownloadCommand downloadCommand = new TestDownloadCommand(TestRegistry.getContext(), task, data, new URL("http://www.host.com"), externalDir.getAbsolutePath(), false, null, null);
+        setCurrentTime(downloadCommand);
+        ByteArrayInputStream inputStream = new ByteArrayInputStream("TestData".getBytes(StandardCharsets.UTF_8));
+        Response testResponse = prepareResponse("http://www.host.com", HttpURLConnection.HTTP_OK, "Everything ok", inputStream, Map.of("Content-Disposition", "attachment; filename=\"test.txt\"", "ETag", "\"abc\""));
+        downloadCommand.addResponse("http://www.host.com", testResponse);
+        DownloadCommandResult result = downloadCommand.call();
+        assertTrue(result.downloadSuccess());
+        assertTrue(result.fileExists());
+        assertNotNull(result.digestResult());
+        assertEquals("CRC32C", result.digestResult().algorithm());
+        assertEquals("b4080b3a", result.digestResult().expectedDigest());
+        assertEquals("b4080b3a", result.digestResult().actualDigest());
+        assertTrue(result.digestResult().match());
+        File downloadedFile = new File(externalDir, "test.txt");
+        assertEquals("TestData", getFileContent(downloadedFile));
+        assertNull(downloadValidatorDAO.readDownloadValidatorForNetworkTask(task.getId()));
+        testResponse.close();
+    }
+
+    @Test
+    public void testDigestDiscardMatch() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(false);
+        NetworkTask task = networkTaskDAO.insertNetworkTask(getNetworkTask());
+        AccessTypeData data = new AccessTypeData();
+        data.setExpectedDigest("cd00e292c5970d3c5e2f0ffa5171e555bc46bfc4faddfb4a418b6840b86e79a3");
+        TestDownloadCommand downloadCommand = new TestDownloadCommand(TestRegistry.getContext(), task, data, new URL("http://www.host.com"), null, true, true, null, null);
+        setCurrentTime(downloadCommand);
+        Response testResponse = prepareResponse("http://www.host.com", HttpURLConnection.HTTP_OK, "Everything ok", new ByteArrayInputStream(new byte[100]));
+        downloadCommand.addResponse("http://www.host.com", testResponse);
+        DownloadCommandResult result = downloadCommand.call();
+        assertTrue(result.downloadSuccess());
+        assertEquals(100, result.bytesRead());
+        assertNotNull(result.digestResult());
+        assertEquals("SHA-256", result.digestResult().algorithm());
+        assertTrue(result.digestResult().match());
+        testResponse.close();
+    }
+
+    @Test
+    public void testDigestDiscardMismatch() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(false);
+        NetworkTask task = networkTaskDAO.insertNetworkTask(getNetworkTask());
+        downloadValidatorDAO.insertOrReplaceDownloadValidator(getDownloadValidator(task.getId(), "http://www.host.com"));
+        AccessTypeData data = new AccessTypeData();
+        data.setExpectedDigest("sha256:ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+        TestDownloadCommand downloadCommand = new TestDownloadCommand(TestRegistry.getContext(), task, data, new URL("http://www.host.com"), null, true, true, null, null);
+        setCurrentTime(downloadCommand);
+        Response testResponse = prepareResponse("http://www.host.com", HttpURLConnection.HTTP_OK, "Everything ok", new ByteArrayInputStream(new byte[100]));
+        downloadCommand.addResponse("http://www.host.com", testResponse);
+        DownloadCommandResult result = downloadCommand.call();
+        assertNull(downloadCommand.getRequest(new URL("http://www.host.com")).header("If-None-Match"));
+        assertTrue(result.downloadSuccess());
+        assertNotNull(result.digestResult());
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", result.digestResult().expectedDigest());
+        assertEquals("cd00e292c5970d3c5e2f0ffa5171e555bc46bfc4faddfb4a418b6840b86e79a3", result.digestResult().actualDigest());
+        assertFalse(result.digestResult().match());
+        testResponse.close();
+    }
+
+    @Test
+    public void testDigestInvalid() throws Exception {
+        preferenceManager.setPreferenceDownloadFollowsRedirects(false);
+        NetworkTask task = networkTaskDAO.insertNetworkTask(getNetworkTask());
+        AccessTypeData data = new AccessTypeData();
+        data.setExpectedDigest("invalid");
+        TestDownloadCommand downloadCommand = new TestDownloadCommand(TestRegistry.getContext(), task, data, new URL("http://www.host.com"), null, true, true, null, null);
+        setCurrentTime(downloadCommand);
+        Response testResponse = prepareResponse("http://www.host.com", HttpURLConnection.HTTP_OK, "Everything ok", new ByteArrayInputStream(new byte[100]));
+        downloadCommand.addResponse("http://www.host.com", testResponse);
+        DownloadCommandResult result = downloadCommand.call();
+        assertTrue(result.downloadSuccess());
+        assertNotNull(result.digestResult());
+        assertNull(result.digestResult().algorithm());
+        assertEquals("invalid", result.digestResult().expectedDigest());
+        assertFalse(result.digestResult().match());
+        testResponse.close();
+    }
+
+    private DownloadValidator getDownloadValidator(long networkTaskId, String url) {
+        DownloadValidator downloadValidator = new DownloadValidator(networkTaskId);
+        downloadValidator.setUrl(url);
+        downloadValidator.setETag("\"abc\"");
+        downloadValidator.setLastModified("Wed, 21 Oct 2025 07:28:00 GMT");
+        return downloadValidator;
+    }
+
     private void setNegativeTime(TestDownloadCommand downloadCommand) {
         MockTimeService timeService = (MockTimeService) downloadCommand.getTimeService();
         timeService.setTimestamp(getTestTimestamp2());
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.SmallTest;
+
+import net.ibbaa.keepitup.util.StreamUtil;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+@SmallTest
+@RunWith(AndroidJUnit4.class)
+public class DownloadDigestTest {
+
+    private static final String SHA256_ABC = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    @Test
+    public void testCreate() {
+        assertNull(DownloadDigest.create(null));
+        assertNull(DownloadDigest.create(""));
+        assertNull(DownloadDigest.create("  "));
+        assertNull(DownloadDigest.create("xyz"));
+        assertNull(DownloadDigest.create("e306928"));
+        assertNull(DownloadDigest.create("md5:e3069283"));
+        assertNull(DownloadDigest.create("sha256:e3069283"));
+        assertNull(DownloadDigest.create("crc32c:" + SHA256_ABC));
+        DownloadDigest digest = DownloadDigest.create(SHA256_ABC);
+        assertNotNull(digest);
+        assertEquals("SHA-256", digest.getAlgorithm());
+        assertEquals(SHA256_ABC, digest.getExpectedDigest());
+        digest = DownloadDigest.create(" SHA-256:" + SHA256_ABC.toUpperCase() + " ");
+        assertNotNull(digest);
+        assertEquals("SHA-256", digest.getAlgorithm());
+        assertEquals(SHA256_ABC, digest.getExpectedDigest());
+        digest = DownloadDigest.create("E3069283");
+        assertNotNull(digest);
+        assertEquals("CRC32C", digest.getAlgorithm());
+        assertEquals("e3069283", digest.getExpectedDigest());
+        digest = DownloadDigest.create("crc32c:e3069283");
+        assertNotNull(digest);
+        assertEquals("CRC32C", digest.getAlgorithm());
+    }
+
+    @Test
+    public void testSHA256() throws Exception {
+        DownloadDigest digest = DownloadDigest.create(SHA256_ABC);
+        assertNotNull(digest);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertTrue(StreamUtil.inputStreamToOutputStream(digest.wrap(new ByteArrayInputStream("abc".getBytes(StandardCharsets.US_ASCII))), outputStream, null));
+        assertEquals("abc", outputStream.toString("US-ASCII"));
+        DownloadDigestResult result = digest.getResult();
+        assertEquals("SHA-256", result.algorithm());
+        assertEquals(SHA256_ABC, result.expectedDigest());
+        assertEquals(SHA256_ABC, result.actualDigest());
+        assertTrue(result.match());
+    }
+
+    @Test
+    public void testCRC32C() throws Exception {
+        DownloadDigest digest = DownloadDigest.create("e3069283");
+        assertNotNull(digest);
+        assertEquals(9, StreamUtil.discardInputStream(digest.wrap(new ByteArrayInputStream("123456789".getBytes(StandardCharsets.US_ASCII))), -1, null));
+        DownloadDigestResult result = digest.getResult();
+        assertEquals("CRC32C", result.algorithm());
+        assertEquals("e3069283", result.actualDigest());
+        assertTrue(result.match());
+    }
+
+    @Test
+    public void testMismatch() throws Exception {
+        DownloadDigest digest = DownloadDigest.create("00000000");
+        assertNotNull(digest);
+        StreamUtil.discardInputStream(digest.wrap(new ByteArrayInputStream("123456789".getBytes(StandardCharsets.US_ASCII))), -1, null);
+        DownloadDigestResult result = digest.getResult();
+        assertEquals("00000000", result.expectedDigest());
+        assertEquals("e3069283", result.actualDigest());
+        assertFalse(result.match());
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service.network;
+
+import static org.junit.Assert.assertEquals;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.SmallTest;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Collections;
+
+@SmallTest
+@RunWith(AndroidJUnit4.class)
+public class DownloadPhaseListenerTest {
+
+    @Test
+    public void testNoEvents() {
+        DownloadPhaseTimes phaseTimes = new TestDownloadPhaseListener().getPhaseTimes();
+        assertEquals(-1, phaseTimes.dnsTime(), 0);
+        assertEquals(-1, phaseTimes.connectTime(), 0);
+        assertEquals(-1, phaseTimes.tlsTime(), 0);
+        assertEquals(-1, phaseTimes.ttfbTime(), 0);
+        assertEquals(-1, phaseTimes.transferTime(), 0);
+    }
+
+    @Test
+    public void testPlainConnection() {
+        TestDownloadPhaseListener listener = new TestDownloadPhaseListener();
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", 80);
+        listener.setTime(0);
+        listener.dnsStart(null, "localhost");
+        listener.setTime(1000000);
+        listener.dnsEnd(null, "localhost", Collections.emptyList());
+        listener.setTime(2000000);
+        listener.connectStart(null, address, Proxy.NO_PROXY);
+        listener.setTime(4500000);
+        listener.connectEnd(null, address, Proxy.NO_PROXY, null);
+        listener.setTime(5000000);
+        listener.requestHeadersStart(null);
+        listener.setTime(8000000);
+        listener.responseHeadersStart(null);
+        listener.setTime(9000000);
+        listener.responseHeadersEnd(null, null);
+        listener.setTime(19000000);
+        listener.responseBodyEnd(null, 100);
+        DownloadPhaseTimes phaseTimes = listener.getPhaseTimes();
+        assertEquals(1, phaseTimes.dnsTime(), 0.001);
+        assertEquals(2.5, phaseTimes.connectTime(), 0.001);
+        assertEquals(-1, phaseTimes.tlsTime(), 0);
+        assertEquals(3, phaseTimes.ttfbTime(), 0.001);
+        assertEquals(10, phaseTimes.transferTime(), 0.001);
+    }
+
+    @Test
+    public void testSecureConnection() {
+        TestDownloadPhaseListener listener = new TestDownloadPhaseListener();
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", 443);
+        listener.setTime(0);
+        listener.connectStart(null, address, Proxy.NO_PROXY);
+        listener.setTime(2000000);
+        listener.secureConnectStart(null);
+        listener.setTime(7000000);
+        listener.secureConnectEnd(null, null);
+        listener.connectEnd(null, address, Proxy.NO_PROXY, null);
+        DownloadPhaseTimes phaseTimes = listener.getPhaseTimes();
+        assertEquals(-1, phaseTimes.dnsTime(), 0);
+        assertEquals(2, phaseTimes.connectTime(), 0.001);
+        assertEquals(5, phaseTimes.tlsTime(), 0.001);
+    }
+
+    @Test
+    public void testConnectFailedRetry() {
+        TestDownloadPhaseListener listener = new TestDownloadPhaseListener();
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", 80);
+        listener.setTime(0);
+        listener.connectStart(null, address, Proxy.NO_PROXY);
+        listener.setTime(3000000);
+        listener.connectFailed(null, address, Proxy.NO_PROXY, null, new IOException());
+        assertEquals(-1, listener.getPhaseTimes().connectTime(), 0);
+        listener.setTime(4000000);
+        listener.connectStart(null, address, Proxy.NO_PROXY);
+        listener.setTime(5000000);
+        listener.connectEnd(null, address, Proxy.NO_PROXY, null);
+        assertEquals(1, listener.getPhaseTimes().connectTime(), 0.001);
+    }
+
+    private static class TestDownloadPhaseListener extends DownloadPhaseListener {
+
+        private long time;
+
+        public void setTime(long time) {
+            this.time = time;
+        }
+
+        @Override
+        protected long getNanoTime() {
+            return time;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+
+import net.ibbaa.keepitup.logging.Log;
+import net.ibbaa.keepitup.test.mock.TestRegistry;
+import net.ibbaa.keepitup.test.mock.TestUtil;
+import net.ibbaa.keepitup.util.StreamUtil;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class DownloadThroughputBenchmarkTest {
+
+    private final static int BODY_SIZE = 64 * 1024 * 1024;
+    private final static int CHUNK_SIZE = 64 * 1024;
+
+    private HTTPClientRegistry registry;
+    private ServerSocket serverSocket;
+    private File downloadFile;
+    private boolean synchronizedValid;
+    private volatile boolean volatileValid;
+
+    @Before
+    public void beforeEachTestMethod() throws Exception {
+        assumeTrue(TestUtil.isBenchmarkEnabled());
+        registry = new HTTPClientRegistry();
+        downloadFile = new File(TestRegistry.getContext().getCacheDir(), "benchmark.bin");
+        synchronizedValid = true;
+        volatileValid = true;
+        startServer();
+    }
+
+    @After
+    public void afterEachTestMethod() throws Exception {
+        if (registry != null) {
+            registry.clear();
+        }
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        if (downloadFile != null && downloadFile.exists()) {
+            assertTrue(downloadFile.delete());
+        }
+    }
+
+    @Test
+    public void testThroughput() throws Exception {
+        download(false);
+        download(true);
+        long legacy = download(false);
+        long adaptive = download(true);
+        Log.i(DownloadThroughputBenchmarkTest.class.getName(), "Throughput with 4 KB buffer and synchronized cancellation check: " + getMegabytesPerSecond(legacy) + " MB/s");
+        Log.i(DownloadThroughputBenchmarkTest.class.getName(), "Throughput with adaptive buffer and volatile cancellation check: " + getMegabytesPerSecond(adaptive) + " MB/s");
+    }
+
+    private long download(boolean adaptive) throws Exception {
+        OkHttpClient client = registry.getClient(new HTTPClientRegistry.ClientKey(30, 30, false, null, -1));
+        String url = "http://127.0.0.1:" + serverSocket.getLocalPort() + "/";
+        long start = System.nanoTime();
+        try (Response response = client.newCall(new Request.Builder().url(url).build()).execute(); FileOutputStream outputStream = new FileOutputStream(downloadFile)) {
+            assertEquals(200, response.code());
+            boolean success;
+            if (adaptive) {
+                success = StreamUtil.inputStreamToOutputStream(response.body().byteStream(), outputStream, 16384, 262144, this::isVolatileValid);
+            } else {
+                success = StreamUtil.inputStreamToOutputStream(response.body().byteStream(), outputStream, this::isSynchronizedValid);
+            }
+            assertTrue(success);
+        }
+        long duration = System.nanoTime() - start;
+        assertEquals(BODY_SIZE, downloadFile.length());
+        return duration;
+    }
+
+    private synchronized boolean isSynchronizedValid() {
+        return synchronizedValid && !Thread.currentThread().isInterrupted();
+    }
+
+    private boolean isVolatileValid() {
+        return volatileValid && !Thread.currentThread().isInterrupted();
+    }
+
+    private long getMegabytesPerSecond(long duration) {
+        return (long) ((double) BODY_SIZE / (1024 * 1024) / (Math.max(1, duration) / 1000000000.0));
+    }
+
+    private void startServer() throws Exception {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"));
+        Thread serverThread = new Thread(() -> {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    Thread connectionThread = new Thread(() -> serve(socket));
+                    connectionThread.setDaemon(true);
+                    connectionThread.start();
+                } catch (Exception exc) {
+                    return;
+                }
+            }
+        });
+        serverThread.setDaemon(true);
+        serverThread.start();
+    }
+
+    private void serve(Socket socket) {
+        try (Socket connection = socket) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.US_ASCII));
+            OutputStream outputStream = connection.getOutputStream();
+            byte[] chunk = new byte[CHUNK_SIZE];
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    outputStream.write(("HTTP/1.1 200 OK\r\nContent-Length: " + BODY_SIZE + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                    for (int ii = 0; ii < BODY_SIZE / CHUNK_SIZE; ii++) {
+                        outputStream.write(chunk);
+                    }
+                    outputStream.flush();
+                }
+            }
+        } catch (Exception exc) {
+            Log.d(DownloadThroughputBenchmarkTest.class.getName(), "Connection closed", exc);
+        }
+    }
+}
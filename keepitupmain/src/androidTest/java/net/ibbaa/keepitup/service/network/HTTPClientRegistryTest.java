@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.MediumTest;
+
+import net.ibbaa.keepitup.logging.Log;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+@MediumTest
+@RunWith(AndroidJUnit4.class)
+public class HTTPClientRegistryTest {
+
+    private HTTPClientRegistry registry;
+    private ServerSocket serverSocket;
+    private AtomicInteger acceptedConnections;
+
+    @Before
+    public void beforeEachTestMethod() {
+        registry = new HTTPClientRegistry();
+        serverSocket = null;
+        acceptedConnections = new AtomicInteger();
+    }
+
+    @After
+    public void afterEachTestMethod() throws Exception {
+        registry.clear();
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+    }
+
+    @Test
+    public void testSameKeySameClient() throws Exception {
+        OkHttpClient client1 = registry.getClient(new HTTPClientRegistry.ClientKey(30, 30, false, null, -1));
+        OkHttpClient client2 = registry.getClient(new HTTPClientRegistry.ClientKey(30, 30, false, null, -1));
+        assertSame(client1, client2);
+        assertEquals(1, registry.getVariantCount());
+        OkHttpClient client3 = registry.getClient(new HTTPClientRegistry.ClientKey(10, 30, false, null, -1));
+        assertNotSame(client1, client3);
+        assertEquals(10000, client3.connectTimeoutMillis());
+        assertEquals(2, registry.getVariantCount());
+    }
+
+    @Test
+    public void testVariantsShareRootResources() throws Exception {
+        OkHttpClient client1 = registry.getClient(new HTTPClientRegistry.ClientKey(30, 30, false, null, -1));
+        OkHttpClient client2 = registry.getClient(new HTTPClientRegistry.ClientKey(30, 30, true, null, -1));
+        OkHttpClient client3 = registry.getClient(new HTTPClientRegistry.ClientKey(30, 30, false, "127.0.0.1", 8080));
+        OkHttpClient root = registry.getRootClient();
+        assertSame(root.connectionPool(), client1.connectionPool());
+        assertSame(root.connectionPool(), client2.connectionPool());
+        assertSame(root.connectionPool(), client3.connectionPool());
+        assertSame(root.dispatcher(), client1.dispatcher());
+        assertSame(root.dispatcher(), client3.dispatcher());
+        assertTrue(client3.socketFactory() instanceof ConnectToSocketFactory);
+        assertTrue(client3.sslSocketFactory() instanceof ConnectToSSLSocketFactory);
+        assertFalse(client1.followRedirects());
+    }
+
+    @Test
+    public void testIgnoreSSLErrorVariantsShareSSLContext() throws Exception {
+        OkHttpClient client1 = registry.getClient(new HTTPClientRegistry.ClientKey(30, 30, true, null, -1));
+        OkHttpClient client2 = registry.getClient(new HTTPClientRegistry.ClientKey(10, 10, true, null, -1));
+        assertSame(client1.sslSocketFactory(), client2.sslSocketFactory());
+        assertTrue(client1.hostnameVerifier().verify("anyhost", null));
+        OkHttpClient client3 = registry.getClient(new HTTPClientRegistry.ClientKey(30, 30, true, "127.0.0.1", 8080));
+        assertTrue(client3.socketFactory() instanceof ConnectToSocketFactory);
+        assertSame(client1.sslSocketFactory(), client3.sslSocketFactory());
+    }
+
+    @Test
+    public void testVariantLimit() throws Exception {
+        OkHttpClient first = registry.getClient(new HTTPClientRegistry.ClientKey(30, 30, false, "127.0.0.1", 1));
+        for (int ii = 2; ii <= 20; ii++) {
+            registry.getClient(new HTTPClientRegistry.ClientKey(30, 30, false, "127.0.0.1", ii));
+        }
+        assertEquals(16, registry.getVariantCount());
+        assertNotSame(first, registry.getClient(new HTTPClientRegistry.ClientKey(30, 30, false, "127.0.0.1", 1)));
+    }
+
+    @Test
+    public void testEventListenerFromRequestTag() throws Exception {
+        OkHttpClient client = registry.getClient(new HTTPClientRegistry.ClientKey(30, 30, false, null, -1));
+        DownloadPhaseListener listener = new DownloadPhaseListener();
+        Call call = client.newCall(new Request.Builder().url("http://127.0.0.1").tag(DownloadPhaseListener.class, listener).build());
+        assertSame(listener, client.eventListenerFactory().create(call));
+        call = client.newCall(new Request.Builder().url("http://127.0.0.1").build());
+        assertNotSame(listener, client.eventListenerFactory().create(call));
+    }
+
+    @Test
+    public void testConnectionReuse() throws Exception {
+        startServer();
+        String url = "http://127.0.0.1:" + serverSocket.getLocalPort() + "/";
+        for (int ii = 0; ii < 3; ii++) {
+            OkHttpClient client = registry.getClient(new HTTPClientRegistry.ClientKey(30, 30, false, null, -1));
+            DownloadPhaseListener listener = new DownloadPhaseListener();
+            try (Response response = client.newCall(new Request.Builder().url(url).tag(DownloadPhaseListener.class, listener).build()).execute()) {
+                assertEquals(200, response.code());
+                assertEquals("ok", response.body().string());
+            }
+            if (ii == 0) {
+                assertTrue(listener.getPhaseTimes().connectTime() >= 0);
+            } else {
+                assertEquals(-1, listener.getPhaseTimes().connectTime(), 0);
+            }
+        }
+        assertEquals(1, acceptedConnections.get());
+    }
+
+    private void startServer() throws Exception {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"));
+        Thread serverThread = new Thread(() -> {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    acceptedConnections.incrementAndGet();
+                    Thread connectionThread = new Thread(() -> serve(socket));
+                    connectionThread.setDaemon(true);
+                    connectionThread.start();
+                } catch (Exception exc) {
+                    return;
+                }
+            }
+        });
+        serverThread.setDaemon(true);
+        serverThread.start();
+    }
+
+    private void serve(Socket socket) {
+        try (Socket connection = socket) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.US_ASCII));
+            OutputStream outputStream = connection.getOutputStream();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    outputStream.write("HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\nok".getBytes(StandardCharsets.US_ASCII));
+                    outputStream.flush();
+                }
+            }
+        } catch (Exception exc) {
+            Log.d(HTTPClientRegistryTest.class.getName(), "Connection closed", exc);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.MediumTest;
+
+import net.ibbaa.keepitup.test.mock.TestPingCommand;
+import net.ibbaa.keepitup.test.mock.TestRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+@MediumTest
+@RunWith(AndroidJUnit4.class)
+public class ICMPPingCommandTest {
+
+    @Test
+    public void testCreateEchoRequest() {
+        byte[] packet = ICMPEchoEngine.createEchoRequest(false, 0x1234, 0x5678, 56, 1000);
+        assertEquals(64, packet.length);
+        assertEquals(8, packet[0]);
+        assertEquals(0x1234, ICMPEchoEngine.getIdentifier(packet));
+        assertEquals(0x5678, ICMPEchoEngine.getSequence(packet));
+        assertEquals(0, ICMPEchoEngine.getChecksum(packet, packet.length));
+        packet = ICMPEchoEngine.createEchoRequest(false, 1, 2, 3, 1000);
+        assertEquals(11, packet.length);
+        assertEquals(0, ICMPEchoEngine.getChecksum(packet, packet.length));
+        packet = ICMPEchoEngine.createEchoRequest(true, 1, 65535, 56, 1000);
+        assertEquals(128, packet[0] & 0xff);
+        assertEquals(65535, ICMPEchoEngine.getSequence(packet));
+        assertEquals(0, packet[2]);
+        assertEquals(0, packet[3]);
+    }
+
+    @Test
+    public void testIsEchoReply() {
+        byte[] packet = ICMPEchoEngine.createEchoRequest(false, 1, 1, 56, 1000);
+        assertFalse(ICMPEchoEngine.isEchoReply(false, packet, packet.length));
+        packet[0] = 0;
+        assertTrue(ICMPEchoEngine.isEchoReply(false, packet, packet.length));
+        assertFalse(ICMPEchoEngine.isEchoReply(false, packet, 7));
+        packet[0] = (byte) 129;
+        assertTrue(ICMPEchoEngine.isEchoReply(true, packet, packet.length));
+        assertFalse(ICMPEchoEngine.isEchoReply(false, packet, packet.length));
+    }
+
+    @Test
+    public void testPingLoopback() {
+        ICMPPingCommand pingCommand = new ICMPPingCommand(TestRegistry.getContext(), "127.0.0.1", 3, true, 56, false, false);
+        PingCommandResult result = pingCommand.call();
+        assertEquals(0, result.processReturnCode());
+        assertNull(result.exception());
+        PingOutputParser parser = new PingOutputParser();
+        parser.parse(result.output());
+        assertTrue(parser.isValidInput());
+        assertEquals(3, parser.getPacketsTransmitted());
+        assertEquals(3, parser.getPacketsReceived());
+        assertEquals(0, parser.getPacketLoss(), 0.01);
+        assertEquals(3, parser.getValidTimes());
+    }
+
+    @Test
+    public void testPingLoopbackStopOnSuccess() {
+        ICMPPingCommand pingCommand = new ICMPPingCommand(TestRegistry.getContext(), "127.0.0.1", 3, false, 32, true, false);
+        PingCommandResult result = pingCommand.call();
+        assertEquals(0, result.processReturnCode());
+        assertEquals(1, result.pingCalls());
+        assertNull(result.exception());
+        PingOutputParser parser = new PingOutputParser();
+        parser.parse(result.output());
+        assertTrue(parser.isValidInput());
+        assertEquals(1, parser.getPacketsReceived());
+    }
+
+    @Test
+    public void testPingLoopbackIP6() {
+        ICMPPingCommand pingCommand = new ICMPPingCommand(TestRegistry.getContext(), "::1", 2, true, 56, false, true);
+        PingCommandResult result = pingCommand.call();
+        assertEquals(0, result.processReturnCode());
+        assertNull(result.exception());
+        PingOutputParser parser = new PingOutputParser();
+        parser.parse(result.output());
+        assertTrue(parser.isValidInput());
+        assertEquals(2, parser.getPacketsReceived());
+    }
+
+    @Test
+    public void testFallback() {
+        TestPingCommand fallbackCommand = new TestPingCommand(TestRegistry.getContext(), "127.0.0.1", 1, true, 56, false, false);
+        fallbackCommand.setPingResults(Collections.singletonList(new PingCommandResult(0, 1, "testoutput", null)));
+        ICMPPingCommand pingCommand = new ICMPPingCommand(TestRegistry.getContext(), "127.0.0.1", 1, true, 56, false, false) {
+            @Override
+            protected ICMPEchoEngine getEchoEngine() {
+                return new ICMPEchoEngine() {
+                    @Override
+                    public boolean isAvailable(boolean ip6) {
+                        return false;
+                    }
+                };
+            }
+
+            @Override
+            protected PingCommand createFallbackCommand() {
+                return fallbackCommand;
+            }
+        };
+        PingCommandResult result = pingCommand.call();
+        assertEquals(0, result.processReturnCode());
+        assertEquals("testoutput", result.output());
+    }
+}
@@ -17,11 +17,14 @@
 package net.ibbaa.keepitup.service.network;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 import androidx.test.filters.MediumTest;
 
+import net.ibbaa.keepitup.test.mock.MockProcess;
 import net.ibbaa.keepitup.test.mock.TestPingCommand;
 import net.ibbaa.keepitup.test.mock.TestRegistry;
 
@@ -150,4 +153,84 @@ public class PingCommandTest {
         assertEquals("testoutput", callResult.output());
         assertNull(callResult.exception());
     }
+
+    @Test
+    public void testSingleProcessStopOnSuccessFirstReply() {
+        TestPingCommand pingCommand = new TestPingCommand(TestRegistry.getContext(), "127.0.0.1", 3, true, 56, true, false);
+        pingCommand.setSingleProcess(true);
+        MockProcess process = new MockProcess(getPingOutput(1), null, 0);
+        pingCommand.setProcess(process);
+        PingCommandResult callResult = pingCommand.call();
+        assertTrue(pingCommand.getCommand().contains("-c 3"));
+        assertTrue(process.isDestroyed());
+        assertEquals(0, callResult.processReturnCode());
+        assertEquals(1, callResult.pingCalls());
+        assertNull(callResult.exception());
+        assertFalse(callResult.output().contains("icmp_seq=2"));
+        PingOutputParser parser = new PingOutputParser();
+        parser.parse(callResult.output());
+        assertTrue(parser.isValidInput());
+        assertEquals(1, parser.getPacketsTransmitted());
+        assertEquals(1, parser.getPacketsReceived());
+        assertEquals(0, parser.getPacketLoss(), 0.01);
+        assertEquals(0.084, parser.getAverageTime(), 0.001);
+    }
+
+    @Test
+    public void testSingleProcessStopOnSuccessLaterReply() {
+        TestPingCommand pingCommand = new TestPingCommand(TestRegistry.getContext(), "127.0.0.1", 3, true, 56, true, false);
+        pingCommand.setSingleProcess(true);
+        MockProcess process = new MockProcess(getPingOutput(3), null, 0);
+        pingCommand.setProcess(process);
+        PingCommandResult callResult = pingCommand.call();
+        assertTrue(process.isDestroyed());
+        assertEquals(0, callResult.processReturnCode());
+        assertEquals(3, callResult.pingCalls());
+        PingOutputParser parser = new PingOutputParser();
+        parser.parse(callResult.output());
+        assertTrue(parser.isValidInput());
+        assertEquals(3, parser.getPacketsTransmitted());
+        assertEquals(1, parser.getPacketsReceived());
+        assertEquals(66, parser.getPacketLoss(), 0.01);
+    }
+
+    @Test
+    public void testSingleProcessStopOnSuccessFailure() {
+        TestPingCommand pingCommand = new TestPingCommand(TestRegistry.getContext(), "127.0.0.1", 3, true, 56, true, false);
+        pingCommand.setSingleProcess(true);
+        String output = "PING 127.0.0.1 (127.0.0.1) 56(84) bytes of data.\n\n" +
+                "--- 127.0.0.1 ping statistics ---\n" +
+                "3 packets transmitted, 0 received, 100% packet loss, time 1998ms";
+        MockProcess process = new MockProcess(output, null, 1);
+        pingCommand.setProcess(process);
+        PingCommandResult callResult = pingCommand.call();
+        assertTrue(process.isDestroyed());
+        assertEquals(1, callResult.processReturnCode());
+        assertEquals(3, callResult.pingCalls());
+        assertEquals(output, callResult.output());
+        assertNull(callResult.exception());
+    }
+
+    @Test
+    public void testSingleProcessStopOnSuccessErrorOutput() {
+        TestPingCommand pingCommand = new TestPingCommand(TestRegistry.getContext(), "127.0.0.1", 2, true, 56, true, false);
+        pingCommand.setSingleProcess(true);
+        MockProcess process = new MockProcess(null, "ping: unknown host", 2);
+        pingCommand.setProcess(process);
+        PingCommandResult callResult = pingCommand.call();
+        assertEquals(2, callResult.processReturnCode());
+        assertEquals(2, callResult.pingCalls());
+        assertEquals("ping: unknown host", callResult.output());
+        assertNull(callResult.exception());
+    }
+
+    private String getPingOutput(int firstReply) {
+        StringBuilder output = new StringBuilder("PING 127.0.0.1 (127.0.0.1) 56(84) bytes of data.\n");
+        for (int ii = firstReply; ii <= 3; ii++) {
+            output.append("64 bytes from 127.0.0.1: icmp_seq=").append(ii).append(" ttl=64 time=0.084 ms\n");
+        }
+        output.append("\n--- 127.0.0.1 ping statistics ---\n");
+        output.append("3 packets transmitted, ").append(4 - firstReply).append(" received, 0% packet loss, time 1998ms");
+        return output.toString();
+    }
 }
@@ -115,6 +115,77 @@ public class PingOutputParserTest {
         assertEquals(20.1, parser.getAverageTime(), 0.01);
     }
 
+    @Test
+    public void testTimeStatistics() {
+        parser.parse(getTestIP6Ping1());
+        assertTrue(parser.isValidInput());
+        assertEquals(10.5, parser.getMinTime(), 0.001);
+        assertEquals(26.1, parser.getMaxTime(), 0.001);
+        assertEquals(6.8586, parser.getDeviation(), 0.001);
+        assertEquals(7.8, parser.getJitter(), 0.001);
+        assertEquals(23.7, parser.getPercentileTime(50), 0.001);
+        assertEquals(26.1, parser.getPercentileTime(90), 0.001);
+        assertEquals(10.5, parser.getPercentileTime(0), 0.001);
+        assertEquals(3, parser.getTimes().length);
+        parser.parse(getTestIP4Ping3());
+        assertTrue(parser.isValidInput());
+        assertEquals(0, parser.getMinTime(), 0.001);
+        assertEquals(0, parser.getMaxTime(), 0.001);
+        assertEquals(0, parser.getDeviation(), 0.001);
+        assertEquals(0, parser.getJitter(), 0.001);
+        assertEquals(0, parser.getPercentileTime(50), 0.001);
+        assertEquals(0, parser.getTimes().length);
+    }
+
+    @Test
+    public void testParseLine() {
+        assertFalse(parser.parseLine(null));
+        assertFalse(parser.parseLine("PING 127.0.0.1 (127.0.0.1) 56(84) bytes of data."));
+        assertFalse(parser.isSuccess());
+        assertFalse(parser.isValidInput());
+        assertTrue(parser.parseLine("64 bytes from 127.0.0.1: icmp_seq=1 ttl=64 time=1.5 ms"));
+        assertTrue(parser.isSuccess());
+        assertFalse(parser.isValidInput());
+        assertEquals(64, parser.getBytesReceived());
+        assertEquals(1, parser.getValidTimes());
+        assertFalse(parser.parseLine("64 bytes from 127.0.0.1: icmp_seq=2 ttl=64 time=x ms"));
+        assertTrue(parser.parseLine("64 bytes from 127.0.0.1: icmp_seq=3 ttl=64 time=2.5 ms"));
+        assertFalse(parser.parseLine("--- 127.0.0.1 ping statistics ---"));
+        assertFalse(parser.parseLine("3 packets transmitted, 2 received, 33.3333% packet loss, time 2003ms"));
+        assertTrue(parser.isValidInput());
+        assertEquals(3, parser.getPacketsTransmitted());
+        assertEquals(2, parser.getPacketsReceived());
+        assertEquals(33.3333, parser.getPacketLoss(), 0.0001);
+        assertEquals(2, parser.getValidTimes());
+        assertEquals(2.0, parser.getAverageTime(), 0.001);
+        parser.reset();
+        assertFalse(parser.isSuccess());
+        assertFalse(parser.isValidInput());
+        assertEquals(0, parser.getValidTimes());
+    }
+
+    @Test
+    public void testCarriageReturnLineBreaks() {
+        parser.parse(getTestIP4Ping1().replace("\n", "\r\n"));
+        assertTrue(parser.isValidInput());
+        assertEquals(3, parser.getValidTimes());
+        assertEquals(3, parser.getPacketsReceived());
+        parser.parse(getTestIP4Ping1().replace("\n", "\r"));
+        assertTrue(parser.isValidInput());
+        assertEquals(3, parser.getValidTimes());
+        assertEquals(3, parser.getPacketsReceived());
+    }
+
+    @Test
+    public void testInvalidNumbers() {
+        parser.parse("99999999999 bytes from 127.0.0.1: icmp_seq=1 ttl=64 time=1.5 ms\n" +
+                "1 packets transmitted, 1 received, 0% packet loss, time 0ms");
+        assertFalse(parser.isValidInput());
+        assertFalse(parser.isSuccess());
+        parser.parse("1 packets transmitted, 99999999999 received, 0% packet loss, time 0ms");
+        assertFalse(parser.isValidInput());
+    }
+
     private String getTestIP4Ping1() {
         return "PING 127.0.0.1 (127.0.0.1) 56(84) bytes of data.\n" +
                 "64 bytes from 127.0.0.1: icmp_seq=1 ttl=64 time=0.084 ms\n" +
@@ -18,10 +18,15 @@ package net.ibbaa.keepitup.test.mock;
 
 import net.ibbaa.keepitup.service.INetworkManager;
 
+import java.net.InetAddress;
+import java.util.Collections;
+import java.util.List;
+
 public class MockNetworkManager implements INetworkManager {
 
     private boolean connected;
     private boolean connectedWithWiFi;
+    private List<InetAddress> dnsServers = Collections.emptyList();
 
     public void setConnected(boolean connected) {
         this.connected = connected;
@@ -31,6 +36,10 @@ public class MockNetworkManager implements INetworkManager {
         this.connectedWithWiFi = connectedWithWiFi;
     }
 
+    public void setDNSServers(List<InetAddress> dnsServers) {
+        this.dnsServers = dnsServers;
+    }
+
     @Override
     public boolean isConnected() {
         return connected;
@@ -40,4 +49,9 @@ public class MockNetworkManager implements INetworkManager {
     public boolean isConnectedWithWiFi() {
         return connectedWithWiFi;
     }
+
+    @Override
+    public List<InetAddress> getDNSServers() {
+        return dnsServers;
+    }
 }
@@ -16,17 +16,16 @@
 
 package net.ibbaa.keepitup.test.mock;
 
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import net.ibbaa.keepitup.service.NetworkTaskProcessPool;
 
-public class MockFuture<S> implements Future<S> {
+public class MockPooledFuture extends NetworkTaskProcessPool.PooledFuture {
 
     private boolean cancelled;
     private boolean done;
 
-    public MockFuture() {
+    public MockPooledFuture(NetworkTaskProcessPool processPool, int schedulerId) {
+        super(processPool, schedulerId, () -> {
+        });
         reset();
     }
 
@@ -38,6 +37,7 @@ public class MockFuture<S> implements Future<S> {
     @Override
     public boolean cancel(boolean mayInterruptIfRunning) {
         cancelled = true;
+        done();
         return true;
     }
 
@@ -47,6 +47,9 @@ public class MockFuture<S> implements Future<S> {
 
     public void setDone(boolean done) {
         this.done = done;
+        if (done) {
+            done();
+        }
     }
 
     @Override
@@ -58,14 +61,4 @@ public class MockFuture<S> implements Future<S> {
     public boolean isDone() {
         return done;
     }
-
-    @Override
-    public S get() throws ExecutionException, InterruptedException {
-        return null;
-    }
-
-    @Override
-    public S get(long timeout, TimeUnit unit) throws ExecutionException, InterruptedException, TimeoutException {
-        return null;
-    }
 }
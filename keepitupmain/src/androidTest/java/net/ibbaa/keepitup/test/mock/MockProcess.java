@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.test.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+public class MockProcess extends Process {
+
+    private final InputStream inputStream;
+    private final InputStream errorStream;
+    private final int returnCode;
+    private boolean destroyed;
+
+    public MockProcess(String output, String error, int returnCode) {
+        this.inputStream = new ByteArrayInputStream(output == null ? new byte[0] : output.getBytes(StandardCharsets.US_ASCII));
+        this.errorStream = new ByteArrayInputStream(error == null ? new byte[0] : error.getBytes(StandardCharsets.US_ASCII));
+        this.returnCode = returnCode;
+        this.destroyed = false;
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return new ByteArrayOutputStream();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return inputStream;
+    }
+
+    @Override
+    public InputStream getErrorStream() {
+        return errorStream;
+    }
+
+    @Override
+    public int waitFor() {
+        return returnCode;
+    }
+
+    @Override
+    public int exitValue() {
+        return returnCode;
+    }
+
+    @Override
+    public void destroy() {
+        destroyed = true;
+    }
+
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+}
@@ -28,6 +28,7 @@ public class TestConnectCommand extends ConnectCommand {
 
     private List<MockConnectionResult> connectionResults;
     private int call;
+    private boolean selectorConnect;
 
     public TestConnectCommand(Context context, InetAddress address, int port, int connectCount, boolean stopOnSuccess) {
         super(context, address, port, connectCount, stopOnSuccess);
@@ -36,6 +37,11 @@ public class TestConnectCommand extends ConnectCommand {
 
     public void reset() {
         call = 0;
+        selectorConnect = false;
+    }
+
+    public void setSelectorConnect(boolean selectorConnect) {
+        this.selectorConnect = selectorConnect;
     }
 
     public void setConnectionResults(List<MockConnectionResult> connectionResults) {
@@ -56,6 +62,11 @@ public class TestConnectCommand extends ConnectCommand {
         return null;
     }
 
+    @Override
+    protected boolean isSelectorConnect() {
+        return selectorConnect;
+    }
+
     public static class MockConnectionResult extends ConnectionResult {
         private final IOException exception;
 
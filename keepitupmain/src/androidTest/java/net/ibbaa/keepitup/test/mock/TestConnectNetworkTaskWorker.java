@@ -26,6 +26,9 @@ import net.ibbaa.keepitup.service.network.DNSLookupResult;
 import net.ibbaa.keepitup.ui.permission.IPermissionManager;
 
 import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 public class TestConnectNetworkTaskWorker extends ConnectNetworkTaskWorker {
@@ -33,6 +36,8 @@ public class TestConnectNetworkTaskWorker extends ConnectNetworkTaskWorker {
     private MockDNSLookup mockDNSLookup;
     private MockConnectCommand mockConnectCommand;
     private int connectCount;
+    private boolean probeAllAddresses;
+    private final List<String> probedAddresses = Collections.synchronizedList(new ArrayList<>());
 
     public TestConnectNetworkTaskWorker(Context context, NetworkTask networkTask, PowerManager.WakeLock wakeLock) {
         super(context, networkTask, wakeLock);
@@ -46,6 +51,15 @@ public class TestConnectNetworkTaskWorker extends ConnectNetworkTaskWorker {
         this.mockConnectCommand = mockConnectCommand;
     }
 
+    public void setProbeAllAddresses(boolean probeAllAddresses) {
+        this.probeAllAddresses = probeAllAddresses;
+    }
+
+    @Override
+    protected boolean isProbeAllAddressesEnabled() {
+        return probeAllAddresses;
+    }
+
     @Override
     protected Callable<DNSLookupResult> getDNSLookup(String host) {
         return mockDNSLookup;
@@ -54,6 +68,7 @@ public class TestConnectNetworkTaskWorker extends ConnectNetworkTaskWorker {
     @Override
     protected Callable<ConnectCommandResult> getConnectCommand(InetAddress address, int port, int connectCount, boolean stopOnSuccess) {
         this.connectCount = connectCount;
+        probedAddresses.add(address.getHostAddress());
         return mockConnectCommand;
     }
 
@@ -61,6 +76,10 @@ public class TestConnectNetworkTaskWorker extends ConnectNetworkTaskWorker {
         return connectCount;
     }
 
+    public List<String> getProbedAddresses() {
+        return probedAddresses;
+    }
+
     @Override
     public IPermissionManager getPermissionManager() {
         return new MockPermissionManager();
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.test.mock;
+
+import net.ibbaa.keepitup.service.network.DNSStubResolver;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestDNSServer {
+
+    private final DatagramSocket udpSocket;
+    private final ServerSocket tcpSocket;
+    private final Map<String, Record> records;
+    private final Map<String, String> aliases;
+    private final Map<Integer, Integer> typeRCodes;
+    private final Map<Integer, Boolean> silentTypes;
+    private final AtomicInteger udpQueries;
+    private final AtomicInteger tcpQueries;
+    private volatile boolean truncate;
+    private volatile boolean silent;
+    private volatile int rcode;
+
+    public TestDNSServer() throws IOException {
+        ServerSocket serverSocket = null;
+        DatagramSocket datagramSocket = null;
+        for (int ii = 0; ii < 10 && datagramSocket == null; ii++) {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            try {
+                datagramSocket = new DatagramSocket(new InetSocketAddress(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort()));
+            } catch (SocketException exc) {
+                serverSocket.close();
+            }
+        }
+        if (datagramSocket == null) {
+            throw new IOException("Unable to bind test DNS server");
+        }
+        this.udpSocket = datagramSocket;
+        this.tcpSocket = serverSocket;
+        this.records = new ConcurrentHashMap<>();
+        this.aliases = new ConcurrentHashMap<>();
+        this.typeRCodes = new ConcurrentHashMap<>();
+        this.silentTypes = new ConcurrentHashMap<>();
+        this.udpQueries = new AtomicInteger();
+        this.tcpQueries = new AtomicInteger();
+        this.rcode = DNSStubResolver.RCODE_NOERROR;
+    }
+
+    public void start() {
+        Thread udpThread = new Thread(this::serveUDP, "TestDNSServer-UDP");
+        udpThread.setDaemon(true);
+        udpThread.start();
+        Thread tcpThread = new Thread(this::serveTCP, "TestDNSServer-TCP");
+        tcpThread.setDaemon(true);
+        tcpThread.start();
+    }
+
+    public void stop() {
+        udpSocket.close();
+        try {
+            tcpSocket.close();
+        } catch (IOException exc) {
+            //do nothing
+        }
+    }
+
+    public InetSocketAddress getAddress() {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), udpSocket.getLocalPort());
+    }
+
+    public void addRecord(String host, List<InetAddress> addresses, long ttl) {
+        records.put(host.toLowerCase(Locale.US), new Record(addresses, ttl));
+    }
+
+    public void addAlias(String host, String target) {
+        aliases.put(host.toLowerCase(Locale.US), target.toLowerCase(Locale.US));
+    }
+
+    public void setTruncate(boolean truncate) {
+        this.truncate = truncate;
+    }
+
+    public void setSilent(boolean silent) {
+        this.silent = silent;
+    }
+
+    public void setSilent(int type, boolean silent) {
+        silentTypes.put(type, silent);
+    }
+
+    public void setRCode(int rcode) {
+        this.rcode = rcode;
+    }
+
+    public void setRCode(int type, int rcode) {
+        typeRCodes.put(type, rcode);
+    }
+
+    public int getUDPQueries() {
+        return udpQueries.get();
+    }
+
+    public int getTCPQueries() {
+        return tcpQueries.get();
+    }
+
+    private void serveUDP() {
+        byte[] buffer = new byte[512];
+        while (!udpSocket.isClosed()) {
+            try {
+                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                udpSocket.receive(packet);
+                udpQueries.incrementAndGet();
+                if (silent || isSilentType(buffer, packet.getLength())) {
+                    continue;
+                }
+                byte[] response = createResponse(buffer, packet.getLength(), truncate);
+                udpSocket.send(new DatagramPacket(response, response.length, packet.getSocketAddress()));
+            } catch (IOException exc) {
+                return;
+            }
+        }
+    }
+
+    private void serveTCP() {
+        while (!tcpSocket.isClosed()) {
+            try (Socket socket = tcpSocket.accept()) {
+                tcpQueries.incrementAndGet();
+                DataInputStream inputStream = new DataInputStream(socket.getInputStream());
+                int length = inputStream.readUnsignedShort();
+                byte[] query = new byte[length];
+                inputStream.readFully(query);
+                byte[] response = createResponse(query, length, false);
+                OutputStream outputStream = socket.getOutputStream();
+                outputStream.write(new byte[]{(byte) (response.length >> 8), (byte) response.length});
+                outputStream.write(response);
+                outputStream.flush();
+            } catch (IOException exc) {
+                if (tcpSocket.isClosed()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean isSilentType(byte[] query, int length) {
+        ByteBuffer queryBuffer = ByteBuffer.wrap(query, 0, length);
+        queryBuffer.position(12);
+        int labelLength;
+        while ((labelLength = queryBuffer.get() & 0xff) != 0) {
+            queryBuffer.position(queryBuffer.position() + labelLength);
+        }
+        int type = queryBuffer.getShort() & 0xffff;
+        return Boolean.TRUE.equals(silentTypes.get(type));
+    }
+
+    private byte[] createResponse(byte[] query, int length, boolean truncated) throws IOException {
+        ByteBuffer queryBuffer = ByteBuffer.wrap(query, 0, length);
+        int id = queryBuffer.getShort() & 0xffff;
+        queryBuffer.position(12);
+        StringBuilder name = new StringBuilder();
+        int labelLength;
+        while ((labelLength = queryBuffer.get() & 0xff) != 0) {
+            byte[] label = new byte[labelLength];
+            queryBuffer.get(label);
+            if (name.length() > 0) {
+                name.append(".");
+            }
+            name.append(new String(label, StandardCharsets.US_ASCII));
+        }
+        int type = queryBuffer.getShort() & 0xffff;
+        queryBuffer.getShort();
+        int questionEnd = queryBuffer.position();
+        String host = name.toString().toLowerCase(Locale.US);
+        List<byte[]> answers = new ArrayList<>();
+        Integer typeRCode = typeRCodes.get(type);
+        int responseCode = typeRCode != null ? typeRCode : rcode;
+        if (!truncated && responseCode == DNSStubResolver.RCODE_NOERROR) {
+            String target = aliases.get(host);
+            if (target != null) {
+                answers.add(createAnswer(new byte[]{(byte) 0xc0, 12}, DNSStubResolver.TYPE_CNAME, 300, DNSStubResolver.encodeName(target)));
+            }
+            Record record = records.get(target != null ? target : host);
+            if (record == null) {
+                responseCode = DNSStubResolver.RCODE_NXDOMAIN;
+                answers.clear();
+            } else {
+                byte[] recordName = target != null ? DNSStubResolver.encodeName(target) : new byte[]{(byte) 0xc0, 12};
+                for (InetAddress address : record.addresses) {
+                    byte[] data = address.getAddress();
+                    if ((type == DNSStubResolver.TYPE_A && data.length == 4) || (type == DNSStubResolver.TYPE_AAAA && data.length == 16)) {
+                        answers.add(createAnswer(recordName, type, record.ttl, data));
+                    }
+                }
+            }
+        }
+        int answersLength = 0;
+        for (byte[] answer : answers) {
+            answersLength += answer.length;
+        }
+        ByteBuffer response = ByteBuffer.allocate(questionEnd + answersLength);
+        response.putShort((short) id);
+        response.putShort((short) (0x8180 | (truncated ? 0x0200 : 0) | responseCode));
+        response.putShort((short) 1);
+        response.putShort((short) answers.size());
+        response.putShort((short) 0);
+        response.putShort((short) 0);
+        response.put(query, 12, questionEnd - 12);
+        for (byte[] answer : answers) {
+            response.put(answer);
+        }
+        return response.array();
+    }
+
+    private byte[] createAnswer(byte[] name, int type, long ttl, byte[] data) {
+        ByteBuffer answer = ByteBuffer.allocate(name.length + 10 + data.length);
+        answer.put(name);
+        answer.putShort((short) type);
+        answer.putShort((short) DNSStubResolver.CLASS_IN);
+        answer.putInt((int) ttl);
+        answer.putShort((short) data.length);
+        answer.put(data);
+        return answer.array();
+    }
+
+    private static class Record {
+
+        private final List<InetAddress> addresses;
+        private final long ttl;
+
+        private Record(List<InetAddress> addresses, long ttl) {
+            this.addresses = addresses;
+            this.ttl = ttl;
+        }
+    }
+}
@@ -46,7 +46,11 @@ public class TestDownloadCommand extends DownloadCommand {
     private IDocumentManager documentManager;
 
     public TestDownloadCommand(Context context, NetworkTask networkTask, AccessTypeData data, URL url, String folder, boolean delete, ConnectToAddress connectToAddress, List<Header> headers) {
-        super(context, networkTask, data, url, folder, delete, connectToAddress, headers);
+        this(context, networkTask, data, url, folder, delete, false, connectToAddress, headers);
+    }
+
+    public TestDownloadCommand(Context context, NetworkTask networkTask, AccessTypeData data, URL url, String folder, boolean delete, boolean discard, ConnectToAddress connectToAddress, List<Header> headers) {
+        super(context, networkTask, data, url, folder, delete, discard, connectToAddress, headers);
         responses = new HashMap<>();
         requests = new HashMap<>();
         reset();
@@ -43,6 +43,7 @@ public class TestDownloadNetworkTaskWorker extends DownloadNetworkTaskWorker {
     private MockFileManager mockFileManager;
     private MockStoragePermissionManager storagePermissionManager;
     private MockDocumentManager documentManager;
+    private boolean discard;
 
     public TestDownloadNetworkTaskWorker(Context context, NetworkTask networkTask, PowerManager.WakeLock wakeLock) {
         super(context, networkTask, wakeLock);
@@ -70,13 +71,17 @@ public class TestDownloadNetworkTaskWorker extends DownloadNetworkTaskWorker {
         this.documentManager = documentManager;
     }
 
+    public void setDiscard(boolean discard) {
+        this.discard = discard;
+    }
+
     @Override
     protected Callable<DNSLookupResult> getDNSLookup(String host) {
         return mockDNSLookup;
     }
 
     @Override
-    public Callable<DownloadCommandResult> getDownloadCommand(NetworkTask networkTask, AccessTypeData data, URL url, String folder, boolean delete, DownloadCommand.ConnectToAddress connectToAddress, List<Header> headers) {
+    public Callable<DownloadCommandResult> getDownloadCommand(NetworkTask networkTask, AccessTypeData data, URL url, String folder, boolean delete, boolean discard, DownloadCommand.ConnectToAddress connectToAddress, List<Header> headers) {
         mockDownloadCommand.setUrl(url);
         mockDownloadCommand.setFolder(folder);
         mockDownloadCommand.setConnectToAddress(connectToAddress);
@@ -88,6 +93,11 @@ public class TestDownloadNetworkTaskWorker extends DownloadNetworkTaskWorker {
         return mockDownloadCommand;
     }
 
+    @Override
+    protected boolean determineDiscardDownloadedFile() {
+        return discard;
+    }
+
     @Override
     protected IFileManager getFileManager() {
         return mockFileManager;
@@ -23,6 +23,7 @@ import android.database.sqlite.SQLiteDatabase;
 
 import net.ibbaa.keepitup.db.HeaderDAO;
 import net.ibbaa.keepitup.db.HeaderDBConstants;
+import net.ibbaa.keepitup.db.NetworkTaskSnapshotCache;
 import net.ibbaa.keepitup.logging.Log;
 import net.ibbaa.keepitup.model.Header;
 
@@ -36,7 +37,9 @@ public class TestHeaderDAO extends HeaderDAO {
     }
 
     public Header insertHeaderUnencrypted(Header header) {
-        return executeDBOperationInTransaction(header, this::insertHeaderUnencrypted);
+        Header insertedHeader = executeDBOperationInTransaction(header, this::insertHeaderUnencrypted);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllHeaders();
+        return insertedHeader;
     }
 
     public Map<String, String> readEncryptedValueAndValueIV(long id) {
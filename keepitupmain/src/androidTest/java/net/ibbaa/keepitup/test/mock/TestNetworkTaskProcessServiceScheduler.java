@@ -27,11 +27,17 @@ public class TestNetworkTaskProcessServiceScheduler extends NetworkTaskProcessSe
     private TimeBasedSuspensionScheduler timeBasedScheduler;
     private NetworkTask lastRescheduledTask;
     private boolean restartForegroundServiceCalled;
+    private boolean singleAlarmScheduling;
+    private boolean startupSpreading;
+    private boolean batchExecution;
 
     public TestNetworkTaskProcessServiceScheduler(Context context) {
         super(context);
         lastRescheduledTask = null;
         restartForegroundServiceCalled = false;
+        singleAlarmScheduling = false;
+        startupSpreading = false;
+        batchExecution = false;
     }
 
     public void setTimeBasedSuspensionScheduler(TimeBasedSuspensionScheduler timeBasedScheduler) {
@@ -41,6 +47,21 @@ public class TestNetworkTaskProcessServiceScheduler extends NetworkTaskProcessSe
     public void reset() {
         lastRescheduledTask = null;
         restartForegroundServiceCalled = false;
+        singleAlarmScheduling = false;
+        startupSpreading = false;
+        batchExecution = false;
+    }
+
+    public void setSingleAlarmScheduling(boolean singleAlarmScheduling) {
+        this.singleAlarmScheduling = singleAlarmScheduling;
+    }
+
+    public void setStartupSpreading(boolean startupSpreading) {
+        this.startupSpreading = startupSpreading;
+    }
+
+    public void setBatchExecution(boolean batchExecution) {
+        this.batchExecution = batchExecution;
     }
 
     public NetworkTask getLastRescheduledTask() {
@@ -70,4 +91,19 @@ public class TestNetworkTaskProcessServiceScheduler extends NetworkTaskProcessSe
     public void restartForegroundService() {
         restartForegroundServiceCalled = true;
     }
+
+    @Override
+    protected boolean isSingleAlarmScheduling() {
+        return singleAlarmScheduling;
+    }
+
+    @Override
+    protected boolean isStartupSpreading() {
+        return startupSpreading;
+    }
+
+    @Override
+    protected boolean isBatchExecution() {
+        return batchExecution;
+    }
 }
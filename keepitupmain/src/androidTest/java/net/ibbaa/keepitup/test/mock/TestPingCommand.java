@@ -21,12 +21,16 @@ import android.content.Context;
 import net.ibbaa.keepitup.service.network.PingCommand;
 import net.ibbaa.keepitup.service.network.PingCommandResult;
 
+import java.io.IOException;
 import java.util.List;
 
 public class TestPingCommand extends PingCommand {
 
     private List<PingCommandResult> pingResults;
     private int call;
+    private boolean singleProcess;
+    private MockProcess process;
+    private String command;
 
     public TestPingCommand(Context context, String address, int pingCount, boolean defaultPackageSize, int packageSize, boolean stopOnSuccess, boolean ip6) {
         super(context, address, pingCount, defaultPackageSize, packageSize, stopOnSuccess, ip6);
@@ -35,6 +39,21 @@ public class TestPingCommand extends PingCommand {
 
     public void reset() {
         call = 0;
+        singleProcess = false;
+        process = null;
+        command = null;
+    }
+
+    public void setSingleProcess(boolean singleProcess) {
+        this.singleProcess = singleProcess;
+    }
+
+    public void setProcess(MockProcess process) {
+        this.process = process;
+    }
+
+    public String getCommand() {
+        return command;
     }
 
     public void setPingResults(List<PingCommandResult> pingResults) {
@@ -50,4 +69,18 @@ public class TestPingCommand extends PingCommand {
         }
         return null;
     }
+
+    @Override
+    protected Process startProcess(String command) throws IOException {
+        this.command = command;
+        if (process != null) {
+            return process;
+        }
+        return super.startProcess(command);
+    }
+
+    @Override
+    protected boolean isSingleProcessStopOnSuccess() {
+        return singleProcess;
+    }
 }
@@ -25,6 +25,9 @@ import net.ibbaa.keepitup.service.network.DNSLookupResult;
 import net.ibbaa.keepitup.service.network.PingCommandResult;
 import net.ibbaa.keepitup.ui.permission.IPermissionManager;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 public class TestPingNetworkTaskWorker extends PingNetworkTaskWorker {
@@ -32,6 +35,8 @@ public class TestPingNetworkTaskWorker extends PingNetworkTaskWorker {
     private MockDNSLookup mockDNSLookup;
     private MockPingCommand mockPingCommand;
     private int pingCount;
+    private boolean probeAllAddresses;
+    private final List<String> probedAddresses = Collections.synchronizedList(new ArrayList<>());
 
     public TestPingNetworkTaskWorker(Context context, NetworkTask networkTask, PowerManager.WakeLock wakeLock) {
         super(context, networkTask, wakeLock);
@@ -45,6 +50,15 @@ public class TestPingNetworkTaskWorker extends PingNetworkTaskWorker {
         this.mockPingCommand = mockPingCommand;
     }
 
+    public void setProbeAllAddresses(boolean probeAllAddresses) {
+        this.probeAllAddresses = probeAllAddresses;
+    }
+
+    @Override
+    protected boolean isProbeAllAddressesEnabled() {
+        return probeAllAddresses;
+    }
+
     @Override
     protected Callable<DNSLookupResult> getDNSLookup(String host) {
         return mockDNSLookup;
@@ -53,6 +67,7 @@ public class TestPingNetworkTaskWorker extends PingNetworkTaskWorker {
     @Override
     protected Callable<PingCommandResult> getPingCommand(String address, int pingCount, boolean defaultPackageSize, int packageSize, boolean stopOnSuccess, boolean ip6) {
         this.pingCount = pingCount;
+        probedAddresses.add(address);
         return mockPingCommand;
     }
 
@@ -60,6 +75,10 @@ public class TestPingNetworkTaskWorker extends PingNetworkTaskWorker {
         return pingCount;
     }
 
+    public List<String> getProbedAddresses() {
+        return probedAddresses;
+    }
+
     @Override
     public IPermissionManager getPermissionManager() {
         return new MockPermissionManager();
@@ -16,10 +16,44 @@
 
 package net.ibbaa.keepitup.test.mock;
 
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import net.ibbaa.keepitup.db.DBOpenHelper;
+
 import java.util.function.BooleanSupplier;
 
 public class TestUtil {
 
+    private final static String BENCHMARK_ARGUMENT = "benchmark";
+
+    public static boolean isBenchmarkEnabled() {
+        return Boolean.parseBoolean(InstrumentationRegistry.getArguments().getString(BENCHMARK_ARGUMENT));
+    }
+
+    public static boolean hasIndex(String indexName) {
+        try (Cursor cursor = DBOpenHelper.getInstance(TestRegistry.getContext()).getReadableDatabase().rawQuery("SELECT name FROM sqlite_master WHERE type = 'index' AND name = ?", new String[]{indexName})) {
+            return cursor.moveToFirst();
+        }
+    }
+
+    public static long getRowCount(String tableName) {
+        return DatabaseUtils.queryNumEntries(DBOpenHelper.getInstance(TestRegistry.getContext()).getReadableDatabase(), tableName);
+    }
+
+    public static String getQueryPlan(String sql, String[] sqlArgs) {
+        StringBuilder queryPlan = new StringBuilder();
+        try (Cursor cursor = DBOpenHelper.getInstance(TestRegistry.getContext()).getReadableDatabase().rawQuery("EXPLAIN QUERY PLAN " + sql, sqlArgs)) {
+            int detailColumn = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                queryPlan.append(cursor.getString(detailColumn)).append("\n");
+            }
+        }
+        return queryPlan.toString();
+    }
+
     @SuppressWarnings({"BusyWait"})
     public static void waitUntil(BooleanSupplier supplier, int count) {
         while (!supplier.getAsBoolean() && count > 0) {
@@ -102,6 +102,8 @@ public class GlobalSettingsActivityTest extends BaseUITest {
         onView(allOf(withText("None"), withGridLayoutPosition(1, 0))).check(matches(isDisplayed()));
         onView(withId(R.id.textview_activity_global_settings_enforce_ping_package_size_enabled_label)).check(matches(withText("Enforce default ping package size")));
         onView(withId(R.id.switch_activity_global_settings_enforce_ping_package_size_enabled)).check(matches(isNotChecked()));
+        onView(withId(R.id.textview_activity_global_settings_ping_socket_engine_enabled_label)).check(matches(withText("Ping without external process")));
+        onView(withId(R.id.switch_activity_global_settings_ping_socket_engine_enabled)).check(matches(isNotChecked()));
         onView(withId(R.id.textview_activity_global_settings_download_external_storage_label)).check(matches(withText("Download to an external storage folder")));
         onView(withId(R.id.switch_activity_global_settings_download_external_storage)).check(matches(isNotChecked()));
         onView(withId(R.id.textview_activity_global_settings_download_folder_label)).check(matches(withText("Download folder")));
@@ -246,6 +248,14 @@ public class GlobalSettingsActivityTest extends BaseUITest {
         onView(withId(R.id.switch_activity_global_settings_enforce_ping_package_size_enabled)).perform(click());
         onView(withId(R.id.switch_activity_global_settings_enforce_ping_package_size_enabled)).check(matches(isNotChecked()));
         onView(withId(R.id.textview_activity_global_settings_enforce_ping_package_size_enabled_on_off)).check(matches(withText("no")));
+        onView(withId(R.id.switch_activity_global_settings_ping_socket_engine_enabled)).check(matches(isNotChecked()));
+        onView(withId(R.id.textview_activity_global_settings_ping_socket_engine_enabled_on_off)).check(matches(withText("no")));
+        onView(withId(R.id.switch_activity_global_settings_ping_socket_engine_enabled)).perform(click());
+        onView(withId(R.id.switch_activity_global_settings_ping_socket_engine_enabled)).check(matches(isChecked()));
+        onView(withId(R.id.textview_activity_global_settings_ping_socket_engine_enabled_on_off)).check(matches(withText("yes")));
+        onView(withId(R.id.switch_activity_global_settings_ping_socket_engine_enabled)).perform(click());
+        onView(withId(R.id.switch_activity_global_settings_ping_socket_engine_enabled)).check(matches(isNotChecked()));
+        onView(withId(R.id.textview_activity_global_settings_ping_socket_engine_enabled_on_off)).check(matches(withText("no")));
         onView(withId(R.id.switch_activity_global_settings_download_external_storage)).check(matches(isNotChecked()));
         onView(withId(R.id.textview_activity_global_settings_download_external_storage_on_off)).check(matches(withText("no")));
         onView(withId(R.id.switch_activity_global_settings_download_external_storage)).perform(click());
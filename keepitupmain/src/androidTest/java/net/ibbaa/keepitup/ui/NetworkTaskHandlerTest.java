@@ -18,6 +18,7 @@ package net.ibbaa.keepitup.ui;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -35,6 +36,8 @@ import net.ibbaa.keepitup.model.HeaderType;
 import net.ibbaa.keepitup.model.LogEntry;
 import net.ibbaa.keepitup.model.NetworkTask;
 import net.ibbaa.keepitup.model.Resolve;
+import net.ibbaa.keepitup.service.NetworkTaskExecutionStatistics;
+import net.ibbaa.keepitup.service.NetworkTaskProcessServiceScheduler;
 import net.ibbaa.keepitup.test.mock.TestRegistry;
 import net.ibbaa.keepitup.ui.adapter.NetworkTaskAdapter;
 import net.ibbaa.keepitup.ui.adapter.NetworkTaskUIWrapper;
@@ -441,6 +444,27 @@ public class NetworkTaskHandlerTest extends BaseUITest {
         assertNotSame(logger, logger2);
     }
 
+    @Test
+    public void testDeleteNetworkTaskRemoveExecutionStatistics() {
+        NetworkTask task1 = getNetworkTask1();
+        AccessTypeData data1 = getAccessTypeData1();
+        handler.insertNetworkTask(task1, data1, null, null);
+        NetworkTask task2 = getNetworkTask2();
+        AccessTypeData data2 = getAccessTypeData2();
+        handler.insertNetworkTask(task2, data2, null, null);
+        NetworkTaskExecutionStatistics executionStatistics = NetworkTaskProcessServiceScheduler.getNetworkTaskExecutionStatistics(TestRegistry.getContext());
+        executionStatistics.reset();
+        executionStatistics.record(task1.getId(), task1.getName(), new NetworkTaskExecutionStatistics.Sample(1, 1, 1, new long[NetworkTaskExecutionStatistics.Phase.values().length]));
+        executionStatistics.record(task2.getId(), task2.getName(), new NetworkTaskExecutionStatistics.Sample(1, 1, 1, new long[NetworkTaskExecutionStatistics.Phase.values().length]));
+        assertEquals(2, executionStatistics.size());
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> handler.deleteNetworkTask(task1));
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+        assertEquals(1, executionStatistics.size());
+        assertNull(executionStatistics.getStatistics(task1.getId()));
+        assertNotNull(executionStatistics.getStatistics(task2.getId()));
+        executionStatistics.reset();
+    }
+
     private NetworkTask getNetworkTask1() {
         NetworkTask networkTask = new NetworkTask();
         networkTask.setId(-1);
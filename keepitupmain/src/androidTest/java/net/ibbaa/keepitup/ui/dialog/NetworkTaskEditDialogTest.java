@@ -232,6 +232,7 @@ public class NetworkTaskEditDialogTest extends BaseUITest {
         assertEquals(9, data.getConnectCount());
         assertFalse(data.isIgnoreSSLError());
         assertTrue(data.isStopOnSuccess());
+        assertNull(data.getExpectedDigest());
         assertEquals("", resolve.getTargetAddress());
         assertEquals(-1, resolve.getTargetPort());
         onView(withText("Ping")).perform(click());
@@ -251,6 +252,7 @@ public class NetworkTaskEditDialogTest extends BaseUITest {
         assertEquals(1, data.getConnectCount());
         assertFalse(data.isIgnoreSSLError());
         assertTrue(data.isStopOnSuccess());
+        assertNull(data.getExpectedDigest());
         assertEquals("", resolve.getTargetAddress());
         assertEquals(-1, resolve.getTargetPort());
         onView(withText("Download")).perform(click());
@@ -258,6 +260,7 @@ public class NetworkTaskEditDialogTest extends BaseUITest {
         onView(withId(R.id.edittext_dialog_network_task_edit_connect_to_host)).perform(replaceText("test.com"));
         onView(withId(R.id.edittext_dialog_network_task_edit_connect_to_port)).perform(replaceText(""));
         onView(withId(R.id.switch_dialog_network_task_edit_ignore_ssl_error)).perform(click());
+        onView(withId(R.id.edittext_dialog_network_task_edit_expected_digest)).perform(replaceText("  crc32c:e3069283  "));
         onView(withId(R.id.switch_dialog_network_task_edit_high_prio)).perform(click());
         onView(withId(R.id.switch_dialog_network_task_edit_notification)).perform(click());
         task = dialog.getNetworkTask();
@@ -275,6 +278,7 @@ public class NetworkTaskEditDialogTest extends BaseUITest {
         assertEquals(1, data.getConnectCount());
         assertTrue(data.isIgnoreSSLError());
         assertFalse(data.isStopOnSuccess());
+        assertEquals("crc32c:e3069283", data.getExpectedDigest());
         assertEquals("test.com", resolve.getTargetAddress());
         assertEquals(-1, resolve.getTargetPort());
     }
@@ -462,6 +466,8 @@ public class NetworkTaskEditDialogTest extends BaseUITest {
         onView(withId(R.id.linearlayout_dialog_network_task_edit_ignore_ssl_error)).check(matches(not(isDisplayed())));
         onView(withId(R.id.switch_dialog_network_task_edit_use_default_headers)).check(matches(not(isDisplayed())));
         onView(withId(R.id.switch_dialog_network_task_edit_ignore_ssl_error)).check(matches(not(isDisplayed())));
+        onView(withId(R.id.linearlayout_dialog_network_task_edit_expected_digest)).check(matches(not(isDisplayed())));
+        onView(withId(R.id.edittext_dialog_network_task_edit_expected_digest)).check(matches(not(isDisplayed())));
         onView(withId(R.id.edittext_dialog_network_task_edit_connect_count)).check(matches(isDisplayed()));
         onView(withId(R.id.switch_dialog_network_task_edit_stop_on_success)).check(matches(isDisplayed()));
         onView(withId(R.id.switch_dialog_network_task_edit_only_wifi)).check(matches(isDisplayed()));
@@ -476,6 +482,8 @@ public class NetworkTaskEditDialogTest extends BaseUITest {
         onView(withId(R.id.switch_dialog_network_task_edit_use_default_headers)).check(matches(not(isDisplayed())));
         onView(withId(R.id.linearlayout_dialog_network_task_edit_ignore_ssl_error)).check(matches(not(isDisplayed())));
         onView(withId(R.id.switch_dialog_network_task_edit_ignore_ssl_error)).check(matches(not(isDisplayed())));
+        onView(withId(R.id.linearlayout_dialog_network_task_edit_expected_digest)).check(matches(not(isDisplayed())));
+        onView(withId(R.id.edittext_dialog_network_task_edit_expected_digest)).check(matches(not(isDisplayed())));
         onView(withId(R.id.linearlayout_dialog_network_task_edit_connect_count)).check(matches(not(isDisplayed())));
         onView(withId(R.id.edittext_dialog_network_task_edit_connect_count)).check(matches(not(isDisplayed())));
         onView(withId(R.id.switch_dialog_network_task_edit_stop_on_success)).check(matches(isDisplayed()));
@@ -492,6 +500,8 @@ public class NetworkTaskEditDialogTest extends BaseUITest {
         onView(withId(R.id.linearlayout_dialog_network_task_edit_ignore_ssl_error)).check(matches(isDisplayed()));
         onView(withId(R.id.switch_dialog_network_task_edit_use_default_headers)).check(matches(isDisplayed()));
         onView(withId(R.id.switch_dialog_network_task_edit_ignore_ssl_error)).check(matches(isDisplayed()));
+        onView(withId(R.id.linearlayout_dialog_network_task_edit_expected_digest)).check(matches(isDisplayed()));
+        onView(withId(R.id.edittext_dialog_network_task_edit_expected_digest)).check(matches(isDisplayed()));
         onView(withId(R.id.edittext_dialog_network_task_edit_ping_package_size)).check(matches(not(isDisplayed())));
         onView(withId(R.id.linearlayout_dialog_network_task_edit_connect_count)).check(matches(not(isDisplayed())));
         onView(withId(R.id.edittext_dialog_network_task_edit_connect_count)).check(matches(not(isDisplayed())));
@@ -1254,6 +1264,7 @@ public class NetworkTaskEditDialogTest extends BaseUITest {
         onView(withId(R.id.edittext_dialog_network_task_edit_interval)).perform(replaceText("0"));
         onView(withId(R.id.edittext_dialog_network_task_edit_connect_to_host)).perform(replaceText("my host"));
         onView(withId(R.id.edittext_dialog_network_task_edit_connect_to_port)).perform(replaceText("12345678"));
+        onView(withId(R.id.edittext_dialog_network_task_edit_expected_digest)).perform(replaceText("sha256:abc"));
         onView(withId(R.id.imageview_dialog_network_task_edit_ok)).perform(click());
         assertEquals(2, getActivity(activityScenario).getSupportFragmentManager().getFragments().size());
         onView(withText("URL")).check(matches(isDisplayed()));
@@ -1264,12 +1275,15 @@ public class NetworkTaskEditDialogTest extends BaseUITest {
         onView(withText("No valid host or IP address")).check(matches(isDisplayed()));
         onView(withText("Connect-to port")).check(matches(isDisplayed()));
         onView(withText("Maximum: 65535")).check(matches(isDisplayed()));
+        onView(withText("Expected digest")).check(matches(isDisplayed()));
+        onView(withText("No valid digest")).check(matches(isDisplayed()));
         onView(withId(R.id.imageview_dialog_validator_error_ok)).perform(click());
         assertEquals(1, getActivity(activityScenario).getSupportFragmentManager().getFragments().size());
         onView(withId(R.id.edittext_dialog_network_task_edit_address)).perform(replaceText("http://test"));
         onView(withId(R.id.edittext_dialog_network_task_edit_interval)).perform(replaceText("55"));
         onView(withId(R.id.edittext_dialog_network_task_edit_connect_to_host)).perform(replaceText("myhost"));
         onView(withId(R.id.edittext_dialog_network_task_edit_connect_to_port)).perform(replaceText("12345"));
+        onView(withId(R.id.edittext_dialog_network_task_edit_expected_digest)).perform(replaceText("sha256:e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855"));
         onView(withId(R.id.imageview_dialog_network_task_edit_ok)).perform(click());
         assertEquals(0, getActivity(activityScenario).getSupportFragmentManager().getFragments().size());
     }
@@ -1364,6 +1378,21 @@ public class NetworkTaskEditDialogTest extends BaseUITest {
         onView(withId(R.id.edittext_dialog_network_task_edit_ping_package_size)).check(matches(withTextColor(R.color.textColor)));
     }
 
+    @Test
+    public void testInputErrorColorExpectedDigest() {
+        onView(allOf(withId(R.id.imageview_activity_main_network_task_add), isDisplayed())).perform(click());
+        onView(withText("Download")).perform(click());
+        onView(withId(R.id.edittext_dialog_network_task_edit_expected_digest)).check(matches(withTextColor(R.color.textColor)));
+        onView(withId(R.id.edittext_dialog_network_task_edit_expected_digest)).perform(replaceText("e306928"));
+        onView(withId(R.id.edittext_dialog_network_task_edit_expected_digest)).check(matches(withTextColor(R.color.textErrorColor)));
+        onView(withId(R.id.edittext_dialog_network_task_edit_expected_digest)).perform(replaceText("md5:e3069283"));
+        onView(withId(R.id.edittext_dialog_network_task_edit_expected_digest)).check(matches(withTextColor(R.color.textErrorColor)));
+        onView(withId(R.id.edittext_dialog_network_task_edit_expected_digest)).perform(replaceText("crc32c:e3069283"));
+        onView(withId(R.id.edittext_dialog_network_task_edit_expected_digest)).check(matches(withTextColor(R.color.textColor)));
+        onView(withId(R.id.edittext_dialog_network_task_edit_expected_digest)).perform(replaceText(""));
+        onView(withId(R.id.edittext_dialog_network_task_edit_expected_digest)).check(matches(withTextColor(R.color.textColor)));
+    }
+
     @Test
     public void testInputErrorColorResolveFields() {
         onView(allOf(withId(R.id.imageview_activity_main_network_task_add), isDisplayed())).perform(click());
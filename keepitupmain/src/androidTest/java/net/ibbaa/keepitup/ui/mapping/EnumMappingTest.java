@@ -23,6 +23,7 @@ import androidx.test.ext.junit.runners.AndroidJUnit4;
 import androidx.test.filters.SmallTest;
 
 import net.ibbaa.keepitup.model.AccessType;
+import net.ibbaa.keepitup.model.ProbeMode;
 import net.ibbaa.keepitup.test.mock.TestRegistry;
 import net.ibbaa.keepitup.ui.dialog.ContextOption;
 import net.ibbaa.keepitup.ui.validation.NullAccessTypeDataValidator;
@@ -62,6 +63,15 @@ public class EnumMappingTest {
         assertEquals("Host: not applicable", enumMapping.getAccessTypeAddressText(null));
     }
 
+    @Test
+    public void testGetProbeModeText() {
+        assertEquals("Full download", enumMapping.getProbeModeText(ProbeMode.FULL));
+        assertEquals("HEAD request", enumMapping.getProbeModeText(ProbeMode.HEAD));
+        assertEquals("First bytes only", enumMapping.getProbeModeText(ProbeMode.RANGE));
+        assertEquals("Status only", enumMapping.getProbeModeText(ProbeMode.STATUS));
+        assertEquals("Full download", enumMapping.getProbeModeText(null));
+    }
+
     @Test
     public void testGetNetworkTaskValidator() {
         assertTrue(enumMapping.getNetworkTaskValidator(null) instanceof NullNetworkTaskValidator);
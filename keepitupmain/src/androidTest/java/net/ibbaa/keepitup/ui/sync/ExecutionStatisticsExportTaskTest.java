@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.ui.sync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.MediumTest;
+
+import net.ibbaa.keepitup.service.NetworkTaskExecutionStatistics;
+import net.ibbaa.keepitup.ui.BaseUITest;
+import net.ibbaa.keepitup.ui.SystemActivity;
+import net.ibbaa.keepitup.util.StreamUtil;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.nio.charset.StandardCharsets;
+
+@MediumTest
+@RunWith(AndroidJUnit4.class)
+public class ExecutionStatisticsExportTaskTest extends BaseUITest {
+
+    private ActivityScenario<?> activityScenario;
+
+    @Before
+    public void beforeEachTestMethod() {
+        super.beforeEachTestMethod();
+        activityScenario = launchSettingsInputActivity(SystemActivity.class);
+    }
+
+    @After
+    public void afterEachTestMethod() {
+        super.afterEachTestMethod();
+        activityScenario.close();
+    }
+
+    @Test
+    public void testExport() throws Exception {
+        NetworkTaskExecutionStatistics executionStatistics = getExecutionStatistics();
+        File folder = getFileManager().getExternalRootDirectory(0);
+        ExecutionStatisticsExportTask task = new ExecutionStatisticsExportTask(getExecutionStatisticsExportDispatcher(), getFileManager(), folder, "statistics", executionStatistics);
+        ExecutionStatisticsExportResult result = task.runInBackground();
+        assertTrue(result.success());
+        File csvFile = new File(result.csvFile());
+        File jsonFile = new File(result.jsonFile());
+        assertEquals(new File(folder, "statistics.csv"), csvFile);
+        assertEquals(new File(folder, "statistics.json"), jsonFile);
+        assertEquals(executionStatistics.toCSV(), readFile(csvFile));
+        assertEquals(executionStatistics.toJSON().toString(), new JSONObject(readFile(jsonFile)).toString());
+    }
+
+    @Test
+    public void testExportExistingFiles() {
+        NetworkTaskExecutionStatistics executionStatistics = getExecutionStatistics();
+        File folder = getFileManager().getExternalRootDirectory(0);
+        ExecutionStatisticsExportTask task = new ExecutionStatisticsExportTask(getExecutionStatisticsExportDispatcher(), getFileManager(), folder, "statistics", executionStatistics);
+        ExecutionStatisticsExportResult result1 = task.runInBackground();
+        ExecutionStatisticsExportResult result2 = task.runInBackground();
+        assertTrue(result1.success());
+        assertTrue(result2.success());
+        assertNotEquals(result1.csvFile(), result2.csvFile());
+        assertNotEquals(result1.jsonFile(), result2.jsonFile());
+        assertTrue(new File(result2.csvFile()).exists());
+        assertTrue(new File(result2.jsonFile()).exists());
+    }
+
+    @Test
+    public void testExportError() throws Exception {
+        File folder = new File(getFileManager().getExternalRootDirectory(0), "file");
+        assertTrue(folder.createNewFile());
+        ExecutionStatisticsExportTask task = new ExecutionStatisticsExportTask(getExecutionStatisticsExportDispatcher(), getFileManager(), folder, "statistics", getExecutionStatistics());
+        ExecutionStatisticsExportResult result = task.runInBackground();
+        assertFalse(result.success());
+        assertEquals("", result.csvFile());
+        assertEquals("", result.jsonFile());
+    }
+
+    private NetworkTaskExecutionStatistics getExecutionStatistics() {
+        NetworkTaskExecutionStatistics executionStatistics = new NetworkTaskExecutionStatistics(10);
+        executionStatistics.record(1, "task1", new NetworkTaskExecutionStatistics.Sample(1000000, 2000000, 3000000, new long[NetworkTaskExecutionStatistics.Phase.values().length]));
+        executionStatistics.record(2, "task2", new NetworkTaskExecutionStatistics.Sample(4000000, 5000000, 6000000, new long[NetworkTaskExecutionStatistics.Phase.values().length]));
+        return executionStatistics;
+    }
+
+    private String readFile(File file) throws Exception {
+        try (FileInputStream stream = new FileInputStream(file)) {
+            return StreamUtil.inputStreamToString(stream, StandardCharsets.UTF_8);
+        }
+    }
+
+    private UITaskResultDispatcher<ExecutionStatisticsExportResult> getExecutionStatisticsExportDispatcher() {
+        SystemActivity activity = (SystemActivity) getActivity(activityScenario);
+        return activity.getTaskViewModel().getExecutionStatisticsExportDispatcher();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.ui.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.SmallTest;
+
+import net.ibbaa.keepitup.test.mock.TestRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@SmallTest
+@RunWith(AndroidJUnit4.class)
+public class ExpectedDigestFieldValidatorTest {
+
+    @Test
+    public void testValidate() {
+        ExpectedDigestFieldValidator validator = new ExpectedDigestFieldValidator("testdigest", TestRegistry.getContext());
+        ValidationResult result = validator.validate("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+        assertTrue(result.isValidationSuccessful());
+        assertEquals("testdigest", result.getFieldName());
+        assertEquals("Validation successful", result.getMessage());
+        result = validator.validate("SHA256:E3B0C44298FC1C149AFBF4C8996FB92427AE41E4649B934CA495991B7852B855");
+        assertTrue(result.isValidationSuccessful());
+        assertEquals("testdigest", result.getFieldName());
+        assertEquals("Validation successful", result.getMessage());
+        result = validator.validate("crc32c:e3069283");
+        assertTrue(result.isValidationSuccessful());
+        assertEquals("testdigest", result.getFieldName());
+        assertEquals("Validation successful", result.getMessage());
+        result = validator.validate("e3069283");
+        assertTrue(result.isValidationSuccessful());
+        assertEquals("testdigest", result.getFieldName());
+        assertEquals("Validation successful", result.getMessage());
+        result = validator.validate("");
+        assertTrue(result.isValidationSuccessful());
+        assertEquals("testdigest", result.getFieldName());
+        assertEquals("Validation successful", result.getMessage());
+        result = validator.validate(null);
+        assertTrue(result.isValidationSuccessful());
+        assertEquals("testdigest", result.getFieldName());
+        assertEquals("Validation successful", result.getMessage());
+        result = validator.validate("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b85");
+        assertFalse(result.isValidationSuccessful());
+        assertEquals("testdigest", result.getFieldName());
+        assertEquals("No valid digest", result.getMessage());
+        result = validator.validate("e306928x");
+        assertFalse(result.isValidationSuccessful());
+        assertEquals("testdigest", result.getFieldName());
+        assertEquals("No valid digest", result.getMessage());
+        result = validator.validate("md5:e3069283");
+        assertFalse(result.isValidationSuccessful());
+        assertEquals("testdigest", result.getFieldName());
+        assertEquals("No valid digest", result.getMessage());
+        result = validator.validate("crc32c:e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+        assertFalse(result.isValidationSuccessful());
+        assertEquals("testdigest", result.getFieldName());
+        assertEquals("No valid digest", result.getMessage());
+    }
+}
@@ -53,5 +53,9 @@ public class NullAccessTypeDataValidatorTest {
         assertFalse(result.isValidationSuccessful());
         assertEquals("Connect count", result.getFieldName());
         assertEquals("No value specified", result.getMessage());
+        result = validator.validateExpectedDigest("crc32c:e3069283");
+        assertFalse(result.isValidationSuccessful());
+        assertEquals("Expected digest", result.getFieldName());
+        assertEquals("No value specified", result.getMessage());
     }
 }
@@ -123,4 +123,28 @@ public class StandardAccessTypeDataValidatorTest {
         assertEquals("Connect count", result.getFieldName());
         assertEquals("No value specified", result.getMessage());
     }
+
+    @Test
+    public void testValidateExpectedDigest() {
+        ValidationResult result = validator.validateExpectedDigest("sha256:e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+        assertTrue(result.isValidationSuccessful());
+        assertEquals("Expected digest", result.getFieldName());
+        assertEquals("Validation successful", result.getMessage());
+        result = validator.validateExpectedDigest("crc32c:e3069283");
+        assertTrue(result.isValidationSuccessful());
+        assertEquals("Expected digest", result.getFieldName());
+        assertEquals("Validation successful", result.getMessage());
+        result = validator.validateExpectedDigest("");
+        assertTrue(result.isValidationSuccessful());
+        assertEquals("Expected digest", result.getFieldName());
+        assertEquals("Validation successful", result.getMessage());
+        result = validator.validateExpectedDigest("abc");
+        assertFalse(result.isValidationSuccessful());
+        assertEquals("Expected digest", result.getFieldName());
+        assertEquals("No valid digest", result.getMessage());
+        result = validator.validateExpectedDigest("md5:e3069283");
+        assertFalse(result.isValidationSuccessful());
+        assertEquals("Expected digest", result.getFieldName());
+        assertEquals("No valid digest", result.getMessage());
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.util;
+
+import static org.junit.Assert.assertEquals;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.SmallTest;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+@SmallTest
+@RunWith(AndroidJUnit4.class)
+public class CRC32CChecksumTest {
+
+    @Test
+    public void testKnownValues() {
+        CRC32CChecksum checksum = new CRC32CChecksum();
+        assertEquals(0, checksum.getValue());
+        byte[] data = "123456789".getBytes(StandardCharsets.US_ASCII);
+        checksum.update(data, 0, data.length);
+        assertEquals(0xe3069283L, checksum.getValue());
+        checksum.reset();
+        checksum.update(new byte[32], 0, 32);
+        assertEquals(0x8a9136aaL, checksum.getValue());
+        checksum.reset();
+        byte[] ones = new byte[32];
+        Arrays.fill(ones, (byte) 0xff);
+        checksum.update(ones, 0, ones.length);
+        assertEquals(0x62a8ab43L, checksum.getValue());
+    }
+
+    @Test
+    public void testIncrementalUpdate() {
+        byte[] data = "123456789".getBytes(StandardCharsets.US_ASCII);
+        CRC32CChecksum checksum = new CRC32CChecksum();
+        checksum.update(data[0]);
+        checksum.update(data, 1, 4);
+        checksum.update(data, 5, 4);
+        assertEquals(0xe3069283L, checksum.getValue());
+    }
+}
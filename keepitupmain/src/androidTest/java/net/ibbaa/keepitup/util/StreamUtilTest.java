@@ -18,6 +18,7 @@ package net.ibbaa.keepitup.util;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -31,6 +32,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.zip.CRC32;
 
 @SmallTest
 @SuppressWarnings({"CharsetObjectCanBeUsed", "StringOperationCanBeSimplified"})
@@ -104,6 +106,80 @@ public class StreamUtilTest {
         assertArrayEquals(getTestByteArrayOfSize(8192), outputStream.toByteArray());
     }
 
+    @Test
+    public void testInputStreamToOutputStreamAdaptiveBuffer() throws Exception {
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(getTestByteArray());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertTrue(StreamUtil.inputStreamToOutputStream(inputStream, outputStream, 1024, 65536, null));
+        assertArrayEquals(getTestByteArray(), outputStream.toByteArray());
+        inputStream = new ByteArrayInputStream(getTestByteArray());
+        outputStream = new ByteArrayOutputStream();
+        assertFalse(StreamUtil.inputStreamToOutputStream(inputStream, outputStream, 1024, 65536, new TestInterrupt(1)));
+        assertArrayEquals(getTestByteArrayOfSize(1024), outputStream.toByteArray());
+        inputStream = new ByteArrayInputStream(getTestByteArray());
+        outputStream = new ByteArrayOutputStream();
+        assertFalse(StreamUtil.inputStreamToOutputStream(inputStream, outputStream, 1024, 65536, new TestInterrupt(3)));
+        assertArrayEquals(getTestByteArrayOfSize(1024 + 2048 + 4096), outputStream.toByteArray());
+        inputStream = new ByteArrayInputStream(getTestByteArray());
+        outputStream = new ByteArrayOutputStream();
+        assertFalse(StreamUtil.inputStreamToOutputStream(inputStream, outputStream, 1024, 2048, new TestInterrupt(3)));
+        assertArrayEquals(getTestByteArrayOfSize(1024 + 2048 + 2048), outputStream.toByteArray());
+        inputStream = new ByteArrayInputStream(getTestByteArray());
+        outputStream = new ByteArrayOutputStream();
+        assertTrue(StreamUtil.inputStreamToOutputStream(inputStream, outputStream, 0, 0, null));
+        assertArrayEquals(getTestByteArray(), outputStream.toByteArray());
+    }
+
+    @Test
+    public void testInputStreamToOutputStreamAdaptiveBufferShortReads() throws Exception {
+        ShortReadInputStream inputStream = new ShortReadInputStream(getTestByteArray(), 512);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertTrue(StreamUtil.inputStreamToOutputStream(inputStream, outputStream, 1024, 65536, null));
+        assertArrayEquals(getTestByteArray(), outputStream.toByteArray());
+        inputStream = new ShortReadInputStream(getTestByteArray(), 512);
+        outputStream = new ByteArrayOutputStream();
+        assertFalse(StreamUtil.inputStreamToOutputStream(inputStream, outputStream, 1024, 65536, new TestInterrupt(1)));
+        assertArrayEquals(getTestByteArrayOfSize(512), outputStream.toByteArray());
+        inputStream = new ShortReadInputStream(getTestByteArray(), 512);
+        outputStream = new ByteArrayOutputStream();
+        assertFalse(StreamUtil.inputStreamToOutputStream(inputStream, outputStream, 1024, 65536, new TestInterrupt(3)));
+        assertArrayEquals(getTestByteArrayOfSize(1024 + 512), outputStream.toByteArray());
+        inputStream = new ShortReadInputStream(getTestByteArray(), 1);
+        outputStream = new ByteArrayOutputStream();
+        assertFalse(StreamUtil.inputStreamToOutputStream(inputStream, outputStream, 4096, 4096, new TestInterrupt(10)));
+        assertArrayEquals(getTestByteArrayOfSize(10), outputStream.toByteArray());
+        inputStream = new ShortReadInputStream(getTestByteArray(), 1);
+        outputStream = new ByteArrayOutputStream();
+        assertTrue(StreamUtil.inputStreamToOutputStream(inputStream, outputStream, 4096, 4096, null));
+        assertArrayEquals(getTestByteArray(), outputStream.toByteArray());
+    }
+
+    @Test
+    public void testDiscardInputStream() throws Exception {
+        assertEquals(10000, StreamUtil.discardInputStream(new ByteArrayInputStream(getTestByteArray()), -1, null));
+        assertEquals(1024, StreamUtil.discardInputStream(new ByteArrayInputStream(getTestByteArray()), 1024, null));
+        assertEquals(5000, StreamUtil.discardInputStream(new ByteArrayInputStream(getTestByteArray()), 5000, () -> true));
+        assertEquals(10000, StreamUtil.discardInputStream(new ByteArrayInputStream(getTestByteArray()), 20000, () -> true));
+        assertEquals(0, StreamUtil.discardInputStream(new ByteArrayInputStream(getTestByteArray()), -1, () -> false));
+        assertEquals(0, StreamUtil.discardInputStream(new ByteArrayInputStream(getTestByteArray()), 0, null));
+        assertEquals(4096, StreamUtil.discardInputStream(new ByteArrayInputStream(getTestByteArray()), -1, new TestInterrupt(1)));
+        assertEquals(8192, StreamUtil.discardInputStream(new ByteArrayInputStream(getTestByteArray()), -1, new TestInterrupt(2)));
+    }
+
+    @Test
+    public void testDiscardInputStreamChecksum() throws Exception {
+        CRC32 expected = new CRC32();
+        expected.update(getTestByteArray(), 0, 10000);
+        CRC32 checksum = new CRC32();
+        assertEquals(10000, StreamUtil.discardInputStream(new ByteArrayInputStream(getTestByteArray()), -1, checksum, null));
+        assertEquals(expected.getValue(), checksum.getValue());
+        expected.reset();
+        expected.update(getTestByteArray(), 0, 1000);
+        checksum.reset();
+        assertEquals(1000, StreamUtil.discardInputStream(new ByteArrayInputStream(getTestByteArray()), 1000, checksum, () -> true));
+        assertEquals(expected.getValue(), checksum.getValue());
+    }
+
     private byte[] getTestByteArray() {
         byte[] bytes = new byte[10000];
         Arrays.fill(bytes, (byte) 5);
@@ -116,6 +192,21 @@ public class StreamUtilTest {
         return bytes;
     }
 
+    private static class ShortReadInputStream extends ByteArrayInputStream {
+
+        private final int maxRead;
+
+        public ShortReadInputStream(byte[] data, int maxRead) {
+            super(data);
+            this.maxRead = maxRead;
+        }
+
+        @Override
+        public synchronized int read(byte[] buffer, int offset, int length) {
+            return super.read(buffer, offset, Math.min(length, maxRead));
+        }
+    }
+
     private static class TestInterrupt implements StreamUtil.Interrupt {
 
         private int countdown;
@@ -110,6 +110,19 @@ public class StringUtilTest {
         assertEquals("12.57 msec", StringUtil.formatTimeRange(12.5678999999, TestRegistry.getContext()));
     }
 
+    @Test
+    public void testFormatThroughput() {
+        InstrumentationRegistry.getInstrumentation().getTargetContext().getResources().getConfiguration().setLocale(Locale.US);
+        assertEquals("0 B/s", StringUtil.formatThroughput(0, 1000, TestRegistry.getContext()));
+        assertEquals("0 B/s", StringUtil.formatThroughput(-1, 1000, TestRegistry.getContext()));
+        assertEquals("500 B/s", StringUtil.formatThroughput(500, 1000, TestRegistry.getContext()));
+        assertEquals("1,000 B/s", StringUtil.formatThroughput(1000, 1000, TestRegistry.getContext()));
+        assertEquals("2 KB/s", StringUtil.formatThroughput(2048, 1000, TestRegistry.getContext()));
+        assertEquals("1.5 KB/s", StringUtil.formatThroughput(768, 500, TestRegistry.getContext()));
+        assertEquals("10 MB/s", StringUtil.formatThroughput(10 * 1024 * 1024, 1000, TestRegistry.getContext()));
+        assertEquals("1.95 KB/s", StringUtil.formatThroughput(2, 0, TestRegistry.getContext()));
+    }
+
     @Test
     public void testIsTextSelected() {
         assertTrue(StringUtil.isTextSelected("1", 0, 1));
@@ -25,6 +25,7 @@ import net.ibbaa.keepitup.BuildConfig;
 import net.ibbaa.keepitup.logging.Dump;
 import net.ibbaa.keepitup.logging.Log;
 import net.ibbaa.keepitup.model.AccessTypeData;
+import net.ibbaa.keepitup.model.ProbeMode;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -40,6 +41,7 @@ public class AccessTypeDataDAO extends BaseDAO {
     public AccessTypeData insertAccessTypeData(AccessTypeData accessTypeData) {
         Log.d(AccessTypeDataDAO.class.getName(), "insertAccessTypeData, accessTypeData is " + accessTypeData);
         AccessTypeData returnedAccessTypeData = executeDBOperationInTransaction(accessTypeData, this::insertAccessTypeData);
+        NetworkTaskSnapshotCache.getInstance().invalidateAccessTypeData(accessTypeData.getNetworkTaskId());
         Log.d(AccessTypeDataDAO.class.getName(), "Inserted accessTypeData is " + returnedAccessTypeData);
         dumpDatabase("Dump after insertAccessTypeData call");
         return returnedAccessTypeData;
@@ -48,6 +50,7 @@ public class AccessTypeDataDAO extends BaseDAO {
     public AccessTypeData updateAccessTypeData(AccessTypeData accessTypeData) {
         Log.d(AccessTypeDataDAO.class.getName(), "updateAccessTypeData, accessTypeData is " + accessTypeData);
         AccessTypeData returnedAccessTypeData = executeDBOperationInTransaction(accessTypeData, this::updateAccessTypeData);
+        NetworkTaskSnapshotCache.getInstance().invalidateAccessTypeData(accessTypeData.getNetworkTaskId());
         Log.d(AccessTypeDataDAO.class.getName(), "Updated accessTypeData is " + returnedAccessTypeData);
         dumpDatabase("Dump after updateAccessTypeData call");
         return returnedAccessTypeData;
@@ -55,9 +58,15 @@ public class AccessTypeDataDAO extends BaseDAO {
 
     public AccessTypeData readAccessTypeDataForNetworkTask(long networkTaskId) {
         Log.d(AccessTypeDataDAO.class.getName(), "readAccessTypeDataForNetworkTask, network task id is " + networkTaskId);
-        AccessTypeData accessTypeData = new AccessTypeData();
-        accessTypeData.setNetworkTaskId(networkTaskId);
-        accessTypeData = executeDBOperationInTransaction(accessTypeData, this::readAccessTypeDataForNetworkTask);
+        NetworkTaskSnapshotCache cache = NetworkTaskSnapshotCache.getInstance();
+        AccessTypeData accessTypeData = cache.getAccessTypeData(networkTaskId);
+        if (accessTypeData == null) {
+            long version = cache.getAccessTypeDataVersion();
+            accessTypeData = new AccessTypeData();
+            accessTypeData.setNetworkTaskId(networkTaskId);
+            accessTypeData = executeDBOperationInTransaction(accessTypeData, this::readAccessTypeDataForNetworkTask);
+            cache.putAccessTypeData(networkTaskId, accessTypeData, version);
+        }
         Log.d(AccessTypeDataDAO.class.getName(), "Read accessTypeData is " + accessTypeData);
         return accessTypeData;
     }
@@ -79,18 +88,21 @@ public class AccessTypeDataDAO extends BaseDAO {
         AccessTypeData accessTypeData = new AccessTypeData();
         accessTypeData.setNetworkTaskId(networkTaskId);
         executeDBOperationInTransaction(accessTypeData, this::deleteAccessTypeDataForNetworkTask);
+        NetworkTaskSnapshotCache.getInstance().invalidateAccessTypeData(networkTaskId);
         dumpDatabase("Dump after deleteAccessTypeDataForNetworkTask call");
     }
 
     public void deleteAllOrphanAccessTypeData() {
         Log.d(AccessTypeDataDAO.class.getName(), "deleteAllOrphanAccessTypeData");
         executeDBOperationInTransaction((AccessTypeData) null, this::deleteAllOrphanAccessTypeData);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllAccessTypeData();
         dumpDatabase("Dump after deleteAllOrphanAccessTypeData call");
     }
 
     public void deleteAllAccessTypeData() {
         Log.d(AccessTypeDataDAO.class.getName(), "deleteAllAccessTypeData");
         executeDBOperationInTransaction((AccessTypeData) null, this::deleteAllAccessTypeData);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllAccessTypeData();
         dumpDatabase("Dump after deleteAllAccessTypeData call");
     }
 
@@ -111,6 +123,8 @@ public class AccessTypeDataDAO extends BaseDAO {
         values.put(dbConstants.getStopOnSuccessColumnName(), accessTypeData.isStopOnSuccess() ? 1 : 0);
         values.put(dbConstants.getIgnoreSSLErrorColumnName(), accessTypeData.isIgnoreSSLError() ? 1 : 0);
         values.put(dbConstants.getUseDefaultHeadersColumnName(), accessTypeData.isUseDefaultHeaders() ? 1 : 0);
+        values.put(dbConstants.getProbeModeColumnName(), getProbeModeCode(accessTypeData));
+        values.put(dbConstants.getExpectedDigestColumnName(), accessTypeData.getExpectedDigest());
         long rowid = db.insert(dbConstants.getTableName(), null, values);
         if (rowid < 0) {
             Log.e(AccessTypeDataDAO.class.getName(), "Error inserting accessTypeData into database. Insert returned -1.");
@@ -132,6 +146,8 @@ public class AccessTypeDataDAO extends BaseDAO {
         values.put(dbConstants.getStopOnSuccessColumnName(), accessTypeData.isStopOnSuccess() ? 1 : 0);
         values.put(dbConstants.getIgnoreSSLErrorColumnName(), accessTypeData.isIgnoreSSLError() ? 1 : 0);
         values.put(dbConstants.getUseDefaultHeadersColumnName(), accessTypeData.isUseDefaultHeaders() ? 1 : 0);
+        values.put(dbConstants.getProbeModeColumnName(), getProbeModeCode(accessTypeData));
+        values.put(dbConstants.getExpectedDigestColumnName(), accessTypeData.getExpectedDigest());
         db.update(dbConstants.getTableName(), values, selection, selectionArgs);
         return accessTypeData;
     }
@@ -235,6 +251,8 @@ public class AccessTypeDataDAO extends BaseDAO {
         int indexStopOnSuccessColumn = cursor.getColumnIndex(dbConstants.getStopOnSuccessColumnName());
         int indexIgnoreSSLErrorColumn = cursor.getColumnIndex(dbConstants.getIgnoreSSLErrorColumnName());
         int indexUseDefaultHeadersColumn = cursor.getColumnIndex(dbConstants.getUseDefaultHeadersColumnName());
+        int indexProbeModeColumn = cursor.getColumnIndex(dbConstants.getProbeModeColumnName());
+        int indexExpectedDigestColumn = cursor.getColumnIndex(dbConstants.getExpectedDigestColumnName());
         accessTypeData.setId(cursor.getLong(indexIdColumn));
         accessTypeData.setNetworkTaskId(cursor.getLong(indexNetworkTaskIdColumn));
         accessTypeData.setPingCount(cursor.getInt(indexPingCountColumn));
@@ -243,9 +261,26 @@ public class AccessTypeDataDAO extends BaseDAO {
         accessTypeData.setStopOnSuccess(cursor.getInt(indexStopOnSuccessColumn) >= 1);
         accessTypeData.setIgnoreSSLError(cursor.getInt(indexIgnoreSSLErrorColumn) >= 1);
         accessTypeData.setUseDefaultHeaders(cursor.getInt(indexUseDefaultHeadersColumn) >= 1);
+        accessTypeData.setProbeMode(getProbeMode(cursor, indexProbeModeColumn));
+        if (indexExpectedDigestColumn >= 0 && !cursor.isNull(indexExpectedDigestColumn)) {
+            accessTypeData.setExpectedDigest(cursor.getString(indexExpectedDigestColumn));
+        }
         return accessTypeData;
     }
 
+    private int getProbeModeCode(AccessTypeData accessTypeData) {
+        ProbeMode probeMode = accessTypeData.getProbeMode();
+        return probeMode != null ? probeMode.getCode() : ProbeMode.FULL.getCode();
+    }
+
+    private ProbeMode getProbeMode(Cursor cursor, int index) {
+        if (index < 0 || cursor.isNull(index)) {
+            return ProbeMode.FULL;
+        }
+        ProbeMode probeMode = ProbeMode.forCode(cursor.getInt(index));
+        return probeMode != null ? probeMode : ProbeMode.FULL;
+    }
+
     @FunctionalInterface
     private interface AccessTypeDataCollector {
         void collect(AccessTypeData data);
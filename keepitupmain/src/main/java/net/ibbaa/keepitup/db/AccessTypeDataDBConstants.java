@@ -32,6 +32,8 @@ public class AccessTypeDataDBConstants {
     private final String stopOnSuccessColumnName;
     private final String ignoreSSLErrorColumnName;
     private final String useDefaultHeadersColumnName;
+    private final String probeModeColumnName;
+    private final String expectedDigestColumnName;
 
     public AccessTypeDataDBConstants(Context context) {
         networkTaskDBConstants = new NetworkTaskDBConstants(context);
@@ -44,6 +46,8 @@ public class AccessTypeDataDBConstants {
         stopOnSuccessColumnName = context.getResources().getString(R.string.accesstypedata_stoponsuccess_column_name);
         ignoreSSLErrorColumnName = context.getResources().getString(R.string.accesstypedata_ignoresslerror_column_name);
         useDefaultHeadersColumnName = context.getResources().getString(R.string.accesstypedata_usedefaultheaders_column_name);
+        probeModeColumnName = context.getResources().getString(R.string.accesstypedata_probemode_column_name);
+        expectedDigestColumnName = context.getResources().getString(R.string.accesstypedata_expecteddigest_column_name);
     }
 
     public String getTableName() {
@@ -82,6 +86,14 @@ public class AccessTypeDataDBConstants {
         return useDefaultHeadersColumnName;
     }
 
+    public String getProbeModeColumnName() {
+        return probeModeColumnName;
+    }
+
+    public String getExpectedDigestColumnName() {
+        return expectedDigestColumnName;
+    }
+
     public String getCreateTableStatement() {
         return ("CREATE TABLE IF NOT EXISTS  " + getTableName() + "(") +
                 getIdColumnName() + " INTEGER PRIMARY KEY ASC, " +
@@ -91,7 +103,9 @@ public class AccessTypeDataDBConstants {
                 getConnectCountColumnName() + " INTEGER, " +
                 getStopOnSuccessColumnName() + " INTEGER, " +
                 getIgnoreSSLErrorColumnName() + " INTEGER, " +
-                getUseDefaultHeadersColumnName() + " INTEGER);";
+                getUseDefaultHeadersColumnName() + " INTEGER, " +
+                getProbeModeColumnName() + " INTEGER, " +
+                getExpectedDigestColumnName() + " TEXT);";
     }
 
     public String getCreateTableStatementWithoutStopOnSuccess() {
@@ -102,7 +116,9 @@ public class AccessTypeDataDBConstants {
                 getPingPackageSizeColumnName() + " INTEGER, " +
                 getConnectCountColumnName() + " INTEGER, " +
                 getIgnoreSSLErrorColumnName() + " INTEGER, " +
-                getUseDefaultHeadersColumnName() + " INTEGER);";
+                getUseDefaultHeadersColumnName() + " INTEGER, " +
+                getProbeModeColumnName() + " INTEGER, " +
+                getExpectedDigestColumnName() + " TEXT);";
     }
 
     public String getCreateTableStatementWithoutIgnoreSSLError() {
@@ -113,7 +129,9 @@ public class AccessTypeDataDBConstants {
                 getPingPackageSizeColumnName() + " INTEGER, " +
                 getConnectCountColumnName() + " INTEGER, " +
                 getStopOnSuccessColumnName() + " INTEGER, " +
-                getUseDefaultHeadersColumnName() + " INTEGER);";
+                getUseDefaultHeadersColumnName() + " INTEGER, " +
+                getProbeModeColumnName() + " INTEGER, " +
+                getExpectedDigestColumnName() + " TEXT);";
     }
 
     public String getCreateTableStatementWithoutUseDefaultHeaders() {
@@ -124,7 +142,35 @@ public class AccessTypeDataDBConstants {
                 getPingPackageSizeColumnName() + " INTEGER, " +
                 getConnectCountColumnName() + " INTEGER, " +
                 getStopOnSuccessColumnName() + " INTEGER, " +
-                getIgnoreSSLErrorColumnName() + " INTEGER);";
+                getIgnoreSSLErrorColumnName() + " INTEGER, " +
+                getProbeModeColumnName() + " INTEGER, " +
+                getExpectedDigestColumnName() + " TEXT);";
+    }
+
+    public String getCreateTableStatementWithoutProbeMode() {
+        return ("CREATE TABLE IF NOT EXISTS  " + getTableName() + "(") +
+                getIdColumnName() + " INTEGER PRIMARY KEY ASC, " +
+                getNetworkTaskIdColumnName() + " INTEGER NOT NULL, " +
+                getPingCountColumnName() + " INTEGER, " +
+                getPingPackageSizeColumnName() + " INTEGER, " +
+                getConnectCountColumnName() + " INTEGER, " +
+                getStopOnSuccessColumnName() + " INTEGER, " +
+                getIgnoreSSLErrorColumnName() + " INTEGER, " +
+                getUseDefaultHeadersColumnName() + " INTEGER, " +
+                getExpectedDigestColumnName() + " TEXT);";
+    }
+
+    public String getCreateTableStatementWithoutExpectedDigest() {
+        return ("CREATE TABLE IF NOT EXISTS  " + getTableName() + "(") +
+                getIdColumnName() + " INTEGER PRIMARY KEY ASC, " +
+                getNetworkTaskIdColumnName() + " INTEGER NOT NULL, " +
+                getPingCountColumnName() + " INTEGER, " +
+                getPingPackageSizeColumnName() + " INTEGER, " +
+                getConnectCountColumnName() + " INTEGER, " +
+                getStopOnSuccessColumnName() + " INTEGER, " +
+                getIgnoreSSLErrorColumnName() + " INTEGER, " +
+                getUseDefaultHeadersColumnName() + " INTEGER, " +
+                getProbeModeColumnName() + " INTEGER);";
     }
 
     public String getCreateTableStatementWithoutAddedColumns() {
@@ -149,7 +195,9 @@ public class AccessTypeDataDBConstants {
                 getConnectCountColumnName() + ", " +
                 getStopOnSuccessColumnName() + ", " +
                 getIgnoreSSLErrorColumnName() + ", " +
-                getUseDefaultHeadersColumnName() +
+                getUseDefaultHeadersColumnName() + ", " +
+                getProbeModeColumnName() + ", " +
+                getExpectedDigestColumnName() +
                 " FROM " + getTableName() +
                 " WHERE " + getNetworkTaskIdColumnName() + " = ?";
     }
@@ -163,7 +211,9 @@ public class AccessTypeDataDBConstants {
                 getConnectCountColumnName() + ", " +
                 getStopOnSuccessColumnName() + ", " +
                 getIgnoreSSLErrorColumnName() + ", " +
-                getUseDefaultHeadersColumnName() +
+                getUseDefaultHeadersColumnName() + ", " +
+                getProbeModeColumnName() + ", " +
+                getExpectedDigestColumnName() +
                 " FROM " + getTableName();
     }
 
@@ -201,4 +251,20 @@ public class AccessTypeDataDBConstants {
     public String getDropUseDefaultHeadersColumnStatement() {
         return "ALTER TABLE " + getTableName() + " DROP COLUMN " + getUseDefaultHeadersColumnName() + " INTEGER;";
     }
+
+    public String getAddProbeModeColumnStatement() {
+        return "ALTER TABLE " + getTableName() + " ADD COLUMN " + getProbeModeColumnName() + " INTEGER;";
+    }
+
+    public String getDropProbeModeColumnStatement() {
+        return "ALTER TABLE " + getTableName() + " DROP COLUMN " + getProbeModeColumnName() + ";";
+    }
+
+    public String getAddExpectedDigestColumnStatement() {
+        return "ALTER TABLE " + getTableName() + " ADD COLUMN " + getExpectedDigestColumnName() + " TEXT;";
+    }
+
+    public String getDropExpectedDigestColumnStatement() {
+        return "ALTER TABLE " + getTableName() + " DROP COLUMN " + getExpectedDigestColumnName() + ";";
+    }
 }
@@ -47,6 +47,16 @@ public class DBMigrate {
         versionDowngrades.put(6, this::version6DowngradeTo5);
         versionUpgrades.put(7, this::version7UpgradeFrom6);
         versionDowngrades.put(7, this::version7DowngradeTo6);
+        versionUpgrades.put(8, this::version8UpgradeFrom7);
+        versionDowngrades.put(8, this::version8DowngradeTo7);
+        versionUpgrades.put(9, this::version9UpgradeFrom8);
+        versionDowngrades.put(9, this::version9DowngradeTo8);
+        versionUpgrades.put(10, this::version10UpgradeFrom9);
+        versionDowngrades.put(10, this::version10DowngradeTo9);
+        versionUpgrades.put(11, this::version11UpgradeFrom10);
+        versionDowngrades.put(11, this::version11DowngradeTo10);
+        versionUpgrades.put(12, this::version12UpgradeFrom11);
+        versionDowngrades.put(12, this::version12DowngradeTo11);
     }
 
     public void doUpgrade(Context context, int oldVersion, int newVersion) {
@@ -225,6 +235,89 @@ public class DBMigrate {
         }
     }
 
+    private void version8UpgradeFrom7(SQLiteDatabase db) {
+        Log.d(DBMigrate.class.getName(), "version8UpgradeFrom7");
+        try {
+            setup.addPhaseTimeColumnsToLogTable(db);
+        } catch (Exception exc) {
+            Log.e(DBMigrate.class.getName(), "addPhaseTimeColumnsToLogTable failed ", exc);
+        }
+    }
+
+    private void version8DowngradeTo7(SQLiteDatabase db) {
+        Log.d(DBMigrate.class.getName(), "version8DowngradeTo7");
+        try {
+            setup.dropPhaseTimeColumnsFromLogTable(db);
+        } catch (Exception exc) {
+            Log.e(DBMigrate.class.getName(), "dropPhaseTimeColumnsFromLogTable failed ", exc);
+        }
+    }
+
+    private void version9UpgradeFrom8(SQLiteDatabase db) {
+        Log.d(DBMigrate.class.getName(), "version9UpgradeFrom8");
+        try {
+            setup.addProbeModeColumnToAccessTypeDataTable(db);
+        } catch (Exception exc) {
+            Log.e(DBMigrate.class.getName(), "addProbeModeColumnToAccessTypeDataTable failed ", exc);
+        }
+    }
+
+    private void version9DowngradeTo8(SQLiteDatabase db) {
+        Log.d(DBMigrate.class.getName(), "version9DowngradeTo8");
+        try {
+            setup.dropProbeModeColumnFromAccessTypeDataTable(db);
+        } catch (Exception exc) {
+            Log.e(DBMigrate.class.getName(), "dropProbeModeColumnFromAccessTypeDataTable failed ", exc);
+        }
+    }
+
+    private void version10UpgradeFrom9(SQLiteDatabase db) {
+        Log.d(DBMigrate.class.getName(), "version10UpgradeFrom9");
+        setup.tryDropDownloadValidatorTable(db);
+        setup.createDownloadValidatorTable(db);
+    }
+
+    private void version10DowngradeTo9(SQLiteDatabase db) {
+        Log.d(DBMigrate.class.getName(), "version10DowngradeTo9");
+        setup.tryDropDownloadValidatorTable(db);
+    }
+
+    private void version11UpgradeFrom10(SQLiteDatabase db) {
+        Log.d(DBMigrate.class.getName(), "version11UpgradeFrom10");
+        try {
+            setup.addExpectedDigestColumnToAccessTypeDataTable(db);
+        } catch (Exception exc) {
+            Log.e(DBMigrate.class.getName(), "addExpectedDigestColumnToAccessTypeDataTable failed ", exc);
+        }
+    }
+
+    private void version11DowngradeTo10(SQLiteDatabase db) {
+        Log.d(DBMigrate.class.getName(), "version11DowngradeTo10");
+        try {
+            setup.dropExpectedDigestColumnFromAccessTypeDataTable(db);
+        } catch (Exception exc) {
+            Log.e(DBMigrate.class.getName(), "dropExpectedDigestColumnFromAccessTypeDataTable failed ", exc);
+        }
+    }
+
+    private void version12UpgradeFrom11(SQLiteDatabase db) {
+        Log.d(DBMigrate.class.getName(), "version12UpgradeFrom11");
+        try {
+            setup.createLogIndex(db);
+        } catch (Exception exc) {
+            Log.e(DBMigrate.class.getName(), "createLogIndex failed ", exc);
+        }
+    }
+
+    private void version12DowngradeTo11(SQLiteDatabase db) {
+        Log.d(DBMigrate.class.getName(), "version12DowngradeTo11");
+        try {
+            setup.dropLogIndex(db);
+        } catch (Exception exc) {
+            Log.e(DBMigrate.class.getName(), "dropLogIndex failed ", exc);
+        }
+    }
+
     @FunctionalInterface
     private interface Migration {
         @SuppressWarnings({"unused"})
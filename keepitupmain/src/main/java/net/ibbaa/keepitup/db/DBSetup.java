@@ -51,6 +51,7 @@ public class DBSetup {
     private final AccessTypeDataDBConstants accessTypeDataDBConstants;
     private final ResolveDBConstants resolveDBConstants;
     private final HeaderDBConstants headerDBConstants;
+    private final DownloadValidatorDBConstants downloadValidatorDBConstants;
 
     public DBSetup(Context context) {
         this.context = context;
@@ -62,6 +63,7 @@ public class DBSetup {
         this.accessTypeDataDBConstants = new AccessTypeDataDBConstants(context);
         this.resolveDBConstants = new ResolveDBConstants(context);
         this.headerDBConstants = new HeaderDBConstants(context);
+        this.downloadValidatorDBConstants = new DownloadValidatorDBConstants(context);
     }
 
     public void createTables(SQLiteDatabase db) {
@@ -74,6 +76,7 @@ public class DBSetup {
         createAccessTypeDataTable(db);
         createResolveTable(db);
         createHeaderTable(db);
+        createDownloadValidatorTable(db);
     }
 
     public void tryDropTables(SQLiteDatabase db) {
@@ -118,11 +121,18 @@ public class DBSetup {
         } catch (Exception exc) {
             Log.d(DBSetup.class.getName(), "dropHeaderTable failed ", exc);
         }
+        try {
+            dropDownloadValidatorTable(db);
+        } catch (Exception exc) {
+            Log.d(DBSetup.class.getName(), "dropDownloadValidatorTable failed ", exc);
+        }
     }
 
     public void createNetworkTaskTable(SQLiteDatabase db) {
         Log.d(DBSetup.class.getName(), "createNetworkTaskTable, table is " + networkTaskDBConstants.getTableName());
         db.execSQL(networkTaskDBConstants.getCreateTableStatement());
+        NetworkTaskCounterRegistry.getInstance().clear();
+        NetworkTaskSnapshotCache.getInstance().clear();
     }
 
     public void addFailureCountColumnToNetworkTaskTable(SQLiteDatabase db) {
@@ -152,6 +162,12 @@ public class DBSetup {
     public void createLogTable(SQLiteDatabase db) {
         Log.d(DBSetup.class.getName(), "createLogTable, table is " + logDBConstants.getTableName());
         db.execSQL(logDBConstants.getCreateTableStatement());
+        createLogIndex(db);
+    }
+
+    public void createLogIndex(SQLiteDatabase db) {
+        Log.d(DBSetup.class.getName(), "createLogIndex, index is " + logDBConstants.getNetworkTaskIdTimestampIndexName());
+        db.execSQL(logDBConstants.getCreateNetworkTaskIdTimestampIndexStatement());
     }
 
     public void createSchedulerIdHistoryTable(SQLiteDatabase db) {
@@ -177,6 +193,7 @@ public class DBSetup {
     public void createAccessTypeDataTable(SQLiteDatabase db) {
         Log.d(DBSetup.class.getName(), "createAccessTypeDataTable, table is " + accessTypeDataDBConstants.getTableName());
         db.execSQL(accessTypeDataDBConstants.getCreateTableStatement());
+        NetworkTaskSnapshotCache.getInstance().clear();
     }
 
     @SuppressWarnings({"ExtractMethodRecommender"})
@@ -192,6 +209,7 @@ public class DBSetup {
         values.put(dbConstants.getStopOnSuccessColumnName(), accessTypeData.isStopOnSuccess() ? 1 : 0);
         values.put(dbConstants.getIgnoreSSLErrorColumnName(), accessTypeData.isIgnoreSSLError() ? 1 : 0);
         values.put(dbConstants.getUseDefaultHeadersColumnName(), accessTypeData.isUseDefaultHeaders() ? 1 : 0);
+        values.put(dbConstants.getProbeModeColumnName(), accessTypeData.getProbeMode().getCode());
         executeDBOperationInTransaction(db, database -> database.update(dbConstants.getTableName(), values, null, null));
     }
 
@@ -210,15 +228,32 @@ public class DBSetup {
         db.execSQL(accessTypeDataDBConstants.getAddUseDefaultHeadersColumnStatement());
     }
 
+    public void addProbeModeColumnToAccessTypeDataTable(SQLiteDatabase db) {
+        Log.d(DBSetup.class.getName(), "addProbeModeColumnToAccessTypeDataTable, adding column " + accessTypeDataDBConstants.getProbeModeColumnName() + " to table " + accessTypeDataDBConstants.getTableName());
+        db.execSQL(accessTypeDataDBConstants.getAddProbeModeColumnStatement());
+    }
+
+    public void addExpectedDigestColumnToAccessTypeDataTable(SQLiteDatabase db) {
+        Log.d(DBSetup.class.getName(), "addExpectedDigestColumnToAccessTypeDataTable, adding column " + accessTypeDataDBConstants.getExpectedDigestColumnName() + " to table " + accessTypeDataDBConstants.getTableName());
+        db.execSQL(accessTypeDataDBConstants.getAddExpectedDigestColumnStatement());
+    }
+
     public void createResolveTable(SQLiteDatabase db) {
         Log.d(DBSetup.class.getName(), "createResolveTable, table is " + resolveDBConstants.getTableName());
         db.execSQL(resolveDBConstants.getCreateTableStatement());
+        NetworkTaskSnapshotCache.getInstance().clear();
+    }
+
+    public void createDownloadValidatorTable(SQLiteDatabase db) {
+        Log.d(DBSetup.class.getName(), "createDownloadValidatorTable, table is " + downloadValidatorDBConstants.getTableName());
+        db.execSQL(downloadValidatorDBConstants.getCreateTableStatement());
     }
 
     public void createHeaderTable(SQLiteDatabase db) {
         Log.d(DBSetup.class.getName(), "createHeaderTable, table is " + headerDBConstants.getTableName());
         db.execSQL(headerDBConstants.getCreateTableStatement());
         initializeHeaderTable(db);
+        NetworkTaskSnapshotCache.getInstance().clear();
     }
 
     public void initializeHeaderTable(SQLiteDatabase db) {
@@ -244,6 +279,17 @@ public class DBSetup {
         db.execSQL(headerDBConstants.getAddValueIVColumnStatement());
     }
 
+    public void addPhaseTimeColumnsToLogTable(SQLiteDatabase db) {
+        for (String columnName : logDBConstants.getPhaseTimeColumnNames()) {
+            Log.d(DBSetup.class.getName(), "addPhaseTimeColumnsToLogTable, adding column " + columnName + " to table " + logDBConstants.getTableName());
+            try {
+                db.execSQL(logDBConstants.getAddPhaseTimeColumnStatement(columnName));
+            } catch (Exception exc) {
+                Log.d(DBSetup.class.getName(), "Adding column " + columnName + " failed ", exc);
+            }
+        }
+    }
+
     private void executeDBOperationInTransaction(SQLiteDatabase db, DBSetupOperation operation) {
         Log.d(DBSetup.class.getName(), "executeDBOperationInTransaction");
         try {
@@ -274,11 +320,14 @@ public class DBSetup {
         dropAccessTypeDataTable(db);
         dropResolveTable(db);
         dropHeaderTable(db);
+        dropDownloadValidatorTable(db);
     }
 
     public void dropNetworkTaskTable(SQLiteDatabase db) {
         Log.d(DBSetup.class.getName(), "dropNetworkTaskTable, table is " + networkTaskDBConstants.getTableName());
         db.execSQL(networkTaskDBConstants.getDropTableStatement());
+        NetworkTaskCounterRegistry.getInstance().clear();
+        NetworkTaskSnapshotCache.getInstance().clear();
     }
 
     public void tryDropNetworkTaskTable(SQLiteDatabase db) {
@@ -309,6 +358,11 @@ public class DBSetup {
         db.execSQL(logDBConstants.getDropTableStatement());
     }
 
+    public void dropLogIndex(SQLiteDatabase db) {
+        Log.d(DBSetup.class.getName(), "dropLogIndex, index is " + logDBConstants.getNetworkTaskIdTimestampIndexName());
+        db.execSQL(logDBConstants.getDropNetworkTaskIdTimestampIndexStatement());
+    }
+
     public void tryDropLogTable(SQLiteDatabase db) {
         try {
             dropLogTable(db);
@@ -359,6 +413,7 @@ public class DBSetup {
     public void dropAccessTypeDataTable(SQLiteDatabase db) {
         Log.d(DBSetup.class.getName(), "dropAccessTypeDataTable, table is " + accessTypeDataDBConstants.getTableName());
         db.execSQL(accessTypeDataDBConstants.getDropTableStatement());
+        NetworkTaskSnapshotCache.getInstance().clear();
     }
 
     public void tryDropAccessTypeDataTable(SQLiteDatabase db) {
@@ -384,9 +439,20 @@ public class DBSetup {
         db.execSQL(accessTypeDataDBConstants.getDropUseDefaultHeadersColumnStatement());
     }
 
+    public void dropProbeModeColumnFromAccessTypeDataTable(SQLiteDatabase db) {
+        Log.d(DBSetup.class.getName(), "dropProbeModeColumnFromAccessTypeDataTable, dropping column " + accessTypeDataDBConstants.getProbeModeColumnName() + " from table " + accessTypeDataDBConstants.getTableName());
+        db.execSQL(accessTypeDataDBConstants.getDropProbeModeColumnStatement());
+    }
+
+    public void dropExpectedDigestColumnFromAccessTypeDataTable(SQLiteDatabase db) {
+        Log.d(DBSetup.class.getName(), "dropExpectedDigestColumnFromAccessTypeDataTable, dropping column " + accessTypeDataDBConstants.getExpectedDigestColumnName() + " from table " + accessTypeDataDBConstants.getTableName());
+        db.execSQL(accessTypeDataDBConstants.getDropExpectedDigestColumnStatement());
+    }
+
     public void dropResolveTable(SQLiteDatabase db) {
         Log.d(DBSetup.class.getName(), "dropResolveTable, table is " + resolveDBConstants.getTableName());
         db.execSQL(resolveDBConstants.getDropTableStatement());
+        NetworkTaskSnapshotCache.getInstance().clear();
     }
 
     public void tryDropResolveTable(SQLiteDatabase db) {
@@ -397,9 +463,23 @@ public class DBSetup {
         }
     }
 
+    public void dropDownloadValidatorTable(SQLiteDatabase db) {
+        Log.d(DBSetup.class.getName(), "dropDownloadValidatorTable, table is " + downloadValidatorDBConstants.getTableName());
+        db.execSQL(downloadValidatorDBConstants.getDropTableStatement());
+    }
+
+    public void tryDropDownloadValidatorTable(SQLiteDatabase db) {
+        try {
+            dropDownloadValidatorTable(db);
+        } catch (Exception exc) {
+            Log.d(DBSetup.class.getName(), "dropDownloadValidatorTable failed ", exc);
+        }
+    }
+
     public void dropHeaderTable(SQLiteDatabase db) {
         Log.d(DBSetup.class.getName(), "dropHeaderTable, table is " + headerDBConstants.getTableName());
         db.execSQL(headerDBConstants.getDropTableStatement());
+        NetworkTaskSnapshotCache.getInstance().clear();
     }
 
     public void tryDropHeaderTable(SQLiteDatabase db) {
@@ -420,6 +500,17 @@ public class DBSetup {
         db.execSQL(headerDBConstants.getDropValueIVColumnStatement());
     }
 
+    public void dropPhaseTimeColumnsFromLogTable(SQLiteDatabase db) {
+        for (String columnName : logDBConstants.getPhaseTimeColumnNames()) {
+            Log.d(DBSetup.class.getName(), "dropPhaseTimeColumnsFromLogTable, dropping column " + columnName + " from table " + logDBConstants.getTableName());
+            try {
+                db.execSQL(logDBConstants.getDropPhaseTimeColumnStatement(columnName));
+            } catch (Exception exc) {
+                Log.d(DBSetup.class.getName(), "Dropping column " + columnName + " failed ", exc);
+            }
+        }
+    }
+
     public void recreateNetworkTaskTable(SQLiteDatabase db) {
         Log.d(DBSetup.class.getName(), "recreateNetworkTaskTable");
         dropNetworkTaskTable(db);
@@ -456,6 +547,12 @@ public class DBSetup {
         createResolveTable(db);
     }
 
+    public void recreateDownloadValidatorTable(SQLiteDatabase db) {
+        Log.d(DBSetup.class.getName(), "recreateDownloadValidatorTable");
+        dropDownloadValidatorTable(db);
+        createDownloadValidatorTable(db);
+    }
+
     public void recreateHeaderTable(SQLiteDatabase db) {
         Log.d(DBSetup.class.getName(), "recreateHeaderTable");
         dropHeaderTable(db);
@@ -518,6 +615,10 @@ public class DBSetup {
         createLogTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
     }
 
+    public void createLogIndex() {
+        createLogIndex(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
+    }
+
     public void createSchedulerIdHistoryTable() {
         createSchedulerIdHistoryTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
     }
@@ -542,6 +643,10 @@ public class DBSetup {
         createResolveTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
     }
 
+    public void createDownloadValidatorTable() {
+        createDownloadValidatorTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
+    }
+
     public void createHeaderTable() {
         createHeaderTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
     }
@@ -558,6 +663,18 @@ public class DBSetup {
         addValueIVColumnToHeaderTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
     }
 
+    public void addPhaseTimeColumnsToLogTable() {
+        addPhaseTimeColumnsToLogTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
+    }
+
+    public void addProbeModeColumnToAccessTypeDataTable() {
+        addProbeModeColumnToAccessTypeDataTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
+    }
+
+    public void addExpectedDigestColumnToAccessTypeDataTable() {
+        addExpectedDigestColumnToAccessTypeDataTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
+    }
+
     public void dropTables() {
         dropTables(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
     }
@@ -605,6 +722,10 @@ public class DBSetup {
         dropLogTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
     }
 
+    public void dropLogIndex() {
+        dropLogIndex(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
+    }
+
     @SuppressWarnings({"unused"})
     public void tryDropLogTable() {
         tryDropLogTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
@@ -655,6 +776,10 @@ public class DBSetup {
         tryDropResolveTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
     }
 
+    public void dropDownloadValidatorTable() {
+        dropDownloadValidatorTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
+    }
+
     public void dropHeaderTable() {
         dropHeaderTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
     }
@@ -674,6 +799,21 @@ public class DBSetup {
         dropValueIVColumnFromHeaderTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
     }
 
+    @SuppressWarnings({"unused"})
+    public void dropPhaseTimeColumnsFromLogTable() {
+        dropPhaseTimeColumnsFromLogTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
+    }
+
+    @SuppressWarnings({"unused"})
+    public void dropProbeModeColumnFromAccessTypeDataTable() {
+        dropProbeModeColumnFromAccessTypeDataTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
+    }
+
+    @SuppressWarnings({"unused"})
+    public void dropExpectedDigestColumnFromAccessTypeDataTable() {
+        dropExpectedDigestColumnFromAccessTypeDataTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
+    }
+
     public void recreateNetworkTaskTable() {
         recreateNetworkTaskTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
     }
@@ -702,6 +842,10 @@ public class DBSetup {
         recreateResolveTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
     }
 
+    public void recreateDownloadValidatorTable() {
+        recreateDownloadValidatorTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
+    }
+
     public void recreateHeaderTable() {
         recreateHeaderTable(DBOpenHelper.getInstance(getContext()).getWritableDatabase());
     }
@@ -752,6 +896,12 @@ public class DBSetup {
         dao.deleteAllResolve();
     }
 
+    public void deleteAllDownloadValidators() {
+        Log.d(DBSetup.class.getName(), "deleteAllDownloadValidators");
+        DownloadValidatorDAO dao = new DownloadValidatorDAO(getContext());
+        dao.deleteAllDownloadValidators();
+    }
+
     public void deleteAllHeaders() {
         Log.d(DBSetup.class.getName(), "deleteAllHeaders");
         HeaderDAO dao = new HeaderDAO(getContext());
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.db;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import net.ibbaa.keepitup.BuildConfig;
+import net.ibbaa.keepitup.logging.Dump;
+import net.ibbaa.keepitup.logging.Log;
+import net.ibbaa.keepitup.model.DownloadValidator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DownloadValidatorDAO extends BaseDAO {
+
+    public DownloadValidatorDAO(Context context) {
+        super(context);
+    }
+
+    public DownloadValidator insertOrReplaceDownloadValidator(DownloadValidator downloadValidator) {
+        Log.d(DownloadValidatorDAO.class.getName(), "insertOrReplaceDownloadValidator, download validator is " + downloadValidator);
+        DownloadValidator returnedDownloadValidator = executeDBOperationInTransaction(downloadValidator, this::insertOrReplaceDownloadValidator);
+        Log.d(DownloadValidatorDAO.class.getName(), "Inserted download validator is " + returnedDownloadValidator);
+        dumpDatabase("Dump after insertOrReplaceDownloadValidator call");
+        return returnedDownloadValidator;
+    }
+
+    public DownloadValidator readDownloadValidatorForNetworkTask(long networkTaskId) {
+        Log.d(DownloadValidatorDAO.class.getName(), "readDownloadValidatorForNetworkTask, network task id is " + networkTaskId);
+        DownloadValidator downloadValidator = new DownloadValidator(networkTaskId);
+        downloadValidator = executeDBOperationInTransaction(downloadValidator, this::readDownloadValidatorForNetworkTask);
+        Log.d(DownloadValidatorDAO.class.getName(), "Read download validator is " + downloadValidator);
+        return downloadValidator;
+    }
+
+    public List<DownloadValidator> readAllDownloadValidators() {
+        Log.d(DownloadValidatorDAO.class.getName(), "readAllDownloadValidators");
+        List<DownloadValidator> downloadValidators = executeDBOperationInTransaction((DownloadValidator) null, this::readAllDownloadValidators);
+        Log.d(DownloadValidatorDAO.class.getName(), "Number of download validators read: " + downloadValidators.size());
+        return downloadValidators;
+    }
+
+    public void deleteDownloadValidatorForNetworkTask(long networkTaskId) {
+        Log.d(DownloadValidatorDAO.class.getName(), "deleteDownloadValidatorForNetworkTask, network task id is " + networkTaskId);
+        executeDBOperationInTransaction(new DownloadValidator(networkTaskId), this::deleteDownloadValidatorForNetworkTask);
+        dumpDatabase("Dump after deleteDownloadValidatorForNetworkTask call");
+    }
+
+    public void deleteAllOrphanDownloadValidators() {
+        Log.d(DownloadValidatorDAO.class.getName(), "deleteAllOrphanDownloadValidators");
+        executeDBOperationInTransaction((DownloadValidator) null, this::deleteAllOrphanDownloadValidators);
+        dumpDatabase("Dump after deleteAllOrphanDownloadValidators call");
+    }
+
+    public void deleteAllDownloadValidators() {
+        Log.d(DownloadValidatorDAO.class.getName(), "deleteAllDownloadValidators");
+        executeDBOperationInTransaction((DownloadValidator) null, this::deleteAllDownloadValidators);
+        dumpDatabase("Dump after deleteAllDownloadValidators call");
+    }
+
+    private void dumpDatabase(String message) {
+        if (BuildConfig.DEBUG) {
+            Dump.dump(DownloadValidatorDAO.class.getName(), message, DownloadValidator.class.getSimpleName().toLowerCase(), this::readAllDownloadValidators);
+        }
+    }
+
+    private DownloadValidator insertOrReplaceDownloadValidator(DownloadValidator downloadValidator, SQLiteDatabase db) {
+        Log.d(DownloadValidatorDAO.class.getName(), "insertOrReplaceDownloadValidator, download validator is " + downloadValidator);
+        ContentValues values = new ContentValues();
+        DownloadValidatorDBConstants dbConstants = new DownloadValidatorDBConstants(getContext());
+        values.put(dbConstants.getNetworkTaskIdColumnName(), downloadValidator.getNetworkTaskId());
+        values.put(dbConstants.getUrlColumnName(), downloadValidator.getUrl());
+        values.put(dbConstants.getETagColumnName(), downloadValidator.getETag());
+        values.put(dbConstants.getLastModifiedColumnName(), downloadValidator.getLastModified());
+        long rowid = db.insertWithOnConflict(dbConstants.getTableName(), null, values, SQLiteDatabase.CONFLICT_REPLACE);
+        if (rowid < 0) {
+            Log.e(DownloadValidatorDAO.class.getName(), "Error inserting download validator into database. Insert returned -1.");
+        }
+        downloadValidator.setId(rowid);
+        return downloadValidator;
+    }
+
+    private DownloadValidator readDownloadValidatorForNetworkTask(DownloadValidator downloadValidator, SQLiteDatabase db) {
+        Log.d(DownloadValidatorDAO.class.getName(), "readDownloadValidatorForNetworkTask, download validator is " + downloadValidator);
+        Cursor cursor = null;
+        DownloadValidatorDBConstants dbConstants = new DownloadValidatorDBConstants(getContext());
+        try {
+            Log.d(DownloadValidatorDAO.class.getName(), "Executing SQL " + dbConstants.getReadDownloadValidatorForNetworkTaskStatement() + " with a parameter of " + downloadValidator.getNetworkTaskId());
+            cursor = db.rawQuery(dbConstants.getReadDownloadValidatorForNetworkTaskStatement(), new String[]{String.valueOf(downloadValidator.getNetworkTaskId())});
+            while (cursor.moveToNext()) {
+                int indexIdColumn = cursor.getColumnIndex(dbConstants.getIdColumnName());
+                if (!cursor.isNull(indexIdColumn)) {
+                    return mapCursorToDownloadValidator(cursor);
+                }
+            }
+        } finally {
+            if (cursor != null) {
+                try {
+                    cursor.close();
+                } catch (Throwable exc) {
+                    Log.e(DownloadValidatorDAO.class.getName(), "Error closing result cursor", exc);
+                }
+            }
+        }
+        Log.d(DownloadValidatorDAO.class.getName(), "no download validator found, returning null");
+        return null;
+    }
+
+    private List<DownloadValidator> readAllDownloadValidators(DownloadValidator downloadValidator, SQLiteDatabase db) {
+        Log.d(DownloadValidatorDAO.class.getName(), "readAllDownloadValidators, download validator is " + downloadValidator);
+        List<DownloadValidator> result = new ArrayList<>();
+        Cursor cursor = null;
+        DownloadValidatorDBConstants dbConstants = new DownloadValidatorDBConstants(getContext());
+        try {
+            Log.d(DownloadValidatorDAO.class.getName(), "Executing SQL " + dbConstants.getReadAllDownloadValidatorsStatement());
+            cursor = db.rawQuery(dbConstants.getReadAllDownloadValidatorsStatement(), null);
+            while (cursor.moveToNext()) {
+                int indexIdColumn = cursor.getColumnIndex(dbConstants.getIdColumnName());
+                if (!cursor.isNull(indexIdColumn)) {
+                    result.add(mapCursorToDownloadValidator(cursor));
+                }
+            }
+        } finally {
+            if (cursor != null) {
+                try {
+                    cursor.close();
+                } catch (Throwable exc) {
+                    Log.e(DownloadValidatorDAO.class.getName(), "Error closing result cursor", exc);
+                }
+            }
+        }
+        Log.d(DownloadValidatorDAO.class.getName(), "readAllDownloadValidators, returning " + result);
+        return result;
+    }
+
+    private int deleteDownloadValidatorForNetworkTask(DownloadValidator downloadValidator, SQLiteDatabase db) {
+        Log.d(DownloadValidatorDAO.class.getName(), "deleteDownloadValidatorForNetworkTask, download validator is " + downloadValidator);
+        DownloadValidatorDBConstants dbConstants = new DownloadValidatorDBConstants(getContext());
+        String selection = dbConstants.getNetworkTaskIdColumnName() + " = ?";
+        String[] selectionArgs = {String.valueOf(downloadValidator.getNetworkTaskId())};
+        return db.delete(dbConstants.getTableName(), selection, selectionArgs);
+    }
+
+    private int deleteAllDownloadValidators(DownloadValidator downloadValidator, SQLiteDatabase db) {
+        Log.d(DownloadValidatorDAO.class.getName(), "deleteAllDownloadValidators, download validator is " + downloadValidator);
+        DownloadValidatorDBConstants dbConstants = new DownloadValidatorDBConstants(getContext());
+        return db.delete(dbConstants.getTableName(), null, null);
+    }
+
+    private int deleteAllOrphanDownloadValidators(DownloadValidator downloadValidator, SQLiteDatabase db) {
+        Log.d(DownloadValidatorDAO.class.getName(), "deleteAllOrphanDownloadValidators, download validator is " + downloadValidator);
+        DownloadValidatorDBConstants dbConstants = new DownloadValidatorDBConstants(getContext());
+        Log.d(DownloadValidatorDAO.class.getName(), "Executing SQL " + dbConstants.getDeleteOrphanDownloadValidatorsStatement());
+        db.execSQL(dbConstants.getDeleteOrphanDownloadValidatorsStatement());
+        return -1;
+    }
+
+    private DownloadValidator mapCursorToDownloadValidator(Cursor cursor) {
+        DownloadValidator downloadValidator = new DownloadValidator();
+        DownloadValidatorDBConstants dbConstants = new DownloadValidatorDBConstants(getContext());
+        int indexIdColumn = cursor.getColumnIndex(dbConstants.getIdColumnName());
+        int indexNetworkTaskIdColumn = cursor.getColumnIndex(dbConstants.getNetworkTaskIdColumnName());
+        int indexUrlColumn = cursor.getColumnIndex(dbConstants.getUrlColumnName());
+        int indexETagColumn = cursor.getColumnIndex(dbConstants.getETagColumnName());
+        int indexLastModifiedColumn = cursor.getColumnIndex(dbConstants.getLastModifiedColumnName());
+        downloadValidator.setId(cursor.getLong(indexIdColumn));
+        downloadValidator.setNetworkTaskId(cursor.getLong(indexNetworkTaskIdColumn));
+        downloadValidator.setUrl(cursor.getString(indexUrlColumn));
+        downloadValidator.setETag(cursor.getString(indexETagColumn));
+        downloadValidator.setLastModified(cursor.getString(indexLastModifiedColumn));
+        return downloadValidator;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.db;
+
+import android.content.Context;
+
+import net.ibbaa.keepitup.R;
+
+public class DownloadValidatorDBConstants {
+
+    private final NetworkTaskDBConstants networkTaskDBConstants;
+    private final String tableName;
+    private final String idColumnName;
+    private final String networkTaskIdColumnName;
+    private final String urlColumnName;
+    private final String eTagColumnName;
+    private final String lastModifiedColumnName;
+
+    public DownloadValidatorDBConstants(Context context) {
+        networkTaskDBConstants = new NetworkTaskDBConstants(context);
+        tableName = context.getResources().getString(R.string.downloadvalidator_table_name);
+        idColumnName = context.getResources().getString(R.string.downloadvalidator_id_column_name);
+        networkTaskIdColumnName = context.getResources().getString(R.string.downloadvalidator_taskid_column_name);
+        urlColumnName = context.getResources().getString(R.string.downloadvalidator_url_column_name);
+        eTagColumnName = context.getResources().getString(R.string.downloadvalidator_etag_column_name);
+        lastModifiedColumnName = context.getResources().getString(R.string.downloadvalidator_lastmodified_column_name);
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getIdColumnName() {
+        return idColumnName;
+    }
+
+    public String getNetworkTaskIdColumnName() {
+        return networkTaskIdColumnName;
+    }
+
+    public String getUrlColumnName() {
+        return urlColumnName;
+    }
+
+    public String getETagColumnName() {
+        return eTagColumnName;
+    }
+
+    public String getLastModifiedColumnName() {
+        return lastModifiedColumnName;
+    }
+
+    public String getCreateTableStatement() {
+        return ("CREATE TABLE IF NOT EXISTS  " + getTableName() + "(") +
+                getIdColumnName() + " INTEGER PRIMARY KEY ASC, " +
+                getNetworkTaskIdColumnName() + " INTEGER NOT NULL UNIQUE, " +
+                getUrlColumnName() + " TEXT, " +
+                getETagColumnName() + " TEXT, " +
+                getLastModifiedColumnName() + " TEXT);";
+    }
+
+    public String getDropTableStatement() {
+        return "DROP TABLE IF EXISTS " + getTableName();
+    }
+
+    public String getReadDownloadValidatorForNetworkTaskStatement() {
+        return "SELECT " +
+                getIdColumnName() + ", " +
+                getNetworkTaskIdColumnName() + ", " +
+                getUrlColumnName() + ", " +
+                getETagColumnName() + ", " +
+                getLastModifiedColumnName() +
+                " FROM " + getTableName() +
+                " WHERE " + getNetworkTaskIdColumnName() + " = ?";
+    }
+
+    public String getReadAllDownloadValidatorsStatement() {
+        return "SELECT " +
+                getIdColumnName() + ", " +
+                getNetworkTaskIdColumnName() + ", " +
+                getUrlColumnName() + ", " +
+                getETagColumnName() + ", " +
+                getLastModifiedColumnName() +
+                " FROM " + getTableName();
+    }
+
+    public String getDeleteOrphanDownloadValidatorsStatement() {
+        return "DELETE FROM " + getTableName() + " WHERE " + getNetworkTaskIdColumnName() + " NOT IN (SELECT " + networkTaskDBConstants.getIdColumnName() + " FROM " + networkTaskDBConstants.getTableName() + ");";
+    }
+}
@@ -43,6 +43,7 @@ public class HeaderDAO extends BaseDAO {
     public Header insertHeader(Header header) {
         Log.d(HeaderDAO.class.getName(), "insertHeader, header is " + header);
         Header returnedHeader = executeDBOperationInTransaction(header, this::insertHeader);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllHeaders();
         Log.d(HeaderDAO.class.getName(), "Inserted header is " + returnedHeader);
         dumpDatabase("Dump after insertHeader call");
         return returnedHeader;
@@ -51,6 +52,7 @@ public class HeaderDAO extends BaseDAO {
     public int insertHeaders(List<Header> headers) {
         Log.d(HeaderDAO.class.getName(), "insertHeaders, headers are " + headers);
         int count = executeDBOperationInTransactionWithRollback(headers, this::insertHeaders);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllHeaders();
         dumpDatabase("Dump after insertHeader call");
         return count;
     }
@@ -58,13 +60,20 @@ public class HeaderDAO extends BaseDAO {
     public void updateHeader(Header header) {
         Log.d(HeaderDAO.class.getName(), "updateHeader, header is " + header);
         Header returnedHeader = executeDBOperationInTransaction(header, this::updateHeader);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllHeaders();
         Log.d(HeaderDAO.class.getName(), "Updated header is " + returnedHeader);
         dumpDatabase("Dump after updateHeader call");
     }
 
     public List<Header> readGlobalHeaders() {
         Log.d(HeaderDAO.class.getName(), "readGlobalHeaders");
-        List<Header> headerList = executeDBOperationInTransaction((Header) null, this::readGlobalHeaders);
+        NetworkTaskSnapshotCache cache = NetworkTaskSnapshotCache.getInstance();
+        List<Header> headerList = cache.getGlobalHeaders();
+        if (headerList == null) {
+            long version = cache.getHeaderVersion();
+            headerList = executeDBOperationInTransaction((Header) null, this::readGlobalHeaders);
+            cache.putGlobalHeaders(headerList, version);
+        }
         Log.d(HeaderDAO.class.getName(), "Number of headers read: " + headerList.size());
         return headerList;
     }
@@ -76,9 +85,15 @@ public class HeaderDAO extends BaseDAO {
 
     public List<Header> readHeadersForNetworkTask(long networkTaskId) {
         Log.d(HeaderDAO.class.getName(), "readHeadersForNetworkTask, network task id is " + networkTaskId);
-        Header header = new Header();
-        header.setNetworkTaskId(networkTaskId);
-        List<Header> headerList = executeDBOperationInTransaction(header, this::readHeadersForNetworkTask);
+        NetworkTaskSnapshotCache cache = NetworkTaskSnapshotCache.getInstance();
+        List<Header> headerList = cache.getHeaders(networkTaskId);
+        if (headerList == null) {
+            long version = cache.getHeaderVersion();
+            Header header = new Header();
+            header.setNetworkTaskId(networkTaskId);
+            headerList = executeDBOperationInTransaction(header, this::readHeadersForNetworkTask);
+            cache.putHeaders(networkTaskId, headerList, version);
+        }
         Log.d(HeaderDAO.class.getName(), "Number of headers read: " + headerList.size());
         return headerList;
     }
@@ -93,18 +108,21 @@ public class HeaderDAO extends BaseDAO {
     public void deleteGlobalHeaders() {
         Log.d(HeaderDAO.class.getName(), "deleteGlobalHeaders");
         executeDBOperationInTransaction((Header) null, this::deleteGlobalHeaders);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllHeaders();
         dumpDatabase("Dump after deleteGlobalHeaders call");
     }
 
     public void deleteHeader(Header header) {
         Log.d(HeaderDAO.class.getName(), "deleteHeader, header is " + header);
         executeDBOperationInTransaction(header, this::deleteHeader);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllHeaders();
         dumpDatabase("Dump after deleteInterval call");
     }
 
     public void deleteHeaders(List<Header> headers) {
         Log.d(HeaderDAO.class.getName(), "deleteHeaders, headers is " + headers);
         executeDBOperationInTransaction(headers, this::deleteHeaders);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllHeaders();
         dumpDatabase("Dump after deleteInterval call");
     }
 
@@ -113,18 +131,21 @@ public class HeaderDAO extends BaseDAO {
         Header header = new Header();
         header.setNetworkTaskId(networkTaskId);
         executeDBOperationInTransaction(header, this::deleteHeadersForNetworkTask);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllHeaders();
         dumpDatabase("Dump after deleteHeadersForNetworkTask call");
     }
 
     public void deleteAllOrphanHeaders() {
         Log.d(HeaderDAO.class.getName(), "deleteAllOrphanHeaders");
         executeDBOperationInTransaction((Header) null, this::deleteAllOrphanHeaders);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllHeaders();
         dumpDatabase("Dump after deleteAllOrphanHeaders call");
     }
 
     public void deleteAllHeaders() {
         Log.d(HeaderDAO.class.getName(), "deleteAllHeaders");
         executeDBOperationInTransaction((Header) null, this::deleteAllHeaders);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllHeaders();
         dumpDatabase("Dump after deleteAllHeaders call");
     }
 
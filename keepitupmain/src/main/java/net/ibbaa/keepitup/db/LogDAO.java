@@ -111,6 +111,11 @@ public class LogDAO extends BaseDAO {
         values.put(dbConstants.getTimestampColumnName(), logEntry.getTimestamp());
         values.put(dbConstants.getSuccessColumnName(), logEntry.isSuccess() ? 1 : 0);
         values.put(dbConstants.getMessageColumnName(), logEntry.getMessage());
+        putPhaseTime(values, dbConstants.getDNSTimeColumnName(), logEntry.getDNSTime());
+        putPhaseTime(values, dbConstants.getConnectTimeColumnName(), logEntry.getConnectTime());
+        putPhaseTime(values, dbConstants.getTLSTimeColumnName(), logEntry.getTLSTime());
+        putPhaseTime(values, dbConstants.getTTFBTimeColumnName(), logEntry.getTTFBTime());
+        putPhaseTime(values, dbConstants.getTransferTimeColumnName(), logEntry.getTransferTime());
         long rowid = db.insert(dbConstants.getTableName(), null, values);
         if (rowid < 0) {
             Log.e(LogDAO.class.getName(), "Error inserting log entry into database. Insert returned -1.");
@@ -118,14 +123,11 @@ public class LogDAO extends BaseDAO {
             return logEntry;
         }
         logEntry.setId(rowid);
-        Log.d(LogDAO.class.getName(), "Reading log count");
-        long logCount = readLogCountForNetworkTask(logEntry, db);
-        int limit = getContext().getResources().getInteger(R.integer.log_count_maximum);
-        if (logCount > limit) {
-            Log.d(LogDAO.class.getName(), "Log count of " + logCount + " exceeds limit of " + limit + ". Performing delete.");
-            deleteOldestLogForNetworkTask(logEntry, db);
+        int pruneInterval = getContext().getResources().getInteger(R.integer.log_prune_interval);
+        if (LogRetention.getInstance().isPruneDue(logEntry.getNetworkTaskId(), pruneInterval)) {
+            deleteExceedingLogsForNetworkTask(logEntry, db);
         } else {
-            Log.d(LogDAO.class.getName(), "Log count of " + logCount + " does not exceed limit of " + limit + ". Delete skipped.");
+            Log.d(LogDAO.class.getName(), "Prune not due for network task id " + logEntry.getNetworkTaskId() + ". Delete skipped.");
         }
         return logEntry;
     }
@@ -152,7 +154,8 @@ public class LogDAO extends BaseDAO {
         Log.d(LogDAO.class.getName(), "readAllLogsForNetworkTask, log entry is " + logEntry);
         LogDBConstants dbConstants = new LogDBConstants(getContext());
         List<LogEntry> result = new ArrayList<>();
-        readLogEntriesInternal(db, dbConstants.getReadAllLogsForNetworkTaskStatement(), new String[]{String.valueOf(logEntry.getNetworkTaskId())}, result::add);
+        int limit = getContext().getResources().getInteger(R.integer.log_count_maximum);
+        readLogEntriesInternal(db, dbConstants.getReadAllLogsForNetworkTaskStatement(), new String[]{String.valueOf(logEntry.getNetworkTaskId()), String.valueOf(limit)}, result::add);
         Log.d(LogDAO.class.getName(), "readAllLogsForNetworkTask, returning " + result);
         return result;
     }
@@ -161,7 +164,16 @@ public class LogDAO extends BaseDAO {
         Log.d(LogDAO.class.getName(), "readAllLogs, log entry is " + logEntry);
         LogDBConstants dbConstants = new LogDBConstants(getContext());
         List<LogEntry> result = new ArrayList<>();
-        readLogEntriesInternal(db, dbConstants.getReadAllLogsStatement(), null, result::add);
+        int limit = getContext().getResources().getInteger(R.integer.log_count_maximum);
+        Map<Long, Integer> counts = new HashMap<>();
+        readLogEntriesInternal(db, dbConstants.getReadAllLogsStatement(), null, entry -> {
+            Integer count = counts.get(entry.getNetworkTaskId());
+            count = count == null ? 1 : count + 1;
+            counts.put(entry.getNetworkTaskId(), count);
+            if (count <= limit) {
+                result.add(entry);
+            }
+        });
         Log.d(LogDAO.class.getName(), "readAllLogs, returning " + result);
         return result;
     }
@@ -194,6 +206,7 @@ public class LogDAO extends BaseDAO {
         Log.d(LogDAO.class.getName(), "deleteAllLogsForNetworkTask, log entry is " + logEntry);
         LogDBConstants dbConstants = new LogDBConstants(getContext());
         String whereClause = dbConstants.getNetworkTaskIdColumnName() + " = ?";
+        LogRetention.getInstance().reset(logEntry.getNetworkTaskId());
         return db.delete(dbConstants.getTableName(), whereClause, new String[]{String.valueOf(logEntry.getNetworkTaskId())});
     }
 
@@ -208,64 +221,17 @@ public class LogDAO extends BaseDAO {
     private int deleteAllLogs(LogEntry logEntry, SQLiteDatabase db) {
         Log.d(LogDAO.class.getName(), "deleteAllLogs, log entry is " + logEntry);
         LogDBConstants dbConstants = new LogDBConstants(getContext());
+        LogRetention.getInstance().clear();
         return db.delete(dbConstants.getTableName(), null, null);
     }
 
-    private long readLogCountForNetworkTask(LogEntry logEntry, SQLiteDatabase db) {
-        Log.d(LogDAO.class.getName(), "readLogCountForNetworkTask, log entry is " + logEntry);
-        Cursor result = null;
-        LogDBConstants dbConstants = new LogDBConstants(getContext());
-        try {
-            Log.d(LogDAO.class.getName(), "Executing SQL " + dbConstants.getLogCountStatement() + " with a parameter of " + logEntry.getNetworkTaskId());
-            result = db.rawQuery(dbConstants.getLogCountStatement(), new String[]{String.valueOf(logEntry.getNetworkTaskId())});
-            if (result.moveToFirst()) {
-                long value = result.getLong(0);
-                Log.d(LogDAO.class.getName(), "readLogCountForNetworkTask, returning " + value);
-                return value;
-            }
-        } finally {
-            if (result != null) {
-                try {
-                    result.close();
-                } catch (Throwable exc) {
-                    Log.e(LogDAO.class.getName(), "Error closing result cursor", exc);
-                }
-            }
-        }
-        Log.d(LogDAO.class.getName(), "readLogCountForNetworkTask, returning -1");
-        return -1;
-    }
-
-    private void deleteOldestLogForNetworkTask(LogEntry logEntry, SQLiteDatabase db) {
-        Log.d(LogDAO.class.getName(), "deleteOldestLogForNetworkTask, log entry is " + logEntry);
-        Cursor result = null;
+    private int deleteExceedingLogsForNetworkTask(LogEntry logEntry, SQLiteDatabase db) {
+        Log.d(LogDAO.class.getName(), "deleteExceedingLogsForNetworkTask, log entry is " + logEntry);
         LogDBConstants dbConstants = new LogDBConstants(getContext());
-        try {
-            Log.d(LogDAO.class.getName(), "Executing SQL " + dbConstants.getReadOldestLogStatement() + " with a parameter of " + logEntry.getNetworkTaskId());
-            result = db.rawQuery(dbConstants.getReadOldestLogStatement(), new String[]{String.valueOf(logEntry.getNetworkTaskId())});
-            if (result.moveToFirst()) {
-                int indexIdColumn = result.getColumnIndex(dbConstants.getIdColumnName());
-                if (!result.isNull(indexIdColumn)) {
-                    long id = result.getLong(indexIdColumn);
-                    Log.d(LogDAO.class.getName(), "Deleting for id " + id);
-                    String selection = dbConstants.getIdColumnName() + " = ?";
-                    String[] selectionArgs = {String.valueOf(id)};
-                    db.delete(dbConstants.getTableName(), selection, selectionArgs);
-                } else {
-                    Log.d(LogDAO.class.getName(), "Nothing to delete.");
-                }
-            } else {
-                Log.d(LogDAO.class.getName(), "Nothing to delete.");
-            }
-        } finally {
-            if (result != null) {
-                try {
-                    result.close();
-                } catch (Throwable exc) {
-                    Log.e(LogDAO.class.getName(), "Error closing result cursor", exc);
-                }
-            }
-        }
+        int limit = getContext().getResources().getInteger(R.integer.log_count_maximum);
+        int deleted = db.delete(dbConstants.getTableName(), dbConstants.getExceedingLogsSelection(limit), new String[]{String.valueOf(logEntry.getNetworkTaskId())});
+        Log.d(LogDAO.class.getName(), "Deleted " + deleted + " log entries exceeding the limit of " + limit);
+        return deleted;
     }
 
     private LogEntry mapCursorToLogEntry(Cursor cursor) {
@@ -281,9 +247,30 @@ public class LogDAO extends BaseDAO {
         logEntry.setTimestamp(cursor.getLong(indexTimestampColumn));
         logEntry.setSuccess(cursor.getInt(indexSuccessColumn) >= 1);
         logEntry.setMessage(cursor.getString(indexMessageColumn));
+        logEntry.setDNSTime(getPhaseTime(cursor, dbConstants.getDNSTimeColumnName()));
+        logEntry.setConnectTime(getPhaseTime(cursor, dbConstants.getConnectTimeColumnName()));
+        logEntry.setTLSTime(getPhaseTime(cursor, dbConstants.getTLSTimeColumnName()));
+        logEntry.setTTFBTime(getPhaseTime(cursor, dbConstants.getTTFBTimeColumnName()));
+        logEntry.setTransferTime(getPhaseTime(cursor, dbConstants.getTransferTimeColumnName()));
         return logEntry;
     }
 
+    private void putPhaseTime(ContentValues values, String columnName, double time) {
+        if (time < 0) {
+            values.putNull(columnName);
+        } else {
+            values.put(columnName, time);
+        }
+    }
+
+    private double getPhaseTime(Cursor cursor, String columnName) {
+        int index = cursor.getColumnIndex(columnName);
+        if (index < 0 || cursor.isNull(index)) {
+            return -1;
+        }
+        return cursor.getDouble(index);
+    }
+
     @FunctionalInterface
     private interface LogEntryCollector {
         void collect(LogEntry logEntry);
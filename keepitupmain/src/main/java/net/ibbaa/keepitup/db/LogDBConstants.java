@@ -29,6 +29,12 @@ class LogDBConstants {
     private final String timestampColumnName;
     private final String successColumnName;
     private final String messageColumnName;
+    private final String dnsTimeColumnName;
+    private final String connectTimeColumnName;
+    private final String tlsTimeColumnName;
+    private final String ttfbTimeColumnName;
+    private final String transferTimeColumnName;
+    private final String networkTaskIdTimestampIndexName;
 
     public LogDBConstants(Context context) {
         networkTaskDBConstants = new NetworkTaskDBConstants(context);
@@ -38,6 +44,12 @@ class LogDBConstants {
         timestampColumnName = context.getResources().getString(R.string.log_timestamp_column_name);
         successColumnName = context.getResources().getString(R.string.log_success_column_name);
         messageColumnName = context.getResources().getString(R.string.log_message_column_name);
+        dnsTimeColumnName = context.getResources().getString(R.string.log_dnstime_column_name);
+        connectTimeColumnName = context.getResources().getString(R.string.log_connecttime_column_name);
+        tlsTimeColumnName = context.getResources().getString(R.string.log_tlstime_column_name);
+        ttfbTimeColumnName = context.getResources().getString(R.string.log_ttfbtime_column_name);
+        transferTimeColumnName = context.getResources().getString(R.string.log_transfertime_column_name);
+        networkTaskIdTimestampIndexName = context.getResources().getString(R.string.log_taskid_timestamp_index_name);
     }
 
     public String getTableName() {
@@ -64,7 +76,57 @@ class LogDBConstants {
         return messageColumnName;
     }
 
+    public String getDNSTimeColumnName() {
+        return dnsTimeColumnName;
+    }
+
+    public String getConnectTimeColumnName() {
+        return connectTimeColumnName;
+    }
+
+    public String getTLSTimeColumnName() {
+        return tlsTimeColumnName;
+    }
+
+    public String getTTFBTimeColumnName() {
+        return ttfbTimeColumnName;
+    }
+
+    public String getTransferTimeColumnName() {
+        return transferTimeColumnName;
+    }
+
+    public String getNetworkTaskIdTimestampIndexName() {
+        return networkTaskIdTimestampIndexName;
+    }
+
+    public String[] getPhaseTimeColumnNames() {
+        return new String[]{getDNSTimeColumnName(), getConnectTimeColumnName(), getTLSTimeColumnName(), getTTFBTimeColumnName(), getTransferTimeColumnName()};
+    }
+
+    public String getAddPhaseTimeColumnStatement(String columnName) {
+        return "ALTER TABLE " + getTableName() + " ADD COLUMN " + columnName + " REAL;";
+    }
+
+    public String getDropPhaseTimeColumnStatement(String columnName) {
+        return "ALTER TABLE " + getTableName() + " DROP COLUMN " + columnName + ";";
+    }
+
     public String getCreateTableStatement() {
+        return ("CREATE TABLE IF NOT EXISTS  " + getTableName() + "(") +
+                getIdColumnName() + " INTEGER PRIMARY KEY ASC, " +
+                getNetworkTaskIdColumnName() + " INTEGER NOT NULL, " +
+                getTimestampColumnName() + " INTEGER NOT NULL, " +
+                getSuccessColumnName() + " INTEGER NOT NULL, " +
+                getMessageColumnName() + " TEXT, " +
+                getDNSTimeColumnName() + " REAL, " +
+                getConnectTimeColumnName() + " REAL, " +
+                getTLSTimeColumnName() + " REAL, " +
+                getTTFBTimeColumnName() + " REAL, " +
+                getTransferTimeColumnName() + " REAL);";
+    }
+
+    public String getCreateTableStatementWithoutPhaseTimes() {
         return ("CREATE TABLE IF NOT EXISTS  " + getTableName() + "(") +
                 getIdColumnName() + " INTEGER PRIMARY KEY ASC, " +
                 getNetworkTaskIdColumnName() + " INTEGER NOT NULL, " +
@@ -73,6 +135,14 @@ class LogDBConstants {
                 getMessageColumnName() + " TEXT);";
     }
 
+    public String getCreateNetworkTaskIdTimestampIndexStatement() {
+        return "CREATE INDEX IF NOT EXISTS " + getNetworkTaskIdTimestampIndexName() + " ON " + getTableName() + "(" + getNetworkTaskIdColumnName() + ", " + getTimestampColumnName() + ");";
+    }
+
+    public String getDropNetworkTaskIdTimestampIndexStatement() {
+        return "DROP INDEX IF EXISTS " + getNetworkTaskIdTimestampIndexName() + ";";
+    }
+
     public String getDropTableStatement() {
         return "DROP TABLE IF EXISTS " + getTableName();
     }
@@ -83,10 +153,15 @@ class LogDBConstants {
                 getNetworkTaskIdColumnName() + ", " +
                 getTimestampColumnName() + ", " +
                 getSuccessColumnName() + ", " +
-                getMessageColumnName() +
+                getMessageColumnName() + ", " +
+                getDNSTimeColumnName() + ", " +
+                getConnectTimeColumnName() + ", " +
+                getTLSTimeColumnName() + ", " +
+                getTTFBTimeColumnName() + ", " +
+                getTransferTimeColumnName() +
                 " FROM " + getTableName() +
                 " WHERE " + getNetworkTaskIdColumnName() + " = ?" +
-                " ORDER BY " + getTimestampColumnName() + " DESC";
+                " ORDER BY " + getTimestampColumnName() + " DESC LIMIT ?";
     }
 
     public String getReadAllLogsStatement() {
@@ -95,38 +170,56 @@ class LogDBConstants {
                 getNetworkTaskIdColumnName() + ", " +
                 getTimestampColumnName() + ", " +
                 getSuccessColumnName() + ", " +
-                getMessageColumnName() +
+                getMessageColumnName() + ", " +
+                getDNSTimeColumnName() + ", " +
+                getConnectTimeColumnName() + ", " +
+                getTLSTimeColumnName() + ", " +
+                getTTFBTimeColumnName() + ", " +
+                getTransferTimeColumnName() +
                 " FROM " + getTableName() +
                 " ORDER BY " + getTimestampColumnName() + " DESC";
     }
 
     public String getReadMostRecentLogStatement() {
-        return "SELECT MAX(" + getTimestampColumnName() + "), " +
+        return "SELECT " +
                 getIdColumnName() + ", " +
                 getNetworkTaskIdColumnName() + ", " +
                 getTimestampColumnName() + ", " +
                 getSuccessColumnName() + ", " +
-                getMessageColumnName() +
-                " FROM " + getTableName() + " WHERE " + getNetworkTaskIdColumnName() + " = ?";
+                getMessageColumnName() + ", " +
+                getDNSTimeColumnName() + ", " +
+                getConnectTimeColumnName() + ", " +
+                getTLSTimeColumnName() + ", " +
+                getTTFBTimeColumnName() + ", " +
+                getTransferTimeColumnName() +
+                " FROM " + getTableName() +
+                " WHERE " + getNetworkTaskIdColumnName() + " = ?" +
+                " ORDER BY " + getTimestampColumnName() + " DESC LIMIT 1";
     }
 
     public String getReadAllMostRecentLogsForNetworkTasksStatement() {
-        return "SELECT MAX(" + getTimestampColumnName() + "), " +
+        return "SELECT " +
                 getIdColumnName() + ", " +
                 getNetworkTaskIdColumnName() + ", " +
                 getTimestampColumnName() + ", " +
                 getSuccessColumnName() + ", " +
-                getMessageColumnName() +
+                getMessageColumnName() + ", " +
+                getDNSTimeColumnName() + ", " +
+                getConnectTimeColumnName() + ", " +
+                getTLSTimeColumnName() + ", " +
+                getTTFBTimeColumnName() + ", " +
+                getTransferTimeColumnName() +
                 " FROM " + getTableName() +
-                " GROUP BY " + getNetworkTaskIdColumnName();
-    }
-
-    public String getReadOldestLogStatement() {
-        return "SELECT MIN(" + getTimestampColumnName() + ")," + getIdColumnName() + " FROM " + getTableName() + " WHERE " + getNetworkTaskIdColumnName() + " = ?";
+                " WHERE " + getIdColumnName() + " IN (SELECT (SELECT " + getIdColumnName() + " FROM " + getTableName() + " AS recent" +
+                " WHERE recent." + getNetworkTaskIdColumnName() + " = tasks." + getNetworkTaskIdColumnName() +
+                " ORDER BY recent." + getTimestampColumnName() + " DESC LIMIT 1)" +
+                " FROM (SELECT DISTINCT " + getNetworkTaskIdColumnName() + " FROM " + getTableName() + ") AS tasks)";
     }
 
-    public String getLogCountStatement() {
-        return "SELECT COUNT(*) FROM " + getTableName() + " WHERE " + getNetworkTaskIdColumnName() + " = ?";
+    public String getExceedingLogsSelection(int limit) {
+        return getIdColumnName() + " IN (SELECT " + getIdColumnName() + " FROM " + getTableName() +
+                " WHERE " + getNetworkTaskIdColumnName() + " = ?" +
+                " ORDER BY " + getTimestampColumnName() + " DESC LIMIT -1 OFFSET " + limit + ")";
     }
 
     public String getDeleteOrphanLogsStatement() {
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.db;
+
+import net.ibbaa.keepitup.logging.Log;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class LogRetention {
+
+    private static LogRetention retention;
+
+    private final Map<Long, Integer> insertsSincePrune;
+
+    private LogRetention() {
+        this.insertsSincePrune = new HashMap<>();
+    }
+
+    public synchronized static LogRetention getInstance() {
+        if (retention == null) {
+            Log.d(LogRetention.class.getName(), "retention is null. Creating...");
+            retention = new LogRetention();
+        }
+        return retention;
+    }
+
+    public synchronized boolean isPruneDue(long networkTaskId, int pruneInterval) {
+        Integer inserts = insertsSincePrune.get(networkTaskId);
+        if (inserts == null || inserts + 1 >= pruneInterval) {
+            insertsSincePrune.put(networkTaskId, 0);
+            return true;
+        }
+        insertsSincePrune.put(networkTaskId, inserts + 1);
+        return false;
+    }
+
+    public synchronized void reset(long networkTaskId) {
+        insertsSincePrune.remove(networkTaskId);
+    }
+
+    public synchronized void clear() {
+        insertsSincePrune.clear();
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.db;
+
+import net.ibbaa.keepitup.logging.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class NetworkTaskCounterRegistry {
+
+    private final static String FLUSH_THREAD_NAME = "KeepItUp-COUNTER-FLUSH";
+    private final static long FLUSH_THREAD_KEEP_ALIVE = 60000;
+
+    private static NetworkTaskCounterRegistry registry;
+
+    private final ConcurrentHashMap<Long, Counters> counters;
+    private final ConcurrentHashMap<Long, Boolean> dirtyTasks;
+    private final AtomicBoolean flushScheduled;
+    private final AtomicReference<Runnable> pendingFlush;
+    private ScheduledThreadPoolExecutor flushExecutor;
+    private boolean shutdownHookAdded;
+
+    private NetworkTaskCounterRegistry() {
+        this.counters = new ConcurrentHashMap<>();
+        this.dirtyTasks = new ConcurrentHashMap<>();
+        this.flushScheduled = new AtomicBoolean(false);
+        this.pendingFlush = new AtomicReference<>();
+    }
+
+    public synchronized static NetworkTaskCounterRegistry getInstance() {
+        if (registry == null) {
+            Log.d(NetworkTaskCounterRegistry.class.getName(), "registry is null. Creating...");
+            registry = new NetworkTaskCounterRegistry();
+        }
+        return registry;
+    }
+
+    public Counters get(long taskId) {
+        return counters.get(taskId);
+    }
+
+    public List<Counters> getAll() {
+        return new ArrayList<>(counters.values());
+    }
+
+    public Counters register(long taskId, int instances, int failureCount) {
+        Counters newCounters = new Counters(instances, failureCount);
+        Counters existingCounters = counters.putIfAbsent(taskId, newCounters);
+        return existingCounters != null ? existingCounters : newCounters;
+    }
+
+    public void remove(long taskId) {
+        Log.d(NetworkTaskCounterRegistry.class.getName(), "remove, taskId is " + taskId);
+        counters.remove(taskId);
+        dirtyTasks.remove(taskId);
+    }
+
+    public void clear() {
+        Log.d(NetworkTaskCounterRegistry.class.getName(), "clear");
+        counters.clear();
+        dirtyTasks.clear();
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    public void markDirty(long taskId) {
+        dirtyTasks.put(taskId, Boolean.TRUE);
+    }
+
+    public boolean hasDirty() {
+        return !dirtyTasks.isEmpty();
+    }
+
+    public List<CounterSnapshot> drainDirty() {
+        List<CounterSnapshot> snapshots = new ArrayList<>();
+        for (Long taskId : new ArrayList<>(dirtyTasks.keySet())) {
+            dirtyTasks.remove(taskId);
+            Counters currentCounters = counters.get(taskId);
+            if (currentCounters != null) {
+                snapshots.add(new CounterSnapshot(taskId, currentCounters.getInstances(), currentCounters.getFailureCount()));
+            }
+        }
+        return snapshots;
+    }
+
+    public void scheduleFlush(Runnable flush, long delay) {
+        if (!flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        Log.d(NetworkTaskCounterRegistry.class.getName(), "Scheduling flush of dirty counters in " + delay + " msec");
+        pendingFlush.set(flush);
+        getFlushExecutor().schedule(this::runPendingFlush, delay, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void shutdown() {
+        Log.d(NetworkTaskCounterRegistry.class.getName(), "shutdown");
+        runPendingFlush();
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
+            flushExecutor = null;
+        }
+    }
+
+    private void runPendingFlush() {
+        Runnable flush = pendingFlush.getAndSet(null);
+        flushScheduled.set(false);
+        if (flush == null) {
+            return;
+        }
+        try {
+            flush.run();
+        } catch (Exception exc) {
+            Log.e(NetworkTaskCounterRegistry.class.getName(), "Error flushing dirty counters", exc);
+        }
+    }
+
+    private synchronized ScheduledThreadPoolExecutor getFlushExecutor() {
+        if (flushExecutor == null) {
+            Log.d(NetworkTaskCounterRegistry.class.getName(), "Creating flush executor");
+            flushExecutor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, FLUSH_THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            });
+            flushExecutor.setKeepAliveTime(FLUSH_THREAD_KEEP_ALIVE, TimeUnit.MILLISECONDS);
+            flushExecutor.allowCoreThreadTimeOut(true);
+            flushExecutor.setRemoveOnCancelPolicy(true);
+            if (!shutdownHookAdded) {
+                Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, FLUSH_THREAD_NAME + "-SHUTDOWN"));
+                shutdownHookAdded = true;
+            }
+        }
+        return flushExecutor;
+    }
+
+    public static class Counters {
+
+        private final AtomicInteger instances;
+        private final AtomicInteger failureCount;
+
+        public Counters(int instances, int failureCount) {
+            this.instances = new AtomicInteger(Math.max(0, instances));
+            this.failureCount = new AtomicInteger(Math.max(0, failureCount));
+        }
+
+        public int getInstances() {
+            return instances.get();
+        }
+
+        public int getFailureCount() {
+            return failureCount.get();
+        }
+
+        public boolean tryIncreaseInstances(int maxInstances) {
+            while (true) {
+                int current = instances.get();
+                if (current >= maxInstances) {
+                    return false;
+                }
+                if (instances.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        public int increaseInstances() {
+            return instances.incrementAndGet();
+        }
+
+        public int decreaseInstances() {
+            while (true) {
+                int current = instances.get();
+                int next = Math.max(0, current - 1);
+                if (instances.compareAndSet(current, next)) {
+                    return next;
+                }
+            }
+        }
+
+        public void resetInstances() {
+            instances.set(0);
+        }
+
+        public int increaseFailureCount() {
+            return failureCount.incrementAndGet();
+        }
+
+        public void resetFailureCount() {
+            failureCount.set(0);
+        }
+    }
+
+    public record CounterSnapshot(long taskId, int instances, int failureCount) {
+
+    }
+}
@@ -22,6 +22,7 @@ import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 
 import net.ibbaa.keepitup.BuildConfig;
+import net.ibbaa.keepitup.R;
 import net.ibbaa.keepitup.logging.Dump;
 import net.ibbaa.keepitup.logging.Log;
 import net.ibbaa.keepitup.model.AccessType;
@@ -40,6 +41,8 @@ public class NetworkTaskDAO extends BaseDAO {
     public NetworkTask insertNetworkTask(NetworkTask networkTask) {
         Log.d(NetworkTaskDAO.class.getName(), "insertNetworkTask, network task is " + networkTask);
         NetworkTask returnedTask = executeDBOperationInTransaction(networkTask, this::insertNetworkTask);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllNetworkTasks();
+        NetworkTaskCounterRegistry.getInstance().remove(returnedTask.getId());
         Log.d(NetworkTaskDAO.class.getName(), "Inserted task is " + returnedTask);
         dumpDatabase("Dump after insertNetworkTask call");
         return returnedTask;
@@ -48,18 +51,27 @@ public class NetworkTaskDAO extends BaseDAO {
     public void deleteNetworkTask(NetworkTask networkTask) {
         Log.d(NetworkTaskDAO.class.getName(), "deleteNetworkTask, network task is " + networkTask);
         executeDBOperationInTransaction(networkTask, this::deleteNetworkTask);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllNetworkTasks();
+        NetworkTaskCounterRegistry.getInstance().remove(networkTask.getId());
         dumpDatabase("Dump after deleteNetworkTask call");
     }
 
     public void deleteAllNetworkTasks() {
         Log.d(NetworkTaskDAO.class.getName(), "deleteAllNetworkTasks");
         executeDBOperationInTransaction((NetworkTask) null, this::deleteAllNetworkTasks);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllNetworkTasks();
+        NetworkTaskCounterRegistry.getInstance().clear();
         dumpDatabase("Dump after deleteAllNetworkTasks call");
     }
 
     public NetworkTask updateNetworkTask(NetworkTask networkTask) {
         Log.d(NetworkTaskDAO.class.getName(), "updateNetworkTask, network task is " + networkTask);
         NetworkTask returnedTask = executeDBOperationInTransaction(networkTask, this::updateNetworkTask);
+        NetworkTaskSnapshotCache.getInstance().invalidateNetworkTask(networkTask.getId());
+        NetworkTaskCounterRegistry.Counters counters = NetworkTaskCounterRegistry.getInstance().get(networkTask.getId());
+        if (counters != null) {
+            counters.resetInstances();
+        }
         Log.d(NetworkTaskDAO.class.getName(), "Updated task is " + returnedTask);
         dumpDatabase("Dump after updateNetworkTask call");
         return returnedTask;
@@ -72,6 +84,11 @@ public class NetworkTaskDAO extends BaseDAO {
         networkTask.setRunning(running);
         networkTask.setLastScheduled(-1);
         executeDBOperationInTransaction(networkTask, this::updateNetworkTaskRunning);
+        NetworkTaskSnapshotCache.getInstance().invalidateNetworkTask(taskId);
+        NetworkTaskCounterRegistry.Counters counters = NetworkTaskCounterRegistry.getInstance().get(taskId);
+        if (running && counters != null) {
+            counters.resetFailureCount();
+        }
         dumpDatabase("Dump after updateNetworkTaskRunning call");
     }
 
@@ -81,6 +98,7 @@ public class NetworkTaskDAO extends BaseDAO {
         networkTask.setId(taskId);
         networkTask.setName(name);
         executeDBOperationInTransaction(networkTask, this::updateNetworkTaskName);
+        NetworkTaskSnapshotCache.getInstance().invalidateNetworkTask(taskId);
         dumpDatabase("Dump after updateNetworkTaskRunning call");
     }
 
@@ -93,40 +111,57 @@ public class NetworkTaskDAO extends BaseDAO {
 
     public int readNetworkTaskInstances(long taskId) {
         Log.d(NetworkTaskDAO.class.getName(), "readNetworkTaskInstances, network task id is " + taskId);
-        NetworkTask networkTask = new NetworkTask();
-        networkTask.setId(taskId);
-        int readInstances = executeDBOperationInTransaction(networkTask, this::readNetworkTaskInstances);
+        NetworkTaskCounterRegistry.Counters counters = getCounters(taskId);
+        int readInstances = counters == null ? -1 : counters.getInstances();
         Log.d(NetworkTaskDAO.class.getName(), "Number of instances of task with id " + taskId + " is " + readInstances);
         return readInstances;
     }
 
+    public boolean tryIncreaseNetworkTaskInstances(long taskId, int maxInstances) {
+        Log.d(NetworkTaskDAO.class.getName(), "tryIncreaseNetworkTaskInstances, network task id is " + taskId + ", maxInstances is " + maxInstances);
+        NetworkTaskCounterRegistry.Counters counters = getCounters(taskId);
+        if (counters == null || !counters.tryIncreaseInstances(maxInstances)) {
+            Log.d(NetworkTaskDAO.class.getName(), "Instances of task with id " + taskId + " not increased");
+            return false;
+        }
+        markCountersDirty(taskId);
+        return true;
+    }
+
     public void increaseNetworkTaskInstances(long taskId) {
         Log.d(NetworkTaskDAO.class.getName(), "increaseNetworkTaskInstances, network task id is " + taskId);
-        NetworkTask networkTask = new NetworkTask();
-        networkTask.setId(taskId);
-        executeDBOperationInTransaction(networkTask, this::increaseNetworkTaskInstances);
-        dumpDatabase("Dump after increaseNetworkTaskInstances call");
+        NetworkTaskCounterRegistry.Counters counters = getCounters(taskId);
+        if (counters != null) {
+            Log.d(NetworkTaskDAO.class.getName(), "Increased instances to " + counters.increaseInstances());
+            markCountersDirty(taskId);
+        }
     }
 
     public void decreaseNetworkTaskInstances(long taskId) {
         Log.d(NetworkTaskDAO.class.getName(), "decreaseNetworkTaskInstances, network task id is " + taskId);
-        NetworkTask networkTask = new NetworkTask();
-        networkTask.setId(taskId);
-        executeDBOperationInTransaction(networkTask, this::decreaseNetworkTaskInstances);
-        dumpDatabase("Dump after decreaseNetworkTaskInstances call");
+        NetworkTaskCounterRegistry.Counters counters = getCounters(taskId);
+        if (counters != null) {
+            Log.d(NetworkTaskDAO.class.getName(), "Decreased instances to " + counters.decreaseInstances());
+            markCountersDirty(taskId);
+        }
     }
 
     public void resetNetworkTaskInstances(long taskId) {
         Log.d(NetworkTaskDAO.class.getName(), "resetNetworkTaskInstances, network task id is " + taskId);
-        NetworkTask networkTask = new NetworkTask();
-        networkTask.setId(taskId);
-        executeDBOperationInTransaction(networkTask, this::resetNetworkTaskInstances);
-        dumpDatabase("Dump after resetNetworkTaskInstances call");
+        NetworkTaskCounterRegistry.Counters counters = getCounters(taskId);
+        if (counters != null) {
+            counters.resetInstances();
+            markCountersDirty(taskId);
+        }
     }
 
     public void resetAllNetworkTaskInstances() {
         Log.d(NetworkTaskDAO.class.getName(), "resetAllNetworkTaskInstances");
         executeDBOperationInTransaction((NetworkTask) null, this::resetAllNetworkTaskInstances);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllNetworkTasks();
+        for (NetworkTaskCounterRegistry.Counters counters : NetworkTaskCounterRegistry.getInstance().getAll()) {
+            counters.resetInstances();
+        }
         dumpDatabase("Dump after resetAllNetworkTaskInstances call");
     }
 
@@ -136,6 +171,7 @@ public class NetworkTaskDAO extends BaseDAO {
         networkTask.setId(taskId);
         networkTask.setLastScheduled(lastScheduled);
         executeDBOperationInTransaction(networkTask, this::updateNetworkTaskLastScheduled);
+        NetworkTaskSnapshotCache.getInstance().updateNetworkTaskLastScheduled(taskId, lastScheduled);
         dumpDatabase("Dump after updateNetworkTaskLastScheduled call");
     }
 
@@ -144,6 +180,7 @@ public class NetworkTaskDAO extends BaseDAO {
         NetworkTask networkTask = new NetworkTask();
         networkTask.setId(taskId);
         executeDBOperationInTransaction(networkTask, this::resetNetworkTaskLastScheduled);
+        NetworkTaskSnapshotCache.getInstance().invalidateNetworkTask(taskId);
         dumpDatabase("Dump after resetNetworkTaskLastScheduled call");
     }
 
@@ -152,45 +189,62 @@ public class NetworkTaskDAO extends BaseDAO {
         NetworkTask networkTask = new NetworkTask();
         networkTask.setId(taskId);
         executeDBOperationInTransaction(networkTask, this::resetNetworkTaskLastScheduledAndFailureCount);
+        NetworkTaskSnapshotCache.getInstance().invalidateNetworkTask(taskId);
+        NetworkTaskCounterRegistry.Counters counters = NetworkTaskCounterRegistry.getInstance().get(taskId);
+        if (counters != null) {
+            counters.resetFailureCount();
+        }
         dumpDatabase("Dump after resetNetworkTaskLastScheduled call");
     }
 
     public int readNetworkTaskFailureCount(long taskId) {
         Log.d(NetworkTaskDAO.class.getName(), "readNetworkTaskFailureCount, network task id is " + taskId);
-        NetworkTask networkTask = new NetworkTask();
-        networkTask.setId(taskId);
-        int readFailureCount = executeDBOperationInTransaction(networkTask, this::readNetworkTaskFailureCount);
+        NetworkTaskCounterRegistry.Counters counters = getCounters(taskId);
+        int readFailureCount = counters == null ? -1 : counters.getFailureCount();
         Log.d(NetworkTaskDAO.class.getName(), "Failure count of task with id " + taskId + " is " + readFailureCount);
         return readFailureCount;
     }
 
     public void increaseNetworkTaskFailureCount(long taskId) {
         Log.d(NetworkTaskDAO.class.getName(), "increaseNetworkTaskFailureCount, increasing failure count for task with id " + taskId);
-        NetworkTask networkTask = new NetworkTask();
-        networkTask.setId(taskId);
-        executeDBOperationInTransaction(networkTask, this::increaseNetworkTaskFailureCount);
-        dumpDatabase("Dump after increaseNetworkTaskFailureCount call");
+        NetworkTaskCounterRegistry.Counters counters = getCounters(taskId);
+        if (counters != null) {
+            Log.d(NetworkTaskDAO.class.getName(), "Increased failure count to " + counters.increaseFailureCount());
+            markCountersDirty(taskId);
+        }
     }
 
     public void resetNetworkTaskFailureCount(long taskId) {
         Log.d(NetworkTaskDAO.class.getName(), "resetNetworkTaskFailureCount, resetting failure count for task with id " + taskId);
-        NetworkTask networkTask = new NetworkTask();
-        networkTask.setId(taskId);
-        executeDBOperationInTransaction(networkTask, this::resetNetworkTaskFailureCount);
-        dumpDatabase("Dump after resetNetworkTaskLastScheduled call");
+        NetworkTaskCounterRegistry.Counters counters = getCounters(taskId);
+        if (counters != null) {
+            counters.resetFailureCount();
+            markCountersDirty(taskId);
+        }
     }
 
     public void resetAllNetworkTaskFailureCount() {
         Log.d(NetworkTaskDAO.class.getName(), "resetAllNetworkTaskFailureCount");
         executeDBOperationInTransaction((NetworkTask) null, this::resetAllNetworkTaskFailureCount);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllNetworkTasks();
+        for (NetworkTaskCounterRegistry.Counters counters : NetworkTaskCounterRegistry.getInstance().getAll()) {
+            counters.resetFailureCount();
+        }
         dumpDatabase("Dump after resetAllNetworkTaskFailureCount call");
     }
 
     public NetworkTask readNetworkTask(long taskId) {
         Log.d(NetworkTaskDAO.class.getName(), "readNetworkTask, network task id is " + taskId);
-        NetworkTask networkTask = new NetworkTask();
-        networkTask.setId(taskId);
-        NetworkTask returnedTask = executeDBOperationInTransaction(networkTask, this::readNetworkTask);
+        NetworkTaskSnapshotCache cache = NetworkTaskSnapshotCache.getInstance();
+        NetworkTask returnedTask = cache.getNetworkTask(taskId);
+        if (returnedTask == null) {
+            long version = cache.getNetworkTaskVersion();
+            NetworkTask networkTask = new NetworkTask();
+            networkTask.setId(taskId);
+            returnedTask = executeDBOperationInTransaction(networkTask, this::readNetworkTask);
+            cache.putNetworkTask(returnedTask, version);
+        }
+        applyCounters(returnedTask);
         Log.d(NetworkTaskDAO.class.getName(), "Task with id " + taskId + " is " + returnedTask);
         return returnedTask;
     }
@@ -198,13 +252,39 @@ public class NetworkTaskDAO extends BaseDAO {
     public List<NetworkTask> readAllNetworkTasks() {
         Log.d(NetworkTaskDAO.class.getName(), "readAllNetworkTasks");
         List<NetworkTask> taskList = executeDBOperationInTransaction((NetworkTask) null, this::readAllNetworkTasks);
+        for (NetworkTask currentTask : taskList) {
+            applyCounters(currentTask);
+        }
         Log.d(NetworkTaskDAO.class.getName(), "Number of tasks read: " + taskList.size());
         return taskList;
     }
 
+    public void loadNetworkTaskCounters() {
+        Log.d(NetworkTaskDAO.class.getName(), "loadNetworkTaskCounters");
+        NetworkTaskCounterRegistry registry = NetworkTaskCounterRegistry.getInstance();
+        registry.clear();
+        List<NetworkTask> taskList = executeDBOperationInTransaction((NetworkTask) null, this::readAllNetworkTasks);
+        for (NetworkTask currentTask : taskList) {
+            registry.register(currentTask.getId(), currentTask.getInstances(), currentTask.getFailureCount());
+        }
+        Log.d(NetworkTaskDAO.class.getName(), "Loaded counters of " + registry.size() + " tasks");
+    }
+
+    public void flushNetworkTaskCounters() {
+        Log.d(NetworkTaskDAO.class.getName(), "flushNetworkTaskCounters");
+        List<NetworkTaskCounterRegistry.CounterSnapshot> snapshots = NetworkTaskCounterRegistry.getInstance().drainDirty();
+        if (snapshots.isEmpty()) {
+            Log.d(NetworkTaskDAO.class.getName(), "No dirty counters");
+            return;
+        }
+        int updated = executeDBOperationInTransaction(snapshots, this::updateNetworkTaskCounters);
+        Log.d(NetworkTaskDAO.class.getName(), "Flushed counters of " + updated + " tasks");
+    }
+
     public boolean swapUIIndex(long taskIdFrom, long taskIdTo) {
         Log.d(NetworkTaskDAO.class.getName(), "swapUIIndex from task with id " + taskIdFrom + " to task with id " + taskIdTo);
         boolean success = executeDBOperationInTransaction(new NetworkTaskDBConstants.SwapTask(taskIdFrom, taskIdTo), this::swapUIIndex);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllNetworkTasks();
         dumpDatabase("Dump after swapUIIndex call");
         return success;
     }
@@ -212,10 +292,45 @@ public class NetworkTaskDAO extends BaseDAO {
     public boolean normalizeUIIndex() {
         Log.d(NetworkTaskDAO.class.getName(), "normalizeUIIndex");
         boolean inconsistency = executeDBOperationInTransaction((NetworkTask) null, this::normalizeUIIndex);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllNetworkTasks();
         dumpDatabase("Dump after normalizeUIIndex call");
         return inconsistency;
     }
 
+    private NetworkTaskCounterRegistry.Counters getCounters(long taskId) {
+        NetworkTaskCounterRegistry registry = NetworkTaskCounterRegistry.getInstance();
+        NetworkTaskCounterRegistry.Counters counters = registry.get(taskId);
+        if (counters != null) {
+            return counters;
+        }
+        Log.d(NetworkTaskDAO.class.getName(), "Loading counters for task with id " + taskId);
+        NetworkTask networkTask = new NetworkTask();
+        networkTask.setId(taskId);
+        NetworkTask databaseTask = executeDBOperationInTransaction(networkTask, this::readNetworkTask);
+        if (databaseTask == null) {
+            Log.d(NetworkTaskDAO.class.getName(), "Task with id " + taskId + " does not exist");
+            return null;
+        }
+        return registry.register(taskId, databaseTask.getInstances(), databaseTask.getFailureCount());
+    }
+
+    private void applyCounters(NetworkTask networkTask) {
+        if (networkTask == null) {
+            return;
+        }
+        NetworkTaskCounterRegistry.Counters counters = NetworkTaskCounterRegistry.getInstance().get(networkTask.getId());
+        if (counters != null) {
+            networkTask.setInstances(counters.getInstances());
+            networkTask.setFailureCount(counters.getFailureCount());
+        }
+    }
+
+    private void markCountersDirty(long taskId) {
+        NetworkTaskCounterRegistry registry = NetworkTaskCounterRegistry.getInstance();
+        registry.markDirty(taskId);
+        registry.scheduleFlush(this::flushNetworkTaskCounters, getResources().getInteger(R.integer.network_task_counter_flush_delay));
+    }
+
     private void dumpDatabase(String message) {
         if (BuildConfig.DEBUG) {
             Dump.dump(NetworkTaskDAO.class.getName(), message, NetworkTask.class.getSimpleName().toLowerCase(), this::readAllNetworkTasks);
@@ -337,52 +452,6 @@ public class NetworkTaskDAO extends BaseDAO {
         return -1;
     }
 
-    private int increaseNetworkTaskInstances(NetworkTask networkTask, SQLiteDatabase db) {
-        Log.d(NetworkTaskDAO.class.getName(), "increaseNetworkTaskInstances, task is " + networkTask);
-        int instances = readNetworkTaskInstances(networkTask, db);
-        Log.d(NetworkTaskDAO.class.getName(), "Current number of instances is " + instances);
-        if (instances < 0) {
-            networkTask.setInstances(0);
-        } else {
-            networkTask.setInstances(instances + 1);
-        }
-        NetworkTaskDBConstants dbConstants = new NetworkTaskDBConstants(getContext());
-        String selection = dbConstants.getIdColumnName() + " = ?";
-        String[] selectionArgs = {String.valueOf(networkTask.getId())};
-        ContentValues values = new ContentValues();
-        values.put(dbConstants.getInstancesColumnName(), networkTask.getInstances());
-        Log.d(NetworkTaskDAO.class.getName(), "Updating instances to " + networkTask.getInstances());
-        return db.update(dbConstants.getTableName(), values, selection, selectionArgs);
-    }
-
-    private int decreaseNetworkTaskInstances(NetworkTask networkTask, SQLiteDatabase db) {
-        Log.d(NetworkTaskDAO.class.getName(), "decreaseNetworkTaskInstances, task is " + networkTask);
-        int instances = readNetworkTaskInstances(networkTask, db);
-        Log.d(NetworkTaskDAO.class.getName(), "Current number of instances is " + instances);
-        if (instances <= 0) {
-            networkTask.setInstances(0);
-        } else {
-            networkTask.setInstances(instances - 1);
-        }
-        NetworkTaskDBConstants dbConstants = new NetworkTaskDBConstants(getContext());
-        String selection = dbConstants.getIdColumnName() + " = ?";
-        String[] selectionArgs = {String.valueOf(networkTask.getId())};
-        ContentValues values = new ContentValues();
-        values.put(dbConstants.getInstancesColumnName(), networkTask.getInstances());
-        Log.d(NetworkTaskDAO.class.getName(), "Updating instances to " + networkTask.getInstances());
-        return db.update(dbConstants.getTableName(), values, selection, selectionArgs);
-    }
-
-    private int resetNetworkTaskInstances(NetworkTask networkTask, SQLiteDatabase db) {
-        Log.d(NetworkTaskDAO.class.getName(), "resetNetworkTaskInstances, task is " + networkTask);
-        NetworkTaskDBConstants dbConstants = new NetworkTaskDBConstants(getContext());
-        String selection = dbConstants.getIdColumnName() + " = ?";
-        String[] selectionArgs = {String.valueOf(networkTask.getId())};
-        ContentValues values = new ContentValues();
-        values.put(dbConstants.getInstancesColumnName(), 0);
-        return db.update(dbConstants.getTableName(), values, selection, selectionArgs);
-    }
-
     @SuppressWarnings("unused")
     private int resetAllNetworkTaskInstances(NetworkTask networkTask, SQLiteDatabase db) {
         Log.d(NetworkTaskDAO.class.getName(), "resetAllNetworkTaskInstances");
@@ -424,34 +493,6 @@ public class NetworkTaskDAO extends BaseDAO {
         return db.update(dbConstants.getTableName(), values, selection, selectionArgs);
     }
 
-    private int increaseNetworkTaskFailureCount(NetworkTask networkTask, SQLiteDatabase db) {
-        Log.d(NetworkTaskDAO.class.getName(), "increaseNetworkTaskFailureCount, task is " + networkTask);
-        int failureCount = readNetworkTaskFailureCount(networkTask, db);
-        Log.d(NetworkTaskDAO.class.getName(), "Current failure count is " + failureCount);
-        if (failureCount < 0) {
-            networkTask.setFailureCount(0);
-        } else {
-            networkTask.setFailureCount(failureCount + 1);
-        }
-        NetworkTaskDBConstants dbConstants = new NetworkTaskDBConstants(getContext());
-        String selection = dbConstants.getIdColumnName() + " = ?";
-        String[] selectionArgs = {String.valueOf(networkTask.getId())};
-        ContentValues values = new ContentValues();
-        values.put(dbConstants.getFailureCountColumnName(), networkTask.getFailureCount());
-        Log.d(NetworkTaskDAO.class.getName(), "Updating failure count to " + networkTask.getInstances());
-        return db.update(dbConstants.getTableName(), values, selection, selectionArgs);
-    }
-
-    private int resetNetworkTaskFailureCount(NetworkTask networkTask, SQLiteDatabase db) {
-        Log.d(NetworkTaskDAO.class.getName(), "resetNetworkTaskFailureCount, task is " + networkTask);
-        NetworkTaskDBConstants dbConstants = new NetworkTaskDBConstants(getContext());
-        String selection = dbConstants.getIdColumnName() + " = ?";
-        String[] selectionArgs = {String.valueOf(networkTask.getId())};
-        ContentValues values = new ContentValues();
-        values.put(dbConstants.getFailureCountColumnName(), 0);
-        return db.update(dbConstants.getTableName(), values, selection, selectionArgs);
-    }
-
     @SuppressWarnings("unused")
     private int resetAllNetworkTaskFailureCount(NetworkTask networkTask, SQLiteDatabase db) {
         Log.d(NetworkTaskDAO.class.getName(), "resetAllNetworkTaskFailureCount");
@@ -498,54 +539,19 @@ public class NetworkTaskDAO extends BaseDAO {
         return networkTask;
     }
 
-    private int readNetworkTaskInstances(NetworkTask networkTask, SQLiteDatabase db) {
-        Log.d(NetworkTaskDAO.class.getName(), "readNetworkTaskInstances, task is " + networkTask);
-        Cursor cursor = null;
-        NetworkTaskDBConstants dbConstants = new NetworkTaskDBConstants(getContext());
-        try {
-            Log.d(NetworkTaskDAO.class.getName(), "Executing SQL " + dbConstants.getReadInstancesStatement() + " with a parameter of " + networkTask.getId());
-            cursor = db.rawQuery(dbConstants.getReadInstancesStatement(), new String[]{String.valueOf(networkTask.getId())});
-            if (cursor.moveToFirst()) {
-                int value = cursor.getInt(0);
-                Log.d(NetworkTaskDAO.class.getName(), "readNetworkTaskInstances, returning " + value);
-                return value;
-            }
-        } finally {
-            if (cursor != null) {
-                try {
-                    cursor.close();
-                } catch (Throwable exc) {
-                    Log.e(NetworkTaskDAO.class.getName(), "Error closing result cursor", exc);
-                }
-            }
-        }
-        Log.d(NetworkTaskDAO.class.getName(), "readNetworkTaskInstances, returning -1");
-        return -1;
-    }
-
-    private int readNetworkTaskFailureCount(NetworkTask networkTask, SQLiteDatabase db) {
-        Log.d(NetworkTaskDAO.class.getName(), "readNetworkTaskFailureCount, task is " + networkTask);
-        Cursor cursor = null;
+    private int updateNetworkTaskCounters(List<NetworkTaskCounterRegistry.CounterSnapshot> snapshots, SQLiteDatabase db) {
+        Log.d(NetworkTaskDAO.class.getName(), "updateNetworkTaskCounters, number of snapshots is " + snapshots.size());
         NetworkTaskDBConstants dbConstants = new NetworkTaskDBConstants(getContext());
-        try {
-            Log.d(NetworkTaskDAO.class.getName(), "Executing SQL " + dbConstants.getReadFailureCountStatement() + " with a parameter of " + networkTask.getId());
-            cursor = db.rawQuery(dbConstants.getReadFailureCountStatement(), new String[]{String.valueOf(networkTask.getId())});
-            if (cursor.moveToFirst()) {
-                int value = cursor.getInt(0);
-                Log.d(NetworkTaskDAO.class.getName(), "readNetworkTaskFailureCount, returning " + value);
-                return value;
-            }
-        } finally {
-            if (cursor != null) {
-                try {
-                    cursor.close();
-                } catch (Throwable exc) {
-                    Log.e(NetworkTaskDAO.class.getName(), "Error closing result cursor", exc);
-                }
-            }
+        String selection = dbConstants.getIdColumnName() + " = ?";
+        int updated = 0;
+        for (NetworkTaskCounterRegistry.CounterSnapshot snapshot : snapshots) {
+            String[] selectionArgs = {String.valueOf(snapshot.taskId())};
+            ContentValues values = new ContentValues();
+            values.put(dbConstants.getInstancesColumnName(), snapshot.instances());
+            values.put(dbConstants.getFailureCountColumnName(), snapshot.failureCount());
+            updated += db.update(dbConstants.getTableName(), values, selection, selectionArgs);
         }
-        Log.d(NetworkTaskDAO.class.getName(), "readNetworkTaskFailureCount, returning -1");
-        return -1;
+        return updated;
     }
 
     private NetworkTask readNetworkTask(NetworkTask networkTask, SQLiteDatabase db) {
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.db;
+
+import net.ibbaa.keepitup.logging.Log;
+import net.ibbaa.keepitup.model.AccessTypeData;
+import net.ibbaa.keepitup.model.Header;
+import net.ibbaa.keepitup.model.NetworkTask;
+import net.ibbaa.keepitup.model.Resolve;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class NetworkTaskSnapshotCache {
+
+    private final static long GLOBAL_HEADERS_KEY = Long.MIN_VALUE;
+
+    private static NetworkTaskSnapshotCache cache;
+
+    private final Region<NetworkTask> networkTasks;
+    private final Region<AccessTypeData> accessTypeData;
+    private final Region<Resolve> resolves;
+    private final Region<List<Header>> headers;
+    private final AtomicLong hitCount;
+    private final AtomicLong missCount;
+
+    private NetworkTaskSnapshotCache() {
+        this.networkTasks = new Region<>(task -> new NetworkTask(task.toBundle()));
+        this.accessTypeData = new Region<>(data -> new AccessTypeData(data.toBundle()));
+        this.resolves = new Region<>(resolve -> new Resolve(resolve.toBundle()));
+        this.headers = new Region<>(NetworkTaskSnapshotCache::copyHeaders);
+        this.hitCount = new AtomicLong();
+        this.missCount = new AtomicLong();
+    }
+
+    public synchronized static NetworkTaskSnapshotCache getInstance() {
+        if (cache == null) {
+            Log.d(NetworkTaskSnapshotCache.class.getName(), "cache is null. Creating...");
+            cache = new NetworkTaskSnapshotCache();
+        }
+        return cache;
+    }
+
+    public long getNetworkTaskVersion() {
+        return networkTasks.getVersion();
+    }
+
+    public NetworkTask getNetworkTask(long taskId) {
+        return countAccess(networkTasks.get(taskId));
+    }
+
+    public void putNetworkTask(NetworkTask networkTask, long version) {
+        if (networkTask != null) {
+            networkTasks.put(networkTask.getId(), networkTask, version);
+        }
+    }
+
+    public void updateNetworkTaskLastScheduled(long taskId, long lastScheduled) {
+        synchronized (networkTasks) {
+            NetworkTask cachedTask = networkTasks.values.get(taskId);
+            if (cachedTask != null) {
+                cachedTask.setLastScheduled(lastScheduled);
+            }
+            networkTasks.version++;
+        }
+    }
+
+    public void invalidateNetworkTask(long taskId) {
+        networkTasks.invalidate(taskId);
+    }
+
+    public void invalidateAllNetworkTasks() {
+        networkTasks.invalidateAll();
+    }
+
+    public long getAccessTypeDataVersion() {
+        return accessTypeData.getVersion();
+    }
+
+    public AccessTypeData getAccessTypeData(long taskId) {
+        return countAccess(accessTypeData.get(taskId));
+    }
+
+    public void putAccessTypeData(long taskId, AccessTypeData data, long version) {
+        if (data != null) {
+            accessTypeData.put(taskId, data, version);
+        }
+    }
+
+    public void invalidateAccessTypeData(long taskId) {
+        accessTypeData.invalidate(taskId);
+    }
+
+    public void invalidateAllAccessTypeData() {
+        accessTypeData.invalidateAll();
+    }
+
+    public long getResolveVersion() {
+        return resolves.getVersion();
+    }
+
+    public Resolve getResolve(long taskId) {
+        return countAccess(resolves.get(taskId));
+    }
+
+    public void putResolve(long taskId, Resolve resolve, long version) {
+        if (resolve != null) {
+            resolves.put(taskId, resolve, version);
+        }
+    }
+
+    public void invalidateResolve(long taskId) {
+        resolves.invalidate(taskId);
+    }
+
+    public void invalidateAllResolve() {
+        resolves.invalidateAll();
+    }
+
+    public long getHeaderVersion() {
+        return headers.getVersion();
+    }
+
+    public List<Header> getHeaders(long taskId) {
+        return countAccess(headers.get(taskId));
+    }
+
+    public void putHeaders(long taskId, List<Header> headerList, long version) {
+        if (headerList != null) {
+            headers.put(taskId, headerList, version);
+        }
+    }
+
+    public List<Header> getGlobalHeaders() {
+        return getHeaders(GLOBAL_HEADERS_KEY);
+    }
+
+    public void putGlobalHeaders(List<Header> headerList, long version) {
+        putHeaders(GLOBAL_HEADERS_KEY, headerList, version);
+    }
+
+    public void invalidateAllHeaders() {
+        headers.invalidateAll();
+    }
+
+    public void clear() {
+        Log.d(NetworkTaskSnapshotCache.class.getName(), "clear");
+        networkTasks.invalidateAll();
+        accessTypeData.invalidateAll();
+        resolves.invalidateAll();
+        headers.invalidateAll();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public int size() {
+        return networkTasks.size() + accessTypeData.size() + resolves.size() + headers.size();
+    }
+
+    public void resetStatistics() {
+        hitCount.set(0);
+        missCount.set(0);
+    }
+
+    private <T> T countAccess(T value) {
+        if (value != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+        return value;
+    }
+
+    private static List<Header> copyHeaders(List<Header> headerList) {
+        List<Header> copy = new ArrayList<>(headerList.size());
+        for (Header header : headerList) {
+            copy.add(new Header(header.toBundle()));
+        }
+        return copy;
+    }
+
+    private interface Copier<T> {
+        T copy(T value);
+    }
+
+    private static class Region<T> {
+
+        private final Copier<T> copier;
+        private final Map<Long, T> values;
+        private long version;
+
+        public Region(Copier<T> copier) {
+            this.copier = copier;
+            this.values = new HashMap<>();
+            this.version = 0;
+        }
+
+        public synchronized long getVersion() {
+            return version;
+        }
+
+        public synchronized T get(long key) {
+            T value = values.get(key);
+            return value == null ? null : copier.copy(value);
+        }
+
+        public synchronized void put(long key, T value, long readVersion) {
+            if (readVersion != version) {
+                Log.d(NetworkTaskSnapshotCache.class.getName(), "Version changed during read of " + key + ". Not caching.");
+                return;
+            }
+            values.put(key, copier.copy(value));
+        }
+
+        public synchronized void invalidate(long key) {
+            values.remove(key);
+            version++;
+        }
+
+        public synchronized void invalidateAll() {
+            values.clear();
+            version++;
+        }
+
+        public synchronized int size() {
+            return values.size();
+        }
+    }
+}
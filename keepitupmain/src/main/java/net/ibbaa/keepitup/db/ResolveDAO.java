@@ -40,6 +40,7 @@ public class ResolveDAO extends BaseDAO {
     public Resolve insertResolve(Resolve resolve) {
         Log.d(ResolveDAO.class.getName(), "insertResolve, resolve object is " + resolve);
         Resolve returnedResolve = executeDBOperationInTransaction(resolve, this::insertResolve);
+        NetworkTaskSnapshotCache.getInstance().invalidateResolve(resolve.getNetworkTaskId());
         Log.d(ResolveDAO.class.getName(), "Inserted resolve object is " + returnedResolve);
         dumpDatabase("Dump after insertResolve call");
         return returnedResolve;
@@ -49,6 +50,7 @@ public class ResolveDAO extends BaseDAO {
     public Resolve updateResolve(Resolve resolve) {
         Log.d(ResolveDAO.class.getName(), "updateResolve, resolve object is " + resolve);
         Resolve returnedResolve = executeDBOperationInTransaction(resolve, this::updateResolve);
+        NetworkTaskSnapshotCache.getInstance().invalidateResolve(resolve.getNetworkTaskId());
         Log.d(ResolveDAO.class.getName(), "Updated resolve object is " + returnedResolve);
         dumpDatabase("Dump after updateResolve call");
         return returnedResolve;
@@ -56,9 +58,15 @@ public class ResolveDAO extends BaseDAO {
 
     public Resolve readResolveForNetworkTask(long networkTaskId) {
         Log.d(ResolveDAO.class.getName(), "readResolveForNetworkTask, network task id is " + networkTaskId);
-        Resolve resolve = new Resolve();
-        resolve.setNetworkTaskId(networkTaskId);
-        resolve = executeDBOperationInTransaction(resolve, this::readResolveForNetworkTask);
+        NetworkTaskSnapshotCache cache = NetworkTaskSnapshotCache.getInstance();
+        Resolve resolve = cache.getResolve(networkTaskId);
+        if (resolve == null) {
+            long version = cache.getResolveVersion();
+            resolve = new Resolve();
+            resolve.setNetworkTaskId(networkTaskId);
+            resolve = executeDBOperationInTransaction(resolve, this::readResolveForNetworkTask);
+            cache.putResolve(networkTaskId, resolve, version);
+        }
         Log.d(ResolveDAO.class.getName(), "Read resolve object is " + resolve);
         return resolve;
     }
@@ -80,18 +88,21 @@ public class ResolveDAO extends BaseDAO {
         Resolve resolve = new Resolve();
         resolve.setNetworkTaskId(networkTaskId);
         executeDBOperationInTransaction(resolve, this::deleteResolveForNetworkTask);
+        NetworkTaskSnapshotCache.getInstance().invalidateResolve(networkTaskId);
         dumpDatabase("Dump after deleteResolveForNetworkTask call");
     }
 
     public void deleteAllOrphanResolve() {
         Log.d(ResolveDAO.class.getName(), "deleteAllOrphanResolve");
         executeDBOperationInTransaction((Resolve) null, this::deleteAllOrphanResolve);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllResolve();
         dumpDatabase("Dump after deleteAllOrphanResolve call");
     }
 
     public void deleteAllResolve() {
         Log.d(ResolveDAO.class.getName(), "deleteAllResolve");
         executeDBOperationInTransaction((Resolve) null, this::deleteAllResolve);
+        NetworkTaskSnapshotCache.getInstance().invalidateAllResolve();
         dumpDatabase("Dump after deleteAllResolve call");
     }
 
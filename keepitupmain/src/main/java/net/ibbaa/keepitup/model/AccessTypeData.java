@@ -39,6 +39,8 @@ public class AccessTypeData {
     private boolean stopOnSuccess;
     private boolean ignoreSSLError;
     private boolean useDefaultHeaders;
+    private ProbeMode probeMode;
+    private String expectedDigest;
 
     public AccessTypeData() {
         this.id = -1;
@@ -49,6 +51,8 @@ public class AccessTypeData {
         this.stopOnSuccess = false;
         this.ignoreSSLError = false;
         this.useDefaultHeaders = true;
+        this.probeMode = ProbeMode.FULL;
+        this.expectedDigest = null;
     }
 
     public AccessTypeData(AccessTypeData otherData) {
@@ -59,6 +63,8 @@ public class AccessTypeData {
         this.stopOnSuccess = otherData.isStopOnSuccess();
         this.ignoreSSLError = otherData.isIgnoreSSLError();
         this.useDefaultHeaders = otherData.isUseDefaultHeaders();
+        this.probeMode = otherData.getProbeMode();
+        this.expectedDigest = otherData.getExpectedDigest();
     }
 
     public AccessTypeData(Context context) {
@@ -86,6 +92,10 @@ public class AccessTypeData {
         this.stopOnSuccess = bundle.getInt("stopOnSuccess") >= 1;
         this.ignoreSSLError = bundle.getInt("ignoreSSLError") >= 1;
         this.useDefaultHeaders = bundle.getInt("useDefaultHeaders") >= 1;
+        if (bundle.containsKey("probeMode")) {
+            this.probeMode = getProbeModeForCode(bundle.getInt("probeMode"));
+        }
+        this.expectedDigest = bundle.getString("expectedDigest");
     }
 
     public AccessTypeData(Map<String, ?> map) {
@@ -114,6 +124,12 @@ public class AccessTypeData {
         if (map.get("useDefaultHeaders") != null) {
             this.useDefaultHeaders = !"false".equalsIgnoreCase(Objects.requireNonNull(map.get("useDefaultHeaders")).toString());
         }
+        if (NumberUtil.isValidIntValue(map.get("probeMode"))) {
+            this.probeMode = getProbeModeForCode(NumberUtil.getIntValue(map.get("probeMode"), ProbeMode.FULL.getCode()));
+        }
+        if (map.get("expectedDigest") != null) {
+            this.expectedDigest = Objects.requireNonNull(map.get("expectedDigest")).toString();
+        }
     }
 
     public long getId() {
@@ -180,6 +196,22 @@ public class AccessTypeData {
         this.useDefaultHeaders = useDefaultHeaders;
     }
 
+    public ProbeMode getProbeMode() {
+        return probeMode;
+    }
+
+    public void setProbeMode(ProbeMode probeMode) {
+        this.probeMode = probeMode;
+    }
+
+    public String getExpectedDigest() {
+        return expectedDigest;
+    }
+
+    public void setExpectedDigest(String expectedDigest) {
+        this.expectedDigest = expectedDigest;
+    }
+
     public PersistableBundle toPersistableBundle() {
         PersistableBundle bundle = new PersistableBundle();
         bundle.putLong("id", id);
@@ -190,6 +222,12 @@ public class AccessTypeData {
         bundle.putInt("stopOnSuccess", stopOnSuccess ? 1 : 0);
         bundle.putInt("ignoreSSLError", ignoreSSLError ? 1 : 0);
         bundle.putInt("useDefaultHeaders", useDefaultHeaders ? 1 : 0);
+        if (probeMode != null) {
+            bundle.putInt("probeMode", probeMode.getCode());
+        }
+        if (expectedDigest != null) {
+            bundle.putString("expectedDigest", expectedDigest);
+        }
         return bundle;
     }
 
@@ -207,6 +245,12 @@ public class AccessTypeData {
         map.put("stopOnSuccess", stopOnSuccess);
         map.put("ignoreSSLError", ignoreSSLError);
         map.put("useDefaultHeaders", useDefaultHeaders);
+        if (probeMode != null) {
+            map.put("probeMode", probeMode.getCode());
+        }
+        if (expectedDigest != null) {
+            map.put("expectedDigest", expectedDigest);
+        }
         return map;
     }
 
@@ -235,6 +279,12 @@ public class AccessTypeData {
         if (useDefaultHeaders != other.useDefaultHeaders) {
             return false;
         }
+        if (!Objects.equals(probeMode, other.probeMode)) {
+            return false;
+        }
+        if (!Objects.equals(expectedDigest, other.expectedDigest)) {
+            return false;
+        }
         return Objects.equals(ignoreSSLError, other.ignoreSSLError);
     }
 
@@ -260,9 +310,20 @@ public class AccessTypeData {
         if (useDefaultHeaders != other.useDefaultHeaders) {
             return false;
         }
+        if (!Objects.equals(probeMode, other.probeMode)) {
+            return false;
+        }
+        if (!Objects.equals(expectedDigest, other.expectedDigest)) {
+            return false;
+        }
         return Objects.equals(ignoreSSLError, other.ignoreSSLError);
     }
 
+    private static ProbeMode getProbeModeForCode(int code) {
+        ProbeMode probeMode = ProbeMode.forCode(code);
+        return probeMode != null ? probeMode : ProbeMode.FULL;
+    }
+
     @NonNull
     @Override
     public String toString() {
@@ -275,6 +336,8 @@ public class AccessTypeData {
                 ", stopOnSuccess=" + stopOnSuccess +
                 ", ignoreSSLError=" + ignoreSSLError +
                 ", useDefaultHeaders=" + useDefaultHeaders +
+                ", probeMode=" + probeMode +
+                ", expectedDigest=" + expectedDigest +
                 '}';
     }
 }
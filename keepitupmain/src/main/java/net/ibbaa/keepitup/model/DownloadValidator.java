@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.model;
+
+import androidx.annotation.NonNull;
+
+import net.ibbaa.keepitup.util.StringUtil;
+
+import java.util.Objects;
+
+public class DownloadValidator {
+
+    private long id;
+    private long networktaskid;
+    private String url;
+    private String eTag;
+    private String lastModified;
+
+    public DownloadValidator() {
+        this.id = -1;
+        this.networktaskid = -1;
+        this.url = null;
+        this.eTag = null;
+        this.lastModified = null;
+    }
+
+    public DownloadValidator(long networktaskid) {
+        this();
+        this.networktaskid = networktaskid;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public long getNetworkTaskId() {
+        return networktaskid;
+    }
+
+    public void setNetworkTaskId(long networktaskid) {
+        this.networktaskid = networktaskid;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public void setETag(String eTag) {
+        this.eTag = eTag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public boolean isEmpty() {
+        return StringUtil.isEmpty(eTag) && StringUtil.isEmpty(lastModified);
+    }
+
+    public boolean isTechnicallyEqual(DownloadValidator other) {
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+        if (networktaskid != other.networktaskid) {
+            return false;
+        }
+        if (!Objects.equals(url, other.url)) {
+            return false;
+        }
+        if (!Objects.equals(eTag, other.eTag)) {
+            return false;
+        }
+        return Objects.equals(lastModified, other.lastModified);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "DownloadValidator{" +
+                "id=" + id +
+                ", networktaskid=" + networktaskid +
+                ", url='" + url + '\'' +
+                ", eTag='" + eTag + '\'' +
+                ", lastModified='" + lastModified + '\'' +
+                '}';
+    }
+}
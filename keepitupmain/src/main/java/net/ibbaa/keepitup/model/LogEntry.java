@@ -34,6 +34,11 @@ public class LogEntry {
     private long timestamp;
     private boolean success;
     private String message;
+    private double dnsTime;
+    private double connectTime;
+    private double tlsTime;
+    private double ttfbTime;
+    private double transferTime;
 
     public LogEntry() {
         this.id = -1;
@@ -41,6 +46,11 @@ public class LogEntry {
         this.success = false;
         this.timestamp = -1;
         this.message = null;
+        this.dnsTime = -1;
+        this.connectTime = -1;
+        this.tlsTime = -1;
+        this.ttfbTime = -1;
+        this.transferTime = -1;
     }
 
     public LogEntry(PersistableBundle bundle) {
@@ -54,6 +64,11 @@ public class LogEntry {
         this.success = bundle.getInt("success") >= 1;
         this.timestamp = bundle.getLong("timestamp");
         this.message = bundle.getString("message");
+        this.dnsTime = bundle.getDouble("dnstime", -1);
+        this.connectTime = bundle.getDouble("connecttime", -1);
+        this.tlsTime = bundle.getDouble("tlstime", -1);
+        this.ttfbTime = bundle.getDouble("ttfbtime", -1);
+        this.transferTime = bundle.getDouble("transfertime", -1);
     }
 
     public LogEntry(Map<String, ?> map) {
@@ -73,6 +88,11 @@ public class LogEntry {
         if (map.get("message") != null) {
             this.message = Objects.requireNonNull(map.get("message")).toString();
         }
+        this.dnsTime = NumberUtil.getDoubleValue(map.get("dnstime"), -1);
+        this.connectTime = NumberUtil.getDoubleValue(map.get("connecttime"), -1);
+        this.tlsTime = NumberUtil.getDoubleValue(map.get("tlstime"), -1);
+        this.ttfbTime = NumberUtil.getDoubleValue(map.get("ttfbtime"), -1);
+        this.transferTime = NumberUtil.getDoubleValue(map.get("transfertime"), -1);
     }
 
     public long getId() {
@@ -115,6 +135,46 @@ public class LogEntry {
         this.message = message;
     }
 
+    public double getDNSTime() {
+        return dnsTime;
+    }
+
+    public void setDNSTime(double dnsTime) {
+        this.dnsTime = dnsTime;
+    }
+
+    public double getConnectTime() {
+        return connectTime;
+    }
+
+    public void setConnectTime(double connectTime) {
+        this.connectTime = connectTime;
+    }
+
+    public double getTLSTime() {
+        return tlsTime;
+    }
+
+    public void setTLSTime(double tlsTime) {
+        this.tlsTime = tlsTime;
+    }
+
+    public double getTTFBTime() {
+        return ttfbTime;
+    }
+
+    public void setTTFBTime(double ttfbTime) {
+        this.ttfbTime = ttfbTime;
+    }
+
+    public double getTransferTime() {
+        return transferTime;
+    }
+
+    public void setTransferTime(double transferTime) {
+        this.transferTime = transferTime;
+    }
+
     public PersistableBundle toPersistableBundle() {
         PersistableBundle bundle = new PersistableBundle();
         bundle.putLong("id", id);
@@ -124,6 +184,11 @@ public class LogEntry {
         if (message != null) {
             bundle.putString("message", message);
         }
+        bundle.putDouble("dnstime", dnsTime);
+        bundle.putDouble("connecttime", connectTime);
+        bundle.putDouble("tlstime", tlsTime);
+        bundle.putDouble("ttfbtime", ttfbTime);
+        bundle.putDouble("transfertime", transferTime);
         return bundle;
     }
 
@@ -140,6 +205,21 @@ public class LogEntry {
         if (message != null) {
             map.put("message", message);
         }
+        if (dnsTime >= 0) {
+            map.put("dnstime", dnsTime);
+        }
+        if (connectTime >= 0) {
+            map.put("connecttime", connectTime);
+        }
+        if (tlsTime >= 0) {
+            map.put("tlstime", tlsTime);
+        }
+        if (ttfbTime >= 0) {
+            map.put("ttfbtime", ttfbTime);
+        }
+        if (transferTime >= 0) {
+            map.put("transfertime", transferTime);
+        }
         return map;
     }
 
@@ -159,7 +239,10 @@ public class LogEntry {
         if (timestamp != other.timestamp) {
             return false;
         }
-        return Objects.equals(message, other.message);
+        if (!Objects.equals(message, other.message)) {
+            return false;
+        }
+        return isPhaseTimeEqual(other);
     }
 
     public boolean isTechnicallyEqual(LogEntry other) {
@@ -175,7 +258,26 @@ public class LogEntry {
         if (timestamp != other.timestamp) {
             return false;
         }
-        return Objects.equals(message, other.message);
+        if (!Objects.equals(message, other.message)) {
+            return false;
+        }
+        return isPhaseTimeEqual(other);
+    }
+
+    private boolean isPhaseTimeEqual(LogEntry other) {
+        if (Double.compare(dnsTime, other.dnsTime) != 0) {
+            return false;
+        }
+        if (Double.compare(connectTime, other.connectTime) != 0) {
+            return false;
+        }
+        if (Double.compare(tlsTime, other.tlsTime) != 0) {
+            return false;
+        }
+        if (Double.compare(ttfbTime, other.ttfbTime) != 0) {
+            return false;
+        }
+        return Double.compare(transferTime, other.transferTime) == 0;
     }
 
     @NonNull
@@ -187,6 +289,11 @@ public class LogEntry {
                 ", timestamp=" + timestamp +
                 ", success=" + success +
                 ", message='" + message + '\'' +
+                ", dnsTime=" + dnsTime +
+                ", connectTime=" + connectTime +
+                ", tlsTime=" + tlsTime +
+                ", ttfbTime=" + ttfbTime +
+                ", transferTime=" + transferTime +
                 '}';
     }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.model;
+
+public enum ProbeMode {
+
+    FULL(1),
+    HEAD(2),
+    RANGE(3),
+    STATUS(4);
+
+    private final int code;
+
+    ProbeMode(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public boolean isFull() {
+        return FULL.equals(this);
+    }
+
+    public boolean isHead() {
+        return HEAD.equals(this);
+    }
+
+    public boolean isRange() {
+        return RANGE.equals(this);
+    }
+
+    public boolean isStatus() {
+        return STATUS.equals(this);
+    }
+
+    public boolean isProbe() {
+        return !isFull();
+    }
+
+    public static ProbeMode forCode(int code) {
+        ProbeMode[] values = ProbeMode.values();
+        for (ProbeMode value : values) {
+            if (code == value.getCode()) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
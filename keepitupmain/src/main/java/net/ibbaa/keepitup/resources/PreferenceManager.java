@@ -406,6 +406,21 @@ public class PreferenceManager {
         removePreferenceValue(getResources().getString(R.string.enforce_default_ping_package_size_key));
     }
 
+    public boolean getPreferencePingSocketEngine() {
+        Log.d(PreferenceManager.class.getName(), "getPreferencePingSocketEngine");
+        return getPreferenceBoolean(getResources().getString(R.string.ping_socket_engine_key), getResources().getBoolean(R.bool.ping_socket_engine_default));
+    }
+
+    public void setPreferencePingSocketEngine(boolean pingSocketEngine) {
+        Log.d(PreferenceManager.class.getName(), "setPreferencePingSocketEngine, pingSocketEngine is " + pingSocketEngine);
+        setPreferenceBoolean(getResources().getString(R.string.ping_socket_engine_key), pingSocketEngine);
+    }
+
+    public void removePreferencePingSocketEngine() {
+        Log.d(PreferenceManager.class.getName(), "removePreferencePingSocketEngine");
+        removePreferenceValue(getResources().getString(R.string.ping_socket_engine_key));
+    }
+
     public boolean getPreferenceDownloadExternalStorage() {
         Log.d(PreferenceManager.class.getName(), "getPreferenceDownloadExternalStorage");
         return getPreferenceBoolean(getResources().getString(R.string.download_external_storage_key), getResources().getBoolean(R.bool.download_external_storage_default));
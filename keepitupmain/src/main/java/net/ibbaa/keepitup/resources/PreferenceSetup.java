@@ -48,6 +48,7 @@ public class PreferenceSetup {
         globalSettings.put("preferenceNotificationAfterFailures", preferenceManager.getPreferenceNotificationAfterFailures());
         globalSettings.put("preferenceSuspensionEnabled", preferenceManager.getPreferenceSuspensionEnabled());
         globalSettings.put("preferenceEnforceDefaultPingPackageSize", preferenceManager.getPreferenceEnforceDefaultPingPackageSize());
+        globalSettings.put("preferencePingSocketEngine", preferenceManager.getPreferencePingSocketEngine());
         globalSettings.put("preferenceDownloadExternalStorage", preferenceManager.getPreferenceDownloadExternalStorage());
         globalSettings.put("preferenceDownloadFolder", preferenceManager.getPreferenceDownloadFolder());
         globalSettings.put("preferenceArbitraryDownloadFolder", preferenceManager.getPreferenceArbitraryDownloadFolder());
@@ -132,6 +133,12 @@ public class PreferenceSetup {
         } else {
             preferenceManager.removePreferenceDownloadExternalStorage();
         }
+        Object pingSocketEngine = globalSettings.get("preferencePingSocketEngine");
+        if (isValidBoolean(pingSocketEngine)) {
+            preferenceManager.setPreferencePingSocketEngine(Boolean.parseBoolean(pingSocketEngine.toString()));
+        } else {
+            preferenceManager.removePreferencePingSocketEngine();
+        }
         Object downloadExternalStorage = globalSettings.get("preferenceDownloadExternalStorage");
         if (isValidBoolean(downloadExternalStorage)) {
             preferenceManager.setPreferenceDownloadExternalStorage(Boolean.parseBoolean(downloadExternalStorage.toString()));
@@ -420,6 +427,7 @@ public class PreferenceSetup {
         preferenceManager.removePreferenceNotificationAfterFailures();
         preferenceManager.removePreferenceSuspensionEnabled();
         preferenceManager.removePreferenceEnforceDefaultPingPackageSize();
+        preferenceManager.removePreferencePingSocketEngine();
         preferenceManager.removePreferenceDownloadExternalStorage();
         preferenceManager.removePreferenceDownloadFolder();
         preferenceManager.removePreferenceDownloadKeep();
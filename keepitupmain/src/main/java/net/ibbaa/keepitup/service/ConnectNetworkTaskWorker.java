@@ -21,6 +21,7 @@ import android.os.PowerManager;
 
 import net.ibbaa.keepitup.R;
 import net.ibbaa.keepitup.logging.Log;
+import net.ibbaa.keepitup.model.AccessType;
 import net.ibbaa.keepitup.model.AccessTypeData;
 import net.ibbaa.keepitup.model.LogEntry;
 import net.ibbaa.keepitup.model.NetworkTask;
@@ -30,9 +31,8 @@ import net.ibbaa.keepitup.util.StringUtil;
 
 import java.net.Inet6Address;
 import java.net.InetAddress;
+import java.util.List;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -56,6 +56,16 @@ public class ConnectNetworkTaskWorker extends NetworkTaskWorker {
     public ExecutionResult execute(NetworkTask networkTask, AccessTypeData data) {
         Log.d(ConnectNetworkTaskWorker.class.getName(), "execute, network task is " + networkTask + " and access type data is " + data);
         DNSExecutionResult dnsExecutionResult = executeDNSLookup(networkTask.getAddress(), getResources().getBoolean(R.bool.network_prefer_ipv4));
+        if (dnsExecutionResult.getAddress() != null && isProbeAllAddresses(dnsExecutionResult)) {
+            List<InetAddress> addresses = ParallelAddressProbe.sortAddresses(dnsExecutionResult.getAddresses(), getResources().getBoolean(R.bool.network_prefer_ipv4));
+            Log.d(ConnectNetworkTaskWorker.class.getName(), "Probing all addresses " + addresses);
+            ExecutionResult connectExecutionResult = executeConnectCommands(addresses, networkTask.getPort(), data.getConnectCount(), data.isStopOnSuccess());
+            LogEntry logEntry = connectExecutionResult.getLogEntry();
+            logEntry.setDNSTime(dnsExecutionResult.getDNSTime());
+            completeLogEntry(networkTask, logEntry);
+            Log.d(ConnectNetworkTaskWorker.class.getName(), "Returning " + connectExecutionResult);
+            return connectExecutionResult;
+        }
         if (dnsExecutionResult.getAddress() != null) {
             InetAddress address = dnsExecutionResult.getAddress();
             Log.d(ConnectNetworkTaskWorker.class.getName(), "executeDNSLookup returned " + address);
@@ -67,6 +77,7 @@ public class ConnectNetworkTaskWorker extends NetworkTaskWorker {
             }
             ExecutionResult connectExecutionResult = executeConnectCommand(address, networkTask.getPort(), data.getConnectCount(), data.isStopOnSuccess(), ip6);
             LogEntry logEntry = connectExecutionResult.getLogEntry();
+            logEntry.setDNSTime(dnsExecutionResult.getDNSTime());
             completeLogEntry(networkTask, logEntry);
             Log.d(ConnectNetworkTaskWorker.class.getName(), "Returning " + connectExecutionResult);
             return connectExecutionResult;
@@ -83,21 +94,21 @@ public class ConnectNetworkTaskWorker extends NetworkTaskWorker {
         logEntry.setTimestamp(getTimeService().getCurrentTimestamp());
     }
 
-    @SuppressWarnings("resource")
     private ExecutionResult executeConnectCommand(InetAddress address, int port, int connectCount, boolean stopOnSuccess, boolean ip6) {
         Log.d(ConnectNetworkTaskWorker.class.getName(), "executeConnectCommand, address is " + address + ", port is " + port + ", connectCount is " + connectCount + ", ip6 is " + ip6);
         Callable<ConnectCommandResult> connectCommand = getConnectCommand(address, port, connectCount, stopOnSuccess);
         int connectTimeout = getResources().getInteger(R.integer.connect_timeout) * connectCount * 2;
-        Log.d(ConnectNetworkTaskWorker.class.getName(), "Creating ExecutorService");
-        ExecutorService executorService = Executors.newSingleThreadExecutor();
         Future<ConnectCommandResult> connectResultFuture = null;
         LogEntry logEntry = new LogEntry();
         boolean interrupted = false;
         try {
             Log.d(ConnectNetworkTaskWorker.class.getName(), "Executing " + connectCommand.getClass().getSimpleName() + " with a timeout of " + connectTimeout);
-            connectResultFuture = executorService.submit(connectCommand);
+            connectResultFuture = getExecutionEngine().submitCommand(AccessType.CONNECT, connectCommand);
             ConnectCommandResult connectResult = connectResultFuture.get(connectTimeout, TimeUnit.SECONDS);
             Log.d(ConnectNetworkTaskWorker.class.getName(), connectCommand.getClass().getSimpleName() + " returned " + connectResult);
+            if (connectResult.successfulAttempts() > 0) {
+                logEntry.setConnectTime(connectResult.averageTime());
+            }
             if (connectResult.success()) {
                 Log.d(ConnectNetworkTaskWorker.class.getName(), "Connect was successful.");
                 logEntry.setSuccess(true);
@@ -117,8 +128,55 @@ public class ConnectNetworkTaskWorker extends NetworkTaskWorker {
                 interrupted = true;
             }
         } finally {
-            Log.d(ConnectNetworkTaskWorker.class.getName(), "Shutting down ExecutorService");
-            executorService.shutdownNow();
+            if (connectResultFuture != null && !connectResultFuture.isDone()) {
+                Log.d(ConnectNetworkTaskWorker.class.getName(), "Cancelling unfinished command");
+                connectResultFuture.cancel(true);
+            }
+        }
+        return new ExecutionResult(interrupted, logEntry);
+    }
+
+    private ExecutionResult executeConnectCommands(List<InetAddress> addresses, int port, int connectCount, boolean stopOnSuccess) {
+        Log.d(ConnectNetworkTaskWorker.class.getName(), "executeConnectCommands, addresses are " + addresses + ", port is " + port + ", connectCount is " + connectCount);
+        int connectTimeout = getResources().getInteger(R.integer.connect_timeout) * connectCount * 2;
+        ParallelAddressProbe<ConnectCommandResult> probe = getParallelAddressProbe(AccessType.CONNECT);
+        LogEntry logEntry = new LogEntry();
+        boolean interrupted = false;
+        try {
+            List<ParallelAddressProbe.Result<ConnectCommandResult>> results = probe.execute(addresses, address -> getConnectCommand(address, port, connectCount, stopOnSuccess), ConnectCommandResult::success, stopOnSuccess, connectTimeout * 1000L);
+            Log.d(ConnectNetworkTaskWorker.class.getName(), "Parallel probe returned " + results);
+            int successful = 0;
+            double connectTime = -1;
+            StringBuilder message = new StringBuilder();
+            for (ParallelAddressProbe.Result<ConnectCommandResult> result : results) {
+                String address = result.address().getHostAddress();
+                boolean ip6 = result.address() instanceof Inet6Address;
+                ConnectCommandResult connectResult = result.result();
+                message.append(" ");
+                if (result.cancelled()) {
+                    message.append(getResources().getString(R.string.text_probe_address_cancelled, getAddressWithPort(address, port, ip6)));
+                } else if (connectResult == null) {
+                    message.append(getMessageFromException(getResources().getString(R.string.text_connect_failure, getAddressWithPort(address, port, ip6)), result.exception(), connectTimeout));
+                } else if (result.success()) {
+                    successful++;
+                    message.append(getConnectSuccessMessage(connectResult, address, port, ip6, connectTimeout));
+                } else {
+                    message.append(getConnectFailedMessage(connectResult, address, port, ip6, connectTimeout));
+                }
+                if (connectResult != null && connectResult.successfulAttempts() > 0 && (connectTime < 0 || connectResult.averageTime() < connectTime)) {
+                    connectTime = connectResult.averageTime();
+                }
+            }
+            if (connectTime >= 0) {
+                logEntry.setConnectTime(connectTime);
+            }
+            logEntry.setSuccess(successful > 0);
+            logEntry.setMessage(getResources().getString(R.string.text_probe_addresses_reachable, successful, results.size()) + message);
+        } catch (InterruptedException exc) {
+            Log.d(ConnectNetworkTaskWorker.class.getName(), "Parallel probe was interrupted", exc);
+            logEntry.setSuccess(false);
+            logEntry.setMessage(getMessageFromException(getResources().getString(R.string.text_probe_addresses_reachable, 0, addresses.size()), exc, connectTimeout));
+            interrupted = true;
         }
         return new ExecutionResult(interrupted, logEntry);
     }
@@ -160,6 +218,14 @@ public class ConnectNetworkTaskWorker extends NetworkTaskWorker {
             String averageTimeMessage = successfulAttempts > 1 ? getResources().getString(R.string.text_connect_average_time, averageTime) : getResources().getString(R.string.text_connect_time, averageTime);
             message += " " + averageTimeMessage;
         }
+        if (connectResult.attemptTimes().length > 1) {
+            String minTime = StringUtil.formatTimeRange(connectResult.minTime(), getContext());
+            String maxTime = StringUtil.formatTimeRange(connectResult.maxTime(), getContext());
+            int percentile = getResources().getInteger(R.integer.connect_time_percentile);
+            String percentileTime = StringUtil.formatTimeRange(connectResult.percentileTime(percentile), getContext());
+            message += " " + getResources().getString(R.string.text_connect_time_statistics, minTime, maxTime);
+            message += " " + getResources().getString(R.string.text_connect_percentile_time, percentileTime, percentile);
+        }
         return message;
     }
 
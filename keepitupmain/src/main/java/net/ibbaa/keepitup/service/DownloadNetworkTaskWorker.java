@@ -25,15 +25,20 @@ import net.ibbaa.keepitup.R;
 import net.ibbaa.keepitup.db.HeaderDAO;
 import net.ibbaa.keepitup.db.ResolveDAO;
 import net.ibbaa.keepitup.logging.Log;
+import net.ibbaa.keepitup.model.AccessType;
 import net.ibbaa.keepitup.model.AccessTypeData;
 import net.ibbaa.keepitup.model.Header;
 import net.ibbaa.keepitup.model.LogEntry;
 import net.ibbaa.keepitup.model.NetworkTask;
+import net.ibbaa.keepitup.model.ProbeMode;
 import net.ibbaa.keepitup.model.Resolve;
 import net.ibbaa.keepitup.resources.PreferenceManager;
 import net.ibbaa.keepitup.service.network.DownloadCommand;
 import net.ibbaa.keepitup.service.network.DownloadCommandResult;
 import net.ibbaa.keepitup.service.network.DownloadConnectResult;
+import net.ibbaa.keepitup.service.network.DownloadDigestResult;
+import net.ibbaa.keepitup.service.network.DownloadPhaseTimes;
+import net.ibbaa.keepitup.ui.mapping.EnumMapping;
 import net.ibbaa.keepitup.util.FileUtil;
 import net.ibbaa.keepitup.util.HTTPUtil;
 import net.ibbaa.keepitup.util.StringUtil;
@@ -46,8 +51,6 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -107,6 +110,7 @@ public class DownloadNetworkTaskWorker extends NetworkTaskWorker {
             }
             ExecutionResult downloadExecutionResult = executeDownloadCommand(networkTask, data, url, new DownloadCommand.ConnectToAddress(resolve, address), headers);
             LogEntry logEntry = downloadExecutionResult.getLogEntry();
+            logEntry.setDNSTime(dnsExecutionResult.getDNSTime());
             completeLogEntry(networkTask, logEntry);
             Log.d(DownloadNetworkTaskWorker.class.getName(), "Returning " + downloadExecutionResult);
             return downloadExecutionResult;
@@ -143,13 +147,20 @@ public class DownloadNetworkTaskWorker extends NetworkTaskWorker {
         return headerDAO.readHeadersForNetworkTask(networkTask.getId());
     }
 
-    @SuppressWarnings("resource")
     private ExecutionResult executeDownloadCommand(NetworkTask networkTask, AccessTypeData data, URL url, DownloadCommand.ConnectToAddress connectToAddress, List<Header> headers) {
         Log.d(DownloadNetworkTaskWorker.class.getName(), "executeDownloadCommand, networkTask is " + networkTask);
         PreferenceManager preferenceManager = new PreferenceManager(getContext());
         IFileManager fileManager = getFileManager();
         LogEntry logEntry = new LogEntry();
-        boolean interrupted = false;
+        ProbeMode probeMode = getProbeMode(data);
+        if (probeMode.isProbe()) {
+            Log.d(DownloadNetworkTaskWorker.class.getName(), "Probe mode is " + probeMode + ". No download folder required.");
+            return executeDownloadCommand(networkTask, data, url, null, false, false, connectToAddress, headers, logEntry);
+        }
+        if (determineDiscardDownloadedFile()) {
+            Log.d(DownloadNetworkTaskWorker.class.getName(), "The downloaded data is discarded. No download folder required.");
+            return executeDownloadCommand(networkTask, data, url, null, true, true, connectToAddress, headers, logEntry);
+        }
         String folder = determineDownloadFolder();
         if (folder == null) {
             Log.d(DownloadNetworkTaskWorker.class.getName(), "Determined folder is null");
@@ -169,26 +180,51 @@ public class DownloadNetworkTaskWorker extends NetworkTaskWorker {
         }
         boolean delete = determineDeleteDownloadedFile();
         Log.d(DownloadNetworkTaskWorker.class.getName(), "Delete downloaded file: " + delete);
-        Callable<DownloadCommandResult> downloadCommand = getDownloadCommand(networkTask, data, url, folder, delete, connectToAddress, headers);
+        return executeDownloadCommand(networkTask, data, url, folder, delete, false, connectToAddress, headers, logEntry);
+    }
+
+    private ExecutionResult executeDownloadCommand(NetworkTask networkTask, AccessTypeData data, URL url, String folder, boolean delete, boolean discard, DownloadCommand.ConnectToAddress connectToAddress, List<Header> headers, LogEntry logEntry) {
+        ProbeMode probeMode = getProbeMode(data);
+        boolean interrupted = false;
+        Callable<DownloadCommandResult> downloadCommand = getDownloadCommand(networkTask, data, url, folder, delete, discard, connectToAddress, headers);
         int timeout = getResources().getInteger(R.integer.download_timeout);
-        Log.d(DownloadNetworkTaskWorker.class.getName(), "Creating ExecutorService");
-        ExecutorService executorService = Executors.newSingleThreadExecutor();
         Future<DownloadCommandResult> downloadResultFuture = null;
         try {
-            downloadResultFuture = executorService.submit(downloadCommand);
+            downloadResultFuture = getExecutionEngine().submitCommand(AccessType.DOWNLOAD, downloadCommand);
             DownloadCommandResult downloadResult = downloadResultFuture.get(timeout, TimeUnit.SECONDS);
             Log.d(DownloadNetworkTaskWorker.class.getName(), downloadCommand.getClass().getSimpleName() + " returned " + downloadResult);
+            setPhaseTimes(downloadResult.phaseTimes(), logEntry);
             if (returnedConnectFailure(downloadResult)) {
                 Log.d(DownloadNetworkTaskWorker.class.getName(), "Connection failed. Preparing error message.");
                 prepareConnectError(downloadResult, timeout, folder, delete, logEntry);
                 return new ExecutionResult(false, logEntry);
             }
-            if (returnedHttpFailure(downloadResult)) {
+            if (downloadResult.notModified() && downloadResult.downloadSuccess()) {
+                Log.d(DownloadNetworkTaskWorker.class.getName(), "The content has not been modified since the last download. Preparing message.");
+                prepareNotModifiedSuccess(downloadResult, logEntry);
+                return new ExecutionResult(false, logEntry);
+            }
+            if (!downloadResult.notModified() && returnedHttpFailure(downloadResult)) {
                 Log.d(DownloadNetworkTaskWorker.class.getName(), "HTTP download and HTTP return code is not HTTP_OK. Preparing error message.");
                 prepareHTTPReturnCodeError(downloadResult, timeout, folder, delete, logEntry);
                 return new ExecutionResult(false, logEntry);
             }
             if (downloadResult.downloadSuccess()) {
+                if (returnedDigestMismatch(downloadResult)) {
+                    Log.d(DownloadNetworkTaskWorker.class.getName(), "The download was successful but the digest does not match. Preparing error message.");
+                    prepareDigestMismatchError(downloadResult, folder, delete, discard, logEntry);
+                    return new ExecutionResult(false, logEntry);
+                }
+                if (probeMode.isProbe()) {
+                    Log.d(DownloadNetworkTaskWorker.class.getName(), "The probe was successful. Preparing message.");
+                    prepareProbeSuccess(downloadResult, probeMode, logEntry);
+                    return new ExecutionResult(false, logEntry);
+                }
+                if (discard) {
+                    Log.d(DownloadNetworkTaskWorker.class.getName(), "The download was successful and the data was discarded. Preparing message.");
+                    prepareDiscardSuccess(downloadResult, logEntry);
+                    return new ExecutionResult(false, logEntry);
+                }
                 if (!downloadResult.fileExists()) {
                     Log.d(DownloadNetworkTaskWorker.class.getName(), "The download was successful but the downloaded file does not exist. Preparing error message.");
                     prepareUnknownError(downloadResult, timeout, folder, delete, logEntry);
@@ -220,12 +256,25 @@ public class DownloadNetworkTaskWorker extends NetworkTaskWorker {
                 interrupted = true;
             }
         } finally {
-            Log.d(DownloadNetworkTaskWorker.class.getName(), "Shutting down ExecutorService");
-            executorService.shutdownNow();
+            if (downloadResultFuture != null && !downloadResultFuture.isDone()) {
+                Log.d(DownloadNetworkTaskWorker.class.getName(), "Cancelling unfinished command");
+                downloadResultFuture.cancel(true);
+            }
         }
         return new ExecutionResult(interrupted, logEntry);
     }
 
+    private void setPhaseTimes(DownloadPhaseTimes phaseTimes, LogEntry logEntry) {
+        if (phaseTimes == null) {
+            return;
+        }
+        logEntry.setDNSTime(phaseTimes.dnsTime());
+        logEntry.setConnectTime(phaseTimes.connectTime());
+        logEntry.setTLSTime(phaseTimes.tlsTime());
+        logEntry.setTTFBTime(phaseTimes.ttfbTime());
+        logEntry.setTransferTime(phaseTimes.transferTime());
+    }
+
     private void prepareConnectError(DownloadCommandResult downloadResult, int timeout, String folder, boolean delete, LogEntry logEntry) {
         Log.d(DownloadNetworkTaskWorker.class.getName(), "prepareConnectError");
         String downloadError = getResources().getString(R.string.text_download_error, downloadResult.url().toExternalForm());
@@ -326,6 +375,7 @@ public class DownloadNetworkTaskWorker extends NetworkTaskWorker {
             successMessage += invalidHeaderMessage + " ";
         }
         successMessage += getResources().getString(R.string.text_download_success, downloadResult.url().toExternalForm());
+        successMessage += getDigestVerifiedMessage(downloadResult);
         String durationMessage = getResources().getString(R.string.text_download_time, StringUtil.formatTimeRange(downloadResult.duration(), getContext()));
         if (!delete) {
             PreferenceManager preferenceManager = new PreferenceManager(getContext());
@@ -352,6 +402,122 @@ public class DownloadNetworkTaskWorker extends NetworkTaskWorker {
         }
     }
 
+    private void prepareProbeSuccess(DownloadCommandResult downloadResult, ProbeMode probeMode, LogEntry logEntry) {
+        Log.d(DownloadNetworkTaskWorker.class.getName(), "prepareProbeSuccess");
+        logEntry.setSuccess(true);
+        String successMessage = getRedirectMessage(downloadResult);
+        String connectMessage = getConnectionMessage(getActualConnectResult(downloadResult));
+        if (!StringUtil.isEmpty(connectMessage)) {
+            successMessage += connectMessage + " ";
+        }
+        String invalidHeaderMessage = getInvalidHeaderMessage(getActualConnectResult(downloadResult));
+        if (!StringUtil.isEmpty(invalidHeaderMessage)) {
+            successMessage += invalidHeaderMessage + " ";
+        }
+        EnumMapping mapping = new EnumMapping(getContext());
+        successMessage += getResources().getString(R.string.text_download_probe_success, downloadResult.url().toExternalForm(), mapping.getProbeModeText(probeMode));
+        if (probeMode.isRange() && downloadResult.bytesRead() >= 0) {
+            int bytesRead = (int) downloadResult.bytesRead();
+            successMessage += " " + getResources().getQuantityString(R.plurals.text_download_probe_bytes, bytesRead, bytesRead);
+        }
+        String durationMessage = getResources().getString(R.string.text_download_probe_time, StringUtil.formatTimeRange(downloadResult.duration(), getContext()));
+        logEntry.setMessage(successMessage + " " + durationMessage);
+    }
+
+    private void prepareDiscardSuccess(DownloadCommandResult downloadResult, LogEntry logEntry) {
+        Log.d(DownloadNetworkTaskWorker.class.getName(), "prepareDiscardSuccess");
+        logEntry.setSuccess(true);
+        String successMessage = getRedirectMessage(downloadResult);
+        String connectMessage = getConnectionMessage(getActualConnectResult(downloadResult));
+        if (!StringUtil.isEmpty(connectMessage)) {
+            successMessage += connectMessage + " ";
+        }
+        String invalidHeaderMessage = getInvalidHeaderMessage(getActualConnectResult(downloadResult));
+        if (!StringUtil.isEmpty(invalidHeaderMessage)) {
+            successMessage += invalidHeaderMessage + " ";
+        }
+        successMessage += getResources().getString(R.string.text_download_success, downloadResult.url().toExternalForm());
+        successMessage += " " + getResources().getString(R.string.text_download_discard);
+        long bytesRead = downloadResult.bytesRead();
+        if (bytesRead >= 0) {
+            successMessage += " " + getResources().getQuantityString(R.plurals.text_download_discard_bytes, (int) Math.min(bytesRead, Integer.MAX_VALUE), bytesRead);
+            successMessage += " " + getResources().getString(R.string.text_download_throughput, StringUtil.formatThroughput(bytesRead, downloadResult.duration(), getContext()));
+        }
+        if (!StringUtil.isEmpty(downloadResult.checksum())) {
+            successMessage += " " + getResources().getString(R.string.text_download_checksum, downloadResult.checksum());
+        }
+        successMessage += getDigestVerifiedMessage(downloadResult);
+        String durationMessage = getResources().getString(R.string.text_download_time, StringUtil.formatTimeRange(downloadResult.duration(), getContext()));
+        logEntry.setMessage(successMessage + " " + durationMessage);
+    }
+
+    private void prepareNotModifiedSuccess(DownloadCommandResult downloadResult, LogEntry logEntry) {
+        Log.d(DownloadNetworkTaskWorker.class.getName(), "prepareNotModifiedSuccess");
+        logEntry.setSuccess(true);
+        String successMessage = getRedirectMessage(downloadResult);
+        String connectMessage = getConnectionMessage(getActualConnectResult(downloadResult));
+        if (!StringUtil.isEmpty(connectMessage)) {
+            successMessage += connectMessage + " ";
+        }
+        String invalidHeaderMessage = getInvalidHeaderMessage(getActualConnectResult(downloadResult));
+        if (!StringUtil.isEmpty(invalidHeaderMessage)) {
+            successMessage += invalidHeaderMessage + " ";
+        }
+        successMessage += getResources().getString(R.string.text_download_not_modified, downloadResult.url().toExternalForm());
+        String durationMessage = getResources().getString(R.string.text_download_time, StringUtil.formatTimeRange(downloadResult.duration(), getContext()));
+        logEntry.setMessage(successMessage + " " + durationMessage);
+    }
+
+    private void prepareDigestMismatchError(DownloadCommandResult downloadResult, String folder, boolean delete, boolean discard, LogEntry logEntry) {
+        Log.d(DownloadNetworkTaskWorker.class.getName(), "prepareDigestMismatchError");
+        logEntry.setSuccess(false);
+        String message = getRedirectMessage(downloadResult);
+        String connectMessage = getConnectionMessage(getActualConnectResult(downloadResult));
+        if (!StringUtil.isEmpty(connectMessage)) {
+            message += connectMessage + " ";
+        }
+        String invalidHeaderMessage = getInvalidHeaderMessage(getActualConnectResult(downloadResult));
+        if (!StringUtil.isEmpty(invalidHeaderMessage)) {
+            message += invalidHeaderMessage + " ";
+        }
+        DownloadDigestResult digestResult = downloadResult.digestResult();
+        if (digestResult.algorithm() == null) {
+            message += getResources().getString(R.string.text_download_digest_invalid, digestResult.expectedDigest());
+        } else {
+            message += getResources().getString(R.string.text_download_digest_mismatch, digestResult.algorithm(), downloadResult.url().toExternalForm(), digestResult.expectedDigest(), digestResult.actualDigest());
+        }
+        if (discard) {
+            message += " " + getResources().getString(R.string.text_download_discard);
+        } else if (downloadResult.fileExists()) {
+            if (!delete) {
+                PreferenceManager preferenceManager = new PreferenceManager(getContext());
+                if (preferenceManager.getPreferenceAllowArbitraryFileLocation()) {
+                    folder = Uri.decode(folder);
+                }
+                message += " " + getResources().getString(R.string.text_download_file, new File(folder, downloadResult.fileName()).toString());
+            } else if (downloadResult.deleteSuccess()) {
+                message += " " + getResources().getString(R.string.text_download_delete);
+            } else {
+                message += " " + getResources().getString(R.string.text_download_delete_error);
+            }
+        }
+        String durationMessage = getResources().getString(R.string.text_download_time, StringUtil.formatTimeRange(downloadResult.duration(), getContext()));
+        logEntry.setMessage(message + " " + durationMessage);
+    }
+
+    private String getDigestVerifiedMessage(DownloadCommandResult downloadResult) {
+        DownloadDigestResult digestResult = downloadResult.digestResult();
+        if (digestResult == null || !digestResult.match()) {
+            return "";
+        }
+        return " " + getResources().getString(R.string.text_download_digest_verified, digestResult.algorithm(), digestResult.actualDigest());
+    }
+
+    private boolean returnedDigestMismatch(DownloadCommandResult downloadResult) {
+        DownloadDigestResult digestResult = downloadResult.digestResult();
+        return digestResult != null && !digestResult.match();
+    }
+
     private URL determineURL(String baseURL) {
         Log.d(DownloadNetworkTaskWorker.class.getName(), "determineURL, baseURL is " + baseURL);
         return URLUtil.getURL(baseURL);
@@ -550,11 +716,27 @@ public class DownloadNetworkTaskWorker extends NetworkTaskWorker {
         return true;
     }
 
+    protected boolean determineDiscardDownloadedFile() {
+        Log.d(DownloadNetworkTaskWorker.class.getName(), "determineDiscardDownloadedFile");
+        if (!getResources().getBoolean(R.bool.download_discard_deleted_file)) {
+            Log.d(DownloadNetworkTaskWorker.class.getName(), "Discarding downloaded data is disabled.");
+            return false;
+        }
+        return determineDeleteDownloadedFile();
+    }
+
     protected IFileManager getFileManager() {
         return new SystemFileManager(getContext());
     }
 
-    protected Callable<DownloadCommandResult> getDownloadCommand(NetworkTask networkTask, AccessTypeData data, URL url, String folder, boolean delete, DownloadCommand.ConnectToAddress connectToAddress, List<Header> headers) {
-        return new DownloadCommand(getContext(), networkTask, data, url, folder, delete, connectToAddress, headers);
+    private ProbeMode getProbeMode(AccessTypeData data) {
+        if (data == null || data.getProbeMode() == null) {
+            return ProbeMode.FULL;
+        }
+        return data.getProbeMode();
+    }
+
+    protected Callable<DownloadCommandResult> getDownloadCommand(NetworkTask networkTask, AccessTypeData data, URL url, String folder, boolean delete, boolean discard, DownloadCommand.ConnectToAddress connectToAddress, List<Header> headers) {
+        return new DownloadCommand(getContext(), networkTask, data, url, folder, delete, discard, connectToAddress, headers);
     }
 }
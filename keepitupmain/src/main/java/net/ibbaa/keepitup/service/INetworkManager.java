@@ -16,9 +16,14 @@
 
 package net.ibbaa.keepitup.service;
 
+import java.net.InetAddress;
+import java.util.List;
+
 public interface INetworkManager {
 
     boolean isConnected();
 
     boolean isConnectedWithWiFi();
+
+    List<InetAddress> getDNSServers();
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service;
+
+import net.ibbaa.keepitup.logging.Log;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class NetworkTaskCancellationRegistry {
+
+    private final ConcurrentHashMap<Integer, Set<CancellationToken>> tokenPool;
+
+    public NetworkTaskCancellationRegistry() {
+        this.tokenPool = new ConcurrentHashMap<>();
+    }
+
+    public void reset() {
+        tokenPool.clear();
+    }
+
+    public CancellationToken register(int schedulerId) {
+        Log.d(NetworkTaskCancellationRegistry.class.getName(), "register, schedulerId is " + schedulerId);
+        CancellationToken token = new CancellationToken();
+        while (true) {
+            Set<CancellationToken> tokenSet = tokenPool.get(schedulerId);
+            if (tokenSet == null) {
+                Set<CancellationToken> newTokenSet = Collections.newSetFromMap(new ConcurrentHashMap<>());
+                tokenSet = tokenPool.putIfAbsent(schedulerId, newTokenSet);
+                if (tokenSet == null) {
+                    tokenSet = newTokenSet;
+                }
+            }
+            tokenSet.add(token);
+            if (tokenPool.get(schedulerId) == tokenSet) {
+                return token;
+            }
+            tokenSet.remove(token);
+        }
+    }
+
+    public void deregister(int schedulerId, CancellationToken token) {
+        Log.d(NetworkTaskCancellationRegistry.class.getName(), "deregister, schedulerId is " + schedulerId);
+        Set<CancellationToken> tokenSet = tokenPool.get(schedulerId);
+        if (tokenSet == null) {
+            return;
+        }
+        tokenSet.remove(token);
+        if (tokenSet.isEmpty()) {
+            tokenPool.remove(schedulerId, tokenSet);
+        }
+    }
+
+    public void invalidate(int schedulerId) {
+        Log.d(NetworkTaskCancellationRegistry.class.getName(), "invalidate, schedulerId is " + schedulerId);
+        Set<CancellationToken> tokenSet = tokenPool.get(schedulerId);
+        if (tokenSet == null) {
+            return;
+        }
+        for (CancellationToken currentToken : tokenSet) {
+            currentToken.invalidate();
+        }
+    }
+
+    public void stop(int schedulerId) {
+        Log.d(NetworkTaskCancellationRegistry.class.getName(), "stop, schedulerId is " + schedulerId);
+        Set<CancellationToken> tokenSet = tokenPool.get(schedulerId);
+        if (tokenSet == null) {
+            return;
+        }
+        for (CancellationToken currentToken : tokenSet) {
+            currentToken.stop();
+        }
+    }
+
+    public int getRegisteredCount(int schedulerId) {
+        Set<CancellationToken> tokenSet = tokenPool.get(schedulerId);
+        return tokenSet == null ? 0 : tokenSet.size();
+    }
+
+    public static class CancellationToken {
+
+        private volatile boolean valid;
+        private volatile boolean stopped;
+
+        private CancellationToken() {
+            this.valid = true;
+            this.stopped = false;
+        }
+
+        public boolean isValid() {
+            return valid;
+        }
+
+        public boolean isStopped() {
+            return stopped;
+        }
+
+        public void invalidate() {
+            valid = false;
+        }
+
+        public void stop() {
+            stopped = true;
+            valid = false;
+        }
+    }
+}
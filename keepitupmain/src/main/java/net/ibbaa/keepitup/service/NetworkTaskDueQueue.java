@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service;
+
+import net.ibbaa.keepitup.logging.Log;
+import net.ibbaa.keepitup.model.NetworkTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+public class NetworkTaskDueQueue {
+
+    private final PriorityQueue<DueEntry> dueHeap;
+    private final Map<Integer, DueEntry> dueEntries;
+    private long sequence;
+    private boolean initialized;
+    private int dispatching;
+    private long dispatchTimestamp;
+
+    public NetworkTaskDueQueue() {
+        this.dueHeap = new PriorityQueue<>(11, (entry1, entry2) -> {
+            int result = Long.compare(entry1.dueTime(), entry2.dueTime());
+            return result != 0 ? result : Long.compare(entry1.sequence(), entry2.sequence());
+        });
+        this.dueEntries = new HashMap<>();
+        this.sequence = 0;
+        this.initialized = false;
+        this.dispatching = 0;
+        this.dispatchTimestamp = -1;
+    }
+
+    public synchronized void reset() {
+        dueHeap.clear();
+        dueEntries.clear();
+        sequence = 0;
+        initialized = false;
+        dispatching = 0;
+        dispatchTimestamp = -1;
+    }
+
+    public synchronized boolean isInitialized() {
+        return initialized;
+    }
+
+    public synchronized void setInitialized() {
+        initialized = true;
+    }
+
+    public synchronized void schedule(NetworkTask networkTask, long dueTime) {
+        Log.d(NetworkTaskDueQueue.class.getName(), "schedule, schedulerId is " + networkTask.getSchedulerId() + ", dueTime is " + dueTime);
+        DueEntry entry = new DueEntry(new NetworkTask(networkTask.toBundle()), dueTime, sequence++);
+        dueEntries.put(networkTask.getSchedulerId(), entry);
+        dueHeap.add(entry);
+    }
+
+    public synchronized boolean remove(int schedulerId) {
+        Log.d(NetworkTaskDueQueue.class.getName(), "remove, schedulerId is " + schedulerId);
+        return dueEntries.remove(schedulerId) != null;
+    }
+
+    public synchronized boolean contains(int schedulerId) {
+        return dueEntries.containsKey(schedulerId);
+    }
+
+    public synchronized List<NetworkTask> pollDue(long timestamp) {
+        Log.d(NetworkTaskDueQueue.class.getName(), "pollDue, timestamp is " + timestamp);
+        List<NetworkTask> dueTasks = new ArrayList<>();
+        DueEntry entry = peekValid();
+        while (entry != null && entry.dueTime() <= timestamp) {
+            dueHeap.poll();
+            dueEntries.remove(entry.networkTask().getSchedulerId());
+            dueTasks.add(entry.networkTask());
+            entry = peekValid();
+        }
+        Log.d(NetworkTaskDueQueue.class.getName(), "Number of due tasks is " + dueTasks.size());
+        return dueTasks;
+    }
+
+    public synchronized List<NetworkTask> pollDue(long timestamp, long tolerance) {
+        Log.d(NetworkTaskDueQueue.class.getName(), "pollDue, timestamp is " + timestamp + ", tolerance is " + tolerance);
+        if (tolerance <= 0 || timestamp > Long.MAX_VALUE - tolerance) {
+            return pollDue(timestamp);
+        }
+        return pollDue(timestamp + tolerance);
+    }
+
+    public synchronized long getNextDueTime() {
+        DueEntry entry = peekValid();
+        return entry == null ? -1 : entry.dueTime();
+    }
+
+    public synchronized int size() {
+        return dueEntries.size();
+    }
+
+    public synchronized void beginDispatch(long timestamp) {
+        dispatching++;
+        dispatchTimestamp = timestamp;
+    }
+
+    public synchronized void endDispatch() {
+        if (dispatching > 0) {
+            dispatching--;
+        }
+        if (dispatching == 0) {
+            dispatchTimestamp = -1;
+        }
+    }
+
+    public synchronized long getDispatchTimestamp() {
+        return dispatchTimestamp;
+    }
+
+    public synchronized boolean isDispatching() {
+        return dispatching > 0;
+    }
+
+    private DueEntry peekValid() {
+        DueEntry entry = dueHeap.peek();
+        while (entry != null && dueEntries.get(entry.networkTask().getSchedulerId()) != entry) {
+            dueHeap.poll();
+            entry = dueHeap.peek();
+        }
+        return entry;
+    }
+
+    private record DueEntry(NetworkTask networkTask, long dueTime, long sequence) {
+
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import net.ibbaa.keepitup.R;
+import net.ibbaa.keepitup.logging.Log;
+import net.ibbaa.keepitup.model.AccessType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class NetworkTaskExecutionEngine {
+
+    private final static String NULL_POOL_NAME = "NULL";
+    private final static String DNS_POOL_NAME = "DNS";
+    private final static String DEADLINE_POOL_NAME = "DEADLINE";
+
+    private final Map<AccessType, BoundedPool> workerPools;
+    private final Map<AccessType, BoundedPool> commandPools;
+    private final BoundedPool nullWorkerPool;
+    private final BoundedPool dnsPool;
+    private final ScheduledThreadPoolExecutor deadlineScheduler;
+
+    public NetworkTaskExecutionEngine(Context context) {
+        Log.d(NetworkTaskExecutionEngine.class.getName(), "Creating NetworkTaskExecutionEngine");
+        int queueCapacity = context.getResources().getInteger(R.integer.worker_engine_queue_capacity);
+        long keepAlive = context.getResources().getInteger(R.integer.worker_engine_keep_alive);
+        this.workerPools = new EnumMap<>(AccessType.class);
+        this.commandPools = new EnumMap<>(AccessType.class);
+        for (AccessType accessType : AccessType.values()) {
+            int poolSize = getPoolSize(context, accessType);
+            workerPools.put(accessType, new BoundedPool(accessType.name() + "-worker", poolSize, queueCapacity, keepAlive));
+            commandPools.put(accessType, new BoundedPool(accessType.name() + "-command", poolSize, queueCapacity, keepAlive));
+        }
+        this.nullWorkerPool = new BoundedPool(NULL_POOL_NAME + "-worker", context.getResources().getInteger(R.integer.worker_engine_null_pool_size), queueCapacity, keepAlive);
+        this.dnsPool = new BoundedPool(DNS_POOL_NAME + "-command", context.getResources().getInteger(R.integer.worker_engine_dns_pool_size), queueCapacity, keepAlive);
+        this.deadlineScheduler = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory(DEADLINE_POOL_NAME));
+        this.deadlineScheduler.setRemoveOnCancelPolicy(true);
+        this.deadlineScheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    private int getPoolSize(Context context, AccessType accessType) {
+        if (AccessType.PING.equals(accessType)) {
+            return context.getResources().getInteger(R.integer.worker_engine_ping_pool_size);
+        } else if (AccessType.CONNECT.equals(accessType)) {
+            return context.getResources().getInteger(R.integer.worker_engine_connect_pool_size);
+        } else if (AccessType.DOWNLOAD.equals(accessType)) {
+            return context.getResources().getInteger(R.integer.worker_engine_download_pool_size);
+        }
+        return context.getResources().getInteger(R.integer.worker_engine_null_pool_size);
+    }
+
+    public Future<?> submitWorker(AccessType accessType, Runnable worker, long deadline) {
+        Log.d(NetworkTaskExecutionEngine.class.getName(), "submitWorker, accessType is " + accessType + ", deadline is " + deadline);
+        return executeWorker(accessType, new FutureTask<Void>(worker, null), deadline);
+    }
+
+    public <T extends RunnableFuture<?>> T executeWorker(AccessType accessType, T worker, long deadline) {
+        Log.d(NetworkTaskExecutionEngine.class.getName(), "executeWorker, accessType is " + accessType + ", deadline is " + deadline);
+        BoundedPool pool = getWorkerPool(accessType);
+        pool.execute(deadline > 0 ? new DeadlineWorker(worker, deadline) : worker);
+        return worker;
+    }
+
+    public <T> Future<T> submitCommand(AccessType accessType, Callable<T> command) {
+        Log.d(NetworkTaskExecutionEngine.class.getName(), "submitCommand, accessType is " + accessType);
+        BoundedPool pool = accessType == null ? nullWorkerPool : commandPools.get(accessType);
+        return pool.submit(command);
+    }
+
+    public <T> Future<T> submitDNSLookup(Callable<T> dnsLookup) {
+        Log.d(NetworkTaskExecutionEngine.class.getName(), "submitDNSLookup");
+        return dnsPool.submit(dnsLookup);
+    }
+
+    public void executeDNSRefresh(Runnable dnsRefresh) {
+        Log.d(NetworkTaskExecutionEngine.class.getName(), "executeDNSRefresh");
+        dnsPool.execute(dnsRefresh);
+    }
+
+    public ScheduledFuture<?> scheduleDeadline(Future<?> future, long deadline) {
+        Log.d(NetworkTaskExecutionEngine.class.getName(), "scheduleDeadline, deadline is " + deadline);
+        return deadlineScheduler.schedule(() -> {
+            if (!future.isDone()) {
+                Log.d(NetworkTaskExecutionEngine.class.getName(), "Deadline of " + deadline + " msec exceeded. Cancelling.");
+                future.cancel(true);
+            }
+        }, deadline, TimeUnit.MILLISECONDS);
+    }
+
+    public int getQueueDepth(AccessType accessType) {
+        return getWorkerPool(accessType).getQueueDepth();
+    }
+
+    public int getActiveCount(AccessType accessType) {
+        return getWorkerPool(accessType).getActiveCount();
+    }
+
+    public long getRejectedCount(AccessType accessType) {
+        return getWorkerPool(accessType).getRejectedCount();
+    }
+
+    public List<PoolStatistics> getStatistics() {
+        List<PoolStatistics> statistics = new ArrayList<>();
+        for (AccessType accessType : AccessType.values()) {
+            statistics.add(workerPools.get(accessType).getStatistics());
+            statistics.add(commandPools.get(accessType).getStatistics());
+        }
+        statistics.add(nullWorkerPool.getStatistics());
+        statistics.add(dnsPool.getStatistics());
+        return statistics;
+    }
+
+    private BoundedPool getWorkerPool(AccessType accessType) {
+        return accessType == null ? nullWorkerPool : workerPools.get(accessType);
+    }
+
+    private class DeadlineWorker implements Runnable {
+
+        private final RunnableFuture<?> worker;
+        private final long deadline;
+
+        public DeadlineWorker(RunnableFuture<?> worker, long deadline) {
+            this.worker = worker;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            if (worker.isDone()) {
+                Log.d(NetworkTaskExecutionEngine.class.getName(), "Worker is already done. Skipping deadline.");
+                return;
+            }
+            ScheduledFuture<?> deadlineFuture = scheduleDeadline(worker, deadline);
+            try {
+                worker.run();
+            } finally {
+                deadlineFuture.cancel(false);
+            }
+        }
+    }
+
+    public record PoolStatistics(String name, int poolSize, int activeCount, int queueDepth, int queueCapacity, long completedCount, long rejectedCount) {
+
+    }
+
+    private static class BoundedPool implements RejectedExecutionHandler {
+
+        private final String name;
+        private final int queueCapacity;
+        private final ThreadPoolExecutor executor;
+        private final AtomicLong rejectedCount;
+
+        public BoundedPool(String name, int poolSize, int queueCapacity, long keepAlive) {
+            Log.d(NetworkTaskExecutionEngine.class.getName(), "Creating pool " + name + " with a size of " + poolSize + " and a queue capacity of " + queueCapacity);
+            this.name = name;
+            this.queueCapacity = queueCapacity;
+            this.rejectedCount = new AtomicLong();
+            this.executor = new ThreadPoolExecutor(poolSize, poolSize, keepAlive, TimeUnit.SECONDS, new LinkedBlockingQueue<>(queueCapacity), new NamedThreadFactory(name), this);
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+
+        public void execute(Runnable runnable) {
+            executor.execute(runnable);
+            logQueueDepth();
+        }
+
+        public <T> Future<T> submit(Callable<T> callable) {
+            Future<T> future = executor.submit(callable);
+            logQueueDepth();
+            return future;
+        }
+
+        private void logQueueDepth() {
+            Log.d(NetworkTaskExecutionEngine.class.getName(), "Pool " + name + ": active " + executor.getActiveCount() + ", queued " + executor.getQueue().size() + " of " + queueCapacity);
+        }
+
+        public int getQueueDepth() {
+            return executor.getQueue().size();
+        }
+
+        public int getActiveCount() {
+            return executor.getActiveCount();
+        }
+
+        public long getRejectedCount() {
+            return rejectedCount.get();
+        }
+
+        public PoolStatistics getStatistics() {
+            return new PoolStatistics(name, executor.getMaximumPoolSize(), executor.getActiveCount(), executor.getQueue().size(), queueCapacity, executor.getCompletedTaskCount(), rejectedCount.get());
+        }
+
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+            long rejected = rejectedCount.incrementAndGet();
+            Log.e(NetworkTaskExecutionEngine.class.getName(), "Pool " + name + " is saturated. Queue capacity of " + queueCapacity + " exceeded. Rejected " + rejected + " submissions so far.");
+            throw new RejectedExecutionException("Pool " + name + " is saturated");
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final String name;
+        private final AtomicInteger threadNumber;
+
+        public NamedThreadFactory(String name) {
+            this.name = name;
+            this.threadNumber = new AtomicInteger(1);
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            return new Thread(runnable, "KeepItUp-" + name + "-" + threadNumber.getAndIncrement());
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service;
+
+import androidx.annotation.NonNull;
+
+import net.ibbaa.keepitup.logging.Log;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class NetworkTaskExecutionStatistics {
+
+    public enum Phase {
+        DB,
+        DNS,
+        COMMAND,
+        LOG,
+        NOTIFICATION
+    }
+
+    private final int window;
+    private final Map<Long, TaskSamples> samples;
+
+    public NetworkTaskExecutionStatistics(int window) {
+        this.window = Math.max(1, window);
+        this.samples = new LinkedHashMap<>();
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    public synchronized void record(long networkTaskId, String name, Sample sample) {
+        Log.d(NetworkTaskExecutionStatistics.class.getName(), "record, networkTaskId is " + networkTaskId + ", sample is " + sample);
+        TaskSamples taskSamples = samples.get(networkTaskId);
+        if (taskSamples == null) {
+            taskSamples = new TaskSamples();
+            samples.put(networkTaskId, taskSamples);
+        }
+        taskSamples.name = name;
+        taskSamples.total++;
+        if (taskSamples.window.size() >= window) {
+            taskSamples.window.pollFirst();
+        }
+        taskSamples.window.addLast(sample);
+    }
+
+    public synchronized void remove(long networkTaskId) {
+        samples.remove(networkTaskId);
+    }
+
+    public synchronized void reset() {
+        samples.clear();
+    }
+
+    public synchronized int size() {
+        return samples.size();
+    }
+
+    public synchronized TaskStatistics getStatistics(long networkTaskId) {
+        TaskSamples taskSamples = samples.get(networkTaskId);
+        if (taskSamples == null) {
+            return null;
+        }
+        return aggregate(networkTaskId, taskSamples);
+    }
+
+    public synchronized List<TaskStatistics> getStatistics() {
+        List<TaskStatistics> statistics = new ArrayList<>();
+        for (Map.Entry<Long, TaskSamples> entry : samples.entrySet()) {
+            statistics.add(aggregate(entry.getKey(), entry.getValue()));
+        }
+        return statistics;
+    }
+
+    public String toCSV() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("networktaskid,name,total,samples,wakelock_total_ms,wakelock_avg_ms,wall_avg_ms,wall_max_ms,cpu_avg_ms");
+        for (Phase phase : Phase.values()) {
+            builder.append(",").append(phase.name().toLowerCase(Locale.US)).append("_avg_ms");
+        }
+        builder.append("\n");
+        for (TaskStatistics statistics : getStatistics()) {
+            builder.append(statistics.networkTaskId()).append(",");
+            builder.append(escapeCSV(statistics.name())).append(",");
+            builder.append(statistics.total()).append(",");
+            builder.append(statistics.samples()).append(",");
+            builder.append(toMillis(statistics.wakeLockTotal())).append(",");
+            builder.append(toMillis(statistics.wakeLockAverage())).append(",");
+            builder.append(toMillis(statistics.wallAverage())).append(",");
+            builder.append(toMillis(statistics.wallMax())).append(",");
+            builder.append(toMillis(statistics.cpuAverage()));
+            for (Phase phase : Phase.values()) {
+                builder.append(",").append(toMillis(statistics.getPhaseAverage(phase)));
+            }
+            builder.append("\n");
+        }
+        return builder.toString();
+    }
+
+    public JSONObject toJSON() throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("window", window);
+        JSONArray tasks = new JSONArray();
+        for (TaskStatistics statistics : getStatistics()) {
+            JSONObject task = new JSONObject();
+            task.put("networktaskid", statistics.networkTaskId());
+            task.put("name", statistics.name() == null ? JSONObject.NULL : statistics.name());
+            task.put("total", statistics.total());
+            task.put("samples", statistics.samples());
+            task.put("wakelock_total_ms", toMillis(statistics.wakeLockTotal()));
+            task.put("wakelock_avg_ms", toMillis(statistics.wakeLockAverage()));
+            task.put("wall_avg_ms", toMillis(statistics.wallAverage()));
+            task.put("wall_max_ms", toMillis(statistics.wallMax()));
+            task.put("cpu_avg_ms", toMillis(statistics.cpuAverage()));
+            JSONObject phases = new JSONObject();
+            for (Phase phase : Phase.values()) {
+                phases.put(phase.name().toLowerCase(Locale.US) + "_avg_ms", toMillis(statistics.getPhaseAverage(phase)));
+            }
+            task.put("phases", phases);
+            tasks.put(task);
+        }
+        json.put("tasks", tasks);
+        return json;
+    }
+
+    public static long toMillis(long nanos) {
+        return nanos / 1000000L;
+    }
+
+    private String escapeCSV(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private TaskStatistics aggregate(long networkTaskId, TaskSamples taskSamples) {
+        int count = taskSamples.window.size();
+        long wakeLockTotal = 0;
+        long wallTotal = 0;
+        long wallMax = 0;
+        long cpuTotal = 0;
+        long[] phaseTotal = new long[Phase.values().length];
+        for (Sample sample : taskSamples.window) {
+            wakeLockTotal += sample.wakeLock();
+            wallTotal += sample.wall();
+            wallMax = Math.max(wallMax, sample.wall());
+            cpuTotal += sample.cpu();
+            for (int ii = 0; ii < phaseTotal.length; ii++) {
+                phaseTotal[ii] += sample.getPhase(Phase.values()[ii]);
+            }
+        }
+        long[] phaseAverage = new long[phaseTotal.length];
+        for (int ii = 0; ii < phaseTotal.length; ii++) {
+            phaseAverage[ii] = average(phaseTotal[ii], count);
+        }
+        return new TaskStatistics(networkTaskId, taskSamples.name, taskSamples.total, count, wakeLockTotal, average(wakeLockTotal, count), average(wallTotal, count), wallMax, average(cpuTotal, count), phaseAverage);
+    }
+
+    private long average(long total, int count) {
+        return count == 0 ? 0 : total / count;
+    }
+
+    private static class TaskSamples {
+
+        private final Deque<Sample> window = new ArrayDeque<>();
+        private String name;
+        private long total;
+    }
+
+    public record Sample(long wakeLock, long wall, long cpu, long[] phases) {
+
+        public long getPhase(Phase phase) {
+            return phases[phase.ordinal()];
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "Sample{" + "wakeLock=" + wakeLock + ", wall=" + wall + ", cpu=" + cpu + '}';
+        }
+    }
+
+    public record TaskStatistics(long networkTaskId, String name, long total, int samples, long wakeLockTotal, long wakeLockAverage, long wallAverage, long wallMax, long cpuAverage, long[] phaseAverage) {
+
+        public long getPhaseAverage(Phase phase) {
+            return phaseAverage[phase.ordinal()];
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "TaskStatistics{" + "networkTaskId=" + networkTaskId + ", name='" + name + '\'' + ", total=" + total + ", samples=" + samples + ", wakeLockTotal=" + wakeLockTotal + ", wallAverage=" + wallAverage + ", cpuAverage=" + cpuAverage + '}';
+        }
+    }
+}
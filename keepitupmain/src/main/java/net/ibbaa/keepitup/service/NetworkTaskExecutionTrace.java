@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service;
+
+import android.os.Debug;
+
+import net.ibbaa.keepitup.service.NetworkTaskExecutionStatistics.Phase;
+
+public class NetworkTaskExecutionTrace {
+
+    private final long wakeLockStart;
+    private final long[] phases;
+    private long start;
+    private long cpuStart;
+    private Phase phase;
+    private long phaseStart;
+
+    public NetworkTaskExecutionTrace(long wakeLockStart) {
+        this.wakeLockStart = wakeLockStart;
+        this.phases = new long[Phase.values().length];
+        this.start = -1;
+        this.cpuStart = -1;
+        this.phase = null;
+        this.phaseStart = -1;
+    }
+
+    public synchronized void start() {
+        start = getNanoTime();
+        cpuStart = getThreadCpuTime();
+    }
+
+    public synchronized Phase switchTo(Phase newPhase) {
+        long now = getNanoTime();
+        Phase previousPhase = phase;
+        if (phase != null) {
+            phases[phase.ordinal()] += now - phaseStart;
+        }
+        phase = newPhase;
+        phaseStart = now;
+        return previousPhase;
+    }
+
+    public synchronized NetworkTaskExecutionStatistics.Sample finish() {
+        switchTo(null);
+        long end = getNanoTime();
+        long cpuEnd = getThreadCpuTime();
+        long wall = start < 0 ? 0 : end - start;
+        long cpu = cpuStart < 0 || cpuEnd < 0 ? 0 : cpuEnd - cpuStart;
+        long wakeLock = wakeLockStart < 0 ? wall : end - wakeLockStart;
+        return new NetworkTaskExecutionStatistics.Sample(wakeLock, wall, cpu, phases.clone());
+    }
+
+    protected long getNanoTime() {
+        return System.nanoTime();
+    }
+
+    protected long getThreadCpuTime() {
+        return Debug.threadCpuTimeNanos();
+    }
+}
@@ -29,9 +29,7 @@ import net.ibbaa.keepitup.resources.WorkerFactory;
 import net.ibbaa.keepitup.resources.WorkerFactoryContributor;
 
 import java.util.Objects;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 public class NetworkTaskProcessBroadcastReceiver extends BroadcastReceiver {
 
@@ -45,63 +43,69 @@ public class NetworkTaskProcessBroadcastReceiver extends BroadcastReceiver {
         Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Synchronous execution is " + synchronous);
         PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
         PowerManager.WakeLock wakeLock = null;
-        Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Creating ExecutorService");
-        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        boolean submitted = false;
         try {
             Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Acquiring partial wake lock with a timeout of " + wakeLockTimeout + " msec");
             wakeLock = Objects.requireNonNull(powerManager).newWakeLock(PowerManager.PARTIAL_WAKE_LOCK, "KeepItUp:NetworkTaskProcessBroadcastReceiver");
             wakeLock.acquire(wakeLockTimeout);
-            TimeBasedSuspensionScheduler timeBasedScheduler = createTimeBasedSuspensionScheduler(context);
-            synchronized (TimeBasedSuspensionScheduler.LOCK) {
-                if (timeBasedScheduler.isRunning()) {
-                    Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Time based scheduler is running.");
-                    if (!timeBasedScheduler.isSuspended()) {
-                        Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Time based scheduler is not suspended.");
-                        executeAndReschedule(context, task, wakeLock, synchronous, addToPool, executorService);
-                    } else {
-                        Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Time based scheduler is suspended. Skipping execution and rescheduling.");
-                    }
-                } else {
-                    Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Time based scheduler is not running.");
-                    if (!timeBasedScheduler.isSuspensionActiveAndEnabled()) {
-                        Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Time based scheduler is not active.");
-                        executeAndReschedule(context, task, wakeLock, synchronous, addToPool, executorService);
-                    } else {
-                        Log.e(NetworkTaskProcessBroadcastReceiver.class.getName(), "Time based scheduler is not running but is active. Restarting...");
-                        timeBasedScheduler.start(task);
-                    }
-                }
-            }
+            submitted = processTask(context, task, wakeLock, synchronous, addToPool, wakeLockTimeout);
         } catch (Exception exc) {
             Log.e(NetworkTaskProcessBroadcastReceiver.class.getName(), "Error executing worker", exc);
         } finally {
-            if (wakeLock != null && synchronous && wakeLock.isHeld()) {
+            if (wakeLock != null && !submitted && wakeLock.isHeld()) {
                 Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Releasing partial wake lock");
                 wakeLock.release();
             }
-            Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Shutting down ExecutorService");
-            executorService.shutdown();
         }
     }
 
-    private void executeAndReschedule(Context context, NetworkTask task, PowerManager.WakeLock wakeLock, boolean synchronous, boolean addToPool, ExecutorService executorService) {
+    protected boolean processTask(Context context, NetworkTask task, PowerManager.WakeLock wakeLock, boolean synchronous, boolean addToPool, long deadline) {
+        Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "processTask for " + task);
+        long dispatchStart = System.nanoTime();
+        TimeBasedSuspensionScheduler timeBasedScheduler = createTimeBasedSuspensionScheduler(context);
+        synchronized (TimeBasedSuspensionScheduler.LOCK) {
+            if (timeBasedScheduler.isRunning()) {
+                Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Time based scheduler is running.");
+                if (!timeBasedScheduler.isSuspended()) {
+                    Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Time based scheduler is not suspended.");
+                    return executeAndReschedule(context, task, wakeLock, synchronous, addToPool, deadline, dispatchStart);
+                } else {
+                    Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Time based scheduler is suspended. Skipping execution and rescheduling.");
+                    return false;
+                }
+            } else {
+                Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Time based scheduler is not running.");
+                if (!timeBasedScheduler.isSuspensionActiveAndEnabled()) {
+                    Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Time based scheduler is not active.");
+                    return executeAndReschedule(context, task, wakeLock, synchronous, addToPool, deadline, dispatchStart);
+                } else {
+                    Log.e(NetworkTaskProcessBroadcastReceiver.class.getName(), "Time based scheduler is not running but is active. Restarting...");
+                    timeBasedScheduler.start(task);
+                    return false;
+                }
+            }
+        }
+    }
+
+    private boolean executeAndReschedule(Context context, NetworkTask task, PowerManager.WakeLock wakeLock, boolean synchronous, boolean addToPool, long deadline, long dispatchStart) {
         Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "executeAndReschedule for " + task);
         if (synchronous) {
-            doWork(context, task, wakeLock, true, false, executorService);
+            doWork(context, task, wakeLock, true, false, deadline, dispatchStart);
             rescheduleTask(context, task);
+            return false;
         } else {
             rescheduleTask(context, task);
-            doWork(context, task, wakeLock, false, addToPool, executorService);
+            return doWork(context, task, wakeLock, false, addToPool, deadline, dispatchStart);
         }
     }
 
-    private void doWork(Context context, NetworkTask task, PowerManager.WakeLock wakeLock, boolean synchronous, boolean addToPool, ExecutorService executorService) {
+    private boolean doWork(Context context, NetworkTask task, PowerManager.WakeLock wakeLock, boolean synchronous, boolean addToPool, long deadline, long dispatchStart) {
         Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "doWork, task is " + task);
         Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "synchronous is " + synchronous);
         Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "addToPool is " + addToPool);
         if (isNetworkTaskInvalid(context, task)) {
             Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Network task has been marked as not running. Skipping execution");
-            return;
+            return false;
         }
         WorkerFactoryContributor workerFactoryContributor = new WorkerFactoryContributor(context);
         WorkerFactory workerFactory = workerFactoryContributor.createWorkerFactory();
@@ -109,17 +113,35 @@ public class NetworkTaskProcessBroadcastReceiver extends BroadcastReceiver {
         if (synchronous) {
             NetworkTaskWorker networkTaskWorker = workerFactory.createWorker(context, task, null);
             Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Worker is " + networkTaskWorker.getClass().getName());
+            networkTaskWorker.setDispatchStart(dispatchStart);
             networkTaskWorker.run();
+            return false;
         } else {
             NetworkTaskWorker networkTaskWorker = workerFactory.createWorker(context, task, wakeLock);
             Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Worker is " + networkTaskWorker.getClass().getName());
-            Future<?> networkTaskWorkerFuture = executorService.submit(networkTaskWorker);
-            if (addToPool) {
-                NetworkTaskProcessServiceScheduler.getNetworkTaskProcessPool().pool(task.getSchedulerId(), networkTaskWorkerFuture);
-                Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Added worker to pool");
-            } else {
-                Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Worker not added to pool");
+            networkTaskWorker.setDispatchStart(dispatchStart);
+            NetworkTaskExecutionEngine executionEngine = NetworkTaskProcessServiceScheduler.getNetworkTaskExecutionEngine(context);
+            try {
+                if (addToPool) {
+                    NetworkTaskProcessPool processPool = NetworkTaskProcessServiceScheduler.getNetworkTaskProcessPool();
+                    NetworkTaskProcessPool.PooledFuture networkTaskWorkerFuture = processPool.createFuture(task.getSchedulerId(), networkTaskWorker);
+                    processPool.pool(task.getSchedulerId(), networkTaskWorkerFuture);
+                    try {
+                        executionEngine.executeWorker(task.getAccessType(), networkTaskWorkerFuture, deadline);
+                    } catch (RejectedExecutionException exc) {
+                        networkTaskWorkerFuture.cancel(false);
+                        throw exc;
+                    }
+                    Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Added worker to pool");
+                } else {
+                    executionEngine.submitWorker(task.getAccessType(), networkTaskWorker, deadline);
+                    Log.d(NetworkTaskProcessBroadcastReceiver.class.getName(), "Worker not added to pool");
+                }
+            } catch (RejectedExecutionException exc) {
+                Log.e(NetworkTaskProcessBroadcastReceiver.class.getName(), "Worker rejected. Queue depth is " + executionEngine.getQueueDepth(task.getAccessType()) + ". Skipping execution", exc);
+                return false;
             }
+            return true;
         }
     }
 
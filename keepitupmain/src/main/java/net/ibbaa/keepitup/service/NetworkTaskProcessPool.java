@@ -19,107 +19,179 @@ package net.ibbaa.keepitup.service;
 import net.ibbaa.keepitup.logging.Log;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.Future;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
-@SuppressWarnings({"WhileLoopReplaceableByForEach"})
 public class NetworkTaskProcessPool {
 
-    private final Map<Integer, List<Future<?>>> futurePool;
+    private final ConcurrentHashMap<Integer, FutureSet> futurePool;
+    private final ConcurrentLinkedQueue<StaleFuture> staleFutures;
+    private final AtomicInteger activeCount;
 
     public NetworkTaskProcessPool() {
-        this.futurePool = new HashMap<>();
+        this.futurePool = new ConcurrentHashMap<>();
+        this.staleFutures = new ConcurrentLinkedQueue<>();
+        this.activeCount = new AtomicInteger();
     }
 
     public void reset() {
         futurePool.clear();
+        staleFutures.clear();
+        activeCount.set(0);
     }
 
-    public synchronized void pool(int schedulerId, Future<?> future) {
+    public PooledFuture createFuture(int schedulerId, Runnable runnable) {
+        return new PooledFuture(this, schedulerId, runnable);
+    }
+
+    public void pool(int schedulerId, PooledFuture future) {
         Log.d(NetworkTaskProcessPool.class.getName(), "pool, schedulerId is " + schedulerId);
-        cleanUp();
-        List<Future<?>> futureList = futurePool.get(schedulerId);
-        Log.d(NetworkTaskProcessPool.class.getName(), "futureList is " + futureList);
-        if (futureList == null) {
-            futureList = new ArrayList<>();
-            futurePool.put(schedulerId, futureList);
-        }
-        futureList.add(future);
+        removeStaleFutures();
+        if (future.count()) {
+            activeCount.incrementAndGet();
+        }
+        while (true) {
+            FutureSet futureSet = futurePool.get(schedulerId);
+            if (futureSet == null) {
+                FutureSet newFutureSet = new FutureSet();
+                futureSet = futurePool.putIfAbsent(schedulerId, newFutureSet);
+                if (futureSet == null) {
+                    futureSet = newFutureSet;
+                }
+            }
+            if (futureSet.add(future)) {
+                break;
+            }
+            futurePool.remove(schedulerId, futureSet);
+        }
+        if (future.isDone()) {
+            Log.d(NetworkTaskProcessPool.class.getName(), "Future already completed");
+            if (future.uncount()) {
+                activeCount.decrementAndGet();
+            }
+            staleFutures.add(new StaleFuture(schedulerId, future));
+        }
+    }
+
+    public void deregister(int schedulerId, PooledFuture future) {
+        FutureSet futureSet = futurePool.get(schedulerId);
+        if (futureSet != null && futureSet.remove(future)) {
+            futurePool.remove(schedulerId, futureSet);
+        }
+        if (future.uncount()) {
+            activeCount.decrementAndGet();
+        }
     }
 
-    public synchronized void cancel(int schedulerId) {
+    public void cancel(int schedulerId) {
         Log.d(NetworkTaskProcessPool.class.getName(), "cancel, schedulerId is " + schedulerId);
-        List<Future<?>> futureList = futurePool.get(schedulerId);
-        Log.d(NetworkTaskProcessPool.class.getName(), "futureList is " + futureList);
-        if (futureList == null) {
+        FutureSet futureSet = futurePool.remove(schedulerId);
+        Log.d(NetworkTaskProcessPool.class.getName(), "futureSet is " + futureSet);
+        if (futureSet == null) {
             return;
         }
-        for (Future<?> currentFuture : futureList) {
+        for (PooledFuture currentFuture : futureSet.retire()) {
+            if (currentFuture.uncount()) {
+                activeCount.decrementAndGet();
+            }
             currentFuture.cancel(true);
         }
-        futurePool.remove(schedulerId);
     }
 
-    public synchronized void cancelAll() {
+    public void cancelAll() {
         Log.d(NetworkTaskProcessPool.class.getName(), "cancelAll");
-        Iterator<Integer> keyIterator = new HashSet<>(futurePool.keySet()).iterator();
-        while (keyIterator.hasNext()) {
-            List<Future<?>> futureList = futurePool.get(keyIterator.next());
-            if (futureList != null) {
-                for (Future<?> currentFuture : futureList) {
-                    if (currentFuture != null && !currentFuture.isDone() && !currentFuture.isCancelled()) {
-                        currentFuture.cancel(true);
-                    }
-                }
-            }
+        for (Integer schedulerId : futurePool.keySet()) {
+            cancel(schedulerId);
         }
     }
 
-    public synchronized void cleanUp() {
-        Log.d(NetworkTaskProcessPool.class.getName(), "cleanUp");
-        Iterator<Integer> keyIterator = new HashSet<>(futurePool.keySet()).iterator();
-        while (keyIterator.hasNext()) {
-            cleanUp(keyIterator.next());
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    public boolean hasActive() {
+        Log.d(NetworkTaskProcessPool.class.getName(), "hasActive");
+        return activeCount.get() > 0;
+    }
+
+    private void removeStaleFutures() {
+        StaleFuture staleFuture;
+        while ((staleFuture = staleFutures.poll()) != null) {
+            deregister(staleFuture.schedulerId(), staleFuture.future());
         }
     }
 
-    public synchronized void cleanUp(int schedulerId) {
-        Log.d(NetworkTaskProcessPool.class.getName(), "cleanUp, schedulerId is " + schedulerId);
-        List<Future<?>> futureList = futurePool.get(schedulerId);
-        Log.d(NetworkTaskProcessPool.class.getName(), "futureList is " + futureList);
-        if (futureList == null) {
-            return;
+    private record StaleFuture(int schedulerId, PooledFuture future) {
+    }
+
+    private static class FutureSet {
+
+        private final Set<PooledFuture> futures;
+        private boolean retired;
+
+        private FutureSet() {
+            this.futures = new HashSet<>();
+            this.retired = false;
         }
-        List<Future<?>> cleanedFutureList = new ArrayList<>();
-        for (Future<?> currentFuture : futureList) {
-            if (currentFuture != null && !currentFuture.isDone() && !currentFuture.isCancelled()) {
-                cleanedFutureList.add(currentFuture);
+
+        private synchronized boolean add(PooledFuture future) {
+            if (retired) {
+                return false;
             }
+            futures.add(future);
+            return true;
         }
-        if (cleanedFutureList.isEmpty()) {
-            futurePool.remove(schedulerId);
-        } else {
-            futurePool.put(schedulerId, cleanedFutureList);
+
+        private synchronized boolean remove(PooledFuture future) {
+            futures.remove(future);
+            if (futures.isEmpty()) {
+                retired = true;
+            }
+            return retired;
+        }
+
+        private synchronized List<PooledFuture> retire() {
+            retired = true;
+            List<PooledFuture> retiredFutures = new ArrayList<>(futures);
+            futures.clear();
+            return retiredFutures;
         }
     }
 
-    public synchronized boolean hasActive() {
-        Log.d(NetworkTaskProcessPool.class.getName(), "hasActive");
-        Iterator<Integer> keyIterator = new HashSet<>(futurePool.keySet()).iterator();
-        while (keyIterator.hasNext()) {
-            List<Future<?>> futureList = futurePool.get(keyIterator.next());
-            if (futureList != null) {
-                for (Future<?> currentFuture : futureList) {
-                    if (currentFuture != null && !currentFuture.isDone() && !currentFuture.isCancelled()) {
-                        return true;
-                    }
-                }
-            }
+    public static class PooledFuture extends FutureTask<Void> {
+
+        private final NetworkTaskProcessPool processPool;
+        private final int schedulerId;
+        private final AtomicBoolean counted;
+
+        protected PooledFuture(NetworkTaskProcessPool processPool, int schedulerId, Runnable runnable) {
+            super(runnable, null);
+            this.processPool = processPool;
+            this.schedulerId = schedulerId;
+            this.counted = new AtomicBoolean();
+        }
+
+        public int getSchedulerId() {
+            return schedulerId;
+        }
+
+        private boolean count() {
+            return counted.compareAndSet(false, true);
+        }
+
+        private boolean uncount() {
+            return counted.compareAndSet(true, false);
+        }
+
+        @Override
+        protected void done() {
+            processPool.deregister(schedulerId, this);
         }
-        return false;
     }
 }
@@ -23,17 +23,20 @@ import android.os.Build;
 
 import net.ibbaa.keepitup.R;
 import net.ibbaa.keepitup.db.NetworkTaskDAO;
+import net.ibbaa.keepitup.db.SchedulerIdGenerator;
 import net.ibbaa.keepitup.logging.Log;
 import net.ibbaa.keepitup.model.NetworkTask;
 import net.ibbaa.keepitup.notification.NotificationHandler;
 import net.ibbaa.keepitup.resources.ServiceFactoryContributor;
 import net.ibbaa.keepitup.service.alarm.AlarmService;
+import net.ibbaa.keepitup.service.network.DNSCache;
 import net.ibbaa.keepitup.ui.permission.IPermissionManager;
 import net.ibbaa.keepitup.ui.permission.PermissionManager;
 import net.ibbaa.keepitup.util.ExceptionUtil;
 import net.ibbaa.keepitup.util.NumberUtil;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class NetworkTaskProcessServiceScheduler {
 
@@ -43,6 +46,12 @@ public class NetworkTaskProcessServiceScheduler {
     private final ITimeService timeService;
 
     private static NetworkTaskProcessPool processPool;
+    private static NetworkTaskExecutionEngine executionEngine;
+    private static NetworkTaskDueQueue dueQueue;
+    private static NetworkTaskStartupPlanner startupPlanner;
+    private static NetworkTaskExecutionStatistics executionStatistics;
+    private static NetworkTaskCancellationRegistry cancellationRegistry;
+    private static DNSCache dnsCache;
 
     public enum Delay {
         IMMEDIATE,
@@ -66,6 +75,64 @@ public class NetworkTaskProcessServiceScheduler {
         return processPool;
     }
 
+    public synchronized static NetworkTaskCancellationRegistry getNetworkTaskCancellationRegistry() {
+        Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "getNetworkTaskCancellationRegistry");
+        if (cancellationRegistry == null) {
+            Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "cancellationRegistry is null. Creating...");
+            cancellationRegistry = new NetworkTaskCancellationRegistry();
+        }
+        return cancellationRegistry;
+    }
+
+    public synchronized static NetworkTaskStartupPlanner getNetworkTaskStartupPlanner() {
+        Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "getNetworkTaskStartupPlanner");
+        if (startupPlanner == null) {
+            Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "startupPlanner is null. Creating...");
+            startupPlanner = new NetworkTaskStartupPlanner();
+        }
+        return startupPlanner;
+    }
+
+    public synchronized static NetworkTaskDueQueue getNetworkTaskDueQueue() {
+        Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "getNetworkTaskDueQueue");
+        if (dueQueue == null) {
+            Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "dueQueue is null. Creating...");
+            dueQueue = new NetworkTaskDueQueue();
+        }
+        return dueQueue;
+    }
+
+    public synchronized static NetworkTaskExecutionEngine getNetworkTaskExecutionEngine(Context context) {
+        Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "getNetworkTaskExecutionEngine");
+        if (executionEngine == null) {
+            Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "executionEngine is null. Creating...");
+            executionEngine = new NetworkTaskExecutionEngine(context.getApplicationContext());
+        }
+        return executionEngine;
+    }
+
+    public synchronized static NetworkTaskExecutionStatistics getNetworkTaskExecutionStatistics(Context context) {
+        Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "getNetworkTaskExecutionStatistics");
+        if (executionStatistics == null) {
+            Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "executionStatistics is null. Creating...");
+            executionStatistics = new NetworkTaskExecutionStatistics(context.getResources().getInteger(R.integer.worker_statistics_window));
+        }
+        return executionStatistics;
+    }
+
+    public synchronized static DNSCache getNetworkTaskDNSCache(Context context) {
+        Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "getNetworkTaskDNSCache");
+        if (dnsCache == null) {
+            Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "dnsCache is null. Creating...");
+            int maxEntries = context.getResources().getInteger(R.integer.dns_cache_max_entries);
+            long ttl = TimeUnit.SECONDS.toMillis(context.getResources().getInteger(R.integer.dns_cache_ttl));
+            long negativeTTL = TimeUnit.SECONDS.toMillis(context.getResources().getInteger(R.integer.dns_cache_negative_ttl));
+            long staleTTL = TimeUnit.SECONDS.toMillis(context.getResources().getInteger(R.integer.dns_cache_stale_ttl));
+            dnsCache = new DNSCache(maxEntries, ttl, negativeTTL, staleTTL);
+        }
+        return dnsCache;
+    }
+
     public NetworkTask start(NetworkTask networkTask) {
         Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "start network task " + networkTask);
         networkTask.setRunning(true);
@@ -106,7 +173,6 @@ public class NetworkTaskProcessServiceScheduler {
             return networkTask;
         }
         long delayMillis;
-        PendingIntent pendingIntent = createPendingIntent(databaseTask);
         if (Delay.IMMEDIATE.equals(delay)) {
             Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "Delay is IMMEDIATE. Scheduling alarm immediately.");
             delayMillis = 0;
@@ -115,21 +181,78 @@ public class NetworkTaskProcessServiceScheduler {
             Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "Delay is INTERVAL. Scheduling alarm with delay of " + delayMillis + " msec");
         } else if (Delay.LASTSCHEDULED.equals(delay)) {
             delayMillis = getLastScheduledMilliseconds(networkTask);
+            if (isStartupSpreading()) {
+                delayMillis = planStartupDelay(databaseTask, delayMillis);
+            }
             Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "Delay is LASTSCHEDULED. Scheduling alarm with delay of " + delayMillis + " msec");
         } else {
             Log.e(NetworkTaskProcessServiceScheduler.class.getName(), "Delay is undefined. Scheduling alarm immediately.");
             delayMillis = 0;
         }
-        alarmManager.setAlarm(delayMillis, pendingIntent);
+        if (isDueQueueScheduling()) {
+            Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "Single alarm scheduling or batch execution is active. Adding network task to due queue.");
+            initializeDueQueue();
+            getNetworkTaskDueQueue().schedule(databaseTask, getDueBaseTimestamp(delay) + delayMillis);
+            rearmTick();
+        } else {
+            alarmManager.setAlarm(delayMillis, createPendingIntent(databaseTask));
+        }
         return networkTask;
     }
 
+    public void initializeDueQueue() {
+        Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "initializeDueQueue");
+        NetworkTaskDueQueue queue = getNetworkTaskDueQueue();
+        synchronized (queue) {
+            if (queue.isInitialized()) {
+                Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "Due queue is already initialized.");
+                return;
+            }
+            queue.setInitialized();
+            List<NetworkTask> networkTasks = networkTaskDAO.readAllNetworkTasks();
+            for (NetworkTask currentTask : networkTasks) {
+                if (currentTask.isRunning() && !queue.contains(currentTask.getSchedulerId())) {
+                    long delayMillis = getLastScheduledMilliseconds(currentTask);
+                    if (isStartupSpreading()) {
+                        delayMillis = planStartupDelay(currentTask, delayMillis);
+                    }
+                    long dueTime = timeService.getCurrentTimestamp() + delayMillis;
+                    Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "Restoring network task " + currentTask + " with due time " + dueTime);
+                    queue.schedule(currentTask, dueTime);
+                }
+            }
+        }
+    }
+
+    public void rearmTick() {
+        Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "rearmTick");
+        NetworkTaskDueQueue queue = getNetworkTaskDueQueue();
+        if (queue.isDispatching()) {
+            Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "Due tasks are currently dispatched. Tick will be rearmed afterwards.");
+            return;
+        }
+        long nextDueTime = queue.getNextDueTime();
+        if (nextDueTime < 0) {
+            Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "Due queue is empty. Cancelling tick.");
+            if (hasTickPendingIntent()) {
+                PendingIntent pendingIntent = getTickPendingIntent();
+                alarmManager.cancelAlarm(pendingIntent);
+                pendingIntent.cancel();
+            }
+            return;
+        }
+        long delayMillis = NumberUtil.ensurePositive(nextDueTime - timeService.getCurrentTimestamp());
+        Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "Scheduling tick with delay of " + delayMillis + " msec");
+        alarmManager.setAlarm(delayMillis, createTickPendingIntent());
+    }
+
     public NetworkTask cancel(NetworkTask networkTask) {
         Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "cancel, network task is " + networkTask);
         synchronized (TimeBasedSuspensionScheduler.LOCK) {
             networkTask.setRunning(false);
             networkTaskDAO.updateNetworkTaskRunning(networkTask.getId(), false);
             networkTask.setLastScheduled(-1);
+            getNetworkTaskCancellationRegistry().stop(networkTask.getSchedulerId());
             terminate(networkTask);
             AlarmService.removeNetworkTask(getContext(), networkTask);
             if (!areNetworkTasksRunning()) {
@@ -161,6 +284,10 @@ public class NetworkTaskProcessServiceScheduler {
             alarmManager.cancelAlarm(pendingIntent);
             pendingIntent.cancel();
         }
+        if (getNetworkTaskDueQueue().remove(networkTask.getSchedulerId())) {
+            rearmTick();
+        }
+        getNetworkTaskCancellationRegistry().invalidate(networkTask.getSchedulerId());
         getNetworkTaskProcessPool().cancel(networkTask.getSchedulerId());
         return networkTask;
     }
@@ -251,6 +378,65 @@ public class NetworkTaskProcessServiceScheduler {
         return PendingIntent.getBroadcast(getContext(), networkTask.getSchedulerId(), intent, PendingIntent.FLAG_IMMUTABLE | PendingIntent.FLAG_CANCEL_CURRENT);
     }
 
+    @SuppressWarnings("UnspecifiedImmutableFlag")
+    private boolean hasTickPendingIntent() {
+        Intent intent = new Intent(getContext(), NetworkTaskTickBroadcastReceiver.class);
+        intent.setPackage(getContext().getPackageName());
+        return PendingIntent.getBroadcast(getContext(), SchedulerIdGenerator.NETWORK_TASK_TICK_SCHEDULER_ID, intent, PendingIntent.FLAG_IMMUTABLE | PendingIntent.FLAG_NO_CREATE) != null;
+    }
+
+    @SuppressWarnings("UnspecifiedImmutableFlag")
+    private PendingIntent getTickPendingIntent() {
+        Intent intent = new Intent(getContext(), NetworkTaskTickBroadcastReceiver.class);
+        intent.setPackage(getContext().getPackageName());
+        return PendingIntent.getBroadcast(getContext(), SchedulerIdGenerator.NETWORK_TASK_TICK_SCHEDULER_ID, intent, PendingIntent.FLAG_IMMUTABLE | PendingIntent.FLAG_NO_CREATE);
+    }
+
+    @SuppressWarnings("UnspecifiedImmutableFlag")
+    private PendingIntent createTickPendingIntent() {
+        Intent intent = new Intent(getContext(), NetworkTaskTickBroadcastReceiver.class);
+        intent.setPackage(getContext().getPackageName());
+        return PendingIntent.getBroadcast(getContext(), SchedulerIdGenerator.NETWORK_TASK_TICK_SCHEDULER_ID, intent, PendingIntent.FLAG_IMMUTABLE | PendingIntent.FLAG_UPDATE_CURRENT);
+    }
+
+    protected boolean isStartupSpreading() {
+        return getContext().getResources().getBoolean(R.bool.worker_startup_spreading);
+    }
+
+    private long planStartupDelay(NetworkTask networkTask, long delayMillis) {
+        long maxSpread = getContext().getResources().getInteger(R.integer.worker_startup_spread_max) * 1000L;
+        int burstLimit = getContext().getResources().getInteger(R.integer.worker_startup_burst_limit);
+        return getNetworkTaskStartupPlanner().plan(networkTask.getSchedulerId(), getIntervalMilliseconds(networkTask), delayMillis, timeService.getCurrentTimestamp(), maxSpread, burstLimit);
+    }
+
+    protected boolean isSingleAlarmScheduling() {
+        return getContext().getResources().getBoolean(R.bool.worker_single_alarm_scheduling);
+    }
+
+    protected boolean isBatchExecution() {
+        return getContext().getResources().getBoolean(R.bool.worker_batch_execution);
+    }
+
+    public long getBatchTolerance() {
+        if (!isBatchExecution()) {
+            return 0;
+        }
+        return getContext().getResources().getInteger(R.integer.worker_batch_tolerance) * 1000L;
+    }
+
+    private boolean isDueQueueScheduling() {
+        return isSingleAlarmScheduling() || isBatchExecution();
+    }
+
+    private long getDueBaseTimestamp(Delay delay) {
+        long dispatchTimestamp = getNetworkTaskDueQueue().getDispatchTimestamp();
+        if (isBatchExecution() && Delay.INTERVAL.equals(delay) && dispatchTimestamp >= 0) {
+            Log.d(NetworkTaskProcessServiceScheduler.class.getName(), "Batch is dispatched. Aligning due time to dispatch timestamp " + dispatchTimestamp);
+            return dispatchTimestamp;
+        }
+        return timeService.getCurrentTimestamp();
+    }
+
     private long getIntervalMilliseconds(NetworkTask networkTask) {
         return 60L * 1000 * networkTask.getInterval();
     }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service;
+
+import net.ibbaa.keepitup.logging.Log;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+public class NetworkTaskStartupPlanner {
+
+    private final Map<Long, Integer> startsPerSecond;
+
+    public NetworkTaskStartupPlanner() {
+        this.startsPerSecond = new HashMap<>();
+    }
+
+    public synchronized void reset() {
+        startsPerSecond.clear();
+    }
+
+    public static long getPhaseOffset(int schedulerId, long window) {
+        if (window <= 0) {
+            return 0;
+        }
+        int hash = schedulerId;
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return (hash & 0x7fffffffL) % window;
+    }
+
+    public synchronized long plan(int schedulerId, long interval, long delay, long now, long maxSpread, int burstLimit) {
+        Log.d(NetworkTaskStartupPlanner.class.getName(), "plan, schedulerId is " + schedulerId + ", interval is " + interval + ", delay is " + delay + ", now is " + now);
+        long plannedDelay = delay;
+        if (plannedDelay <= 0) {
+            long window = Math.min(interval, maxSpread);
+            plannedDelay = getPhaseOffset(schedulerId, window);
+            Log.d(NetworkTaskStartupPlanner.class.getName(), "Task is due. Phase offset within a window of " + window + " msec is " + plannedDelay + " msec");
+        }
+        if (burstLimit <= 0) {
+            return plannedDelay;
+        }
+        long nowSecond = now / 1000;
+        long nowMillis = now % 1000;
+        pruneBefore(nowSecond);
+        long second = nowSecond + (nowMillis + plannedDelay) / 1000;
+        Integer starts = startsPerSecond.get(second);
+        while (starts != null && starts >= burstLimit) {
+            second++;
+            plannedDelay = (second - nowSecond) * 1000 - nowMillis;
+            starts = startsPerSecond.get(second);
+        }
+        startsPerSecond.put(second, starts == null ? 1 : starts + 1);
+        Log.d(NetworkTaskStartupPlanner.class.getName(), "Planned delay is " + plannedDelay + " msec");
+        return plannedDelay;
+    }
+
+    public synchronized int getPlannedStarts(long second) {
+        Integer starts = startsPerSecond.get(second);
+        return starts == null ? 0 : starts;
+    }
+
+    private void pruneBefore(long second) {
+        Iterator<Long> secondIterator = startsPerSecond.keySet().iterator();
+        while (secondIterator.hasNext()) {
+            if (secondIterator.next() < second) {
+                secondIterator.remove();
+            }
+        }
+    }
+}
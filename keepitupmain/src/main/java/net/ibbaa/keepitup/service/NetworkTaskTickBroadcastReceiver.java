@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.PowerManager;
+
+import net.ibbaa.keepitup.R;
+import net.ibbaa.keepitup.logging.Log;
+import net.ibbaa.keepitup.model.NetworkTask;
+
+import java.util.List;
+import java.util.Objects;
+
+public class NetworkTaskTickBroadcastReceiver extends NetworkTaskProcessBroadcastReceiver {
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        Log.d(NetworkTaskTickBroadcastReceiver.class.getName(), "onReceive");
+        boolean synchronous = context.getResources().getBoolean(R.bool.worker_synchronous_execution);
+        boolean addToPool = context.getResources().getBoolean(R.bool.worker_add_to_pool);
+        int wakeLockTimeout = context.getResources().getInteger(R.integer.worker_execution_wakelock_timeout) * 1000;
+        Log.d(NetworkTaskTickBroadcastReceiver.class.getName(), "Synchronous execution is " + synchronous);
+        PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        PowerManager.WakeLock wakeLock = null;
+        NetworkTaskProcessServiceScheduler scheduler = createTimeBasedSuspensionScheduler(context).getNetworkTaskScheduler();
+        NetworkTaskDueQueue queue = NetworkTaskProcessServiceScheduler.getNetworkTaskDueQueue();
+        try {
+            Log.d(NetworkTaskTickBroadcastReceiver.class.getName(), "Acquiring partial wake lock with a timeout of " + wakeLockTimeout + " msec");
+            wakeLock = Objects.requireNonNull(powerManager).newWakeLock(PowerManager.PARTIAL_WAKE_LOCK, "KeepItUp:NetworkTaskTickBroadcastReceiver");
+            wakeLock.setReferenceCounted(true);
+            wakeLock.acquire(wakeLockTimeout);
+            scheduler.initializeDueQueue();
+            long timestamp = scheduler.getTimeService().getCurrentTimestamp();
+            long batchTolerance = scheduler.getBatchTolerance();
+            Log.d(NetworkTaskTickBroadcastReceiver.class.getName(), "Batch tolerance is " + batchTolerance + " msec");
+            queue.beginDispatch(timestamp);
+            try {
+                List<NetworkTask> dueTasks = queue.pollDue(timestamp, batchTolerance);
+                Log.d(NetworkTaskTickBroadcastReceiver.class.getName(), "Dispatching " + dueTasks.size() + " due network tasks");
+                for (NetworkTask currentTask : dueTasks) {
+                    dispatch(context, currentTask, wakeLock, synchronous, addToPool, wakeLockTimeout);
+                }
+            } finally {
+                queue.endDispatch();
+            }
+        } catch (Exception exc) {
+            Log.e(NetworkTaskTickBroadcastReceiver.class.getName(), "Error dispatching due network tasks", exc);
+        } finally {
+            scheduler.rearmTick();
+            if (wakeLock != null && wakeLock.isHeld()) {
+                Log.d(NetworkTaskTickBroadcastReceiver.class.getName(), "Releasing partial wake lock");
+                wakeLock.release();
+            }
+        }
+    }
+
+    private void dispatch(Context context, NetworkTask task, PowerManager.WakeLock wakeLock, boolean synchronous, boolean addToPool, long wakeLockTimeout) {
+        Log.d(NetworkTaskTickBroadcastReceiver.class.getName(), "dispatch, task is " + task);
+        boolean submitted = false;
+        if (!synchronous) {
+            Log.d(NetworkTaskTickBroadcastReceiver.class.getName(), "Acquiring shared partial wake lock for worker");
+            wakeLock.acquire(wakeLockTimeout);
+        }
+        try {
+            submitted = processTask(context, task, wakeLock, synchronous, addToPool, wakeLockTimeout);
+        } catch (Exception exc) {
+            Log.e(NetworkTaskTickBroadcastReceiver.class.getName(), "Error executing worker", exc);
+        } finally {
+            if (!synchronous && !submitted && wakeLock.isHeld()) {
+                Log.d(NetworkTaskTickBroadcastReceiver.class.getName(), "Worker was not submitted. Releasing shared partial wake lock");
+                wakeLock.release();
+            }
+        }
+    }
+}
@@ -29,6 +29,7 @@ import net.ibbaa.keepitup.db.LogDAO;
 import net.ibbaa.keepitup.db.NetworkTaskDAO;
 import net.ibbaa.keepitup.logging.Log;
 import net.ibbaa.keepitup.logging.NetworkTaskLog;
+import net.ibbaa.keepitup.model.AccessType;
 import net.ibbaa.keepitup.model.AccessTypeData;
 import net.ibbaa.keepitup.model.LogEntry;
 import net.ibbaa.keepitup.model.NetworkTask;
@@ -36,9 +37,12 @@ import net.ibbaa.keepitup.model.NotificationType;
 import net.ibbaa.keepitup.notification.NotificationHandler;
 import net.ibbaa.keepitup.resources.PreferenceManager;
 import net.ibbaa.keepitup.resources.ServiceFactoryContributor;
+import net.ibbaa.keepitup.service.NetworkTaskExecutionStatistics.Phase;
 import net.ibbaa.keepitup.service.alarm.AlarmService;
+import net.ibbaa.keepitup.service.network.CachedDNSLookup;
 import net.ibbaa.keepitup.service.network.DNSLookup;
 import net.ibbaa.keepitup.service.network.DNSLookupResult;
+import net.ibbaa.keepitup.service.network.DNSStubResolver;
 import net.ibbaa.keepitup.ui.permission.IPermissionManager;
 import net.ibbaa.keepitup.ui.permission.IStoragePermissionManager;
 import net.ibbaa.keepitup.ui.permission.PermissionManager;
@@ -50,12 +54,11 @@ import net.ibbaa.keepitup.util.ExceptionUtil;
 import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.text.SimpleDateFormat;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -71,6 +74,8 @@ public abstract class NetworkTaskWorker implements Runnable {
     private final INetworkManager networkManager;
     private final NotificationHandler notificationHandler;
     private final ITimeService timeService;
+    private long dispatchStart;
+    private NetworkTaskExecutionTrace executionTrace;
 
     public NetworkTaskWorker(Context context, NetworkTask networkTask, PowerManager.WakeLock wakeLock) {
         this.context = context;
@@ -79,6 +84,12 @@ public abstract class NetworkTaskWorker implements Runnable {
         this.networkManager = createNetworkManager();
         this.notificationHandler = createNotificationHandler();
         this.timeService = createTimeService();
+        this.dispatchStart = -1;
+        this.executionTrace = null;
+    }
+
+    public void setDispatchStart(long dispatchStart) {
+        this.dispatchStart = dispatchStart;
     }
 
     public abstract int getMaxInstances();
@@ -91,6 +102,9 @@ public abstract class NetworkTaskWorker implements Runnable {
     public void run() {
         Log.d(NetworkTaskWorker.class.getName(), "run");
         Log.d(NetworkTaskWorker.class.getName(), "Executing worker thread for " + networkTask);
+        executionTrace = createExecutionTrace(dispatchStart);
+        executionTrace.start();
+        executionTrace.switchTo(Phase.DB);
         try {
             NetworkTaskDAO networkTaskDAO = new NetworkTaskDAO(getContext());
             AccessTypeDataDAO accessTypeDataDAO = new AccessTypeDataDAO(getContext());
@@ -109,22 +123,27 @@ public abstract class NetworkTaskWorker implements Runnable {
             networkTaskDAO.updateNetworkTaskLastScheduled(networkTask.getId(), timestamp);
             SimpleDateFormat logTimestampDateFormat = new SimpleDateFormat(LOG_TIMESTAMP_PATTERN, Locale.US);
             Log.d(NetworkTaskWorker.class.getName(), "Updated last scheduled timestamp to " + timestamp + " (" + logTimestampDateFormat.format(timestamp) + ")");
-            LogEntry logEntry = checkInstances();
-            if (logEntry != null) {
-                Log.d(NetworkTaskWorker.class.getName(), "Skipping execution. Too many active instances.");
-                writeLogEntry(databaseTask, logEntry, false);
+            int maxInstances = getMaxInstances();
+            Log.d(NetworkTaskWorker.class.getName(), "Max active instances: " + maxInstances);
+            if (!networkTaskDAO.tryIncreaseNetworkTaskInstances(networkTask.getId(), maxInstances)) {
+                int activeInstances = networkTaskDAO.readNetworkTaskInstances(networkTask.getId());
+                if (activeInstances < 0) {
+                    Log.d(NetworkTaskWorker.class.getName(), "NetworkTask is invalid. Skipping.");
+                    return;
+                }
+                Log.d(NetworkTaskWorker.class.getName(), "Skipping execution. Too many active instances: " + activeInstances);
+                writeLogEntry(databaseTask, getMaxInstancesLogEntry(activeInstances), false);
                 sendNetworkTaskUINotificationBroadcast(databaseTask);
                 return;
             }
-            Log.d(NetworkTaskWorker.class.getName(), "Increasing instances count.");
-            networkTaskDAO.increaseNetworkTaskInstances(networkTask.getId());
+            Log.d(NetworkTaskWorker.class.getName(), "Active instances do not exceed the maximum. Increased instances count.");
             sendNetworkTaskUINotificationBroadcast(databaseTask);
             try {
                 boolean isConnectedWithWifi = networkManager.isConnectedWithWiFi();
                 boolean isConnected = networkManager.isConnected();
                 Log.d(NetworkTaskWorker.class.getName(), "isConnectedWithWifi: " + isConnectedWithWifi);
                 Log.d(NetworkTaskWorker.class.getName(), "isConnectedWithWifi: " + isConnected);
-                logEntry = checkNetwork(isConnectedWithWifi, isConnected);
+                LogEntry logEntry = checkNetwork(isConnectedWithWifi, isConnected);
                 if (logEntry != null) {
                     Log.d(NetworkTaskWorker.class.getName(), "Skipping execution because of the network state.");
                     int oldFailureCount = networkTaskDAO.readNetworkTaskFailureCount(networkTask.getId());
@@ -133,13 +152,16 @@ public abstract class NetworkTaskWorker implements Runnable {
                     return;
                 }
                 Log.d(NetworkTaskWorker.class.getName(), "Executing task...");
+                switchPhase(Phase.COMMAND);
                 ExecutionResult executionResult = execute(networkTask, databaseAccessTypeData);
+                switchPhase(Phase.DB);
                 Log.d(NetworkTaskWorker.class.getName(), "The executed task returned " + executionResult);
                 logEntry = executionResult.getLogEntry();
                 int oldFailureCount = networkTaskDAO.readNetworkTaskFailureCount(networkTask.getId());
                 int newFailureCount = adaptFailureCount(networkTask, oldFailureCount, logEntry, executionResult.isInterrupted(), networkTaskDAO, true, true);
                 writeLogEntry(databaseTask, logEntry, shouldSendNotification(oldFailureCount, newFailureCount));
             } finally {
+                switchPhase(Phase.DB);
                 Log.d(NetworkTaskWorker.class.getName(), "Decreasing instances count.");
                 networkTaskDAO.decreaseNetworkTaskInstances(networkTask.getId());
                 sendNetworkTaskUINotificationBroadcast(databaseTask);
@@ -147,6 +169,7 @@ public abstract class NetworkTaskWorker implements Runnable {
         } catch (Exception exc) {
             Log.e(NetworkTaskWorker.class.getName(), "Fatal error while executing worker and writing log", exc);
         } finally {
+            recordExecution();
             if (wakeLock != null && wakeLock.isHeld()) {
                 Log.d(NetworkTaskWorker.class.getName(), "Releasing partial wake lock");
                 wakeLock.release();
@@ -156,6 +179,15 @@ public abstract class NetworkTaskWorker implements Runnable {
 
     private void writeLogEntry(NetworkTask task, LogEntry logEntry, boolean sendNotification) {
         Log.d(NetworkTaskWorker.class.getName(), "writeLogEntry, log entry is " + logEntry + ", sendNotification is " + sendNotification);
+        Phase previousPhase = switchPhase(Phase.LOG);
+        try {
+            doWriteLogEntry(task, logEntry, sendNotification);
+        } finally {
+            switchPhase(previousPhase);
+        }
+    }
+
+    private void doWriteLogEntry(NetworkTask task, LogEntry logEntry, boolean sendNotification) {
         NetworkTaskDAO networkTaskDAO = new NetworkTaskDAO(getContext());
         NetworkTask databaseTask = networkTaskDAO.readNetworkTask(task.getId());
         if (isNetworkTaskInvalid(databaseTask)) {
@@ -196,18 +228,22 @@ public abstract class NetworkTaskWorker implements Runnable {
 
     private void sendNetworkTaskUINotificationBroadcast(NetworkTask task) {
         Log.d(NetworkTaskWorker.class.getName(), "sendNetworkTaskUINotificationBroadcast for task " + task);
+        Phase previousPhase = switchPhase(Phase.NOTIFICATION);
         Intent mainUIintent = new Intent(NetworkTaskMainUIBroadcastReceiver.class.getName());
         mainUIintent.setPackage(getContext().getPackageName());
         mainUIintent.putExtras(task.toBundle());
         getContext().sendBroadcast(mainUIintent);
+        switchPhase(previousPhase);
     }
 
     private void sendLogEntryUINotificationBroadcast(NetworkTask task) {
         Log.d(NetworkTaskWorker.class.getName(), "sendLogEntryUINotificationBroadcast for task " + task);
+        Phase previousPhase = switchPhase(Phase.NOTIFICATION);
         Intent logUIintent = new Intent(LogEntryUIBroadcastReceiver.class.getName());
         logUIintent.setPackage(getContext().getPackageName());
         logUIintent.putExtras(task.toBundle());
         getContext().sendBroadcast(logUIintent);
+        switchPhase(previousPhase);
     }
 
     private int adaptFailureCount(NetworkTask databaseTask, int oldFailureCount, LogEntry logEntry, boolean interrupted, NetworkTaskDAO networkTaskDAO, boolean isConnectedWithWifi, boolean isConnected) {
@@ -256,6 +292,15 @@ public abstract class NetworkTaskWorker implements Runnable {
 
     private void sendNotification(NetworkTask task, LogEntry logEntry) {
         Log.d(NetworkTaskWorker.class.getName(), "sendNotification for network task " + task + " and log entry " + logEntry);
+        Phase previousPhase = switchPhase(Phase.NOTIFICATION);
+        try {
+            doSendNotification(task, logEntry);
+        } finally {
+            switchPhase(previousPhase);
+        }
+    }
+
+    private void doSendNotification(NetworkTask task, LogEntry logEntry) {
         if (!getPermissionManager().hasPostNotificationsPermission(getContext())) {
             Log.e(NetworkTaskWorker.class.getName(), "Cannot send notification because of missing permission.");
             return;
@@ -271,24 +316,14 @@ public abstract class NetworkTaskWorker implements Runnable {
         }
     }
 
-    private LogEntry checkInstances() {
-        Log.d(NetworkTaskWorker.class.getName(), "checkInstances");
+    private LogEntry getMaxInstancesLogEntry(int activeInstances) {
+        Log.d(NetworkTaskWorker.class.getName(), "getMaxInstancesLogEntry, activeInstances is " + activeInstances);
         LogEntry logEntry = new LogEntry();
         logEntry.setNetworkTaskId(networkTask.getId());
         logEntry.setTimestamp(getTimeService().getCurrentTimestamp());
-        NetworkTaskDAO networkTaskDAO = new NetworkTaskDAO(getContext());
-        int activeInstances = networkTaskDAO.readNetworkTaskInstances(networkTask.getId());
-        int maxInstances = getMaxInstances();
-        Log.d(NetworkTaskWorker.class.getName(), "Currently active instances: " + activeInstances);
-        Log.d(NetworkTaskWorker.class.getName(), "Max active instances: " + maxInstances);
-        if (activeInstances >= maxInstances) {
-            Log.d(NetworkTaskWorker.class.getName(), "Too many active instances.");
-            logEntry.setSuccess(false);
-            logEntry.setMessage(getMaxInstancesErrorMessage(activeInstances));
-            return logEntry;
-        }
-        Log.d(NetworkTaskWorker.class.getName(), "Active instances do not exceed the maximum.");
-        return null;
+        logEntry.setSuccess(false);
+        logEntry.setMessage(getMaxInstancesErrorMessage(activeInstances));
+        return logEntry;
     }
 
     private LogEntry checkNetwork(boolean isConnectedWithWifi, boolean isConnected) {
@@ -312,21 +347,20 @@ public abstract class NetworkTaskWorker implements Runnable {
         return null;
     }
 
-    @SuppressWarnings("resource")
     public DNSExecutionResult executeDNSLookup(String host, boolean preferIp4) {
         Log.d(NetworkTaskWorker.class.getName(), "executeDNSLookup, host is " + host + ", preferIp4 is " + preferIp4);
         Callable<DNSLookupResult> dnsLookup = getDNSLookup(host);
         int timeout = getResources().getInteger(R.integer.dns_lookup_timeout);
-        Log.d(NetworkTaskWorker.class.getName(), "Creating ExecutorService");
-        ExecutorService executorService = Executors.newSingleThreadExecutor();
         Future<DNSLookupResult> dnsLookupResultFuture = null;
         LogEntry logEntry = new LogEntry();
         boolean interrupted = false;
+        Phase previousPhase = switchPhase(Phase.DNS);
         try {
             Log.d(NetworkTaskWorker.class.getName(), "Executing " + dnsLookup.getClass().getSimpleName() + " with a timeout of " + timeout);
-            dnsLookupResultFuture = executorService.submit(dnsLookup);
+            dnsLookupResultFuture = getExecutionEngine().submitDNSLookup(dnsLookup);
             DNSLookupResult dnsLookupResult = dnsLookupResultFuture.get(timeout, TimeUnit.SECONDS);
             Log.d(NetworkTaskWorker.class.getName(), dnsLookup.getClass().getSimpleName() + " returned " + dnsLookupResult);
+            logEntry.setDNSTime(dnsLookupResult.getDuration());
             if (dnsLookupResult.getException() == null) {
                 Log.d(NetworkTaskWorker.class.getName(), "DNS lookup was successful");
                 List<InetAddress> addresses = dnsLookupResult.getAddresses();
@@ -340,7 +374,7 @@ public abstract class NetworkTaskWorker implements Runnable {
                     Log.d(NetworkTaskWorker.class.getName(), "Resolved address is " + address);
                     logEntry.setSuccess(true);
                     logEntry.setMessage(getResources().getString(R.string.text_dns_lookup_successful, dnsLookupResult.getHost(), address.getHostAddress()));
-                    return new DNSExecutionResult(false, logEntry, address);
+                    return new DNSExecutionResult(false, logEntry, address, addresses);
                 }
             } else {
                 Log.d(NetworkTaskWorker.class.getName(), "DNS lookup was not successful because of an exception", dnsLookupResult.getException());
@@ -357,10 +391,37 @@ public abstract class NetworkTaskWorker implements Runnable {
                 interrupted = true;
             }
         } finally {
-            Log.d(NetworkTaskWorker.class.getName(), "Shutting down ExecutorService");
-            executorService.shutdownNow();
+            if (dnsLookupResultFuture != null && !dnsLookupResultFuture.isDone()) {
+                Log.d(NetworkTaskWorker.class.getName(), "Cancelling unfinished command");
+                dnsLookupResultFuture.cancel(true);
+            }
+            switchPhase(previousPhase);
+        }
+        return new DNSExecutionResult(interrupted, logEntry, null, null);
+    }
+
+    private Phase switchPhase(Phase phase) {
+        NetworkTaskExecutionTrace trace = executionTrace;
+        if (trace == null) {
+            return null;
+        }
+        return trace.switchTo(phase);
+    }
+
+    private void recordExecution() {
+        NetworkTaskExecutionTrace trace = executionTrace;
+        if (trace == null) {
+            return;
+        }
+        try {
+            NetworkTaskExecutionStatistics.Sample sample = trace.finish();
+            Log.d(NetworkTaskWorker.class.getName(), "Execution statistics sample is " + sample);
+            getExecutionStatistics().record(networkTask.getId(), networkTask.getName(), sample);
+        } catch (Exception exc) {
+            Log.e(NetworkTaskWorker.class.getName(), "Error recording execution statistics", exc);
+        } finally {
+            executionTrace = null;
         }
-        return new DNSExecutionResult(interrupted, logEntry, null);
     }
 
     private InetAddress findAddress(List<InetAddress> addresses, boolean preferIp4) {
@@ -375,6 +436,19 @@ public abstract class NetworkTaskWorker implements Runnable {
         return addresses.get(0);
     }
 
+    protected boolean isProbeAllAddresses(DNSExecutionResult dnsExecutionResult) {
+        List<InetAddress> addresses = dnsExecutionResult.getAddresses();
+        return isProbeAllAddressesEnabled() && addresses != null && addresses.size() > 1;
+    }
+
+    protected boolean isProbeAllAddressesEnabled() {
+        return getResources().getBoolean(R.bool.network_probe_all_addresses);
+    }
+
+    protected <T> ParallelAddressProbe<T> getParallelAddressProbe(AccessType accessType) {
+        return new ParallelAddressProbe<>(getExecutionEngine(), accessType, getResources().getInteger(R.integer.network_probe_stagger_delay));
+    }
+
     protected String getMessageFromException(String prefixMessage, Throwable exc, int timeout) {
         if (isTimeout(exc)) {
             String unit = getResources().getQuantityString(R.plurals.string_second, timeout);
@@ -425,7 +499,43 @@ public abstract class NetworkTaskWorker implements Runnable {
     }
 
     protected Callable<DNSLookupResult> getDNSLookup(String host) {
-        return new DNSLookup(host);
+        DNSLookup dnsLookup = new DNSLookup(host, getDNSStubResolver());
+        if (!getResources().getBoolean(R.bool.dns_cache_enabled)) {
+            return dnsLookup;
+        }
+        NetworkTaskExecutionEngine executionEngine = getExecutionEngine();
+        return new CachedDNSLookup(NetworkTaskProcessServiceScheduler.getNetworkTaskDNSCache(getContext()), host, dnsLookup, executionEngine::executeDNSRefresh);
+    }
+
+    protected DNSStubResolver getDNSStubResolver() {
+        if (!getResources().getBoolean(R.bool.dns_stub_resolver_enabled)) {
+            return null;
+        }
+        int port = getResources().getInteger(R.integer.dns_stub_resolver_port);
+        List<InetSocketAddress> servers = DNSStubResolver.parseServers(getResources().getString(R.string.dns_stub_resolver_servers), port);
+        if (servers.isEmpty()) {
+            for (InetAddress currentServer : getNetworkManager().getDNSServers()) {
+                servers.add(new InetSocketAddress(currentServer, port));
+            }
+        }
+        if (servers.isEmpty()) {
+            Log.d(NetworkTaskWorker.class.getName(), "No DNS servers available. Using platform resolver.");
+            return null;
+        }
+        Log.d(NetworkTaskWorker.class.getName(), "Using stub resolver with servers " + servers);
+        return new DNSStubResolver(servers, getResources().getInteger(R.integer.dns_stub_resolver_timeout), getResources().getInteger(R.integer.dns_stub_resolver_attempts));
+    }
+
+    protected NetworkTaskExecutionEngine getExecutionEngine() {
+        return NetworkTaskProcessServiceScheduler.getNetworkTaskExecutionEngine(getContext());
+    }
+
+    protected NetworkTaskExecutionStatistics getExecutionStatistics() {
+        return NetworkTaskProcessServiceScheduler.getNetworkTaskExecutionStatistics(getContext());
+    }
+
+    protected NetworkTaskExecutionTrace createExecutionTrace(long wakeLockStart) {
+        return new NetworkTaskExecutionTrace(wakeLockStart);
     }
 
     public Context getContext() {
@@ -451,21 +561,32 @@ public abstract class NetworkTaskWorker implements Runnable {
     public static class DNSExecutionResult extends ExecutionResult {
 
         private final InetAddress address;
+        private final List<InetAddress> addresses;
 
-        public DNSExecutionResult(boolean interrupted, LogEntry logEntry, InetAddress address) {
+        public DNSExecutionResult(boolean interrupted, LogEntry logEntry, InetAddress address, List<InetAddress> addresses) {
             super(interrupted, logEntry);
             this.address = address;
+            this.addresses = addresses;
         }
 
         public InetAddress getAddress() {
             return address;
         }
 
+        public List<InetAddress> getAddresses() {
+            return addresses;
+        }
+
+        public double getDNSTime() {
+            return getLogEntry().getDNSTime();
+        }
+
         @NonNull
         @Override
         public String toString() {
             return "DNSExecutionResult{" +
                     "address=" + address +
+                    ", addresses=" + addresses +
                     ", interrupted=" + isInterrupted() +
                     ", logEntry=" + getLogEntry() +
                     '}';
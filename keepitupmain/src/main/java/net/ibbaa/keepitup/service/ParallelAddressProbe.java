@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service;
+
+import net.ibbaa.keepitup.logging.Log;
+import net.ibbaa.keepitup.model.AccessType;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class ParallelAddressProbe<T> {
+
+    private final NetworkTaskExecutionEngine executionEngine;
+    private final AccessType accessType;
+    private final long staggerDelay;
+
+    public ParallelAddressProbe(NetworkTaskExecutionEngine executionEngine, AccessType accessType, long staggerDelay) {
+        this.executionEngine = executionEngine;
+        this.accessType = accessType;
+        this.staggerDelay = Math.max(0, staggerDelay);
+    }
+
+    public static List<InetAddress> sortAddresses(List<InetAddress> addresses, boolean preferIp4) {
+        List<InetAddress> preferred = new ArrayList<>();
+        List<InetAddress> other = new ArrayList<>();
+        for (InetAddress address : new LinkedHashSet<>(addresses)) {
+            if ((address instanceof Inet4Address) == preferIp4) {
+                preferred.add(address);
+            } else {
+                other.add(address);
+            }
+        }
+        List<InetAddress> sortedAddresses = new ArrayList<>();
+        int size = Math.max(preferred.size(), other.size());
+        for (int ii = 0; ii < size; ii++) {
+            if (ii < preferred.size()) {
+                sortedAddresses.add(preferred.get(ii));
+            }
+            if (ii < other.size()) {
+                sortedAddresses.add(other.get(ii));
+            }
+        }
+        return sortedAddresses;
+    }
+
+    public List<Result<T>> execute(List<InetAddress> addresses, ProbeFactory<T> probeFactory, SuccessCheck<T> successCheck, boolean stopOnSuccess, long timeout) throws InterruptedException {
+        Log.d(ParallelAddressProbe.class.getName(), "execute, addresses are " + addresses + ", stopOnSuccess is " + stopOnSuccess + ", timeout is " + timeout + ", staggerDelay is " + staggerDelay);
+        int count = addresses.size();
+        List<Future<T>> futures = new ArrayList<>(Collections.nCopies(count, null));
+        List<Result<T>> results = new ArrayList<>(Collections.nCopies(count, null));
+        BlockingQueue<Integer> completed = new LinkedBlockingQueue<>();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeout + staggerDelay * Math.max(0, count - 1));
+        long nextStart = start;
+        int started = 0;
+        int running = 0;
+        int finished = 0;
+        boolean succeeded = false;
+        try {
+            while (finished < count) {
+                long now = System.nanoTime();
+                if (started < count && (now >= nextStart || running == 0)) {
+                    InetAddress address = addresses.get(started);
+                    try {
+                        futures.set(started, submit(started, probeFactory.create(address), completed));
+                        running++;
+                    } catch (Exception exc) {
+                        Log.e(ParallelAddressProbe.class.getName(), "Error submitting probe for " + address, exc);
+                        results.set(started, new Result<>(address, false, null, exc, false));
+                        finished++;
+                    }
+                    started++;
+                    nextStart = now + TimeUnit.MILLISECONDS.toNanos(staggerDelay);
+                    continue;
+                }
+                long wait = deadline - now;
+                if (wait <= 0) {
+                    Log.d(ParallelAddressProbe.class.getName(), "Timeout of " + timeout + " msec exceeded.");
+                    break;
+                }
+                if (started < count) {
+                    wait = Math.min(wait, nextStart - now);
+                }
+                Integer index = completed.poll(wait, TimeUnit.NANOSECONDS);
+                if (index == null) {
+                    continue;
+                }
+                Result<T> result = collect(addresses.get(index), futures.get(index), successCheck);
+                Log.d(ParallelAddressProbe.class.getName(), "Probe for " + result.address() + " finished, success is " + result.success());
+                results.set(index, result);
+                running--;
+                finished++;
+                if (result.success() && stopOnSuccess) {
+                    Log.d(ParallelAddressProbe.class.getName(), "Probe was successful. Cancelling remaining probes.");
+                    succeeded = true;
+                    break;
+                }
+            }
+        } finally {
+            for (Future<T> future : futures) {
+                if (future != null && !future.isDone()) {
+                    future.cancel(true);
+                }
+            }
+        }
+        for (int ii = 0; ii < count; ii++) {
+            if (results.get(ii) == null) {
+                boolean cancelled = succeeded || ii >= started;
+                results.set(ii, new Result<>(addresses.get(ii), false, null, cancelled ? null : new TimeoutException(), cancelled));
+            }
+        }
+        return results;
+    }
+
+    private Future<T> submit(int index, Callable<T> probe, BlockingQueue<Integer> completed) {
+        return executionEngine.submitCommand(accessType, () -> {
+            try {
+                return probe.call();
+            } finally {
+                completed.offer(index);
+            }
+        });
+    }
+
+    private Result<T> collect(InetAddress address, Future<T> future, SuccessCheck<T> successCheck) throws InterruptedException {
+        try {
+            T result = future.get();
+            return new Result<>(address, result != null && successCheck.isSuccess(result), result, null, false);
+        } catch (ExecutionException exc) {
+            Throwable cause = exc.getCause() != null ? exc.getCause() : exc;
+            return new Result<>(address, false, null, cause, false);
+        } catch (CancellationException exc) {
+            return new Result<>(address, false, null, null, true);
+        }
+    }
+
+    public interface ProbeFactory<T> {
+        Callable<T> create(InetAddress address);
+    }
+
+    public interface SuccessCheck<T> {
+        boolean isSuccess(T result);
+    }
+
+    public record Result<T>(InetAddress address, boolean success, T result, Throwable exception, boolean cancelled) {
+    }
+}
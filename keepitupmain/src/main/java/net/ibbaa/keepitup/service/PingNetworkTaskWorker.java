@@ -21,10 +21,12 @@ import android.os.PowerManager;
 
 import net.ibbaa.keepitup.R;
 import net.ibbaa.keepitup.logging.Log;
+import net.ibbaa.keepitup.model.AccessType;
 import net.ibbaa.keepitup.model.AccessTypeData;
 import net.ibbaa.keepitup.model.LogEntry;
 import net.ibbaa.keepitup.model.NetworkTask;
 import net.ibbaa.keepitup.resources.PreferenceManager;
+import net.ibbaa.keepitup.service.network.ICMPPingCommand;
 import net.ibbaa.keepitup.service.network.PingCommand;
 import net.ibbaa.keepitup.service.network.PingCommandResult;
 import net.ibbaa.keepitup.service.network.PingOutputParser;
@@ -33,9 +35,8 @@ import net.ibbaa.keepitup.util.StringUtil;
 import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.text.NumberFormat;
+import java.util.List;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -59,6 +60,19 @@ public class PingNetworkTaskWorker extends NetworkTaskWorker {
     public ExecutionResult execute(NetworkTask networkTask, AccessTypeData data) {
         Log.d(PingNetworkTaskWorker.class.getName(), "execute network task is " + networkTask + " and access type data is " + data);
         DNSExecutionResult dnsExecutionResult = executeDNSLookup(networkTask.getAddress(), getResources().getBoolean(R.bool.network_prefer_ipv4));
+        if (dnsExecutionResult.getAddress() != null && isProbeAllAddresses(dnsExecutionResult)) {
+            List<InetAddress> addresses = ParallelAddressProbe.sortAddresses(dnsExecutionResult.getAddresses(), getResources().getBoolean(R.bool.network_prefer_ipv4));
+            Log.d(PingNetworkTaskWorker.class.getName(), "Probing all addresses " + addresses);
+            PreferenceManager preferenceManager = new PreferenceManager(getContext());
+            boolean enforceDefaultPackageSize = preferenceManager.getPreferenceEnforceDefaultPingPackageSize();
+            Log.d(PingNetworkTaskWorker.class.getName(), "enforceDefaultPackageSize is " + enforceDefaultPackageSize);
+            ExecutionResult pingExecutionResult = executePingCommands(addresses, data.getPingCount(), enforceDefaultPackageSize, data.getPingPackageSize(), data.isStopOnSuccess());
+            LogEntry logEntry = pingExecutionResult.getLogEntry();
+            logEntry.setDNSTime(dnsExecutionResult.getDNSTime());
+            completeLogEntry(networkTask, logEntry);
+            Log.d(PingNetworkTaskWorker.class.getName(), "Returning " + pingExecutionResult);
+            return pingExecutionResult;
+        }
         if (dnsExecutionResult.getAddress() != null) {
             InetAddress address = dnsExecutionResult.getAddress();
             Log.d(PingNetworkTaskWorker.class.getName(), "executeDNSLookup returned " + address);
@@ -73,6 +87,7 @@ public class PingNetworkTaskWorker extends NetworkTaskWorker {
             Log.d(PingNetworkTaskWorker.class.getName(), "enforceDefaultPackageSize is " + enforceDefaultPackageSize);
             ExecutionResult pingExecutionResult = executePingCommand(address.getHostAddress(), data.getPingCount(), enforceDefaultPackageSize, data.getPingPackageSize(), data.isStopOnSuccess(), ip6);
             LogEntry logEntry = pingExecutionResult.getLogEntry();
+            logEntry.setDNSTime(dnsExecutionResult.getDNSTime());
             completeLogEntry(networkTask, logEntry);
             Log.d(PingNetworkTaskWorker.class.getName(), "Returning " + pingExecutionResult);
             return pingExecutionResult;
@@ -89,19 +104,16 @@ public class PingNetworkTaskWorker extends NetworkTaskWorker {
         logEntry.setTimestamp(getTimeService().getCurrentTimestamp());
     }
 
-    @SuppressWarnings("resource")
     private ExecutionResult executePingCommand(String address, int pingCount, boolean defaultPackageSize, int packageSize, boolean stopOnSuccess, boolean ip6) {
         Log.d(PingNetworkTaskWorker.class.getName(), "executePingCommand, address is " + address + ", pingCount is " + pingCount + ", defaultPackageSize is " + defaultPackageSize + ", packageSize is " + packageSize + ", ip6 is " + ip6);
         Callable<PingCommandResult> pingCommand = getPingCommand(address, pingCount, defaultPackageSize, packageSize, stopOnSuccess, ip6);
         int timeout = getResources().getInteger(R.integer.ping_timeout) * pingCount * 2;
-        Log.d(PingNetworkTaskWorker.class.getName(), "Creating ExecutorService");
-        ExecutorService executorService = Executors.newSingleThreadExecutor();
         Future<PingCommandResult> pingResultFuture = null;
         LogEntry logEntry = new LogEntry();
         boolean interrupted = false;
         try {
             Log.d(PingNetworkTaskWorker.class.getName(), "Executing " + pingCommand.getClass().getSimpleName() + " with a timeout of " + timeout);
-            pingResultFuture = executorService.submit(pingCommand);
+            pingResultFuture = getExecutionEngine().submitCommand(AccessType.PING, pingCommand);
             PingCommandResult pingResult = pingResultFuture.get(timeout, TimeUnit.SECONDS);
             Log.d(PingNetworkTaskWorker.class.getName(), pingCommand.getClass().getSimpleName() + " returned " + pingResult);
             if (pingResult.exception() == null && pingResult.processReturnCode() == 0) {
@@ -127,8 +139,49 @@ public class PingNetworkTaskWorker extends NetworkTaskWorker {
                 interrupted = true;
             }
         } finally {
-            Log.d(PingNetworkTaskWorker.class.getName(), "Shutting down ExecutorService");
-            executorService.shutdownNow();
+            if (pingResultFuture != null && !pingResultFuture.isDone()) {
+                Log.d(PingNetworkTaskWorker.class.getName(), "Cancelling unfinished command");
+                pingResultFuture.cancel(true);
+            }
+        }
+        return new ExecutionResult(interrupted, logEntry);
+    }
+
+    private ExecutionResult executePingCommands(List<InetAddress> addresses, int pingCount, boolean defaultPackageSize, int packageSize, boolean stopOnSuccess) {
+        Log.d(PingNetworkTaskWorker.class.getName(), "executePingCommands, addresses are " + addresses + ", pingCount is " + pingCount + ", defaultPackageSize is " + defaultPackageSize + ", packageSize is " + packageSize);
+        int timeout = getResources().getInteger(R.integer.ping_timeout) * pingCount * 2;
+        ParallelAddressProbe<PingCommandResult> probe = getParallelAddressProbe(AccessType.PING);
+        LogEntry logEntry = new LogEntry();
+        boolean interrupted = false;
+        try {
+            List<ParallelAddressProbe.Result<PingCommandResult>> results = probe.execute(addresses, address -> getPingCommand(address.getHostAddress(), pingCount, defaultPackageSize, packageSize, stopOnSuccess, address instanceof Inet6Address), pingResult -> pingResult.exception() == null && pingResult.processReturnCode() == 0, stopOnSuccess, timeout * 1000L);
+            Log.d(PingNetworkTaskWorker.class.getName(), "Parallel probe returned " + results);
+            int successful = 0;
+            StringBuilder message = new StringBuilder();
+            for (ParallelAddressProbe.Result<PingCommandResult> result : results) {
+                String address = result.address().getHostAddress();
+                PingCommandResult pingResult = result.result();
+                message.append(" ");
+                if (result.cancelled()) {
+                    message.append(getResources().getString(R.string.text_probe_address_cancelled, address));
+                } else if (pingResult == null) {
+                    message.append(getMessageFromException(getResources().getString(R.string.text_ping_error, address), result.exception(), timeout));
+                } else if (result.success()) {
+                    successful++;
+                    message.append(getPingSuccessMessage(address, getPingOutputMessage(pingResult, stopOnSuccess)));
+                } else if (pingResult.exception() != null) {
+                    message.append(getMessageFromException(getResources().getString(R.string.text_ping_error, address), pingResult.exception(), timeout));
+                } else {
+                    message.append(getPingFailureMessage(pingResult.processReturnCode(), address, getPingOutputMessage(pingResult, stopOnSuccess)));
+                }
+            }
+            logEntry.setSuccess(successful > 0);
+            logEntry.setMessage(getResources().getString(R.string.text_probe_addresses_reachable, successful, results.size()) + message);
+        } catch (InterruptedException exc) {
+            Log.d(PingNetworkTaskWorker.class.getName(), "Parallel probe was interrupted", exc);
+            logEntry.setSuccess(false);
+            logEntry.setMessage(getMessageFromException(getResources().getString(R.string.text_probe_addresses_reachable, 0, addresses.size()), exc, timeout));
+            interrupted = true;
         }
         return new ExecutionResult(interrupted, logEntry);
     }
@@ -178,7 +231,16 @@ public class PingNetworkTaskWorker extends NetworkTaskWorker {
             } else {
                 message += " " + getResources().getString(R.string.text_ping_average_time, averageTime);
             }
-
+            if (parser.getValidTimes() > 1) {
+                String minTime = StringUtil.formatTimeRange(parser.getMinTime(), getContext());
+                String maxTime = StringUtil.formatTimeRange(parser.getMaxTime(), getContext());
+                String deviation = StringUtil.formatTimeRange(parser.getDeviation(), getContext());
+                String jitter = StringUtil.formatTimeRange(parser.getJitter(), getContext());
+                int percentile = getResources().getInteger(R.integer.ping_time_percentile);
+                String percentileTime = StringUtil.formatTimeRange(parser.getPercentileTime(percentile), getContext());
+                message += " " + getResources().getString(R.string.text_ping_time_statistics, minTime, maxTime, deviation, jitter);
+                message += " " + getResources().getString(R.string.text_ping_percentile_time, percentileTime, percentile);
+            }
         }
         if (bytesReceived > 0 && packetsReceived > 0) {
             String bytesReceivedMessage = getResources().getQuantityString(R.plurals.text_ping_bytes_received, bytesReceived, bytesReceived);
@@ -188,6 +250,11 @@ public class PingNetworkTaskWorker extends NetworkTaskWorker {
     }
 
     protected Callable<PingCommandResult> getPingCommand(String address, int pingCount, boolean defaultPackageSize, int packageSize, boolean stopOnSuccess, boolean ip6) {
+        PreferenceManager preferenceManager = new PreferenceManager(getContext());
+        if (preferenceManager.getPreferencePingSocketEngine()) {
+            Log.d(PingNetworkTaskWorker.class.getName(), "Using ICMP datagram socket ping engine");
+            return new ICMPPingCommand(getContext(), address, pingCount, defaultPackageSize, packageSize, stopOnSuccess, ip6);
+        }
         return new PingCommand(getContext(), address, pingCount, defaultPackageSize, packageSize, stopOnSuccess, ip6);
     }
 }
@@ -23,6 +23,7 @@ import android.content.Intent;
 import net.ibbaa.keepitup.BuildConfig;
 import net.ibbaa.keepitup.db.AccessTypeDataDAO;
 import net.ibbaa.keepitup.db.DBOpenHelper;
+import net.ibbaa.keepitup.db.DownloadValidatorDAO;
 import net.ibbaa.keepitup.db.HeaderDAO;
 import net.ibbaa.keepitup.db.LogDAO;
 import net.ibbaa.keepitup.db.NetworkTaskDAO;
@@ -78,6 +79,7 @@ public class StartupService extends BroadcastReceiver {
         Log.d(StartupService.class.getName(), "Cleanup data");
         cleanupAccessTypeData(context);
         cleanupResolve(context);
+        cleanupDownloadValidators(context);
         cleanupHeaders(context);
         cleanupLogs(context);
         Log.d(StartupService.class.getName(), "Initialize SAF flag.");
@@ -163,6 +165,7 @@ public class StartupService extends BroadcastReceiver {
         try {
             NetworkTaskDAO networkTaskDAO = new NetworkTaskDAO(context);
             networkTaskDAO.resetAllNetworkTaskInstances();
+            networkTaskDAO.loadNetworkTaskCounters();
         } catch (Exception exc) {
             Log.e(StartupService.class.getName(), "Error on resetting instances", exc);
         }
@@ -201,6 +204,17 @@ public class StartupService extends BroadcastReceiver {
         }
     }
 
+    private void cleanupDownloadValidators(Context context) {
+        Log.d(StartupService.class.getName(), "cleanupDownloadValidators");
+        try {
+            Log.d(StartupService.class.getName(), "Deleting orphan download validators.");
+            DownloadValidatorDAO downloadValidatorDAO = new DownloadValidatorDAO(context);
+            downloadValidatorDAO.deleteAllOrphanDownloadValidators();
+        } catch (Exception exc) {
+            Log.e(StartupService.class.getName(), "Error on cleaning up download validators", exc);
+        }
+    }
+
     private void cleanupHeaders(Context context) {
         Log.d(StartupService.class.getName(), "cleanupHeaders");
         try {
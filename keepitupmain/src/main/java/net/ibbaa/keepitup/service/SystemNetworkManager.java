@@ -18,10 +18,16 @@ package net.ibbaa.keepitup.service;
 
 import android.content.Context;
 import android.net.ConnectivityManager;
+import android.net.LinkProperties;
+import android.net.Network;
 import android.net.NetworkInfo;
 
 import net.ibbaa.keepitup.logging.Log;
 
+import java.net.InetAddress;
+import java.util.Collections;
+import java.util.List;
+
 @SuppressWarnings({"deprecation", "RedundantSuppression", "ClassCanBeRecord"})
 public class SystemNetworkManager implements INetworkManager {
 
@@ -50,4 +56,18 @@ public class SystemNetworkManager implements INetworkManager {
         }
         return false;
     }
+
+    @Override
+    public List<InetAddress> getDNSServers() {
+        Log.d(SystemNetworkManager.class.getName(), "getDNSServers");
+        Network network = connectivityManager.getActiveNetwork();
+        if (network == null) {
+            return Collections.emptyList();
+        }
+        LinkProperties linkProperties = connectivityManager.getLinkProperties(network);
+        if (linkProperties == null) {
+            return Collections.emptyList();
+        }
+        return linkProperties.getDnsServers();
+    }
 }
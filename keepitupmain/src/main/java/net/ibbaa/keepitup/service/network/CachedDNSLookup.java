@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service.network;
+
+import net.ibbaa.keepitup.logging.Log;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+public class CachedDNSLookup implements Callable<DNSLookupResult> {
+
+    private final DNSCache cache;
+    private final String host;
+    private final Callable<DNSLookupResult> dnsLookup;
+    private final Executor refreshExecutor;
+
+    public CachedDNSLookup(DNSCache cache, String host, Callable<DNSLookupResult> dnsLookup, Executor refreshExecutor) {
+        this.cache = cache;
+        this.host = host;
+        this.dnsLookup = dnsLookup;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public DNSLookupResult call() throws Exception {
+        Log.d(CachedDNSLookup.class.getName(), "call");
+        return cache.lookup(host, dnsLookup, refreshExecutor);
+    }
+}
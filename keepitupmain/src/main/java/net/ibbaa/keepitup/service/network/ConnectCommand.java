@@ -31,6 +31,9 @@ import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketAddress;
 import java.net.SocketTimeoutException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.concurrent.Callable;
 
 public class ConnectCommand implements Callable<ConnectCommandResult> {
@@ -54,11 +57,14 @@ public class ConnectCommand implements Callable<ConnectCommandResult> {
     @Override
     public ConnectCommandResult call() {
         Log.d(ConnectCommand.class.getName(), "call");
+        if (isSelectorConnect()) {
+            return connectWithSelector();
+        }
         int attempts = 0;
         int successfulAttempts = 0;
         int timeouts = 0;
         int errors = 0;
-        long overallTime = 0;
+        double[] attemptTimes = new double[Math.max(0, connectCount)];
         Exception exception = null;
         for (int ii = 0; ii < connectCount; ii++) {
             Log.d(ConnectCommand.class.getName(), "Connection attempt " + (ii + 1));
@@ -67,10 +73,10 @@ public class ConnectCommand implements Callable<ConnectCommandResult> {
                 ConnectionResult result = connect();
                 if (result.isSuccess()) {
                     Log.d(ConnectCommand.class.getName(), "Connection was successful");
+                    attemptTimes[successfulAttempts] = result.getDuration();
                     successfulAttempts++;
-                    overallTime += result.getDuration();
                     if (stopOnSuccess) {
-                        return prepareConnectCommandResult(attempts, successfulAttempts, timeouts, overallTime, exception, errors);
+                        return prepareConnectCommandResult(attempts, successfulAttempts, timeouts, attemptTimes, exception, errors);
                     }
                 } else {
                     Log.d(ConnectCommand.class.getName(), "Connection timeout");
@@ -82,19 +88,85 @@ public class ConnectCommand implements Callable<ConnectCommandResult> {
                 exception = exc;
             }
         }
-        return prepareConnectCommandResult(attempts, successfulAttempts, timeouts, overallTime, exception, errors);
+        return prepareConnectCommandResult(attempts, successfulAttempts, timeouts, attemptTimes, exception, errors);
+    }
+
+    private ConnectCommandResult connectWithSelector() {
+        Log.d(ConnectCommand.class.getName(), "connectWithSelector");
+        ConnectSelector selector = getConnectSelector();
+        InetSocketAddress sockaddr = new InetSocketAddress(address, port);
+        long timeout = getResources().getInteger(R.integer.connect_timeout) * 1000L;
+        int parallelAttempts = stopOnSuccess ? 1 : Math.max(1, getResources().getInteger(R.integer.connect_parallel_attempts));
+        Deque<ConnectSelector.ConnectAttempt> pendingAttempts = new ArrayDeque<>();
+        int attempts = 0;
+        int successfulAttempts = 0;
+        int timeouts = 0;
+        int errors = 0;
+        double[] attemptTimes = new double[Math.max(0, connectCount)];
+        Exception exception = null;
+        try {
+            while (attempts < connectCount || !pendingAttempts.isEmpty()) {
+                while (attempts < connectCount && pendingAttempts.size() < parallelAttempts) {
+                    attempts++;
+                    Log.d(ConnectCommand.class.getName(), "Connection attempt " + attempts + " to " + sockaddr);
+                    try {
+                        pendingAttempts.addLast(selector.connect(sockaddr, timeout));
+                    } catch (Exception exc) {
+                        Log.e(ConnectCommand.class.getName(), "Connection error", exc);
+                        errors++;
+                        exception = exc;
+                    }
+                }
+                ConnectSelector.ConnectAttempt attempt = pendingAttempts.pollFirst();
+                if (attempt == null) {
+                    continue;
+                }
+                if (!attempt.await(timeout + getResources().getInteger(R.integer.connect_selector_grace_period))) {
+                    Log.d(ConnectCommand.class.getName(), "Connection attempt did not complete in time");
+                    attempt.cancel();
+                    timeouts++;
+                } else if (attempt.isSuccess()) {
+                    Log.d(ConnectCommand.class.getName(), "Connection was successful");
+                    attemptTimes[successfulAttempts] = attempt.getDuration();
+                    successfulAttempts++;
+                    if (stopOnSuccess) {
+                        break;
+                    }
+                } else if (attempt.isTimeout()) {
+                    Log.d(ConnectCommand.class.getName(), "Connection timeout");
+                    timeouts++;
+                } else {
+                    Log.e(ConnectCommand.class.getName(), "Connection error", attempt.getException());
+                    errors++;
+                    exception = attempt.getException();
+                }
+            }
+        } catch (InterruptedException exc) {
+            Log.e(ConnectCommand.class.getName(), "Connection attempts were interrupted", exc);
+            exception = exc;
+            Thread.currentThread().interrupt();
+        } finally {
+            for (ConnectSelector.ConnectAttempt attempt : pendingAttempts) {
+                attempt.cancel();
+            }
+        }
+        return prepareConnectCommandResult(attempts, successfulAttempts, timeouts, attemptTimes, exception, errors);
     }
 
-    private static ConnectCommandResult prepareConnectCommandResult(int attempts, int successfulAttempts, int timeouts, long overallTime, Exception exception, int errors) {
+    private static ConnectCommandResult prepareConnectCommandResult(int attempts, int successfulAttempts, int timeouts, double[] attemptTimes, Exception exception, int errors) {
         Log.d(ConnectCommand.class.getName(), "prepareConnectCommandResult");
+        double overallTime = 0;
+        for (int ii = 0; ii < successfulAttempts; ii++) {
+            overallTime += attemptTimes[ii];
+        }
         Log.d(ConnectCommand.class.getName(), "Connection attempts: " + attempts);
         Log.d(ConnectCommand.class.getName(), "Successful connection attempts: " + successfulAttempts);
         Log.d(ConnectCommand.class.getName(), "Timeouts:  " + timeouts);
         Log.d(ConnectCommand.class.getName(), "Overall time:  " + overallTime);
-        double averageTime = successfulAttempts > 0 ? (double) overallTime / successfulAttempts : 0;
+        double averageTime = successfulAttempts > 0 ? overallTime / successfulAttempts : 0;
         Log.d(ConnectCommand.class.getName(), "Average time:  " + averageTime);
         Log.d(ConnectCommand.class.getName(), "Exception:  " + exception);
-        return new ConnectCommandResult(successfulAttempts > 0, attempts, successfulAttempts, timeouts, errors, averageTime, exception);
+        return new ConnectCommandResult(successfulAttempts > 0, attempts, successfulAttempts, timeouts, errors, averageTime, Arrays.copyOf(attemptTimes, successfulAttempts), exception);
     }
 
     protected ConnectionResult connect() throws IOException {
@@ -122,6 +194,14 @@ public class ConnectCommand implements Callable<ConnectCommandResult> {
         }
     }
 
+    protected ConnectSelector getConnectSelector() {
+        return ConnectSelector.getInstance();
+    }
+
+    protected boolean isSelectorConnect() {
+        return getResources().getBoolean(R.bool.connect_selector_engine);
+    }
+
     private ITimeService createTimeService() {
         ServiceFactoryContributor factoryContributor = new ServiceFactoryContributor(getContext());
         return factoryContributor.createServiceFactory().createTimeService();
@@ -16,6 +16,37 @@
 
 package net.ibbaa.keepitup.service.network;
 
-public record ConnectCommandResult(boolean success, int attempts, int successfulAttempts, int timeoutAttempts, int errorAttempts, double averageTime, Throwable exception) {
+import java.util.Arrays;
 
+public record ConnectCommandResult(boolean success, int attempts, int successfulAttempts, int timeoutAttempts, int errorAttempts, double averageTime, double[] attemptTimes, Throwable exception) {
+
+    public ConnectCommandResult(boolean success, int attempts, int successfulAttempts, int timeoutAttempts, int errorAttempts, double averageTime, Throwable exception) {
+        this(success, attempts, successfulAttempts, timeoutAttempts, errorAttempts, averageTime, new double[0], exception);
+    }
+
+    public double minTime() {
+        double min = 0;
+        for (int ii = 0; ii < attemptTimes.length; ii++) {
+            min = ii == 0 ? attemptTimes[ii] : Math.min(min, attemptTimes[ii]);
+        }
+        return min;
+    }
+
+    public double maxTime() {
+        double max = 0;
+        for (double time : attemptTimes) {
+            max = Math.max(max, time);
+        }
+        return max;
+    }
+
+    public double percentileTime(double percentile) {
+        if (attemptTimes.length == 0) {
+            return 0;
+        }
+        double[] sortedTimes = attemptTimes.clone();
+        Arrays.sort(sortedTimes);
+        int rank = (int) Math.ceil(Math.max(0.0, Math.min(100.0, percentile)) / 100.0 * sortedTimes.length);
+        return sortedTimes[Math.max(0, rank - 1)];
+    }
 }
@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service.network;
+
+import net.ibbaa.keepitup.logging.Log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class ConnectSelector implements Runnable {
+
+    private final static long IDLE_TIMEOUT = 30000;
+
+    private static ConnectSelector instance;
+
+    private final Queue<ConnectAttempt> registrations;
+    private final Set<ConnectAttempt> activeAttempts;
+    private Selector selector;
+    private Thread selectorThread;
+
+    ConnectSelector() {
+        this.registrations = new ConcurrentLinkedQueue<>();
+        this.activeAttempts = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        this.selector = null;
+        this.selectorThread = null;
+    }
+
+    public synchronized static ConnectSelector getInstance() {
+        if (instance == null) {
+            instance = new ConnectSelector();
+        }
+        return instance;
+    }
+
+    public ConnectAttempt connect(InetSocketAddress address, long timeout) throws IOException {
+        Log.d(ConnectSelector.class.getName(), "connect, address is " + address + ", timeout is " + timeout);
+        SocketChannel channel = SocketChannel.open();
+        try {
+            channel.configureBlocking(false);
+            ConnectAttempt attempt = new ConnectAttempt(this, channel, address, timeout);
+            if (channel.connect(address)) {
+                Log.d(ConnectSelector.class.getName(), "Connection to " + address + " established immediately");
+                attempt.complete(true, null);
+                return attempt;
+            }
+            synchronized (this) {
+                open();
+                activeAttempts.add(attempt);
+                registrations.add(attempt);
+                selector.wakeup();
+            }
+            return attempt;
+        } catch (IOException exc) {
+            closeQuietly(channel);
+            throw exc;
+        }
+    }
+
+    public int getPendingCount() {
+        return activeAttempts.size();
+    }
+
+    public synchronized void shutdown() {
+        Log.d(ConnectSelector.class.getName(), "shutdown");
+        if (selector != null) {
+            closeQuietly(selector);
+        }
+        selector = null;
+        selectorThread = null;
+        ConnectAttempt attempt;
+        while ((attempt = registrations.poll()) != null) {
+            attempt.complete(false, new IOException("Connect selector was shut down"));
+        }
+        for (ConnectAttempt activeAttempt : activeAttempts) {
+            activeAttempt.complete(false, new IOException("Connect selector was shut down"));
+        }
+    }
+
+    private void open() throws IOException {
+        if (selector != null) {
+            return;
+        }
+        Log.d(ConnectSelector.class.getName(), "Opening selector");
+        selector = Selector.open();
+        selectorThread = new Thread(this, "ConnectSelector");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+
+    @Override
+    public void run() {
+        Log.d(ConnectSelector.class.getName(), "Starting selector loop");
+        long lastActivity = System.currentTimeMillis();
+        while (true) {
+            Selector currentSelector;
+            synchronized (this) {
+                if (selectorThread != Thread.currentThread() || selector == null) {
+                    break;
+                }
+                currentSelector = selector;
+                if (registrations.isEmpty() && currentSelector.keys().isEmpty() && System.currentTimeMillis() - lastActivity > IDLE_TIMEOUT) {
+                    Log.d(ConnectSelector.class.getName(), "Selector is idle. Closing selector.");
+                    closeQuietly(currentSelector);
+                    selector = null;
+                    selectorThread = null;
+                    break;
+                }
+            }
+            try {
+                registerPending(currentSelector);
+                currentSelector.select(getSelectTimeout(currentSelector));
+                long now = System.nanoTime();
+                processSelected(currentSelector, now);
+                processTimeouts(currentSelector, now);
+                if (!currentSelector.keys().isEmpty()) {
+                    lastActivity = System.currentTimeMillis();
+                }
+            } catch (Exception exc) {
+                Log.e(ConnectSelector.class.getName(), "Error in selector loop", exc);
+                synchronized (this) {
+                    if (selector == currentSelector) {
+                        failAll(currentSelector, exc);
+                        closeQuietly(currentSelector);
+                        selector = null;
+                        selectorThread = null;
+                    }
+                }
+                break;
+            }
+        }
+        Log.d(ConnectSelector.class.getName(), "Selector loop finished");
+    }
+
+    private void registerPending(Selector currentSelector) {
+        ConnectAttempt attempt;
+        while ((attempt = registrations.poll()) != null) {
+            try {
+                attempt.channel.register(currentSelector, SelectionKey.OP_CONNECT, attempt);
+            } catch (Exception exc) {
+                Log.e(ConnectSelector.class.getName(), "Error registering channel for " + attempt.getAddress(), exc);
+                attempt.complete(false, exc instanceof IOException ? (IOException) exc : new IOException(exc));
+            }
+        }
+    }
+
+    private long getSelectTimeout(Selector currentSelector) {
+        long now = System.nanoTime();
+        long timeout = IDLE_TIMEOUT;
+        for (SelectionKey key : currentSelector.keys()) {
+            ConnectAttempt attempt = (ConnectAttempt) key.attachment();
+            timeout = Math.min(timeout, (attempt.deadline - now) / 1000000L);
+        }
+        return Math.max(1, timeout);
+    }
+
+    private void processSelected(Selector currentSelector, long now) {
+        Iterator<SelectionKey> iterator = currentSelector.selectedKeys().iterator();
+        while (iterator.hasNext()) {
+            SelectionKey key = iterator.next();
+            iterator.remove();
+            ConnectAttempt attempt = (ConnectAttempt) key.attachment();
+            key.cancel();
+            try {
+                if (attempt.channel.finishConnect()) {
+                    attempt.complete(true, null, now);
+                } else {
+                    attempt.complete(false, new IOException("Connection to " + attempt.getAddress() + " not finished"), now);
+                }
+            } catch (IOException exc) {
+                attempt.complete(false, exc, now);
+            }
+        }
+    }
+
+    private void processTimeouts(Selector currentSelector, long now) {
+        List<SelectionKey> expired = new ArrayList<>();
+        for (SelectionKey key : currentSelector.keys()) {
+            ConnectAttempt attempt = (ConnectAttempt) key.attachment();
+            if (key.isValid() && now - attempt.deadline >= 0) {
+                expired.add(key);
+            }
+        }
+        for (SelectionKey key : expired) {
+            ConnectAttempt attempt = (ConnectAttempt) key.attachment();
+            key.cancel();
+            attempt.complete(false, null, now);
+        }
+    }
+
+    private void failAll(Selector currentSelector, Exception exc) {
+        IOException exception = exc instanceof IOException ? (IOException) exc : new IOException(exc);
+        for (SelectionKey key : currentSelector.keys()) {
+            ((ConnectAttempt) key.attachment()).complete(false, exception);
+        }
+        ConnectAttempt attempt;
+        while ((attempt = registrations.poll()) != null) {
+            attempt.complete(false, exception);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception exc) {
+            Log.e(ConnectSelector.class.getName(), "Error closing " + closeable, exc);
+        }
+    }
+
+    public static class ConnectAttempt {
+
+        private final ConnectSelector owner;
+        private final SocketChannel channel;
+        private final InetSocketAddress address;
+        private final long start;
+        private final long deadline;
+        private final CountDownLatch completeLatch;
+        private volatile boolean success;
+        private volatile IOException exception;
+        private volatile long end;
+
+        private ConnectAttempt(ConnectSelector owner, SocketChannel channel, InetSocketAddress address, long timeout) {
+            this.owner = owner;
+            this.channel = channel;
+            this.address = address;
+            this.start = System.nanoTime();
+            this.deadline = start + timeout * 1000000L;
+            this.completeLatch = new CountDownLatch(1);
+            this.success = false;
+            this.exception = null;
+            this.end = -1;
+        }
+
+        public InetSocketAddress getAddress() {
+            return address;
+        }
+
+        public boolean await(long timeout) throws InterruptedException {
+            return completeLatch.await(timeout, TimeUnit.MILLISECONDS);
+        }
+
+        public boolean isDone() {
+            return completeLatch.getCount() == 0;
+        }
+
+        public boolean isSuccess() {
+            return isDone() && success;
+        }
+
+        public boolean isTimeout() {
+            return isDone() && !success && exception == null;
+        }
+
+        public IOException getException() {
+            return exception;
+        }
+
+        public double getDuration() {
+            if (!isDone()) {
+                return -1;
+            }
+            return (end - start) / 1000000.0;
+        }
+
+        public void cancel() {
+            complete(false, new SocketTimeoutException("Connection attempt to " + address + " was cancelled"));
+        }
+
+        private void complete(boolean success, IOException exception) {
+            complete(success, exception, System.nanoTime());
+        }
+
+        private synchronized void complete(boolean success, IOException exception, long end) {
+            if (isDone()) {
+                return;
+            }
+            this.success = success;
+            this.exception = exception;
+            this.end = end;
+            closeQuietly(channel);
+            owner.activeAttempts.remove(this);
+            completeLatch.countDown();
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service.network;
+
+import net.ibbaa.keepitup.logging.Log;
+
+import java.net.InetAddress;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DNSCache {
+
+    private final int maxEntries;
+    private final long ttl;
+    private final long negativeTTL;
+    private final long staleTTL;
+    private final Map<String, Entry> entries;
+    private final ConcurrentHashMap<String, FutureTask<DNSLookupResult>> inFlight;
+    private final AtomicLong hits;
+    private final AtomicLong staleHits;
+    private final AtomicLong negativeHits;
+    private final AtomicLong misses;
+    private final AtomicLong coalesced;
+    private final AtomicLong refreshes;
+    private final AtomicLong resolveCount;
+    private final AtomicLong resolveTime;
+
+    public DNSCache(int maxEntries, long ttl, long negativeTTL, long staleTTL) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttl = ttl;
+        this.negativeTTL = negativeTTL;
+        this.staleTTL = staleTTL;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > DNSCache.this.maxEntries;
+            }
+        };
+        this.inFlight = new ConcurrentHashMap<>();
+        this.hits = new AtomicLong();
+        this.staleHits = new AtomicLong();
+        this.negativeHits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.coalesced = new AtomicLong();
+        this.refreshes = new AtomicLong();
+        this.resolveCount = new AtomicLong();
+        this.resolveTime = new AtomicLong();
+    }
+
+    public DNSLookupResult lookup(String host, Callable<DNSLookupResult> resolver, Executor refreshExecutor) throws Exception {
+        Log.d(DNSCache.class.getName(), "lookup, host is " + host);
+        long start = System.nanoTime();
+        String key = getKey(host);
+        long now = getCurrentTime();
+        Entry entry = getEntry(key);
+        if (entry != null) {
+            if (now < entry.expires) {
+                if (entry.isNegative()) {
+                    Log.d(DNSCache.class.getName(), "Negative cache hit for " + host);
+                    negativeHits.incrementAndGet();
+                } else {
+                    Log.d(DNSCache.class.getName(), "Cache hit for " + host);
+                    hits.incrementAndGet();
+                }
+                return entry.toResult(getDuration(start));
+            }
+            if (!entry.isNegative() && now < entry.staleUntil) {
+                Log.d(DNSCache.class.getName(), "Stale cache hit for " + host + ". Refreshing in background.");
+                staleHits.incrementAndGet();
+                refresh(key, resolver, refreshExecutor);
+                return entry.toResult(getDuration(start));
+            }
+        }
+        Log.d(DNSCache.class.getName(), "Cache miss for " + host);
+        misses.incrementAndGet();
+        DNSLookupResult result = resolve(key, resolver);
+        return copyResult(result, getDuration(start));
+    }
+
+    private DNSLookupResult resolve(String key, Callable<DNSLookupResult> resolver) throws Exception {
+        FutureTask<DNSLookupResult> task = new FutureTask<>(() -> resolveAndStore(key, resolver, false));
+        FutureTask<DNSLookupResult> existingTask = inFlight.putIfAbsent(key, task);
+        if (existingTask != null) {
+            Log.d(DNSCache.class.getName(), "Lookup for " + key + " is already in progress. Waiting for result.");
+            coalesced.incrementAndGet();
+            return getResult(existingTask);
+        }
+        try {
+            task.run();
+            return getResult(task);
+        } finally {
+            inFlight.remove(key, task);
+        }
+    }
+
+    private void refresh(String key, Callable<DNSLookupResult> resolver, Executor refreshExecutor) {
+        FutureTask<DNSLookupResult> task = new FutureTask<>(() -> resolveAndStore(key, resolver, true));
+        if (inFlight.putIfAbsent(key, task) != null) {
+            Log.d(DNSCache.class.getName(), "Lookup for " + key + " is already in progress. Skipping refresh.");
+            return;
+        }
+        refreshes.incrementAndGet();
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    inFlight.remove(key, task);
+                }
+            });
+        } catch (RejectedExecutionException exc) {
+            Log.e(DNSCache.class.getName(), "Refresh for " + key + " was rejected", exc);
+            inFlight.remove(key, task);
+        }
+    }
+
+    private DNSLookupResult resolveAndStore(String key, Callable<DNSLookupResult> resolver, boolean refresh) throws Exception {
+        long start = System.nanoTime();
+        DNSLookupResult result = resolver.call();
+        resolveCount.incrementAndGet();
+        resolveTime.addAndGet(System.nanoTime() - start);
+        boolean negative = isNegative(result);
+        long now = getCurrentTime();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (negative && refresh && entry != null && !entry.isNegative() && now < entry.staleUntil) {
+                Log.d(DNSCache.class.getName(), "Refresh for " + key + " failed. Keeping stale entry.");
+                return result;
+            }
+            long entryTTL = negative ? negativeTTL : getTTL(result);
+            Log.d(DNSCache.class.getName(), "Caching result for " + key + " with a ttl of " + entryTTL + " msec");
+            entries.put(key, new Entry(result, now + entryTTL, now + entryTTL + (negative ? 0 : staleTTL)));
+        }
+        return result;
+    }
+
+    private DNSLookupResult getResult(FutureTask<DNSLookupResult> task) throws Exception {
+        try {
+            return task.get();
+        } catch (ExecutionException exc) {
+            Throwable cause = exc.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw exc;
+        }
+    }
+
+    private long getTTL(DNSLookupResult result) {
+        if (result.getTTL() >= 0) {
+            return result.getTTL() * 1000;
+        }
+        return ttl;
+    }
+
+    private boolean isNegative(DNSLookupResult result) {
+        if (result == null || result.getException() != null) {
+            return true;
+        }
+        List<InetAddress> addresses = result.getAddresses();
+        return addresses == null || addresses.isEmpty();
+    }
+
+    private Entry getEntry(String key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    private String getKey(String host) {
+        return host == null ? "" : host.toLowerCase(Locale.US);
+    }
+
+    private DNSLookupResult copyResult(DNSLookupResult result, double duration) {
+        if (result == null) {
+            return null;
+        }
+        return new DNSLookupResult(result.getAddresses(), result.getHost(), result.getException(), duration, result.getTTL());
+    }
+
+    private double getDuration(long start) {
+        return (System.nanoTime() - start) / 1000000.0;
+    }
+
+    protected long getCurrentTime() {
+        return System.nanoTime() / 1000000L;
+    }
+
+    public void clear() {
+        Log.d(DNSCache.class.getName(), "clear");
+        synchronized (entries) {
+            entries.clear();
+        }
+        hits.set(0);
+        staleHits.set(0);
+        negativeHits.set(0);
+        misses.set(0);
+        coalesced.set(0);
+        refreshes.set(0);
+        resolveCount.set(0);
+        resolveTime.set(0);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(hits.get(), staleHits.get(), negativeHits.get(), misses.get(), coalesced.get(), refreshes.get(), resolveCount.get(), resolveTime.get());
+    }
+
+    public record Statistics(long hits, long staleHits, long negativeHits, long misses, long coalesced, long refreshes, long resolveCount, long resolveTime) {
+
+        public long lookups() {
+            return hits + staleHits + negativeHits + misses;
+        }
+
+        public double hitRate() {
+            long lookups = lookups();
+            return lookups == 0 ? 0 : (double) (hits + staleHits + negativeHits) / lookups;
+        }
+
+        public long resolveAverage() {
+            return resolveCount == 0 ? 0 : resolveTime / resolveCount;
+        }
+    }
+
+    private class Entry {
+
+        private final DNSLookupResult result;
+        private final long expires;
+        private final long staleUntil;
+
+        private Entry(DNSLookupResult result, long expires, long staleUntil) {
+            this.result = result;
+            this.expires = expires;
+            this.staleUntil = staleUntil;
+        }
+
+        private boolean isNegative() {
+            return DNSCache.this.isNegative(result);
+        }
+
+        private DNSLookupResult toResult(double duration) {
+            return copyResult(result, duration);
+        }
+    }
+}
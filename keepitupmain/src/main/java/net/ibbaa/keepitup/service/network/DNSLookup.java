@@ -17,6 +17,7 @@
 package net.ibbaa.keepitup.service.network;
 
 import net.ibbaa.keepitup.logging.Log;
+import net.ibbaa.keepitup.util.URLUtil;
 
 import java.net.IDN;
 import java.net.InetAddress;
@@ -27,26 +28,55 @@ import java.util.concurrent.Callable;
 public class DNSLookup implements Callable<DNSLookupResult> {
 
     private final String host;
+    private final DNSStubResolver stubResolver;
 
     public DNSLookup(String host) {
+        this(host, null);
+    }
+
+    public DNSLookup(String host, DNSStubResolver stubResolver) {
         this.host = host;
+        this.stubResolver = stubResolver;
     }
 
     @Override
     public DNSLookupResult call() {
         Log.d(DNSLookup.class.getName(), "call");
         String asciiHost = host;
+        long start = System.nanoTime();
         try {
             try {
                 asciiHost = IDN.toASCII(host);
             } catch (Exception exc) {
                 Log.e(DNSLookup.class.getName(), "Exception using toASCII on " + host, exc);
             }
+            if (stubResolver != null && isStubResolvable(asciiHost)) {
+                try {
+                    DNSStubResolver.Result result = stubResolver.resolve(asciiHost);
+                    Log.d(DNSLookup.class.getName(), "Stub resolver returned " + result);
+                    return new DNSLookupResult(result.addresses(), asciiHost, null, getDuration(start), result.ttl());
+                } catch (DNSStubResolver.NameNotFoundException exc) {
+                    throw exc;
+                } catch (Exception exc) {
+                    Log.e(DNSLookup.class.getName(), "Stub resolver failed. Falling back to platform resolver.", exc);
+                }
+            }
             InetAddress[] addresses = InetAddress.getAllByName(IDN.toASCII(asciiHost));
-            return new DNSLookupResult(Arrays.asList(addresses), asciiHost, null);
+            return new DNSLookupResult(Arrays.asList(addresses), asciiHost, null, getDuration(start));
         } catch (Exception exc) {
             Log.e(DNSLookup.class.getName(), "Error executing DNS lookup", exc);
-            return new DNSLookupResult(Collections.emptyList(), asciiHost, exc);
+            return new DNSLookupResult(Collections.emptyList(), asciiHost, exc, getDuration(start));
+        }
+    }
+
+    private boolean isStubResolvable(String host) {
+        if (URLUtil.isValidIPAddress(host)) {
+            return false;
         }
+        return host.indexOf('.') > 0;
+    }
+
+    private double getDuration(long start) {
+        return (System.nanoTime() - start) / 1000000.0;
     }
 }
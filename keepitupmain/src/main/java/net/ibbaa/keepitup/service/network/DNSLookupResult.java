@@ -28,17 +28,31 @@ public class DNSLookupResult {
     private final List<InetAddress> addresses;
     private final String host;
     private final Throwable exception;
+    private final double duration;
+    private final long ttl;
 
     public DNSLookupResult(InetAddress address, String host, Throwable exception) {
         this.addresses = Collections.singletonList(address);
         this.host = host;
         this.exception = exception;
+        this.duration = -1;
+        this.ttl = -1;
     }
 
     public DNSLookupResult(List<InetAddress> addresses, String host, Throwable exception) {
+        this(addresses, host, exception, -1);
+    }
+
+    public DNSLookupResult(List<InetAddress> addresses, String host, Throwable exception, double duration) {
+        this(addresses, host, exception, duration, -1);
+    }
+
+    public DNSLookupResult(List<InetAddress> addresses, String host, Throwable exception, double duration, long ttl) {
         this.addresses = addresses;
         this.host = host;
         this.exception = exception;
+        this.duration = duration;
+        this.ttl = ttl;
     }
 
     public List<InetAddress> getAddresses() {
@@ -53,6 +67,14 @@ public class DNSLookupResult {
         return exception;
     }
 
+    public double getDuration() {
+        return duration;
+    }
+
+    public long getTTL() {
+        return ttl;
+    }
+
     @NonNull
     @Override
     public String toString() {
@@ -60,6 +82,8 @@ public class DNSLookupResult {
                 "addresses=" + addresses +
                 ", host='" + host + '\'' +
                 ", exception=" + exception +
+                ", duration=" + duration +
+                ", ttl=" + ttl +
                 '}';
     }
 }
@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service.network;
+
+import net.ibbaa.keepitup.logging.Log;
+import net.ibbaa.keepitup.util.StringUtil;
+import net.ibbaa.keepitup.util.URLUtil;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class DNSStubResolver {
+
+    public final static int TYPE_A = 1;
+    public final static int TYPE_CNAME = 5;
+    public final static int TYPE_AAAA = 28;
+    public final static int CLASS_IN = 1;
+
+    public final static int RCODE_NOERROR = 0;
+    public final static int RCODE_NXDOMAIN = 3;
+
+    private final static int HEADER_LENGTH = 12;
+    private final static int MAX_UDP_LENGTH = 4096;
+    private final static int MAX_LABEL_LENGTH = 63;
+    private final static int MAX_NAME_LENGTH = 255;
+    private final static int FLAG_QR = 0x8000;
+    private final static int FLAG_TC = 0x0200;
+    private final static int FLAG_RD = 0x0100;
+
+    private final List<InetSocketAddress> servers;
+    private final int timeout;
+    private final int attempts;
+    private final SecureRandom random;
+
+    public DNSStubResolver(List<InetSocketAddress> servers, int timeout, int attempts) {
+        this.servers = servers;
+        this.timeout = Math.max(1, timeout);
+        this.attempts = Math.max(1, attempts);
+        this.random = new SecureRandom();
+    }
+
+    public static List<InetSocketAddress> parseServers(String servers, int port) {
+        List<InetSocketAddress> serverList = new ArrayList<>();
+        if (StringUtil.isEmpty(servers)) {
+            return serverList;
+        }
+        for (String currentServer : servers.split(",")) {
+            String server = currentServer.trim();
+            if (!URLUtil.isValidIPAddress(server)) {
+                Log.e(DNSStubResolver.class.getName(), "Ignoring invalid DNS server address " + server);
+                continue;
+            }
+            try {
+                serverList.add(new InetSocketAddress(InetAddress.getByName(server), port));
+            } catch (UnknownHostException exc) {
+                Log.e(DNSStubResolver.class.getName(), "Ignoring invalid DNS server address " + server, exc);
+            }
+        }
+        return serverList;
+    }
+
+    public List<InetSocketAddress> getServers() {
+        return Collections.unmodifiableList(servers);
+    }
+
+    public Result resolve(String host) throws IOException {
+        Log.d(DNSStubResolver.class.getName(), "resolve, host is " + host);
+        if (servers == null || servers.isEmpty()) {
+            throw new IOException("No DNS servers available");
+        }
+        IOException lastException = null;
+        for (int ii = 0; ii < attempts; ii++) {
+            for (InetSocketAddress server : servers) {
+                try {
+                    return query(host, server);
+                } catch (NameNotFoundException exc) {
+                    throw exc;
+                } catch (IOException exc) {
+                    Log.e(DNSStubResolver.class.getName(), "DNS query to " + server + " failed", exc);
+                    lastException = exc;
+                }
+            }
+        }
+        throw lastException;
+    }
+
+    private Result query(String host, InetSocketAddress server) throws IOException {
+        Log.d(DNSStubResolver.class.getName(), "query, host is " + host + ", server is " + server);
+        long deadline = System.nanoTime() + timeout * 1000000L;
+        int idA = random.nextInt(0x10000);
+        int idAAAA = (idA + 1) & 0xffff;
+        byte[] queryA = createQuery(idA, host, TYPE_A);
+        byte[] queryAAAA = createQuery(idAAAA, host, TYPE_AAAA);
+        Response responseA = null;
+        Response responseAAAA = null;
+        try (DatagramSocket socket = new DatagramSocket()) {
+            socket.connect(server);
+            socket.send(new DatagramPacket(queryA, queryA.length));
+            socket.send(new DatagramPacket(queryAAAA, queryAAAA.length));
+            byte[] buffer = new byte[MAX_UDP_LENGTH];
+            while (responseA == null || responseAAAA == null) {
+                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                try {
+                    socket.setSoTimeout(getRemaining(deadline));
+                    socket.receive(packet);
+                } catch (SocketTimeoutException exc) {
+                    if (responseA == null && responseAAAA == null) {
+                        throw exc;
+                    }
+                    Log.d(DNSStubResolver.class.getName(), "Timeout waiting for the " + (responseA == null ? "A" : "AAAA") + " response. Using the received response.");
+                    break;
+                }
+                if (packet.getLength() < HEADER_LENGTH) {
+                    continue;
+                }
+                int id = ((buffer[0] & 0xff) << 8) | (buffer[1] & 0xff);
+                if (id == idA && responseA == null) {
+                    responseA = parseOrRetryTCP(buffer, packet.getLength(), queryA, idA, TYPE_A, server, deadline);
+                } else if (id == idAAAA && responseAAAA == null) {
+                    responseAAAA = parseOrRetryTCP(buffer, packet.getLength(), queryAAAA, idAAAA, TYPE_AAAA, server, deadline);
+                }
+            }
+        }
+        return createResult(host, server, responseA, responseAAAA);
+    }
+
+    private Response parseOrRetryTCP(byte[] buffer, int length, byte[] query, int id, int type, InetSocketAddress server, long deadline) throws IOException {
+        Response response = parseResponse(buffer, length, id, type);
+        if (!response.truncated) {
+            return response;
+        }
+        Log.d(DNSStubResolver.class.getName(), "UDP response for type " + type + " is truncated. Retrying with TCP.");
+        return queryTCP(query, id, type, server, deadline);
+    }
+
+    private Response queryTCP(byte[] query, int id, int type, InetSocketAddress server, long deadline) throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.connect(server, getRemaining(deadline));
+            socket.setSoTimeout(getRemaining(deadline));
+            OutputStream outputStream = socket.getOutputStream();
+            byte[] message = new byte[query.length + 2];
+            message[0] = (byte) (query.length >> 8);
+            message[1] = (byte) query.length;
+            System.arraycopy(query, 0, message, 2, query.length);
+            outputStream.write(message);
+            outputStream.flush();
+            InputStream inputStream = socket.getInputStream();
+            DataInputStream dataInputStream = new DataInputStream(inputStream);
+            int length = dataInputStream.readUnsignedShort();
+            byte[] buffer = new byte[length];
+            dataInputStream.readFully(buffer);
+            return parseResponse(buffer, length, id, type);
+        }
+    }
+
+    private Result createResult(String host, InetSocketAddress server, Response responseA, Response responseAAAA) throws IOException {
+        boolean answeredA = isAnswered(responseA);
+        boolean answeredAAAA = isAnswered(responseAAAA);
+        if (!answeredA && !answeredAAAA) {
+            if (isNameNotFound(responseA) && isNameNotFound(responseAAAA)) {
+                throw new NameNotFoundException(host);
+            }
+            throw new IOException("DNS server " + server + " returned no usable response, A error code is " + getRCode(responseA) + ", AAAA error code is " + getRCode(responseAAAA));
+        }
+        if (!answeredA) {
+            Log.d(DNSStubResolver.class.getName(), "A query returned error code " + getRCode(responseA) + ". Using the AAAA response.");
+        }
+        if (!answeredAAAA) {
+            Log.d(DNSStubResolver.class.getName(), "AAAA query returned error code " + getRCode(responseAAAA) + ". Using the A response.");
+        }
+        List<InetAddress> addresses = new ArrayList<>();
+        long ttl = -1;
+        if (answeredA && !responseA.addresses.isEmpty()) {
+            addresses.addAll(responseA.addresses);
+            ttl = responseA.ttl;
+        }
+        if (answeredAAAA && !responseAAAA.addresses.isEmpty()) {
+            addresses.addAll(responseAAAA.addresses);
+            ttl = ttl < 0 ? responseAAAA.ttl : Math.min(ttl, responseAAAA.ttl);
+        }
+        Log.d(DNSStubResolver.class.getName(), "Resolved " + host + " to " + addresses + " with a ttl of " + ttl);
+        return new Result(addresses, ttl, server);
+    }
+
+    private boolean isAnswered(Response response) {
+        return response != null && response.rcode == RCODE_NOERROR;
+    }
+
+    private boolean isNameNotFound(Response response) {
+        return response != null && response.rcode == RCODE_NXDOMAIN;
+    }
+
+    private int getRCode(Response response) {
+        return response != null ? response.rcode : -1;
+    }
+
+    public static byte[] createQuery(int id, String host, int type) throws UnknownHostException {
+        byte[] name = encodeName(host);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + name.length + 4);
+        buffer.putShort((short) id);
+        buffer.putShort((short) FLAG_RD);
+        buffer.putShort((short) 1);
+        buffer.putShort((short) 0);
+        buffer.putShort((short) 0);
+        buffer.putShort((short) 0);
+        buffer.put(name);
+        buffer.putShort((short) type);
+        buffer.putShort((short) CLASS_IN);
+        return buffer.array();
+    }
+
+    public static byte[] encodeName(String host) throws UnknownHostException {
+        String name = host.endsWith(".") ? host.substring(0, host.length() - 1) : host;
+        if (name.isEmpty()) {
+            throw new UnknownHostException("Invalid host name " + host);
+        }
+        String[] labels = name.split("\\.", -1);
+        byte[] encodedName = new byte[name.length() + 2];
+        int position = 0;
+        for (String label : labels) {
+            byte[] labelBytes = label.getBytes(StandardCharsets.US_ASCII);
+            if (labelBytes.length == 0 || labelBytes.length > MAX_LABEL_LENGTH) {
+                throw new UnknownHostException("Invalid host name " + host);
+            }
+            encodedName[position++] = (byte) labelBytes.length;
+            System.arraycopy(labelBytes, 0, encodedName, position, labelBytes.length);
+            position += labelBytes.length;
+        }
+        encodedName[position] = 0;
+        if (encodedName.length > MAX_NAME_LENGTH) {
+            throw new UnknownHostException("Invalid host name " + host);
+        }
+        return encodedName;
+    }
+
+    private Response parseResponse(byte[] data, int length, int id, int type) throws IOException {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data, 0, length);
+            int responseId = buffer.getShort() & 0xffff;
+            int flags = buffer.getShort() & 0xffff;
+            if (responseId != id || (flags & FLAG_QR) == 0) {
+                throw new IOException("Unexpected DNS response");
+            }
+            int questions = buffer.getShort() & 0xffff;
+            int answers = buffer.getShort() & 0xffff;
+            buffer.getShort();
+            buffer.getShort();
+            Response response = new Response();
+            response.rcode = flags & 0x000f;
+            response.truncated = (flags & FLAG_TC) != 0;
+            if (response.truncated) {
+                return response;
+            }
+            for (int ii = 0; ii < questions; ii++) {
+                skipName(buffer);
+                buffer.getShort();
+                buffer.getShort();
+            }
+            for (int ii = 0; ii < answers; ii++) {
+                skipName(buffer);
+                int recordType = buffer.getShort() & 0xffff;
+                int recordClass = buffer.getShort() & 0xffff;
+                long ttl = buffer.getInt() & 0xffffffffL;
+                int dataLength = buffer.getShort() & 0xffff;
+                byte[] recordData = new byte[dataLength];
+                buffer.get(recordData);
+                if (recordClass != CLASS_IN || recordType != type) {
+                    continue;
+                }
+                if ((type == TYPE_A && dataLength == 4) || (type == TYPE_AAAA && dataLength == 16)) {
+                    response.addresses.add(InetAddress.getByAddress(recordData));
+                    response.ttl = response.ttl < 0 ? ttl : Math.min(response.ttl, ttl);
+                }
+            }
+            return response;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException exc) {
+            throw new IOException("Malformed DNS response", exc);
+        }
+    }
+
+    private void skipName(ByteBuffer buffer) {
+        while (true) {
+            int length = buffer.get() & 0xff;
+            if ((length & 0xc0) == 0xc0) {
+                buffer.get();
+                return;
+            }
+            if (length == 0) {
+                return;
+            }
+            buffer.position(buffer.position() + length);
+        }
+    }
+
+    private int getRemaining(long deadline) throws SocketTimeoutException {
+        long remaining = (deadline - System.nanoTime()) / 1000000L;
+        if (remaining <= 0) {
+            throw new SocketTimeoutException("DNS query timed out after " + timeout + " msec");
+        }
+        return (int) remaining;
+    }
+
+    public record Result(List<InetAddress> addresses, long ttl, InetSocketAddress server) {
+
+    }
+
+    private static class Response {
+
+        private final List<InetAddress> addresses = new ArrayList<>();
+        private int rcode;
+        private boolean truncated;
+        private long ttl = -1;
+    }
+
+    public static class NameNotFoundException extends UnknownHostException {
+
+        public NameNotFoundException(String host) {
+            super("Host " + host + " not found");
+        }
+    }
+}
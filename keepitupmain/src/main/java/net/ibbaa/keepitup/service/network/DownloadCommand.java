@@ -23,17 +23,22 @@ import android.os.ParcelFileDescriptor;
 import androidx.documentfile.provider.DocumentFile;
 
 import net.ibbaa.keepitup.R;
+import net.ibbaa.keepitup.db.DownloadValidatorDAO;
 import net.ibbaa.keepitup.db.NetworkTaskDAO;
 import net.ibbaa.keepitup.logging.Log;
 import net.ibbaa.keepitup.model.AccessTypeData;
+import net.ibbaa.keepitup.model.DownloadValidator;
 import net.ibbaa.keepitup.model.Header;
 import net.ibbaa.keepitup.model.NetworkTask;
+import net.ibbaa.keepitup.model.ProbeMode;
 import net.ibbaa.keepitup.model.Resolve;
 import net.ibbaa.keepitup.resources.PreferenceManager;
 import net.ibbaa.keepitup.resources.ServiceFactoryContributor;
 import net.ibbaa.keepitup.service.IDocumentManager;
 import net.ibbaa.keepitup.service.IFileManager;
 import net.ibbaa.keepitup.service.ITimeService;
+import net.ibbaa.keepitup.service.NetworkTaskCancellationRegistry;
+import net.ibbaa.keepitup.service.NetworkTaskProcessServiceScheduler;
 import net.ibbaa.keepitup.service.SystemDocumentManager;
 import net.ibbaa.keepitup.service.SystemFileManager;
 import net.ibbaa.keepitup.ui.sync.HeaderSyncHandler;
@@ -49,26 +54,18 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.URL;
 import java.security.KeyManagementException;
-import java.security.KeyStore;
 import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.Callable;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.SSLSocketFactory;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.TrustManagerFactory;
-import javax.net.ssl.X509TrustManager;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
 
 import okhttp3.Credentials;
 import okhttp3.OkHttpClient;
@@ -85,10 +82,12 @@ public class DownloadCommand implements Callable<DownloadCommandResult> {
     private final URL url;
     private final String folder;
     private final boolean delete;
+    private final boolean discard;
     private final ConnectToAddress connectToAddress;
     private final List<Header> headers;
-    private boolean valid;
-    private boolean stopped;
+    private DownloadValidator downloadValidator;
+    private volatile NetworkTaskCancellationRegistry.CancellationToken cancellationToken;
+    private DownloadPhaseListener phaseListener;
     private final ITimeService timeService;
 
     public DownloadCommand(Context context, NetworkTask networkTask, AccessTypeData accessTypeData, URL url, String folder, boolean delete) {
@@ -96,12 +95,17 @@ public class DownloadCommand implements Callable<DownloadCommandResult> {
     }
 
     public DownloadCommand(Context context, NetworkTask networkTask, AccessTypeData accessTypeData, URL url, String folder, boolean delete, ConnectToAddress connectToAddress, List<Header> headers) {
+        this(context, networkTask, accessTypeData, url, folder, delete, false, connectToAddress, headers);
+    }
+
+    public DownloadCommand(Context context, NetworkTask networkTask, AccessTypeData accessTypeData, URL url, String folder, boolean delete, boolean discard, ConnectToAddress connectToAddress, List<Header> headers) {
         this.context = context;
         this.networkTask = networkTask;
         this.accessTypeData = accessTypeData;
         this.url = url;
         this.folder = folder;
         this.delete = delete;
+        this.discard = discard;
         this.connectToAddress = connectToAddress;
         this.headers = headers;
         this.timeService = createTimeService();
@@ -124,8 +128,8 @@ public class DownloadCommand implements Callable<DownloadCommandResult> {
         List<String> httpMessages = new ArrayList<>();
         List<DownloadConnectResult> connectResults = new ArrayList<>();
         String fileName = null;
-        ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
         initializeValid();
+        downloadValidator = readDownloadValidator();
         long start = -1;
         int redirects = getResources().getInteger(R.integer.download_max_redirect);
         PreferenceManager preferenceManager = new PreferenceManager(getContext());
@@ -152,6 +156,13 @@ public class DownloadCommand implements Callable<DownloadCommandResult> {
                 String location = HTTPUtil.getLocation(getContext(), response);
                 String httpMessage = getResponseMessage(response);
                 httpMessage = getLocationHeaderMessage(httpMessage, location);
+                if (isNotModified(httpCode)) {
+                    Log.d(DownloadCommand.class.getName(), "HTTP return code " + httpCode + ". The content has not been modified.");
+                    httpCodes.add(httpCode);
+                    httpMessages.add(httpMessage);
+                    long end = timeService.getCurrentTimestamp();
+                    return createDownloadCommandResult(downloadUrl, connectResults, isValid(), false, false, httpCodes, httpMessages, null, NumberUtil.ensurePositive(end - start), 0, null, true, null, null);
+                }
                 if (HTTPUtil.isHTTPReturnCodeRedirect(httpCode) && preferenceManager.getPreferenceDownloadFollowsRedirects()) {
                     Log.d(DownloadCommand.class.getName(), "HTTP return code " + httpCode + " is a redirect, location is " + location);
                     redirects--;
@@ -173,6 +184,28 @@ public class DownloadCommand implements Callable<DownloadCommandResult> {
                     return createDownloadCommandResult(downloadUrl, connectResults, false, false, false, httpCodes, httpMessages, null, NumberUtil.ensurePositive(end - start), null);
                 }
             } while (redirect);
+            if (isProbe()) {
+                Log.d(DownloadCommand.class.getName(), "Probe mode is " + getProbeMode() + ". Skipping download.");
+                long bytesRead = probeResponse(response);
+                long end = timeService.getCurrentTimestamp();
+                return createDownloadCommandResult(downloadUrl, connectResults, isValid(), false, false, httpCodes, httpMessages, null, NumberUtil.ensurePositive(end - start), bytesRead, null, null);
+            }
+            if (discard) {
+                Log.d(DownloadCommand.class.getName(), "Discarding downloaded data. No file is created.");
+                DownloadDigest digest = createDownloadDigest();
+                inputStream = wrapInputStream(response.body().byteStream(), digest);
+                verifyValid();
+                Checksum checksum = createChecksum();
+                long bytesRead = StreamUtil.discardInputStream(inputStream, -1, getMaxBufferSize(), checksum, this::isValid);
+                downloadSuccess = isValid();
+                Log.d(DownloadCommand.class.getName(), "Download successful: " + downloadSuccess + ", bytes discarded: " + bytesRead);
+                if (downloadSuccess) {
+                    storeDownloadValidator(response);
+                }
+                DownloadDigestResult digestResult = getDigestResult(digest, downloadSuccess);
+                long end = timeService.getCurrentTimestamp();
+                return createDownloadCommandResult(downloadUrl, connectResults, downloadSuccess, false, false, httpCodes, httpMessages, null, NumberUtil.ensurePositive(end - start), bytesRead, getChecksumValue(checksum), false, digestResult, null);
+            }
             fileName = getFileName(response, downloadUrl);
             if (fileName == null) {
                 long end = timeService.getCurrentTimestamp();
@@ -180,7 +213,8 @@ public class DownloadCommand implements Callable<DownloadCommandResult> {
             }
             Log.d(DownloadCommand.class.getName(), "Using file name " + fileName);
             Log.d(DownloadCommand.class.getName(), "Opening streams...");
-            inputStream = response.body().byteStream();
+            DownloadDigest digest = createDownloadDigest();
+            inputStream = wrapInputStream(response.body().byteStream(), digest);
             if (useDocumentFileAPI()) {
                 DocumentFile downloadDocumentFile = getDownloadDocumentFile(fileName);
                 if (downloadDocumentFile == null) {
@@ -193,13 +227,15 @@ public class DownloadCommand implements Callable<DownloadCommandResult> {
             } else {
                 outputStream = getOutputStream(fileName);
             }
-            int pollInterval = getResources().getInteger(R.integer.download_valid_poll_interval);
-            Log.d(DownloadCommand.class.getName(), "Scheduling verify valid polling thread with an interval of " + pollInterval);
-            executorService.scheduleWithFixedDelay(this::verifyValid, 0, pollInterval, TimeUnit.SECONDS);
+            verifyValid();
             Log.d(DownloadCommand.class.getName(), "Starting download...");
-            downloadSuccess = StreamUtil.inputStreamToOutputStream(inputStream, outputStream, this::isValid);
+            downloadSuccess = StreamUtil.inputStreamToOutputStream(inputStream, outputStream, getInitialBufferSize(), getMaxBufferSize(), this::isValid);
             Log.d(DownloadCommand.class.getName(), "Download successful: " + downloadSuccess);
             flushAndCloseOutputStream(outputStream);
+            if (downloadSuccess) {
+                storeDownloadValidator(response);
+            }
+            DownloadDigestResult digestResult = getDigestResult(digest, downloadSuccess);
             fileExists = downloadedFileExists(fileName);
             Log.d(DownloadCommand.class.getName(), "Partial download successful: " + fileExists);
             if (delete && fileExists) {
@@ -207,7 +243,7 @@ public class DownloadCommand implements Callable<DownloadCommandResult> {
                 deleteSuccess = deleteDownloadedFile(fileName);
             }
             long end = timeService.getCurrentTimestamp();
-            return createDownloadCommandResult(downloadUrl, connectResults, downloadSuccess, fileExists, deleteSuccess, httpCodes, httpMessages, fileName, NumberUtil.ensurePositive(end - start), null);
+            return createDownloadCommandResult(downloadUrl, connectResults, downloadSuccess, fileExists, deleteSuccess, httpCodes, httpMessages, fileName, NumberUtil.ensurePositive(end - start), -1, null, false, digestResult, null);
         } catch (Exception exc) {
             Log.e(DownloadCommand.class.getName(), "Error executing download command", exc);
             Log.e(DownloadCommand.class.getName(), "Try closing stream.");
@@ -224,7 +260,8 @@ public class DownloadCommand implements Callable<DownloadCommandResult> {
             }
             return createDownloadCommandResult(downloadUrl, connectResults, downloadSuccess, fileExists, deleteSuccess, httpCodes, httpMessages, fileName, NumberUtil.ensurePositive(end - start), exc);
         } finally {
-            closeResources(response, inputStream, outputStream, fileDescriptor, executorService);
+            closeResources(response, inputStream, outputStream, fileDescriptor);
+            releaseValid();
         }
     }
 
@@ -243,16 +280,10 @@ public class DownloadCommand implements Callable<DownloadCommandResult> {
             Log.e(DownloadCommand.class.getName(), "URL is null");
             return null;
         }
-        OkHttpClient.Builder clientBuilder = new OkHttpClient.Builder().connectTimeout(getResources().getInteger(R.integer.download_connect_timeout), TimeUnit.SECONDS).readTimeout(getResources().getInteger(R.integer.download_read_timeout), TimeUnit.SECONDS).followRedirects(false);
-        if (overrideConnectHost) {
-            overrideConnectHost(clientBuilder, isIgnoreSSLError());
-        }
-        if (isIgnoreSSLError()) {
-            disableSSLCheck(clientBuilder);
-        }
-        OkHttpClient client = clientBuilder.build();
+        OkHttpClient client = getClientRegistry().getClient(createClientKey(overrideConnectHost));
+        phaseListener = new DownloadPhaseListener();
         Request.Builder requestBuilder = buildRequest(url);
-        Request request = requestBuilder.build();
+        Request request = requestBuilder.tag(DownloadPhaseListener.class, phaseListener).build();
         return client.newCall(request).execute();
     }
 
@@ -261,6 +292,9 @@ public class DownloadCommand implements Callable<DownloadCommandResult> {
         Request.Builder requestBuilder = new Request.Builder().url(url.toString());
         HTTPUtil.setAcceptHeader(getContext(), requestBuilder);
         HTTPUtil.setAcceptLanguageHeader(getContext(), Locale.getDefault(), requestBuilder);
+        if (isDownloadValidatorApplicable()) {
+            setConditionalHeaders(requestBuilder);
+        }
         List<Header> headers = getActualHeaders();
         for (Header currentHeader : headers) {
             if (currentHeader.isValueValid()) {
@@ -274,9 +308,132 @@ public class DownloadCommand implements Callable<DownloadCommandResult> {
                 requestBuilder.header(currentHeader.getName(), value);
             }
         }
+        ProbeMode probeMode = getProbeMode();
+        if (probeMode.isHead()) {
+            Log.d(DownloadCommand.class.getName(), "Probe mode is " + probeMode + ". Using HEAD request.");
+            requestBuilder.head();
+        } else if (probeMode.isRange()) {
+            String range = getResources().getString(R.string.http_header_range_value, getProbeRangeBytes() - 1);
+            Log.d(DownloadCommand.class.getName(), "Probe mode is " + probeMode + ". Requesting range " + range);
+            requestBuilder.header(getResources().getString(R.string.http_header_range), range);
+        }
         return requestBuilder;
     }
 
+    private void setConditionalHeaders(Request.Builder requestBuilder) {
+        if (!StringUtil.isEmpty(downloadValidator.getETag())) {
+            Log.d(DownloadCommand.class.getName(), "Sending entity tag " + downloadValidator.getETag());
+            requestBuilder.header(getResources().getString(R.string.http_header_if_none_match), downloadValidator.getETag());
+        }
+        if (!StringUtil.isEmpty(downloadValidator.getLastModified())) {
+            Log.d(DownloadCommand.class.getName(), "Sending last modified date " + downloadValidator.getLastModified());
+            requestBuilder.header(getResources().getString(R.string.http_header_if_modified_since), downloadValidator.getLastModified());
+        }
+    }
+
+    private boolean isConditionalRequest() {
+        return networkTask != null && !isProbe() && !hasExpectedDigest() && getResources().getBoolean(R.bool.download_conditional_request);
+    }
+
+    private boolean isDownloadValidatorApplicable() {
+        return downloadValidator != null && !downloadValidator.isEmpty() && url.toString().equals(downloadValidator.getUrl());
+    }
+
+    private boolean isNotModified(int httpCode) {
+        return httpCode == HttpURLConnection.HTTP_NOT_MODIFIED && isDownloadValidatorApplicable();
+    }
+
+    private DownloadValidator readDownloadValidator() {
+        if (!isConditionalRequest()) {
+            return null;
+        }
+        try {
+            return getDownloadValidatorDAO().readDownloadValidatorForNetworkTask(networkTask.getId());
+        } catch (Exception exc) {
+            Log.e(DownloadCommand.class.getName(), "Error reading download validator", exc);
+            return null;
+        }
+    }
+
+    private void storeDownloadValidator(Response response) {
+        if (!isConditionalRequest()) {
+            return;
+        }
+        DownloadValidator newDownloadValidator = new DownloadValidator(networkTask.getId());
+        newDownloadValidator.setUrl(url.toString());
+        newDownloadValidator.setETag(response.header(getResources().getString(R.string.http_header_etag)));
+        newDownloadValidator.setLastModified(response.header(getResources().getString(R.string.http_header_last_modified)));
+        Log.d(DownloadCommand.class.getName(), "storeDownloadValidator, new download validator is " + newDownloadValidator + ", previous download validator is " + downloadValidator);
+        try {
+            if (newDownloadValidator.isEmpty()) {
+                if (downloadValidator != null) {
+                    getDownloadValidatorDAO().deleteDownloadValidatorForNetworkTask(networkTask.getId());
+                }
+            } else if (!newDownloadValidator.isTechnicallyEqual(downloadValidator)) {
+                getDownloadValidatorDAO().insertOrReplaceDownloadValidator(newDownloadValidator);
+            }
+        } catch (Exception exc) {
+            Log.e(DownloadCommand.class.getName(), "Error storing download validator", exc);
+        }
+    }
+
+    private boolean hasExpectedDigest() {
+        return accessTypeData != null && !StringUtil.isEmpty(accessTypeData.getExpectedDigest());
+    }
+
+    private DownloadDigest createDownloadDigest() {
+        if (!hasExpectedDigest()) {
+            return null;
+        }
+        return DownloadDigest.create(accessTypeData.getExpectedDigest());
+    }
+
+    private InputStream wrapInputStream(InputStream inputStream, DownloadDigest digest) {
+        if (digest == null) {
+            return inputStream;
+        }
+        Log.d(DownloadCommand.class.getName(), "Computing " + digest.getAlgorithm() + " digest while reading the response body");
+        return digest.wrap(inputStream);
+    }
+
+    private DownloadDigestResult getDigestResult(DownloadDigest digest, boolean downloadSuccess) {
+        if (!downloadSuccess || !hasExpectedDigest()) {
+            return null;
+        }
+        if (digest == null) {
+            Log.d(DownloadCommand.class.getName(), "Expected digest " + accessTypeData.getExpectedDigest() + " is invalid");
+            return new DownloadDigestResult(null, accessTypeData.getExpectedDigest(), null, false);
+        }
+        DownloadDigestResult digestResult = digest.getResult();
+        Log.d(DownloadCommand.class.getName(), "Digest result is " + digestResult);
+        return digestResult;
+    }
+
+    private Checksum createChecksum() {
+        if (getResources().getBoolean(R.bool.download_discard_checksum)) {
+            return new CRC32();
+        }
+        return null;
+    }
+
+    private String getChecksumValue(Checksum checksum) {
+        if (checksum == null) {
+            return null;
+        }
+        return String.format(Locale.US, "%08x", checksum.getValue());
+    }
+
+    private long probeResponse(Response response) throws Exception {
+        ProbeMode probeMode = getProbeMode();
+        if (!probeMode.isRange()) {
+            Log.d(DownloadCommand.class.getName(), "Probe mode is " + probeMode + ". Not reading the response body.");
+            return 0;
+        }
+        int maxBytes = getProbeRangeBytes();
+        Log.d(DownloadCommand.class.getName(), "Probe mode is " + probeMode + ". Reading at most " + maxBytes + " bytes.");
+        return StreamUtil.discardInputStream(response.body().byteStream(), maxBytes, this::isValid);
+    }
+
     private List<Header> getInvalidHeaders() {
         HeaderSyncHandler syncHandler = new HeaderSyncHandler(getContext());
         return syncHandler.getInvalidHeaders(getActualHeaders());
@@ -294,15 +451,15 @@ public class DownloadCommand implements Callable<DownloadCommandResult> {
         return headers;
     }
 
-    private void overrideConnectHost(OkHttpClient.Builder clientBuilder, boolean isIgnoreSSLError) {
-        Log.d(DownloadCommand.class.getName(), "overrideConnectHost");
+    private HTTPClientRegistry.ClientKey createClientKey(boolean overrideConnectHost) {
+        int connectTimeout = getResources().getInteger(R.integer.download_connect_timeout);
+        int readTimeout = getResources().getInteger(R.integer.download_read_timeout);
+        if (!overrideConnectHost) {
+            return new HTTPClientRegistry.ClientKey(connectTimeout, readTimeout, isIgnoreSSLError(), null, -1);
+        }
         String overrideHost = connectToAddress.resolvedAddress().getHostAddress();
         int overridePort = connectToAddress.resolve().getTargetPort();
-        clientBuilder.socketFactory(new ConnectToSocketFactory(overrideHost, overridePort));
-        if (!isIgnoreSSLError) {
-            SSLSocketFactory defaultSSL = (SSLSocketFactory) SSLSocketFactory.getDefault();
-            clientBuilder.sslSocketFactory(new ConnectToSSLSocketFactory(defaultSSL, overrideHost, overridePort), getDefaultTrustManager());
-        }
+        return new HTTPClientRegistry.ClientKey(connectTimeout, readTimeout, isIgnoreSSLError(), overrideHost, overridePort);
     }
 
     private boolean shouldConnectHostBeOverridden(URL currentURL) {
@@ -316,33 +473,31 @@ public class DownloadCommand implements Callable<DownloadCommandResult> {
         return URLUtil.isSameHostAndPort(currentURL, url);
     }
 
-    private void disableSSLCheck(OkHttpClient.Builder builder) throws NoSuchAlgorithmException, KeyManagementException {
-        Log.d(DownloadCommand.class.getName(), "disableSSLCheck");
-        TrustManager[] trustAllCerts = new TrustManager[]{new TrustAllX509TrustManager()};
-        SSLContext sslContext = SSLContext.getInstance("TLS");
-        sslContext.init(null, trustAllCerts, new SecureRandom());
-        builder.sslSocketFactory(sslContext.getSocketFactory(), (X509TrustManager) trustAllCerts[0]);
-        builder.hostnameVerifier((hostname, session) -> true);
+    private boolean isIgnoreSSLError() {
+        return accessTypeData != null && accessTypeData.isIgnoreSSLError();
     }
 
-    private X509TrustManager getDefaultTrustManager() {
-        try {
-            TrustManagerFactory factory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
-            factory.init((KeyStore) null);
-            for (TrustManager trustManager : factory.getTrustManagers()) {
-                if (trustManager instanceof X509TrustManager) {
-                    return (X509TrustManager) trustManager;
-                }
-            }
-            throw new IllegalStateException("No default X509TrustManager found.");
-        } catch (Exception exc) {
-            throw new RuntimeException("Failed to get default trust manager", exc);
+    private ProbeMode getProbeMode() {
+        if (accessTypeData == null || accessTypeData.getProbeMode() == null) {
+            return ProbeMode.FULL;
         }
+        return accessTypeData.getProbeMode();
     }
 
+    private boolean isProbe() {
+        return getProbeMode().isProbe();
+    }
 
-    private boolean isIgnoreSSLError() {
-        return accessTypeData != null && accessTypeData.isIgnoreSSLError();
+    private int getInitialBufferSize() {
+        return Math.max(1, getResources().getInteger(R.integer.download_buffer_size_initial));
+    }
+
+    private int getMaxBufferSize() {
+        return Math.max(getInitialBufferSize(), getResources().getInteger(R.integer.download_buffer_size_max));
+    }
+
+    private int getProbeRangeBytes() {
+        return Math.max(1, getResources().getInteger(R.integer.download_probe_range_bytes));
     }
 
     private DocumentFile getDownloadDocumentFile(String fileName) {
@@ -500,43 +655,51 @@ public class DownloadCommand implements Callable<DownloadCommandResult> {
         return new DownloadConnectResult(URLUtil.normalizeHost(downloadUrl.getHost()), URLUtil.getPort(downloadUrl), connectToAddress, connectToPort, invalidHeaders, success);
     }
 
-    private synchronized DownloadCommandResult createDownloadCommandResult(URL url, List<DownloadConnectResult> connectResults, boolean downloadSuccess, boolean fileExists, boolean deleteSuccess, List<Integer> httpCodes, List<String> httpMessages, String fileName, long duration, Exception exc) {
-        return new DownloadCommandResult(url, connectResults, downloadSuccess, fileExists, deleteSuccess, valid, stopped, httpCodes, httpMessages, fileName, duration, exc);
+    private DownloadCommandResult createDownloadCommandResult(URL url, List<DownloadConnectResult> connectResults, boolean downloadSuccess, boolean fileExists, boolean deleteSuccess, List<Integer> httpCodes, List<String> httpMessages, String fileName, long duration, Exception exc) {
+        return createDownloadCommandResult(url, connectResults, downloadSuccess, fileExists, deleteSuccess, httpCodes, httpMessages, fileName, duration, -1, null, exc);
+    }
+
+    private DownloadCommandResult createDownloadCommandResult(URL url, List<DownloadConnectResult> connectResults, boolean downloadSuccess, boolean fileExists, boolean deleteSuccess, List<Integer> httpCodes, List<String> httpMessages, String fileName, long duration, long bytesRead, String checksum, Exception exc) {
+        return createDownloadCommandResult(url, connectResults, downloadSuccess, fileExists, deleteSuccess, httpCodes, httpMessages, fileName, duration, bytesRead, checksum, false, null, exc);
     }
 
-    public synchronized boolean isValid() {
-        return valid && !Thread.currentThread().isInterrupted();
+    private synchronized DownloadCommandResult createDownloadCommandResult(URL url, List<DownloadConnectResult> connectResults, boolean downloadSuccess, boolean fileExists, boolean deleteSuccess, List<Integer> httpCodes, List<String> httpMessages, String fileName, long duration, long bytesRead, String checksum, boolean notModified, DownloadDigestResult digestResult, Exception exc) {
+        DownloadPhaseTimes phaseTimes = phaseListener == null ? null : phaseListener.getPhaseTimes();
+        return new DownloadCommandResult(url, connectResults, downloadSuccess, fileExists, deleteSuccess, cancellationToken.isValid(), cancellationToken.isStopped(), httpCodes, httpMessages, fileName, duration, bytesRead, checksum, notModified, digestResult, phaseTimes, exc);
     }
 
-    private synchronized void initializeValid() {
-        valid = true;
-        stopped = false;
+    public boolean isValid() {
+        return cancellationToken.isValid() && !Thread.currentThread().isInterrupted();
     }
 
-    private synchronized void verifyValid() {
+    private void initializeValid() {
+        Log.d(DownloadCommand.class.getName(), "Registering cancellation token for scheduler id " + networkTask.getSchedulerId());
+        cancellationToken = getCancellationRegistry().register(networkTask.getSchedulerId());
+    }
+
+    private void releaseValid() {
+        Log.d(DownloadCommand.class.getName(), "Deregistering cancellation token for scheduler id " + networkTask.getSchedulerId());
+        getCancellationRegistry().deregister(networkTask.getSchedulerId(), cancellationToken);
+    }
+
+    private void verifyValid() {
         Log.d(DownloadCommand.class.getName(), "verifyValid");
         try {
             NetworkTaskDAO networkTaskDAO = new NetworkTaskDAO(getContext());
             NetworkTask databaseTask = networkTaskDAO.readNetworkTask(networkTask.getId());
             if (databaseTask == null || networkTask.getSchedulerId() != databaseTask.getSchedulerId()) {
                 Log.d(DownloadCommand.class.getName(), "verifyValid, network task is not valid");
-                valid = false;
-                stopped = false;
+                cancellationToken.invalidate();
                 return;
             }
             if (databaseTask.isRunning()) {
                 Log.d(DownloadCommand.class.getName(), "verifyValid, network task is valid and running");
-                valid = true;
-                stopped = false;
                 return;
             }
             Log.d(DownloadCommand.class.getName(), "verifyValid, network task is not running");
-            valid = false;
-            stopped = true;
+            cancellationToken.stop();
         } catch (Exception exc) {
             Log.e(DownloadCommand.class.getName(), "Exception while verifying valid state.");
-            valid = true;
-            stopped = false;
         }
     }
 
@@ -552,7 +715,7 @@ public class DownloadCommand implements Callable<DownloadCommandResult> {
         }
     }
 
-    private void closeResources(Response response, InputStream inputStream, FileOutputStream outputStream, ParcelFileDescriptor fileDescriptor, ScheduledExecutorService executorService) {
+    private void closeResources(Response response, InputStream inputStream, FileOutputStream outputStream, ParcelFileDescriptor fileDescriptor) {
         Log.d(DownloadCommand.class.getName(), "closeResources");
         flushAndCloseOutputStream(outputStream);
         try {
@@ -571,10 +734,6 @@ public class DownloadCommand implements Callable<DownloadCommandResult> {
         } catch (Exception exc) {
             Log.e(DownloadCommand.class.getName(), "Error closing file descriptor", exc);
         }
-        if (executorService != null) {
-            Log.d(DownloadCommand.class.getName(), "Shutting down ScheduledExecutorService for polling thread");
-            executorService.shutdownNow();
-        }
     }
 
     private boolean useDocumentFileAPI() {
@@ -582,6 +741,18 @@ public class DownloadCommand implements Callable<DownloadCommandResult> {
         return preferenceManager.getPreferenceAllowArbitraryFileLocation() && preferenceManager.getPreferenceDownloadExternalStorage();
     }
 
+    protected NetworkTaskCancellationRegistry getCancellationRegistry() {
+        return NetworkTaskProcessServiceScheduler.getNetworkTaskCancellationRegistry();
+    }
+
+    protected HTTPClientRegistry getClientRegistry() {
+        return HTTPClientRegistry.getInstance();
+    }
+
+    protected DownloadValidatorDAO getDownloadValidatorDAO() {
+        return new DownloadValidatorDAO(getContext());
+    }
+
     protected IFileManager getFileManager() {
         return new SystemFileManager(getContext(), getTimeService());
     }
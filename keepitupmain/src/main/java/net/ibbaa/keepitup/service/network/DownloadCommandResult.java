@@ -20,6 +20,20 @@ import java.net.URL;
 import java.util.List;
 
 public record DownloadCommandResult(URL url, List<DownloadConnectResult> connectResults, boolean downloadSuccess, boolean fileExists, boolean deleteSuccess, boolean valid, boolean stopped, List<Integer> httpResponseCodes, List<String> httpResponseMessages, String fileName, long duration,
-                                    Throwable exception) {
+                                    long bytesRead, String checksum, boolean notModified, DownloadDigestResult digestResult, DownloadPhaseTimes phaseTimes, Throwable exception) {
 
+    public DownloadCommandResult(URL url, List<DownloadConnectResult> connectResults, boolean downloadSuccess, boolean fileExists, boolean deleteSuccess, boolean valid, boolean stopped, List<Integer> httpResponseCodes, List<String> httpResponseMessages, String fileName, long duration,
+                                 long bytesRead, String checksum, boolean notModified, DownloadPhaseTimes phaseTimes, Throwable exception) {
+        this(url, connectResults, downloadSuccess, fileExists, deleteSuccess, valid, stopped, httpResponseCodes, httpResponseMessages, fileName, duration, bytesRead, checksum, notModified, null, phaseTimes, exception);
+    }
+
+    public DownloadCommandResult(URL url, List<DownloadConnectResult> connectResults, boolean downloadSuccess, boolean fileExists, boolean deleteSuccess, boolean valid, boolean stopped, List<Integer> httpResponseCodes, List<String> httpResponseMessages, String fileName, long duration,
+                                 long bytesRead, String checksum, DownloadPhaseTimes phaseTimes, Throwable exception) {
+        this(url, connectResults, downloadSuccess, fileExists, deleteSuccess, valid, stopped, httpResponseCodes, httpResponseMessages, fileName, duration, bytesRead, checksum, false, null, phaseTimes, exception);
+    }
+
+    public DownloadCommandResult(URL url, List<DownloadConnectResult> connectResults, boolean downloadSuccess, boolean fileExists, boolean deleteSuccess, boolean valid, boolean stopped, List<Integer> httpResponseCodes, List<String> httpResponseMessages, String fileName, long duration,
+                                 Throwable exception) {
+        this(url, connectResults, downloadSuccess, fileExists, deleteSuccess, valid, stopped, httpResponseCodes, httpResponseMessages, fileName, duration, -1, null, null, exception);
+    }
 }
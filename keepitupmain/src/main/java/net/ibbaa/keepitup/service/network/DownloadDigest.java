@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service.network;
+
+import net.ibbaa.keepitup.logging.Log;
+import net.ibbaa.keepitup.util.CRC32CChecksum;
+import net.ibbaa.keepitup.util.StringUtil;
+
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Locale;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Checksum;
+
+public class DownloadDigest {
+
+    private static final String SHA256_ALGORITHM = "SHA-256";
+    private static final String CRC32C_ALGORITHM = "CRC32C";
+    private static final int SHA256_HEX_LENGTH = 64;
+    private static final int CRC32C_HEX_LENGTH = 8;
+
+    private final String algorithm;
+    private final String expectedDigest;
+    private MessageDigest messageDigest;
+    private Checksum checksum;
+
+    private DownloadDigest(String algorithm, String expectedDigest) {
+        this.algorithm = algorithm;
+        this.expectedDigest = expectedDigest;
+    }
+
+    public static DownloadDigest create(String expectedDigest) {
+        Log.d(DownloadDigest.class.getName(), "create, expectedDigest is " + expectedDigest);
+        if (StringUtil.isEmpty(expectedDigest)) {
+            return null;
+        }
+        String digest = expectedDigest.trim().toLowerCase(Locale.US);
+        String algorithm = null;
+        int separator = digest.indexOf(':');
+        if (separator >= 0) {
+            String prefix = digest.substring(0, separator).replace("-", "");
+            if ("sha256".equals(prefix)) {
+                algorithm = SHA256_ALGORITHM;
+            } else if ("crc32c".equals(prefix)) {
+                algorithm = CRC32C_ALGORITHM;
+            } else {
+                Log.d(DownloadDigest.class.getName(), "Unknown digest algorithm " + prefix);
+                return null;
+            }
+            digest = digest.substring(separator + 1).trim();
+        }
+        if (!isHex(digest)) {
+            Log.d(DownloadDigest.class.getName(), "Expected digest " + expectedDigest + " is not a hex value");
+            return null;
+        }
+        if (algorithm == null) {
+            if (digest.length() == SHA256_HEX_LENGTH) {
+                algorithm = SHA256_ALGORITHM;
+            } else if (digest.length() == CRC32C_HEX_LENGTH) {
+                algorithm = CRC32C_ALGORITHM;
+            }
+        }
+        if (algorithm == null || digest.length() != getHexLength(algorithm)) {
+            Log.d(DownloadDigest.class.getName(), "Expected digest " + expectedDigest + " has an invalid length");
+            return null;
+        }
+        try {
+            DownloadDigest downloadDigest = new DownloadDigest(algorithm, digest);
+            downloadDigest.initialize();
+            return downloadDigest;
+        } catch (Exception exc) {
+            Log.e(DownloadDigest.class.getName(), "Error creating digest for algorithm " + algorithm, exc);
+            return null;
+        }
+    }
+
+    private void initialize() throws Exception {
+        if (SHA256_ALGORITHM.equals(algorithm)) {
+            messageDigest = MessageDigest.getInstance(SHA256_ALGORITHM);
+        } else {
+            checksum = new CRC32CChecksum();
+        }
+    }
+
+    public InputStream wrap(InputStream inputStream) {
+        if (messageDigest != null) {
+            return new DigestInputStream(inputStream, messageDigest);
+        }
+        return new CheckedInputStream(inputStream, checksum);
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public String getExpectedDigest() {
+        return expectedDigest;
+    }
+
+    public DownloadDigestResult getResult() {
+        String actualDigest = getActualDigest();
+        return new DownloadDigestResult(algorithm, expectedDigest, actualDigest, expectedDigest.equals(actualDigest));
+    }
+
+    private String getActualDigest() {
+        if (messageDigest != null) {
+            byte[] digest = messageDigest.digest();
+            StringBuilder builder = new StringBuilder(digest.length * 2);
+            for (byte currentByte : digest) {
+                builder.append(String.format(Locale.US, "%02x", currentByte & 0xff));
+            }
+            return builder.toString();
+        }
+        return String.format(Locale.US, "%08x", checksum.getValue());
+    }
+
+    private static int getHexLength(String algorithm) {
+        return SHA256_ALGORITHM.equals(algorithm) ? SHA256_HEX_LENGTH : CRC32C_HEX_LENGTH;
+    }
+
+    private static boolean isHex(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int ii = 0; ii < value.length(); ii++) {
+            char current = value.charAt(ii);
+            if ((current < '0' || current > '9') && (current < 'a' || current > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service.network;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+public class DownloadPhaseListener extends EventListener {
+
+    private final static long NOT_STARTED = Long.MIN_VALUE;
+
+    private long dnsStart = NOT_STARTED;
+    private long dnsTime = -1;
+    private long connectStart = NOT_STARTED;
+    private long connectTime = -1;
+    private long secureConnectStart = NOT_STARTED;
+    private long tlsTime = -1;
+    private long requestStart = NOT_STARTED;
+    private long ttfbTime = -1;
+    private long bodyStart = NOT_STARTED;
+    private long transferTime = -1;
+
+    @Override
+    public synchronized void dnsStart(@NonNull Call call, @NonNull String domainName) {
+        dnsStart = getNanoTime();
+    }
+
+    @Override
+    public synchronized void dnsEnd(@NonNull Call call, @NonNull String domainName, @NonNull List<InetAddress> inetAddressList) {
+        dnsTime = elapsed(dnsStart);
+    }
+
+    @Override
+    public synchronized void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy) {
+        connectStart = getNanoTime();
+        secureConnectStart = NOT_STARTED;
+        connectTime = -1;
+        tlsTime = -1;
+    }
+
+    @Override
+    public synchronized void secureConnectStart(@NonNull Call call) {
+        secureConnectStart = getNanoTime();
+        connectTime = elapsed(connectStart);
+    }
+
+    @Override
+    public synchronized void secureConnectEnd(@NonNull Call call, Handshake handshake) {
+        tlsTime = elapsed(secureConnectStart);
+    }
+
+    @Override
+    public synchronized void connectEnd(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy, Protocol protocol) {
+        if (secureConnectStart == NOT_STARTED) {
+            connectTime = elapsed(connectStart);
+        }
+    }
+
+    @Override
+    public synchronized void connectFailed(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy, Protocol protocol, @NonNull IOException ioe) {
+        connectTime = -1;
+        tlsTime = -1;
+    }
+
+    @Override
+    public synchronized void requestHeadersStart(@NonNull Call call) {
+        requestStart = getNanoTime();
+    }
+
+    @Override
+    public synchronized void responseHeadersStart(@NonNull Call call) {
+        ttfbTime = elapsed(requestStart);
+    }
+
+    @Override
+    public synchronized void responseHeadersEnd(@NonNull Call call, @NonNull Response response) {
+        bodyStart = getNanoTime();
+    }
+
+    @Override
+    public synchronized void responseBodyEnd(@NonNull Call call, long byteCount) {
+        transferTime = elapsed(bodyStart);
+    }
+
+    public synchronized DownloadPhaseTimes getPhaseTimes() {
+        return new DownloadPhaseTimes(toMillis(dnsTime), toMillis(connectTime), toMillis(tlsTime), toMillis(ttfbTime), toMillis(transferTime));
+    }
+
+    private long elapsed(long start) {
+        return start == NOT_STARTED ? -1 : getNanoTime() - start;
+    }
+
+    private double toMillis(long nanos) {
+        return nanos < 0 ? -1 : nanos / 1000000.0;
+    }
+
+    protected long getNanoTime() {
+        return System.nanoTime();
+    }
+}
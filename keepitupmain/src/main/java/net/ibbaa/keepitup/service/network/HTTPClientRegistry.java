@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service.network;
+
+import net.ibbaa.keepitup.logging.Log;
+
+import java.security.KeyManagementException;
+import java.security.KeyStore;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+
+public class HTTPClientRegistry {
+
+    private final static int MAX_VARIANTS = 16;
+
+    private static HTTPClientRegistry instance;
+
+    private final OkHttpClient rootClient;
+    private final Map<ClientKey, OkHttpClient> variants;
+    private X509TrustManager trustAllManager;
+    private SSLSocketFactory trustAllSocketFactory;
+
+    HTTPClientRegistry() {
+        this.rootClient = new OkHttpClient.Builder().followRedirects(false).followSslRedirects(false).eventListenerFactory(HTTPClientRegistry::createEventListener).build();
+        this.variants = new LinkedHashMap<>(MAX_VARIANTS, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ClientKey, OkHttpClient> eldest) {
+                return size() > MAX_VARIANTS;
+            }
+        };
+        this.trustAllManager = null;
+        this.trustAllSocketFactory = null;
+    }
+
+    public synchronized static HTTPClientRegistry getInstance() {
+        if (instance == null) {
+            instance = new HTTPClientRegistry();
+        }
+        return instance;
+    }
+
+    public synchronized OkHttpClient getClient(ClientKey key) throws NoSuchAlgorithmException, KeyManagementException {
+        OkHttpClient client = variants.get(key);
+        if (client == null) {
+            Log.d(HTTPClientRegistry.class.getName(), "Creating client variant for " + key);
+            client = createClient(key);
+            variants.put(key, client);
+        }
+        return client;
+    }
+
+    public synchronized int getVariantCount() {
+        return variants.size();
+    }
+
+    public OkHttpClient getRootClient() {
+        return rootClient;
+    }
+
+    public synchronized void clear() {
+        Log.d(HTTPClientRegistry.class.getName(), "clear");
+        variants.clear();
+        rootClient.connectionPool().evictAll();
+    }
+
+    private OkHttpClient createClient(ClientKey key) throws NoSuchAlgorithmException, KeyManagementException {
+        OkHttpClient.Builder builder = rootClient.newBuilder().connectTimeout(key.connectTimeout(), TimeUnit.SECONDS).readTimeout(key.readTimeout(), TimeUnit.SECONDS);
+        if (key.isConnectToOverride()) {
+            builder.socketFactory(new ConnectToSocketFactory(key.overrideHost(), key.overridePort()));
+            if (!key.ignoreSSLError()) {
+                SSLSocketFactory defaultSSL = (SSLSocketFactory) SSLSocketFactory.getDefault();
+                builder.sslSocketFactory(new ConnectToSSLSocketFactory(defaultSSL, key.overrideHost(), key.overridePort()), getDefaultTrustManager());
+            }
+        }
+        if (key.ignoreSSLError()) {
+            initializeTrustAll();
+            builder.sslSocketFactory(trustAllSocketFactory, trustAllManager);
+            builder.hostnameVerifier((hostname, session) -> true);
+        }
+        return builder.build();
+    }
+
+    private void initializeTrustAll() throws NoSuchAlgorithmException, KeyManagementException {
+        if (trustAllSocketFactory != null) {
+            return;
+        }
+        Log.d(HTTPClientRegistry.class.getName(), "initializeTrustAll");
+        X509TrustManager trustManager = new TrustAllX509TrustManager();
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, new TrustManager[]{trustManager}, new SecureRandom());
+        trustAllManager = trustManager;
+        trustAllSocketFactory = sslContext.getSocketFactory();
+    }
+
+    private X509TrustManager getDefaultTrustManager() {
+        try {
+            TrustManagerFactory factory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            factory.init((KeyStore) null);
+            for (TrustManager trustManager : factory.getTrustManagers()) {
+                if (trustManager instanceof X509TrustManager) {
+                    return (X509TrustManager) trustManager;
+                }
+            }
+            throw new IllegalStateException("No default X509TrustManager found.");
+        } catch (Exception exc) {
+            throw new RuntimeException("Failed to get default trust manager", exc);
+        }
+    }
+
+    private static EventListener createEventListener(Call call) {
+        DownloadPhaseListener listener = call.request().tag(DownloadPhaseListener.class);
+        return listener != null ? listener : EventListener.NONE;
+    }
+
+    public record ClientKey(int connectTimeout, int readTimeout, boolean ignoreSSLError, String overrideHost, int overridePort) {
+
+        public boolean isConnectToOverride() {
+            return overrideHost != null;
+        }
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service.network;
+
+import android.system.ErrnoException;
+import android.system.Os;
+import android.system.OsConstants;
+import android.system.StructPollfd;
+
+import net.ibbaa.keepitup.logging.Log;
+
+import java.io.FileDescriptor;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class ICMPEchoEngine {
+
+    private final static int ICMP_ECHO_REQUEST = 8;
+    private final static int ICMP_ECHO_REPLY = 0;
+    private final static int ICMPV6_ECHO_REQUEST = 128;
+    private final static int ICMPV6_ECHO_REPLY = 129;
+    private final static int ICMP_HEADER_SIZE = 8;
+    private final static int MAX_PACKET_SIZE = 65536;
+    private final static int POLL_TIMEOUT = 1000;
+    private final static long IDLE_TIMEOUT = 30000;
+
+    private static ICMPEchoEngine instance;
+
+    private final EchoSocket socket4;
+    private final EchoSocket socket6;
+
+    ICMPEchoEngine() {
+        this.socket4 = new EchoSocket(false);
+        this.socket6 = new EchoSocket(true);
+    }
+
+    public synchronized static ICMPEchoEngine getInstance() {
+        if (instance == null) {
+            instance = new ICMPEchoEngine();
+        }
+        return instance;
+    }
+
+    public boolean isAvailable(boolean ip6) {
+        return getSocket(ip6).isAvailable();
+    }
+
+    public void open(boolean ip6) throws ErrnoException {
+        getSocket(ip6).open();
+    }
+
+    public EchoRequest send(InetAddress address, int payloadSize) throws ErrnoException {
+        Log.d(ICMPEchoEngine.class.getName(), "send, address is " + address + ", payloadSize is " + payloadSize);
+        return getSocket(address instanceof Inet6Address).send(address, payloadSize);
+    }
+
+    public void cancel(EchoRequest request) {
+        getSocket(request.getAddress() instanceof Inet6Address).cancel(request);
+    }
+
+    public int getPendingCount() {
+        return socket4.getPendingCount() + socket6.getPendingCount();
+    }
+
+    public void shutdown() {
+        Log.d(ICMPEchoEngine.class.getName(), "shutdown");
+        socket4.close();
+        socket6.close();
+    }
+
+    private EchoSocket getSocket(boolean ip6) {
+        return ip6 ? socket6 : socket4;
+    }
+
+    public static byte[] createEchoRequest(boolean ip6, int identifier, int sequence, int payloadSize, long timestamp) {
+        byte[] packet = new byte[ICMP_HEADER_SIZE + Math.max(0, payloadSize)];
+        packet[0] = (byte) (ip6 ? ICMPV6_ECHO_REQUEST : ICMP_ECHO_REQUEST);
+        packet[1] = 0;
+        packet[4] = (byte) (identifier >> 8);
+        packet[5] = (byte) identifier;
+        packet[6] = (byte) (sequence >> 8);
+        packet[7] = (byte) sequence;
+        for (int ii = ICMP_HEADER_SIZE; ii < packet.length; ii++) {
+            packet[ii] = (byte) ii;
+        }
+        for (int ii = 0; ii < 8 && ICMP_HEADER_SIZE + ii < packet.length; ii++) {
+            packet[ICMP_HEADER_SIZE + ii] = (byte) (timestamp >> (56 - ii * 8));
+        }
+        if (!ip6) {
+            int checksum = getChecksum(packet, packet.length);
+            packet[2] = (byte) (checksum >> 8);
+            packet[3] = (byte) checksum;
+        }
+        return packet;
+    }
+
+    public static int getChecksum(byte[] data, int length) {
+        long sum = 0;
+        for (int ii = 0; ii + 1 < length; ii += 2) {
+            sum += ((data[ii] & 0xff) << 8) | (data[ii + 1] & 0xff);
+        }
+        if (length % 2 != 0) {
+            sum += (data[length - 1] & 0xff) << 8;
+        }
+        while ((sum >> 16) != 0) {
+            sum = (sum & 0xffff) + (sum >> 16);
+        }
+        return (int) (~sum & 0xffff);
+    }
+
+    public static boolean isEchoReply(boolean ip6, byte[] packet, int length) {
+        if (length < ICMP_HEADER_SIZE) {
+            return false;
+        }
+        int type = packet[0] & 0xff;
+        return ip6 ? type == ICMPV6_ECHO_REPLY : type == ICMP_ECHO_REPLY;
+    }
+
+    public static int getIdentifier(byte[] packet) {
+        return ((packet[4] & 0xff) << 8) | (packet[5] & 0xff);
+    }
+
+    public static int getSequence(byte[] packet) {
+        return ((packet[6] & 0xff) << 8) | (packet[7] & 0xff);
+    }
+
+    public static class EchoRequest {
+
+        private final InetAddress address;
+        private final int identifier;
+        private final int sequence;
+        private final long sendTime;
+        private final CountDownLatch replyLatch;
+        private volatile long replyTime;
+        private volatile int replyBytes;
+
+        private EchoRequest(InetAddress address, int identifier, int sequence, long sendTime) {
+            this.address = address;
+            this.identifier = identifier;
+            this.sequence = sequence;
+            this.sendTime = sendTime;
+            this.replyLatch = new CountDownLatch(1);
+            this.replyTime = -1;
+            this.replyBytes = 0;
+        }
+
+        public InetAddress getAddress() {
+            return address;
+        }
+
+        public int getIdentifier() {
+            return identifier;
+        }
+
+        public int getSequence() {
+            return sequence;
+        }
+
+        public boolean await(long timeout) throws InterruptedException {
+            return replyLatch.await(timeout, TimeUnit.MILLISECONDS);
+        }
+
+        public boolean isReplied() {
+            return replyLatch.getCount() == 0;
+        }
+
+        public int getReplyBytes() {
+            return replyBytes;
+        }
+
+        public double getRoundTripTime() {
+            if (!isReplied()) {
+                return -1;
+            }
+            return (replyTime - sendTime) / 1000000.0;
+        }
+
+        private void reply(long time, int bytes) {
+            replyTime = time;
+            replyBytes = bytes;
+            replyLatch.countDown();
+        }
+    }
+
+    private static class EchoSocket implements Runnable {
+
+        private final boolean ip6;
+        private final Map<Integer, EchoRequest> pending;
+        private FileDescriptor socket;
+        private Thread receiveThread;
+        private int identifier;
+        private int sequence;
+        private boolean available;
+        private long lastActivity;
+
+        private EchoSocket(boolean ip6) {
+            this.ip6 = ip6;
+            this.pending = new ConcurrentHashMap<>();
+            this.socket = null;
+            this.receiveThread = null;
+            this.identifier = 0;
+            this.sequence = 0;
+            this.available = true;
+            this.lastActivity = 0;
+        }
+
+        private synchronized boolean isAvailable() {
+            return available;
+        }
+
+        private synchronized void open() throws ErrnoException {
+            if (socket != null) {
+                return;
+            }
+            Log.d(ICMPEchoEngine.class.getName(), "Opening ICMP datagram socket, ip6 is " + ip6);
+            FileDescriptor newSocket;
+            try {
+                newSocket = ip6 ? Os.socket(OsConstants.AF_INET6, OsConstants.SOCK_DGRAM, OsConstants.IPPROTO_ICMPV6) : Os.socket(OsConstants.AF_INET, OsConstants.SOCK_DGRAM, OsConstants.IPPROTO_ICMP);
+            } catch (ErrnoException exc) {
+                Log.e(ICMPEchoEngine.class.getName(), "ICMP datagram sockets are not available, ip6 is " + ip6, exc);
+                available = false;
+                throw exc;
+            }
+            try {
+                Os.bind(newSocket, ip6 ? InetAddress.getByName("::") : InetAddress.getByName("0.0.0.0"), 0);
+                SocketAddress localAddress = Os.getsockname(newSocket);
+                identifier = localAddress instanceof InetSocketAddress ? ((InetSocketAddress) localAddress).getPort() : 0;
+            } catch (Exception exc) {
+                Log.e(ICMPEchoEngine.class.getName(), "Error binding ICMP datagram socket", exc);
+                closeQuietly(newSocket);
+                if (exc instanceof ErrnoException) {
+                    throw (ErrnoException) exc;
+                }
+                throw new ErrnoException("bind", OsConstants.EINVAL);
+            }
+            Log.d(ICMPEchoEngine.class.getName(), "ICMP identifier is " + identifier);
+            socket = newSocket;
+            lastActivity = System.currentTimeMillis();
+            receiveThread = new Thread(this, "ICMPEchoEngine-" + (ip6 ? "6" : "4"));
+            receiveThread.setDaemon(true);
+            receiveThread.start();
+        }
+
+        private EchoRequest send(InetAddress address, int payloadSize) throws ErrnoException {
+            EchoRequest request;
+            FileDescriptor currentSocket;
+            synchronized (this) {
+                open();
+                currentSocket = socket;
+                int nextSequence = nextSequence();
+                long sendTime = System.nanoTime();
+                request = new EchoRequest(address, identifier, nextSequence, sendTime);
+                pending.put(nextSequence, request);
+                lastActivity = System.currentTimeMillis();
+            }
+            byte[] packet = createEchoRequest(ip6, request.getIdentifier(), request.getSequence(), payloadSize, request.sendTime);
+            try {
+                Os.sendto(currentSocket, packet, 0, packet.length, 0, address, 0);
+            } catch (Exception exc) {
+                pending.remove(request.getSequence(), request);
+                Log.e(ICMPEchoEngine.class.getName(), "Error sending ICMP echo request to " + address, exc);
+                if (exc instanceof ErrnoException) {
+                    throw (ErrnoException) exc;
+                }
+                throw new ErrnoException("sendto", OsConstants.EIO);
+            }
+            return request;
+        }
+
+        private void cancel(EchoRequest request) {
+            pending.remove(request.getSequence(), request);
+        }
+
+        private int getPendingCount() {
+            return pending.size();
+        }
+
+        private int nextSequence() {
+            for (int ii = 0; ii <= 0xffff; ii++) {
+                sequence = (sequence + 1) & 0xffff;
+                if (!pending.containsKey(sequence)) {
+                    return sequence;
+                }
+            }
+            return sequence;
+        }
+
+        @Override
+        public void run() {
+            Log.d(ICMPEchoEngine.class.getName(), "Starting receive loop, ip6 is " + ip6);
+            byte[] buffer = new byte[MAX_PACKET_SIZE];
+            while (true) {
+                FileDescriptor currentSocket;
+                synchronized (this) {
+                    if (receiveThread != Thread.currentThread() || socket == null) {
+                        break;
+                    }
+                    if (pending.isEmpty() && System.currentTimeMillis() - lastActivity > IDLE_TIMEOUT) {
+                        Log.d(ICMPEchoEngine.class.getName(), "Receive loop is idle. Closing socket, ip6 is " + ip6);
+                        closeQuietly(socket);
+                        socket = null;
+                        receiveThread = null;
+                        break;
+                    }
+                    currentSocket = socket;
+                }
+                try {
+                    StructPollfd pollfd = new StructPollfd();
+                    pollfd.fd = currentSocket;
+                    pollfd.events = (short) OsConstants.POLLIN;
+                    int ready = Os.poll(new StructPollfd[]{pollfd}, POLL_TIMEOUT);
+                    if (ready <= 0 || (pollfd.revents & OsConstants.POLLIN) == 0) {
+                        continue;
+                    }
+                    InetSocketAddress source = new InetSocketAddress(0);
+                    int read = Os.recvfrom(currentSocket, buffer, 0, buffer.length, OsConstants.MSG_DONTWAIT, source);
+                    long receiveTime = System.nanoTime();
+                    dispatch(buffer, read, source.getAddress(), receiveTime);
+                } catch (ErrnoException exc) {
+                    if (exc.errno == OsConstants.EAGAIN || exc.errno == OsConstants.EINTR) {
+                        continue;
+                    }
+                    Log.e(ICMPEchoEngine.class.getName(), "Error in receive loop, ip6 is " + ip6, exc);
+                    synchronized (this) {
+                        if (socket == currentSocket) {
+                            closeQuietly(socket);
+                            socket = null;
+                            receiveThread = null;
+                        }
+                    }
+                    break;
+                } catch (Exception exc) {
+                    Log.e(ICMPEchoEngine.class.getName(), "Error in receive loop, ip6 is " + ip6, exc);
+                }
+            }
+            Log.d(ICMPEchoEngine.class.getName(), "Receive loop finished, ip6 is " + ip6);
+        }
+
+        private void dispatch(byte[] packet, int length, InetAddress source, long receiveTime) {
+            if (!isEchoReply(ip6, packet, length)) {
+                return;
+            }
+            int replyIdentifier = getIdentifier(packet);
+            int replySequence = getSequence(packet);
+            EchoRequest request = pending.get(replySequence);
+            if (request == null || request.getIdentifier() != replyIdentifier) {
+                Log.d(ICMPEchoEngine.class.getName(), "No pending request for identifier " + replyIdentifier + " and sequence " + replySequence);
+                return;
+            }
+            if (source != null && !source.equals(request.getAddress())) {
+                Log.d(ICMPEchoEngine.class.getName(), "Reply source " + source + " does not match " + request.getAddress());
+                return;
+            }
+            if (pending.remove(replySequence, request)) {
+                request.reply(receiveTime, length);
+            }
+        }
+
+        private synchronized void close() {
+            if (socket != null) {
+                closeQuietly(socket);
+            }
+            socket = null;
+            receiveThread = null;
+            pending.clear();
+        }
+
+        private void closeQuietly(FileDescriptor fileDescriptor) {
+            try {
+                Os.close(fileDescriptor);
+            } catch (Exception exc) {
+                Log.e(ICMPEchoEngine.class.getName(), "Error closing ICMP datagram socket", exc);
+            }
+        }
+    }
+}
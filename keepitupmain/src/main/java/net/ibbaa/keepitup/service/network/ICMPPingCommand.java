@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.service.network;
+
+import android.content.Context;
+import android.content.res.Resources;
+
+import net.ibbaa.keepitup.R;
+import net.ibbaa.keepitup.logging.Log;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+public class ICMPPingCommand implements Callable<PingCommandResult> {
+
+    private final static int DEFAULT_PACKAGE_SIZE = 56;
+
+    private final Context context;
+    private final String address;
+    private final int pingCount;
+    private final boolean defaultPackageSize;
+    private final int packageSize;
+    private final boolean stopOnSuccess;
+    private final boolean ip6;
+
+    public ICMPPingCommand(Context context, String address, int pingCount, boolean defaultPackageSize, int packageSize, boolean stopOnSuccess, boolean ip6) {
+        this.context = context;
+        this.address = address;
+        this.pingCount = pingCount;
+        this.defaultPackageSize = defaultPackageSize;
+        this.packageSize = packageSize;
+        this.stopOnSuccess = stopOnSuccess;
+        this.ip6 = ip6;
+    }
+
+    @Override
+    public PingCommandResult call() {
+        Log.d(ICMPPingCommand.class.getName(), "call");
+        ICMPEchoEngine engine = getEchoEngine();
+        if (!engine.isAvailable(ip6)) {
+            Log.d(ICMPPingCommand.class.getName(), "ICMP datagram sockets are not available. Falling back to ping process.");
+            return createFallbackCommand().call();
+        }
+        InetAddress inetAddress;
+        try {
+            inetAddress = InetAddress.getByName(address);
+            engine.open(ip6);
+        } catch (Exception exc) {
+            Log.e(ICMPPingCommand.class.getName(), "Error opening ICMP datagram socket. Falling back to ping process.", exc);
+            return createFallbackCommand().call();
+        }
+        return executePing(engine, inetAddress);
+    }
+
+    private PingCommandResult executePing(ICMPEchoEngine engine, InetAddress inetAddress) {
+        int payloadSize = defaultPackageSize ? DEFAULT_PACKAGE_SIZE : packageSize;
+        long timeout = getResources().getInteger(R.integer.ping_timeout) * 1000L;
+        long interval = getResources().getInteger(R.integer.ping_socket_interval);
+        List<ICMPEchoEngine.EchoRequest> requests = new ArrayList<>();
+        long start = System.nanoTime();
+        int received = 0;
+        try {
+            for (int ii = 0; ii < pingCount; ii++) {
+                ICMPEchoEngine.EchoRequest request = engine.send(inetAddress, payloadSize);
+                requests.add(request);
+                if (ii < pingCount - 1) {
+                    request.await(interval);
+                    received = countReplies(requests);
+                    if (stopOnSuccess && received > 0) {
+                        break;
+                    }
+                    waitInterval(start, ii + 1, interval);
+                }
+            }
+            received = awaitReplies(requests, timeout);
+        } catch (InterruptedException exc) {
+            Log.e(ICMPPingCommand.class.getName(), "ICMP ping was interrupted", exc);
+            return new PingCommandResult(-1, requests.size(), null, exc);
+        } catch (Exception exc) {
+            Log.e(ICMPPingCommand.class.getName(), "Error executing ICMP ping", exc);
+            return new PingCommandResult(-1, Math.max(1, requests.size()), null, exc);
+        } finally {
+            for (ICMPEchoEngine.EchoRequest request : requests) {
+                engine.cancel(request);
+            }
+        }
+        long elapsed = (System.nanoTime() - start) / 1000000L;
+        String output = getOutput(inetAddress, payloadSize, requests, received, elapsed);
+        Log.d(ICMPPingCommand.class.getName(), "ICMP ping output: " + output);
+        return new PingCommandResult(received > 0 ? 0 : 1, requests.size(), output, null);
+    }
+
+    private int awaitReplies(List<ICMPEchoEngine.EchoRequest> requests, long timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout * 1000000L;
+        for (ICMPEchoEngine.EchoRequest request : requests) {
+            if (stopOnSuccess && countReplies(requests) > 0) {
+                break;
+            }
+            long remaining = (deadline - System.nanoTime()) / 1000000L;
+            if (remaining <= 0) {
+                break;
+            }
+            request.await(remaining);
+        }
+        return countReplies(requests);
+    }
+
+    private void waitInterval(long start, int sent, long interval) throws InterruptedException {
+        long remaining = (start + sent * interval * 1000000L - System.nanoTime()) / 1000000L;
+        if (remaining > 0) {
+            Thread.sleep(remaining);
+        }
+    }
+
+    private int countReplies(List<ICMPEchoEngine.EchoRequest> requests) {
+        int replies = 0;
+        for (ICMPEchoEngine.EchoRequest request : requests) {
+            if (request.isReplied()) {
+                replies++;
+            }
+        }
+        return replies;
+    }
+
+    private String getOutput(InetAddress inetAddress, int payloadSize, List<ICMPEchoEngine.EchoRequest> requests, int received, long elapsed) {
+        String hostAddress = inetAddress.getHostAddress();
+        StringBuilder output = new StringBuilder();
+        output.append("PING ").append(hostAddress).append(" (").append(hostAddress).append(") ").append(payloadSize).append(" data bytes\n");
+        double min = Double.MAX_VALUE;
+        double max = 0;
+        double sum = 0;
+        double sumSquares = 0;
+        for (ICMPEchoEngine.EchoRequest request : requests) {
+            if (request.isReplied()) {
+                double time = request.getRoundTripTime();
+                min = Math.min(min, time);
+                max = Math.max(max, time);
+                sum += time;
+                sumSquares += time * time;
+                output.append(request.getReplyBytes()).append(" bytes from ").append(hostAddress).append(": icmp_seq=").append(request.getSequence()).append(" time=").append(String.format(Locale.US, "%.3f", time)).append(" ms\n");
+            }
+        }
+        int transmitted = requests.size();
+        int loss = transmitted == 0 ? 0 : (int) ((transmitted - received) * 100L / transmitted);
+        output.append("\n--- ").append(hostAddress).append(" ping statistics ---\n");
+        output.append(transmitted).append(" packets transmitted, ").append(received).append(" received, ").append(loss).append("% packet loss, time ").append(elapsed).append("ms");
+        if (received > 0) {
+            double average = sum / received;
+            double mdev = Math.sqrt(Math.max(0, sumSquares / received - average * average));
+            output.append("\nrtt min/avg/max/mdev = ").append(String.format(Locale.US, "%.3f/%.3f/%.3f/%.3f", min, average, max, mdev)).append(" ms");
+        }
+        return output.toString();
+    }
+
+    protected ICMPEchoEngine getEchoEngine() {
+        return ICMPEchoEngine.getInstance();
+    }
+
+    protected PingCommand createFallbackCommand() {
+        return new PingCommand(getContext(), address, pingCount, defaultPackageSize, packageSize, stopOnSuccess, ip6);
+    }
+
+    private Context getContext() {
+        return context;
+    }
+
+    private Resources getResources() {
+        return getContext().getResources();
+    }
+}
@@ -24,6 +24,9 @@ import net.ibbaa.keepitup.logging.Log;
 import net.ibbaa.keepitup.util.StreamUtil;
 import net.ibbaa.keepitup.util.StringUtil;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.concurrent.Callable;
 
@@ -51,6 +54,9 @@ public class PingCommand implements Callable<PingCommandResult> {
     public PingCommandResult call() {
         Log.d(PingCommand.class.getName(), "call");
         PingCommandResult result = new PingCommandResult(-1, 1, null, null);
+        if (stopOnSuccess && isSingleProcessStopOnSuccess()) {
+            return executeSingleProcessPing();
+        }
         if (stopOnSuccess) {
             for (int ii = 1; ii <= pingCount; ii++) {
                 result = executePing();
@@ -69,10 +75,9 @@ public class PingCommand implements Callable<PingCommandResult> {
     protected PingCommandResult executePing() {
         Process process = null;
         try {
-            Runtime runtime = Runtime.getRuntime();
-            String command = getPingCommand();
+            String command = getPingCommand(stopOnSuccess ? 1 : pingCount);
             Log.d(PingCommand.class.getName(), "Executing ping command: " + command);
-            process = runtime.exec(command);
+            process = startProcess(command);
             String output = StreamUtil.inputStreamToString(process.getInputStream(), StandardCharsets.US_ASCII);
             output = StringUtil.trim(output);
             if (StringUtil.isEmpty(output)) {
@@ -93,14 +98,78 @@ public class PingCommand implements Callable<PingCommandResult> {
         }
     }
 
-    private String getPingCommand() {
+    protected PingCommandResult executeSingleProcessPing() {
+        Process process = null;
+        try {
+            String command = getPingCommand(pingCount);
+            Log.d(PingCommand.class.getName(), "Executing single process ping command: " + command);
+            long start = System.nanoTime();
+            process = startProcess(command);
+            PingOutputParser parser = new PingOutputParser();
+            StringBuilder output = new StringBuilder();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.US_ASCII));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.append(line).append('\n');
+                if (parser.parseLine(line) && parser.isSuccess()) {
+                    int packetsTransmitted = Math.max(1, Math.min(pingCount, getSequence(line)));
+                    long elapsed = (System.nanoTime() - start) / 1000000L;
+                    Log.d(PingCommand.class.getName(), "First reply received after " + packetsTransmitted + " packets. Terminating ping process.");
+                    output.append(getSummary(packetsTransmitted, elapsed));
+                    return new PingCommandResult(0, packetsTransmitted, output.toString(), null);
+                }
+            }
+            String result = StringUtil.trim(output.toString());
+            if (StringUtil.isEmpty(result)) {
+                result = StreamUtil.inputStreamToString(process.getErrorStream(), StandardCharsets.US_ASCII);
+                result = StringUtil.trim(result);
+            }
+            Log.d(PingCommand.class.getName(), "Ping output: " + result);
+            int returnCode = process.waitFor();
+            Log.d(PingCommand.class.getName(), "Ping process return code: " + returnCode);
+            return new PingCommandResult(returnCode, pingCount, result, null);
+        } catch (Exception exc) {
+            Log.e(PingCommand.class.getName(), "Error executing ping command", exc);
+            return new PingCommandResult(-1, 1, null, exc);
+        } finally {
+            if (process != null) {
+                process.destroy();
+            }
+        }
+    }
+
+    protected Process startProcess(String command) throws IOException {
+        return Runtime.getRuntime().exec(command);
+    }
+
+    protected boolean isSingleProcessStopOnSuccess() {
+        return getResources().getBoolean(R.bool.ping_stop_on_success_single_process);
+    }
+
+    private String getSummary(int packetsTransmitted, long elapsed) {
+        int packetLoss = (packetsTransmitted - 1) * 100 / packetsTransmitted;
+        return "\n--- " + address + " ping statistics ---\n" + packetsTransmitted + " packets transmitted, 1 received, " + packetLoss + "% packet loss, time " + elapsed + "ms";
+    }
+
+    private int getSequence(String line) {
+        int index = line.indexOf("seq=");
+        if (index < 0) {
+            return 1;
+        }
+        int sequence = 0;
+        for (int ii = index + 4; ii < line.length() && Character.isDigit(line.charAt(ii)) && sequence < pingCount; ii++) {
+            sequence = sequence * 10 + (line.charAt(ii) - '0');
+        }
+        return sequence;
+    }
+
+    private String getPingCommand(int count) {
         String command = ip6 ? getResources().getString(R.string.ping6_command) : getResources().getString(R.string.ping_command);
         String countOption = getResources().getString(R.string.ping_command_count_option);
         String timeoutOption = getResources().getString(R.string.ping_command_timeout_option);
         String packageSizeOption = getResources().getString(R.string.ping_command_package_size_option);
         int timeout = getResources().getInteger(R.integer.ping_timeout);
-        int effectiveCount = stopOnSuccess ? 1 : pingCount;
-        String commandLine = command + " " + countOption + " " + effectiveCount + " " + timeoutOption + " " + timeout;
+        String commandLine = command + " " + countOption + " " + count + " " + timeoutOption + " " + timeout;
         if (!defaultPackageSize) {
             commandLine += " " + packageSizeOption + " " + packageSize;
         }
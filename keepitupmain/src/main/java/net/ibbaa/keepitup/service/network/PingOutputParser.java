@@ -17,24 +17,27 @@
 package net.ibbaa.keepitup.service.network;
 
 import net.ibbaa.keepitup.logging.Log;
-import net.ibbaa.keepitup.util.NumberUtil;
 import net.ibbaa.keepitup.util.StringUtil;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Arrays;
 
 public class PingOutputParser {
 
-    private final static Pattern PING = Pattern.compile("([0-9]+)(\\s+)(bytes)(.*(time)([=<]))([0-9]+(\\.[0-9]+)?)( ?)(\\S+).*");
-    private final static Pattern SUMMARY = Pattern.compile("(([0-9]+)\\s[\\w|\\s]+),\\s(([0-9]+)\\s[\\w|\\s]+),\\s(([0-9]+(\\.[0-9]+)?)%\\s[\\w|\\s]+),.*(time)\\s(.*)");
+    private final static int INITIAL_CAPACITY = 16;
 
-    private boolean validInput;
+    private boolean validSummary;
+    private boolean error;
     private int packetsTransmitted;
     private int packetsReceived;
     private double packetLoss;
     private int bytesReceived;
     private int validTimes;
-    private double averageTime;
+    private double[] times;
+    private double timeSum;
+    private double timeSquareSum;
+    private double jitterSum;
+    private double minTime;
+    private double maxTime;
 
     public PingOutputParser() {
         setInvalid();
@@ -45,7 +48,11 @@ public class PingOutputParser {
     }
 
     public boolean isValidInput() {
-        return validInput;
+        return validSummary && !error;
+    }
+
+    public boolean isSuccess() {
+        return !error && validTimes > 0;
     }
 
     public int getPacketsTransmitted() {
@@ -69,147 +76,268 @@ public class PingOutputParser {
     }
 
     public double getAverageTime() {
-        return averageTime;
+        return validTimes > 0 ? timeSum / validTimes : 0.0;
+    }
+
+    public double getMinTime() {
+        return validTimes > 0 ? minTime : 0.0;
+    }
+
+    public double getMaxTime() {
+        return validTimes > 0 ? maxTime : 0.0;
+    }
+
+    public double getDeviation() {
+        if (validTimes <= 0) {
+            return 0.0;
+        }
+        double average = getAverageTime();
+        return Math.sqrt(Math.max(0.0, timeSquareSum / validTimes - average * average));
+    }
+
+    public double getJitter() {
+        return validTimes > 1 ? jitterSum / (validTimes - 1) : 0.0;
+    }
+
+    public double getPercentileTime(double percentile) {
+        if (validTimes <= 0) {
+            return 0.0;
+        }
+        double[] sortedTimes = getTimes();
+        Arrays.sort(sortedTimes);
+        int rank = (int) Math.ceil(Math.max(0.0, Math.min(100.0, percentile)) / 100.0 * validTimes);
+        return sortedTimes[Math.max(0, rank - 1)];
+    }
+
+    public double[] getTimes() {
+        return Arrays.copyOf(times, validTimes);
     }
 
     public void parse(String pingOutput) {
         Log.d(PingOutputParser.class.getName(), "parse ping output: " + pingOutput);
+        setInvalid();
         if (StringUtil.isEmpty(pingOutput)) {
             Log.d(PingOutputParser.class.getName(), "Ping output is empty.");
+            return;
+        }
+        int start = 0;
+        int length = pingOutput.length();
+        for (int ii = 0; ii <= length && !error; ii++) {
+            char current = ii < length ? pingOutput.charAt(ii) : '\n';
+            if (current == '\n' || current == '\r') {
+                parseLine(pingOutput, start, ii);
+                if (current == '\r' && ii + 1 < length && pingOutput.charAt(ii + 1) == '\n') {
+                    ii++;
+                }
+                start = ii + 1;
+            }
+        }
+        if (!isValidInput()) {
+            Log.d(PingOutputParser.class.getName(), "Ping output is invalid or does not contain a final summary.");
             setInvalid();
             return;
         }
+        Log.d(PingOutputParser.class.getName(), "Parsing was successful.");
+    }
+
+    public boolean parseLine(CharSequence line) {
+        if (line == null) {
+            return false;
+        }
+        return parseLine(line, 0, line.length());
+    }
+
+    private boolean parseLine(CharSequence line, int start, int end) {
+        if (error) {
+            return false;
+        }
+        while (start < end && Character.isWhitespace(line.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(line.charAt(end - 1))) {
+            end--;
+        }
+        if (start >= end || !isDigit(line.charAt(start))) {
+            return false;
+        }
         try {
-            String[] lines = pingOutput.split("\\r?\\n|\\r");
-            if (lines.length == 0) {
-                Log.d(PingOutputParser.class.getName(), "Ping output cannot be split to multiple lines.");
-                setInvalid();
-                return;
-            }
-            if (!parseTimeValues(lines)) {
-                Log.d(PingOutputParser.class.getName(), "Time values cannot be parsed.");
-                setInvalid();
-                return;
-            }
-            if (!parseFinalSummary(lines)) {
-                Log.d(PingOutputParser.class.getName(), "Final summary cannot be parsed.");
-                setInvalid();
-                return;
+            if (parseTimeValue(line, start, end)) {
+                return true;
             }
-            validInput = true;
-            Log.d(PingOutputParser.class.getName(), "Parsing was successful.");
-        } catch (Exception exc) {
+            parseFinalSummary(line, start, end);
+        } catch (NumberFormatException exc) {
             Log.e(PingOutputParser.class.getName(), "Ping output parsing error", exc);
             setInvalid();
+            error = true;
         }
+        return false;
     }
 
-    private boolean parseTimeValues(String[] lines) {
-        Log.d(PingOutputParser.class.getName(), "parseTimeValues");
-        int timesParsed = 0;
-        double timeSum = 0.0;
-        bytesReceived = 0;
-        for (String line : lines) {
-            line = line.trim();
-            Matcher matcher = PING.matcher(line);
-            if (matcher.matches()) {
-                Log.d(PingOutputParser.class.getName(), "Matching time value line: " + line);
-                if (matcher.groupCount() < 7) {
-                    Log.d(PingOutputParser.class.getName(), "Parsing error. Group count is invalid for a time value line.");
-                    setInvalid();
-                    return false;
+    private boolean parseTimeValue(CharSequence line, int start, int end) {
+        int bytesEnd = skipDigits(line, start, end);
+        if (bytesEnd >= end || !Character.isWhitespace(line.charAt(bytesEnd))) {
+            return false;
+        }
+        int bytesStart = skipWhitespace(line, bytesEnd, end);
+        if (!regionMatches(line, bytesStart, end, "bytes")) {
+            return false;
+        }
+        for (int ii = end - 4; ii >= bytesStart + 5; ii--) {
+            if (regionMatches(line, ii, end, "time") && ii + 4 < end) {
+                char equalSign = line.charAt(ii + 4);
+                if (equalSign != '=' && equalSign != '<') {
+                    continue;
                 }
-                if (bytesReceived <= 0) {
-                    String bytesReceivedValue = matcher.group(1);
-                    String bytesString = matcher.group(3);
-                    Log.d(PingOutputParser.class.getName(), "Parsed bytes received value: " + bytesReceivedValue);
-                    Log.d(PingOutputParser.class.getName(), "Parsed bytes string: " + bytesString);
-                    if (!"bytes".equals(bytesString)) {
-                        Log.d(PingOutputParser.class.getName(), "Parsing error. Parsed bytes string is not \"bytes\"");
-                        setInvalid();
-                        return false;
-                    }
-                    if (!NumberUtil.isValidIntValue(bytesReceivedValue)) {
-                        Log.d(PingOutputParser.class.getName(), "Bytes received value " + bytesReceivedValue + " is not a valid int.");
-                        setInvalid();
-                        return false;
-                    }
-                    bytesReceived = NumberUtil.getIntValue(bytesReceivedValue, 0);
+                int timeStart = ii + 5;
+                int timeEnd = skipDecimal(line, timeStart, end);
+                if (timeEnd == timeStart || !hasUnit(line, timeEnd, end)) {
+                    continue;
                 }
-                String equalSign = matcher.group(6);
-                String time = matcher.group(7);
-                Log.d(PingOutputParser.class.getName(), "Parsed equal sign: " + equalSign);
-                Log.d(PingOutputParser.class.getName(), "Parsed time value: " + time);
-                if ("<".equals(equalSign)) {
-                    timesParsed++;
-                } else if ("=".equals(equalSign)) {
-                    timesParsed++;
-                    if (!NumberUtil.isValidDoubleValue(time)) {
-                        Log.d(PingOutputParser.class.getName(), "Time value " + time + " is not a valid double.");
-                        setInvalid();
-                        return false;
-                    }
-                    timeSum += NumberUtil.getDoubleValue(time, 0.0);
-                } else {
-                    Log.d(PingOutputParser.class.getName(), "Equal sign " + equalSign + " is not valid.");
-                    setInvalid();
-                    return false;
+                if (bytesReceived <= 0) {
+                    bytesReceived = Integer.parseInt(line.subSequence(start, bytesEnd).toString());
                 }
+                addTime(equalSign == '<' ? 0.0 : Double.parseDouble(line.subSequence(timeStart, timeEnd).toString()));
+                return true;
             }
         }
-        validTimes = timesParsed;
-        averageTime = (timesParsed > 0) ? timeSum / timesParsed : 0;
-        return true;
+        return false;
     }
 
-    private boolean parseFinalSummary(String[] lines) {
-        Log.d(PingOutputParser.class.getName(), "parseFinalSummary");
-        for (int ii = lines.length - 1; ii >= 0; ii--) {
-            String line = lines[ii].trim();
-            Matcher matcher = SUMMARY.matcher(line);
-            if (matcher.matches()) {
-                Log.d(PingOutputParser.class.getName(), "Matching final summary line: " + lines[ii]);
-                if (matcher.groupCount() < 6) {
-                    Log.d(PingOutputParser.class.getName(), "Parsing error. Group count is invalid for a final summary line.");
-                    setInvalid();
-                    return false;
-                }
-                String transmitted = matcher.group(2);
-                String received = matcher.group(4);
-                String loss = matcher.group(6);
-                Log.d(PingOutputParser.class.getName(), "Parsed transmitted value: " + transmitted);
-                Log.d(PingOutputParser.class.getName(), "Parsed received value: " + received);
-                Log.d(PingOutputParser.class.getName(), "Parsed loss value: " + loss);
-                if (!NumberUtil.isValidIntValue(transmitted)) {
-                    Log.d(PingOutputParser.class.getName(), "Transmitted value " + transmitted + " is not a valid int.");
-                    setInvalid();
-                    return false;
-                }
-                if (!NumberUtil.isValidIntValue(received)) {
-                    Log.d(PingOutputParser.class.getName(), "Received value " + received + " is not a valid int.");
-                    setInvalid();
-                    return false;
-                }
-                if (!NumberUtil.isValidDoubleValue(loss)) {
-                    Log.d(PingOutputParser.class.getName(), "Loss value " + loss + " is not a valid double.");
-                    setInvalid();
-                    return false;
-                }
-                packetsTransmitted = NumberUtil.getIntValue(transmitted, 0);
-                packetsReceived = NumberUtil.getIntValue(received, 0);
-                packetLoss = NumberUtil.getDoubleValue(loss, 0.0);
+    private void parseFinalSummary(CharSequence line, int start, int end) {
+        int transmittedEnd = skipDigits(line, start, end);
+        int receivedStart = skipSummaryText(line, transmittedEnd, end);
+        if (receivedStart < 0 || !isDigit(line.charAt(receivedStart))) {
+            return;
+        }
+        int receivedEnd = skipDigits(line, receivedStart, end);
+        int lossStart = skipSummaryText(line, receivedEnd, end);
+        if (lossStart < 0 || !isDigit(line.charAt(lossStart))) {
+            return;
+        }
+        int lossEnd = skipDecimal(line, lossStart, end);
+        if (lossEnd >= end || line.charAt(lossEnd) != '%') {
+            return;
+        }
+        int timeStart = skipSummaryText(line, lossEnd + 1, end);
+        if (timeStart < 0 || !containsTime(line, timeStart - 2, end)) {
+            return;
+        }
+        packetsTransmitted = Integer.parseInt(line.subSequence(start, transmittedEnd).toString());
+        packetsReceived = Integer.parseInt(line.subSequence(receivedStart, receivedEnd).toString());
+        packetLoss = Double.parseDouble(line.subSequence(lossStart, lossEnd).toString());
+        validSummary = true;
+    }
+
+    private int skipSummaryText(CharSequence line, int start, int end) {
+        if (start >= end || !Character.isWhitespace(line.charAt(start))) {
+            return -1;
+        }
+        int index = start + 1;
+        int textStart = index;
+        while (index < end && line.charAt(index) != ',') {
+            char current = line.charAt(index);
+            if (!Character.isLetterOrDigit(current) && current != '_' && current != '|' && !Character.isWhitespace(current)) {
+                return -1;
+            }
+            index++;
+        }
+        if (index == textStart || index + 1 >= end || !Character.isWhitespace(line.charAt(index + 1))) {
+            return -1;
+        }
+        return index + 2 < end ? index + 2 : -1;
+    }
+
+    private boolean containsTime(CharSequence line, int start, int end) {
+        for (int ii = start; ii + 4 < end; ii++) {
+            if (regionMatches(line, ii, end, "time") && Character.isWhitespace(line.charAt(ii + 4))) {
                 return true;
             }
         }
         return false;
     }
 
+    private void addTime(double time) {
+        if (validTimes == times.length) {
+            times = Arrays.copyOf(times, times.length * 2);
+        }
+        if (validTimes > 0) {
+            jitterSum += Math.abs(time - times[validTimes - 1]);
+            minTime = Math.min(minTime, time);
+            maxTime = Math.max(maxTime, time);
+        } else {
+            minTime = time;
+            maxTime = time;
+        }
+        times[validTimes] = time;
+        validTimes++;
+        timeSum += time;
+        timeSquareSum += time * time;
+    }
+
+    private boolean hasUnit(CharSequence line, int index, int end) {
+        if (index >= end) {
+            return false;
+        }
+        char current = line.charAt(index);
+        if (current == ' ') {
+            return index + 1 < end && !Character.isWhitespace(line.charAt(index + 1));
+        }
+        return !Character.isWhitespace(current);
+    }
+
+    private int skipDecimal(CharSequence line, int start, int end) {
+        int index = skipDigits(line, start, end);
+        if (index > start && index + 1 < end && line.charAt(index) == '.' && isDigit(line.charAt(index + 1))) {
+            index = skipDigits(line, index + 1, end);
+        }
+        return index;
+    }
+
+    private int skipDigits(CharSequence line, int start, int end) {
+        int index = start;
+        while (index < end && isDigit(line.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private int skipWhitespace(CharSequence line, int start, int end) {
+        int index = start;
+        while (index < end && Character.isWhitespace(line.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private boolean regionMatches(CharSequence line, int start, int end, String value) {
+        if (start < 0 || start + value.length() > end) {
+            return false;
+        }
+        for (int ii = 0; ii < value.length(); ii++) {
+            if (line.charAt(start + ii) != value.charAt(ii)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isDigit(char value) {
+        return value >= '0' && value <= '9';
+    }
+
     private void setInvalid() {
-        validInput = false;
+        validSummary = false;
+        error = false;
         packetsTransmitted = -1;
         packetsReceived = -1;
         packetLoss = 0.0;
+        bytesReceived = 0;
         validTimes = 0;
-        averageTime = 0.0;
+        times = new double[INITIAL_CAPACITY];
+        timeSum = 0.0;
+        timeSquareSum = 0.0;
+        jitterSum = 0.0;
+        minTime = 0.0;
+        maxTime = 0.0;
     }
 }
@@ -83,6 +83,8 @@ public class GlobalSettingsActivity extends SettingsInputActivity implements Sus
     private TextView suspensionEnabledOnOffText;
     private SwitchMaterial enforcePingPackageSizeEnabledSwitch;
     private TextView enforcePingPackageSizeEnabledOnOffText;
+    private SwitchMaterial pingSocketEngineEnabledSwitch;
+    private TextView pingSocketEngineEnabledOnOffText;
     private SwitchMaterial downloadExternalStorageSwitch;
     private TextView downloadExternalStorageOnOffText;
     private TextView downloadFolderText;
@@ -114,6 +116,7 @@ public class GlobalSettingsActivity extends SettingsInputActivity implements Sus
         prepareSuspensionEnabledSwitch();
         prepareSuspensionIntervalsField();
         prepareEnforcePingPackageSizeEnabledSwitch();
+        preparePingSocketEngineEnabledSwitch();
         prepareDownloadFolderLauncher();
         prepareDownloadExternalStorageSwitch();
         prepareDownloadFolderField();
@@ -389,6 +392,28 @@ public class GlobalSettingsActivity extends SettingsInputActivity implements Sus
         prepareEnforcePingPackageSizeEnabledOnOffText();
     }
 
+    private void preparePingSocketEngineEnabledSwitch() {
+        Log.d(GlobalSettingsActivity.class.getName(), "preparePingSocketEngineEnabledSwitch");
+        PreferenceManager preferenceManager = new PreferenceManager(this);
+        pingSocketEngineEnabledSwitch = findViewById(R.id.switch_activity_global_settings_ping_socket_engine_enabled);
+        pingSocketEngineEnabledOnOffText = findViewById(R.id.textview_activity_global_settings_ping_socket_engine_enabled_on_off);
+        pingSocketEngineEnabledSwitch.setOnCheckedChangeListener(null);
+        pingSocketEngineEnabledSwitch.setChecked(preferenceManager.getPreferencePingSocketEngine());
+        pingSocketEngineEnabledSwitch.setOnCheckedChangeListener(this::onPingSocketEngineEnabledCheckedChanged);
+        preparePingSocketEngineEnabledOnOffText();
+    }
+
+    private void preparePingSocketEngineEnabledOnOffText() {
+        pingSocketEngineEnabledOnOffText.setText(pingSocketEngineEnabledSwitch.isChecked() ? getResources().getString(R.string.string_yes) : getResources().getString(R.string.string_no));
+    }
+
+    private void onPingSocketEngineEnabledCheckedChanged(CompoundButton buttonView, boolean isChecked) {
+        Log.d(GlobalSettingsActivity.class.getName(), "onPingSocketEngineEnabledCheckedChanged, new value is " + isChecked);
+        PreferenceManager preferenceManager = new PreferenceManager(this);
+        preferenceManager.setPreferencePingSocketEngine(isChecked);
+        preparePingSocketEngineEnabledOnOffText();
+    }
+
     private void prepareDownloadExternalStorageOnOffText() {
         downloadExternalStorageOnOffText.setText(downloadExternalStorageSwitch.isChecked() ? getResources().getString(R.string.string_yes) : getResources().getString(R.string.string_no));
     }
@@ -20,6 +20,7 @@ import android.content.res.Resources;
 
 import net.ibbaa.keepitup.R;
 import net.ibbaa.keepitup.db.AccessTypeDataDAO;
+import net.ibbaa.keepitup.db.DownloadValidatorDAO;
 import net.ibbaa.keepitup.db.HeaderDAO;
 import net.ibbaa.keepitup.db.LogDAO;
 import net.ibbaa.keepitup.db.NetworkTaskDAO;
@@ -145,8 +146,10 @@ public class NetworkTaskHandler {
                 Log.d(NetworkTaskHandler.class.getName(), "Network task is running. Cancelling.");
                 task = scheduler.cancel(task);
             }
+            int schedulerId = task.getSchedulerId();
             NetworkTaskDAO networkTaskDAO = new NetworkTaskDAO(mainActivity);
             task = networkTaskDAO.updateNetworkTask(task);
+            NetworkTaskProcessServiceScheduler.getNetworkTaskCancellationRegistry().invalidate(schedulerId);
             if (task.getSchedulerId() == SchedulerIdGenerator.ERROR_SCHEDULER_ID) {
                 Log.e(NetworkTaskHandler.class.getName(), "Error updating task. Showing error dialog.");
                 mainActivity.showMessageDialog(getResources().getString(R.string.text_dialog_general_message_update_network_task));
@@ -195,6 +198,7 @@ public class NetworkTaskHandler {
             AccessTypeDataDAO accessTypeDataDAO = new AccessTypeDataDAO(mainActivity);
             ResolveDAO resolveDAO = new ResolveDAO(mainActivity);
             HeaderDAO headerDAO = new HeaderDAO(mainActivity);
+            DownloadValidatorDAO downloadValidatorDAO = new DownloadValidatorDAO(mainActivity);
             LogDAO logDAO = new LogDAO(mainActivity);
             if (task.isRunning()) {
                 Log.d(NetworkTaskHandler.class.getName(), "Network task is running. Stopping.");
@@ -203,8 +207,11 @@ public class NetworkTaskHandler {
             logDAO.deleteAllLogsForNetworkTask(task.getId());
             headerDAO.deleteHeadersForNetworkTask(task.getId());
             resolveDAO.deleteResolveForNetworkTask(task.getId());
+            downloadValidatorDAO.deleteDownloadValidatorForNetworkTask(task.getId());
             accessTypeDataDAO.deleteAccessTypeDataForNetworkTask(task.getId());
             networkTaskDAO.deleteNetworkTask(task);
+            NetworkTaskProcessServiceScheduler.getNetworkTaskCancellationRegistry().invalidate(task.getSchedulerId());
+            NetworkTaskProcessServiceScheduler.getNetworkTaskExecutionStatistics(mainActivity).remove(task.getId());
             getAdapter().removeItem(new NetworkTaskUIWrapper(task, null, null, null, null));
         } catch (Exception exc) {
             Log.e(NetworkTaskHandler.class.getName(), "Error deleting network task.", exc);
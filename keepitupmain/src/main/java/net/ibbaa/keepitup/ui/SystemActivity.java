@@ -44,6 +44,7 @@ import com.google.android.material.switchmaterial.SwitchMaterial;
 
 import net.ibbaa.keepitup.BuildConfig;
 import net.ibbaa.keepitup.R;
+import net.ibbaa.keepitup.db.NetworkTaskSnapshotCache;
 import net.ibbaa.keepitup.logging.Dump;
 import net.ibbaa.keepitup.logging.Log;
 import net.ibbaa.keepitup.logging.NetworkTaskLog;
@@ -57,9 +58,11 @@ import net.ibbaa.keepitup.service.IDocumentManager;
 import net.ibbaa.keepitup.service.IFileManager;
 import net.ibbaa.keepitup.service.IPowerManager;
 import net.ibbaa.keepitup.service.IThemeManager;
+import net.ibbaa.keepitup.service.NetworkTaskExecutionStatistics;
 import net.ibbaa.keepitup.service.NetworkTaskProcessServiceScheduler;
 import net.ibbaa.keepitup.service.SystemDocumentManager;
 import net.ibbaa.keepitup.service.SystemThemeManager;
+import net.ibbaa.keepitup.service.network.DNSCache;
 import net.ibbaa.keepitup.ui.dialog.BatteryOptimizationDialog;
 import net.ibbaa.keepitup.ui.dialog.ConfirmDialog;
 import net.ibbaa.keepitup.ui.dialog.CredentialInfoDialog;
@@ -77,6 +80,8 @@ import net.ibbaa.keepitup.ui.support.ExportEncryptSupport;
 import net.ibbaa.keepitup.ui.support.MessageSupport;
 import net.ibbaa.keepitup.ui.support.PasswordInputSupport;
 import net.ibbaa.keepitup.ui.sync.DBPurgeTask;
+import net.ibbaa.keepitup.ui.sync.ExecutionStatisticsExportResult;
+import net.ibbaa.keepitup.ui.sync.ExecutionStatisticsExportTask;
 import net.ibbaa.keepitup.ui.sync.ExportTask;
 import net.ibbaa.keepitup.ui.sync.HeaderSyncHandler;
 import net.ibbaa.keepitup.ui.sync.ImportTask;
@@ -120,6 +125,8 @@ public class SystemActivity extends SettingsInputActivity implements MessageSupp
     private SwitchMaterial fileDumpEnabledSwitch;
     private TextView fileDumpEnabledOnOffText;
     private TextView logFolderText;
+    private TextView cacheStatisticsText;
+    private TextView executionStatisticsText;
     private TextView batteryOptimizationText;
     private TextView notificationsEnabledText;
     private RadioGroup theme;
@@ -195,6 +202,8 @@ public class SystemActivity extends SettingsInputActivity implements MessageSupp
         prepareFileLoggerEnabledSwitch();
         prepareFileDumpEnabledSwitch();
         prepareLogFolderField();
+        prepareCacheStatisticsField();
+        prepareExecutionStatisticsField();
     }
 
     private void initViewModel() {
@@ -202,12 +211,15 @@ public class SystemActivity extends SettingsInputActivity implements MessageSupp
         taskViewModel.getExportDispatcher().observe(this, result -> onExportDone(result.success(), result.message()));
         taskViewModel.getImportDispatcher().observe(this, result -> onImportDone(result.success(), result.message()));
         taskViewModel.getPurgeDispatcher().observe(this, this::onPurgeDone);
+        taskViewModel.getExecutionStatisticsExportDispatcher().observe(this, this::onExecutionStatisticsExportDone);
     }
 
     @Override
     protected void onResume() {
         super.onResume();
         prepareNotificationsEnabledField();
+        prepareCacheStatisticsField();
+        prepareExecutionStatisticsField();
     }
 
     @Override
@@ -712,6 +724,107 @@ public class SystemActivity extends SettingsInputActivity implements MessageSupp
         }
     }
 
+    private void prepareCacheStatisticsField() {
+        Log.d(SystemActivity.class.getName(), "prepareCacheStatisticsField");
+        CardView cacheStatisticsCardView = findViewById(R.id.cardview_activity_system_cache_statistics);
+        cacheStatisticsText = findViewById(R.id.textview_activity_system_cache_statistics);
+        if (BuildConfig.DEBUG) {
+            Log.d(SystemActivity.class.getName(), "Debug version. Enabling debug settings.");
+            cacheStatisticsCardView.setVisibility(View.VISIBLE);
+            NetworkTaskSnapshotCache cache = NetworkTaskSnapshotCache.getInstance();
+            cacheStatisticsText.setText(getResources().getString(R.string.text_activity_system_cache_statistics, cache.getHitCount(), cache.getMissCount(), cache.size()));
+        } else {
+            Log.d(SystemActivity.class.getName(), "Release version. Disabling debug settings.");
+            cacheStatisticsCardView.setVisibility(View.GONE);
+            cacheStatisticsText.setText("");
+        }
+    }
+
+    private void prepareExecutionStatisticsField() {
+        Log.d(SystemActivity.class.getName(), "prepareExecutionStatisticsField");
+        CardView executionStatisticsCardView = findViewById(R.id.cardview_activity_system_execution_statistics);
+        executionStatisticsText = findViewById(R.id.textview_activity_system_execution_statistics);
+        if (BuildConfig.DEBUG) {
+            Log.d(SystemActivity.class.getName(), "Debug version. Enabling debug settings.");
+            executionStatisticsCardView.setVisibility(View.VISIBLE);
+            executionStatisticsText.setText(getExecutionStatisticsText());
+            executionStatisticsCardView.setOnClickListener(this::onExecutionStatisticsClicked);
+        } else {
+            Log.d(SystemActivity.class.getName(), "Release version. Disabling debug settings.");
+            executionStatisticsCardView.setVisibility(View.GONE);
+            executionStatisticsText.setText("");
+        }
+    }
+
+    private String getExecutionStatisticsText() {
+        NetworkTaskExecutionStatistics executionStatistics = NetworkTaskProcessServiceScheduler.getNetworkTaskExecutionStatistics(this);
+        List<NetworkTaskExecutionStatistics.TaskStatistics> statisticsList = executionStatistics.getStatistics();
+        if (statisticsList.isEmpty()) {
+            return getResources().getString(R.string.text_activity_system_execution_statistics_none);
+        }
+        StringBuilder builder = new StringBuilder();
+        DNSCache.Statistics dnsCacheStatistics = NetworkTaskProcessServiceScheduler.getNetworkTaskDNSCache(this).getStatistics();
+        if (dnsCacheStatistics.lookups() > 0) {
+            builder.append(getResources().getString(R.string.text_activity_system_dns_cache_statistics,
+                    dnsCacheStatistics.lookups(),
+                    Math.round(dnsCacheStatistics.hitRate() * 100),
+                    dnsCacheStatistics.staleHits(),
+                    dnsCacheStatistics.negativeHits(),
+                    dnsCacheStatistics.coalesced(),
+                    NetworkTaskExecutionStatistics.toMillis(dnsCacheStatistics.resolveAverage())));
+        }
+        for (NetworkTaskExecutionStatistics.TaskStatistics statistics : statisticsList) {
+            if (builder.length() > 0) {
+                builder.append("\n");
+            }
+            String name = StringUtil.isEmpty(statistics.name()) ? String.valueOf(statistics.networkTaskId()) : statistics.name();
+            builder.append(getResources().getString(R.string.text_activity_system_execution_statistics,
+                    name,
+                    statistics.total(),
+                    NetworkTaskExecutionStatistics.toMillis(statistics.wallAverage()),
+                    NetworkTaskExecutionStatistics.toMillis(statistics.cpuAverage()),
+                    NetworkTaskExecutionStatistics.toMillis(statistics.wakeLockTotal()),
+                    NetworkTaskExecutionStatistics.toMillis(statistics.getPhaseAverage(NetworkTaskExecutionStatistics.Phase.COMMAND)),
+                    NetworkTaskExecutionStatistics.toMillis(statistics.getPhaseAverage(NetworkTaskExecutionStatistics.Phase.DNS))));
+        }
+        return builder.toString();
+    }
+
+    private void onExecutionStatisticsClicked(View view) {
+        Log.d(SystemActivity.class.getName(), "onExecutionStatisticsClicked");
+        String logFolder = getExternalLogFolder();
+        if (logFolder == null) {
+            Log.e(SystemActivity.class.getName(), "Error accessing log folder.");
+            showMessageDialog(getResources().getString(R.string.text_dialog_general_message_external_root_access));
+            return;
+        }
+        NetworkTaskExecutionStatistics executionStatistics = NetworkTaskProcessServiceScheduler.getNetworkTaskExecutionStatistics(this);
+        String baseName = getResources().getString(R.string.debug_execution_statistics_file_base_name);
+        showProgressDialog();
+        ExecutionStatisticsExportTask exportTask = new ExecutionStatisticsExportTask(taskViewModel.getExecutionStatisticsExportDispatcher(), getFileManager(), new File(logFolder), baseName, executionStatistics);
+        Future<ExecutionStatisticsExportResult> exportFuture = ThreadUtil.execute(exportTask);
+        boolean synchronousExecution = getResources().getBoolean(R.bool.uisync_synchronous_execution);
+        if (synchronousExecution) {
+            try {
+                int timeout = getResources().getInteger(R.integer.export_timeout);
+                exportFuture.get(timeout, TimeUnit.MILLISECONDS);
+            } catch (Exception exc) {
+                Log.e(SystemActivity.class.getName(), "Error waiting for execution statistics export", exc);
+                closeProgressDialog();
+            }
+        }
+    }
+
+    public void onExecutionStatisticsExportDone(ExecutionStatisticsExportResult result) {
+        Log.d(SystemActivity.class.getName(), "onExecutionStatisticsExportDone, success is " + result.success());
+        closeProgressDialog();
+        if (result.success()) {
+            showMessageDialog(getResources().getString(R.string.text_activity_system_execution_statistics_export, result.csvFile(), result.jsonFile()));
+        } else {
+            showMessageDialog(getResources().getString(R.string.text_activity_system_execution_statistics_export_error));
+        }
+    }
+
     private void prepareConfigurationExportFileLauncher() {
         Log.d(SystemActivity.class.getName(), "prepareConfigurationExportFileLauncher");
         boolean bypassSystemSAF = BundleUtil.booleanFromBundle(getBypassSystemSAFKey(), getIntent().getExtras());
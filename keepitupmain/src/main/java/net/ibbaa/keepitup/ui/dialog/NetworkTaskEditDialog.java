@@ -42,6 +42,7 @@ import net.ibbaa.keepitup.model.AccessType;
 import net.ibbaa.keepitup.model.AccessTypeData;
 import net.ibbaa.keepitup.model.Header;
 import net.ibbaa.keepitup.model.NetworkTask;
+import net.ibbaa.keepitup.model.ProbeMode;
 import net.ibbaa.keepitup.model.Resolve;
 import net.ibbaa.keepitup.resources.PreferenceManager;
 import net.ibbaa.keepitup.ui.ContextOptionsSupportManager;
@@ -92,6 +93,8 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
     private TextColorValidatingWatcher connectCountEditTextWatcher;
     private EditText pingPackageSizeEditText;
     private TextColorValidatingWatcher pingPackageSizeEditTextWatcher;
+    private EditText expectedDigestEditText;
+    private TextColorValidatingWatcher expectedDigestEditTextWatcher;
     private EditText connectToHostEditText;
     private TextColorValidatingWatcher connectToHostEditTextWatcher;
     private EditText connectToPortEditText;
@@ -101,6 +104,7 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
     private TextView headersText;
     private SwitchMaterial ignoreSSLErrorSwitch;
     private TextView ignoreSSLErrorOnOffText;
+    private RadioGroup probeModeGroup;
     private SwitchMaterial stopOnSuccessSwitch;
     private TextView stopOnSuccessOnOffText;
     private SwitchMaterial onlyWifiSwitch;
@@ -163,6 +167,7 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
         prepareHeadersField();
         prepareHeadersFieldVisibility();
         prepareIgnoreSSLErrorSwitch();
+        prepareProbeModeRadioButtons(savedInstanceState);
         prepareStopOnSuccessSwitch();
         prepareAccessTypeDataFields();
         prepareAccessTypeDataFieldsVisibility();
@@ -184,6 +189,10 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
             AccessType accessType = (AccessType) selectedAccessTypeRadioButton.getTag();
             outState.putInt(getAccessTypeBundleKey(), accessType.getCode());
         }
+        ProbeMode probeMode = getProbeMode();
+        if (probeMode != null) {
+            outState.putInt(getProbeModeBundleKey(), probeMode.getCode());
+        }
         if (currentHeaders != null) {
             BundleUtil.headerListToBundle(getCurrentHeadersKey(), currentHeaders, outState);
         }
@@ -222,6 +231,10 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
         return NetworkTaskEditDialog.class.getName() + ".AccessType";
     }
 
+    private String getProbeModeBundleKey() {
+        return NetworkTaskEditDialog.class.getName() + ".ProbeMode";
+    }
+
     private AccessType getAccessType() {
         int selectedId = accessTypeGroup.getCheckedRadioButtonId();
         RadioButton selectedAccessTypeRadioButton = accessTypeGroup.findViewById(selectedId);
@@ -232,6 +245,16 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
         return accessType;
     }
 
+    private ProbeMode getProbeMode() {
+        int selectedId = probeModeGroup.getCheckedRadioButtonId();
+        RadioButton selectedProbeModeRadioButton = probeModeGroup.findViewById(selectedId);
+        ProbeMode probeMode = null;
+        if (selectedProbeModeRadioButton != null) {
+            probeMode = (ProbeMode) selectedProbeModeRadioButton.getTag();
+        }
+        return probeMode;
+    }
+
     private String getAddress() {
         return StringUtil.notNull(addressEditText.getText()).trim();
     }
@@ -256,6 +279,10 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
         return StringUtil.notNull(pingPackageSizeEditText.getText());
     }
 
+    private String getExpectedDigest() {
+        return StringUtil.notNull(expectedDigestEditText.getText()).trim();
+    }
+
     private String getConnectToHost() {
         return StringUtil.notNull(connectToHostEditText.getText()).trim();
     }
@@ -280,6 +307,10 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
         return pingPackageSizeEditText.getVisibility() == View.VISIBLE;
     }
 
+    private boolean isExpectedDigestVisible() {
+        return expectedDigestEditText.getVisibility() == View.VISIBLE;
+    }
+
     private boolean isConnectToHostVisible() {
         return connectToHostEditText.getVisibility() == View.VISIBLE;
     }
@@ -300,6 +331,10 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
         return ignoreSSLErrorSwitch.getVisibility() == View.VISIBLE;
     }
 
+    private boolean isProbeModeVisible() {
+        return probeModeGroup.getVisibility() == View.VISIBLE;
+    }
+
     private boolean isStopOnSuccessVisible() {
         return stopOnSuccessSwitch.getVisibility() == View.VISIBLE;
     }
@@ -536,6 +571,10 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
         preparePingPackageSizeEditTextListener();
         pingPackageSizeEditText.setOnLongClickListener(this::onEditTextLongClicked);
         pingPackageSizeEditText.setText(String.valueOf(accessTypeData.getPingPackageSize()));
+        expectedDigestEditText = dialogView.findViewById(R.id.edittext_dialog_network_task_edit_expected_digest);
+        prepareExpectedDigestEditTextListener();
+        expectedDigestEditText.setOnLongClickListener(this::onEditTextLongClicked);
+        expectedDigestEditText.setText(StringUtil.notNull(accessTypeData.getExpectedDigest()));
     }
 
     private void prepareAccessTypeDataFieldsVisibility() {
@@ -556,6 +595,7 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
         LinearLayout useDefaultHeadersLinearLayout = dialogView.findViewById(R.id.linearlayout_dialog_network_task_edit_use_default_headers);
         LinearLayout headersLinearLayout = dialogView.findViewById(R.id.linearlayout_dialog_network_task_edit_headers);
         LinearLayout ignoreSSLErrorLinearLayout = dialogView.findViewById(R.id.linearlayout_dialog_network_task_edit_ignore_ssl_error);
+        LinearLayout expectedDigestLinearLayout = dialogView.findViewById(R.id.linearlayout_dialog_network_task_edit_expected_digest);
         TextView pingCountTextView = dialogView.findViewById(R.id.textview_dialog_network_task_edit_ping_count_label);
         TextView connectCountTextView = dialogView.findViewById(R.id.textview_dialog_network_task_edit_connect_count_label);
         TextView pingPackageSizeTextView = dialogView.findViewById(R.id.textview_dialog_network_task_edit_ping_package_size_label);
@@ -563,6 +603,8 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
         TextView useDefaultHeadersTextView = dialogView.findViewById(R.id.textview_dialog_network_task_edit_use_default_headers_label);
         TextView headersTextView = dialogView.findViewById(R.id.textview_dialog_network_task_edit_headers_label);
         TextView ignoreSSLErrorTextView = dialogView.findViewById(R.id.textview_dialog_network_task_edit_ignore_ssl_error_label);
+        TextView probeModeTextView = dialogView.findViewById(R.id.textview_dialog_network_task_edit_probe_mode_label);
+        TextView expectedDigestTextView = dialogView.findViewById(R.id.textview_dialog_network_task_edit_expected_digest_label);
         if (accessType.isPing()) {
             PreferenceManager preferenceManager = new PreferenceManager(requireContext());
             pingCountTextView.setVisibility(View.VISIBLE);
@@ -608,6 +650,11 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
             ignoreSSLErrorTextView.setVisibility(View.VISIBLE);
             ignoreSSLErrorSwitch.setVisibility(View.VISIBLE);
             ignoreSSLErrorLinearLayout.setVisibility(View.VISIBLE);
+            probeModeTextView.setVisibility(View.VISIBLE);
+            probeModeGroup.setVisibility(View.VISIBLE);
+            expectedDigestTextView.setVisibility(View.VISIBLE);
+            expectedDigestEditText.setVisibility(View.VISIBLE);
+            expectedDigestLinearLayout.setVisibility(View.VISIBLE);
             stopOnSuccessTextView.setVisibility(View.GONE);
             stopOnSuccessSwitch.setVisibility(View.GONE);
             stopOnSuccessLinearLayout.setVisibility(View.GONE);
@@ -620,6 +667,11 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
             ignoreSSLErrorTextView.setVisibility(View.GONE);
             ignoreSSLErrorSwitch.setVisibility(View.GONE);
             ignoreSSLErrorLinearLayout.setVisibility(View.GONE);
+            probeModeTextView.setVisibility(View.GONE);
+            probeModeGroup.setVisibility(View.GONE);
+            expectedDigestTextView.setVisibility(View.GONE);
+            expectedDigestEditText.setVisibility(View.GONE);
+            expectedDigestLinearLayout.setVisibility(View.GONE);
         }
     }
 
@@ -653,6 +705,16 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
         pingPackageSizeEditText.addTextChangedListener(pingPackageSizeEditTextWatcher);
     }
 
+    private void prepareExpectedDigestEditTextListener() {
+        Log.d(NetworkTaskEditDialog.class.getName(), "prepareExpectedDigestEditTextListener");
+        if (expectedDigestEditTextWatcher != null) {
+            expectedDigestEditText.removeTextChangedListener(expectedDigestEditTextWatcher);
+            expectedDigestEditTextWatcher = null;
+        }
+        expectedDigestEditTextWatcher = new TextColorValidatingWatcher(expectedDigestEditText, this::validateExpectedDigest, getColor(R.color.textColor), getColor(R.color.textErrorColor));
+        expectedDigestEditText.addTextChangedListener(expectedDigestEditTextWatcher);
+    }
+
     private void prepareConnectToHostEditTextListener() {
         Log.d(NetworkTaskEditDialog.class.getName(), "prepareConnectToHostEditTextListener");
         if (connectToHostEditTextWatcher != null) {
@@ -710,6 +772,33 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
         prepareIgnoreSSLErrorOnOffText();
     }
 
+    private void prepareProbeModeRadioButtons(Bundle savedInstanceState) {
+        Log.d(NetworkTaskEditDialog.class.getName(), "prepareProbeModeRadioButtons with probe mode of " + accessTypeData.getProbeMode());
+        probeModeGroup = dialogView.findViewById(R.id.radiogroup_dialog_network_task_edit_probe_mode);
+        EnumMapping mapping = new EnumMapping(requireContext());
+        ProbeMode[] probeModes = ProbeMode.values();
+        ProbeMode selectedProbeMode = accessTypeData.getProbeMode() != null ? accessTypeData.getProbeMode() : ProbeMode.FULL;
+        if (savedInstanceState != null) {
+            int selectedCode = savedInstanceState.getInt(getProbeModeBundleKey(), -1);
+            if (selectedCode >= 0 && ProbeMode.forCode(selectedCode) != null) {
+                selectedProbeMode = ProbeMode.forCode(selectedCode);
+            }
+            savedInstanceState.remove(getProbeModeBundleKey());
+        }
+        for (int ii = 0; ii < probeModes.length; ii++) {
+            ProbeMode probeMode = probeModes[ii];
+            RadioButton newRadioButton = new RadioButton(requireContext());
+            newRadioButton.setText(mapping.getProbeModeText(probeMode));
+            newRadioButton.setTextColor(getColor(R.color.textColor));
+            newRadioButton.setButtonTintList(ColorStateList.valueOf(ResourcesCompat.getColor(getResources(), R.color.textColor, null)));
+            newRadioButton.setId(View.generateViewId());
+            newRadioButton.setChecked(probeMode.equals(selectedProbeMode));
+            newRadioButton.setTag(probeMode);
+            LinearLayout.LayoutParams layoutParams = new RadioGroup.LayoutParams(RadioGroup.LayoutParams.WRAP_CONTENT, RadioGroup.LayoutParams.WRAP_CONTENT);
+            probeModeGroup.addView(newRadioButton, ii, layoutParams);
+        }
+    }
+
     private void prepareStopOnSuccessSwitch() {
         Log.d(NetworkTaskEditDialog.class.getName(), "prepareStopOnSuccessSwitch with stop on success setting of " + accessTypeData.isStopOnSuccess());
         stopOnSuccessSwitch = dialogView.findViewById(R.id.switch_dialog_network_task_edit_stop_on_success);
@@ -879,6 +968,16 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
         if (isIgnoreSSLErrorVisible()) {
             accessTypeData.setIgnoreSSLError(ignoreSSLErrorSwitch.isChecked());
         }
+        if (isProbeModeVisible()) {
+            ProbeMode probeMode = getProbeMode();
+            if (probeMode != null) {
+                accessTypeData.setProbeMode(probeMode);
+            }
+        }
+        if (isExpectedDigestVisible()) {
+            String expectedDigest = getExpectedDigest();
+            accessTypeData.setExpectedDigest(StringUtil.isEmpty(expectedDigest) ? null : expectedDigest);
+        }
         if (isStopOnSuccessVisible()) {
             accessTypeData.setStopOnSuccess(stopOnSuccessSwitch.isChecked());
         }
@@ -984,6 +1083,9 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
         if (isPingPackageSizeVisible()) {
             setValidationResultColor(pingPackageSizeEditText, accessTypeDataValidator.validatePingPackageSize(getPingPackageSize()).isValidationSuccessful());
         }
+        if (isExpectedDigestVisible()) {
+            setValidationResultColor(expectedDigestEditText, accessTypeDataValidator.validateExpectedDigest(getExpectedDigest()).isValidationSuccessful());
+        }
     }
 
     private void setValidationResultColor(EditText editText, boolean success) {
@@ -1057,6 +1159,15 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
         } else {
             Log.d(NetworkTaskEditDialog.class.getName(), "ping package size count validation skipped");
         }
+        if (isExpectedDigestVisible()) {
+            ValidationResult result = accessTypeDataValidator.validateExpectedDigest(getExpectedDigest());
+            Log.d(NetworkTaskEditDialog.class.getName(), "expected digest validation result: " + result);
+            if (!result.isValidationSuccessful()) {
+                validationResultList.add(result);
+            }
+        } else {
+            Log.d(NetworkTaskEditDialog.class.getName(), "expected digest validation skipped");
+        }
     }
 
     private void validateFinalResolve(List<ValidationResult> validationResultList) {
@@ -1130,6 +1241,14 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
         return result.isValidationSuccessful();
     }
 
+    private boolean validateExpectedDigest(EditText editText) {
+        Log.d(NetworkTaskEditDialog.class.getName(), "validateExpectedDigest");
+        AccessTypeDataValidator validator = getAccessTypeDataValidator();
+        ValidationResult result = validator.validateExpectedDigest(getExpectedDigest());
+        Log.d(NetworkTaskEditDialog.class.getName(), "expected digest validation result: " + result);
+        return result.isValidationSuccessful();
+    }
+
     private boolean validateConnectToHost(EditText editText) {
         Log.d(NetworkTaskEditDialog.class.getName(), "validateConnectToHost");
         ResolveValidator validator = getResolveValidator();
@@ -1231,6 +1350,9 @@ public class NetworkTaskEditDialog extends DialogFragmentBase implements Context
         } else if (connectCountEditText.getId() == sourceResourceId) {
             Log.d(NetworkTaskEditDialog.class.getName(), "Source field is the connect count field");
             editText = connectCountEditText;
+        } else if (expectedDigestEditText.getId() == sourceResourceId) {
+            Log.d(NetworkTaskEditDialog.class.getName(), "Source field is the expected digest field");
+            editText = expectedDigestEditText;
         } else if (connectToHostEditText.getId() == sourceResourceId) {
             Log.d(NetworkTaskEditDialog.class.getName(), "Source field is the connect to host field");
             editText = connectToHostEditText;
@@ -22,6 +22,7 @@ import android.content.res.Resources;
 import net.ibbaa.keepitup.R;
 import net.ibbaa.keepitup.logging.Log;
 import net.ibbaa.keepitup.model.AccessType;
+import net.ibbaa.keepitup.model.ProbeMode;
 import net.ibbaa.keepitup.ui.dialog.ContextOption;
 import net.ibbaa.keepitup.ui.validation.AccessTypeDataValidator;
 import net.ibbaa.keepitup.ui.validation.NetworkTaskValidator;
@@ -128,6 +129,14 @@ public class EnumMapping {
         return new NullResolveValidator(getContext());
     }
 
+    public String getProbeModeText(ProbeMode probeMode) {
+        Log.d(EnumMapping.class.getName(), "getProbeModeText for probe mode " + probeMode);
+        if (probeMode == null) {
+            return getProbeModeText(ProbeMode.FULL);
+        }
+        return getResources().getString(getResources().getIdentifier(probeMode.getClass().getSimpleName() + "_" + probeMode.name(), "string", context.getPackageName()));
+    }
+
     public String getContextOptionName(ContextOption contextOption) {
         Log.d(EnumMapping.class.getName(), "getContextOptionName for context option " + contextOption);
         return getResources().getString(getResources().getIdentifier(contextOption.getClass().getSimpleName() + "_" + contextOption.name() + "_name", "string", context.getPackageName()));
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.ui.sync;
+
+import net.ibbaa.keepitup.logging.Log;
+import net.ibbaa.keepitup.service.IFileManager;
+import net.ibbaa.keepitup.service.NetworkTaskExecutionStatistics;
+import net.ibbaa.keepitup.util.StreamUtil;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+
+public class ExecutionStatisticsExportTask extends UIDispatchBackgroundTask<ExecutionStatisticsExportResult> {
+
+    private final IFileManager fileManager;
+    private final File exportFolder;
+    private final String baseName;
+    private final NetworkTaskExecutionStatistics executionStatistics;
+
+    public ExecutionStatisticsExportTask(UITaskResultDispatcher<ExecutionStatisticsExportResult> dispatcher, IFileManager fileManager, File exportFolder, String baseName, NetworkTaskExecutionStatistics executionStatistics) {
+        super(dispatcher);
+        this.fileManager = fileManager;
+        this.exportFolder = exportFolder;
+        this.baseName = baseName;
+        this.executionStatistics = executionStatistics;
+    }
+
+    @Override
+    protected ExecutionStatisticsExportResult runInBackground() {
+        Log.d(ExecutionStatisticsExportTask.class.getName(), "runInBackground");
+        try {
+            File csvFile = writeFile(baseName + ".csv", executionStatistics.toCSV());
+            File jsonFile = writeFile(baseName + ".json", executionStatistics.toJSON().toString(2));
+            return new ExecutionStatisticsExportResult(true, csvFile.getAbsolutePath(), jsonFile.getAbsolutePath());
+        } catch (Exception exc) {
+            Log.e(ExecutionStatisticsExportTask.class.getName(), "Error exporting execution statistics", exc);
+        }
+        return new ExecutionStatisticsExportResult(false, "", "");
+    }
+
+    private File writeFile(String fileName, String data) throws Exception {
+        Log.d(ExecutionStatisticsExportTask.class.getName(), "writeFile, exportFolder is " + exportFolder + ", fileName is " + fileName);
+        File file = new File(exportFolder, fileManager.getValidFileName(exportFolder, fileName));
+        try (FileOutputStream stream = new FileOutputStream(file)) {
+            StreamUtil.stringToOutputStream(data, stream, StandardCharsets.UTF_8);
+        }
+        return file;
+    }
+}
@@ -25,6 +25,7 @@ public class UITaskViewModel extends ViewModel {
     private final UITaskResultDispatcher<SystemSetupResult> exportDispatcher;
     private final UITaskResultDispatcher<SystemSetupResult> importDispatcher;
     private final UITaskResultDispatcher<Boolean> purgeDispatcher;
+    private final UITaskResultDispatcher<ExecutionStatisticsExportResult> executionStatisticsExportDispatcher;
 
     private boolean importRunning = false;
     private boolean purgeRunning = false;
@@ -33,6 +34,7 @@ public class UITaskViewModel extends ViewModel {
         exportDispatcher = new UITaskResultDispatcher<>();
         importDispatcher = new UITaskResultDispatcher<>();
         purgeDispatcher = new UITaskResultDispatcher<>();
+        executionStatisticsExportDispatcher = new UITaskResultDispatcher<>();
     }
 
     public UITaskResultDispatcher<SystemSetupResult> getExportDispatcher() {
@@ -47,6 +49,10 @@ public class UITaskViewModel extends ViewModel {
         return purgeDispatcher;
     }
 
+    public UITaskResultDispatcher<ExecutionStatisticsExportResult> getExecutionStatisticsExportDispatcher() {
+        return executionStatisticsExportDispatcher;
+    }
+
     public boolean isImportRunning() {
         return importRunning;
     }
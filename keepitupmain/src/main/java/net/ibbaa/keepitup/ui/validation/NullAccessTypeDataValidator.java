@@ -54,6 +54,14 @@ public class NullAccessTypeDataValidator implements AccessTypeDataValidator {
         return new ValidationResult(false, fieldName, failedMessage);
     }
 
+    @Override
+    public ValidationResult validateExpectedDigest(String expectedDigest) {
+        Log.d(NullAccessTypeDataValidator.class.getName(), "validateExpectedDigest, expectedDigest is " + expectedDigest);
+        String fieldName = getResources().getString(R.string.accesstypedata_expected_digest_field_name);
+        String failedMessage = getResources().getString(R.string.invalid_no_value);
+        return new ValidationResult(false, fieldName, failedMessage);
+    }
+
     private Context getContext() {
         return context;
     }
@@ -57,6 +57,15 @@ public class StandardAccessTypeDataValidator implements AccessTypeDataValidator
         return result;
     }
 
+    @Override
+    public ValidationResult validateExpectedDigest(String expectedDigest) {
+        Log.d(StandardAccessTypeDataValidator.class.getName(), "validateExpectedDigest, expectedDigest is " + expectedDigest);
+        String fieldName = getResources().getString(R.string.accesstypedata_expected_digest_field_name);
+        ValidationResult result = new ExpectedDigestFieldValidator(fieldName, getContext()).validate(expectedDigest);
+        Log.d(StandardAccessTypeDataValidator.class.getName(), ExpectedDigestFieldValidator.class.getSimpleName() + " returned " + result);
+        return result;
+    }
+
     protected Context getContext() {
         return context;
     }
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026 Alwin Ibba
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.ibbaa.keepitup.util;
+
+import java.util.zip.Checksum;
+
+public class CRC32CChecksum implements Checksum {
+
+    private static final int POLYNOMIAL = 0x82F63B78;
+    private static final int[] TABLE = createTable();
+
+    private int crc;
+
+    public CRC32CChecksum() {
+        reset();
+    }
+
+    private static int[] createTable() {
+        int[] table = new int[256];
+        for (int ii = 0; ii < table.length; ii++) {
+            int value = ii;
+            for (int jj = 0; jj < 8; jj++) {
+                value = (value & 1) != 0 ? (value >>> 1) ^ POLYNOMIAL : value >>> 1;
+            }
+            table[ii] = value;
+        }
+        return table;
+    }
+
+    @Override
+    public void update(int value) {
+        crc = (crc >>> 8) ^ TABLE[(crc ^ value) & 0xff];
+    }
+
+    @Override
+    public void update(byte[] buffer, int offset, int length) {
+        int current = crc;
+        int end = offset + length;
+        for (int ii = offset; ii < end; ii++) {
+            current = (current >>> 8) ^ TABLE[(current ^ buffer[ii]) & 0xff];
+        }
+        crc = current;
+    }
+
+    @Override
+    public long getValue() {
+        return (~crc) & 0xffffffffL;
+    }
+
+    @Override
+    public void reset() {
+        crc = 0xffffffff;
+    }
+}
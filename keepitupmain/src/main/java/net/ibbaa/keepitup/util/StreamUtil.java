@@ -20,11 +20,13 @@ import net.ibbaa.keepitup.logging.Log;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.StringReader;
 import java.nio.charset.Charset;
+import java.util.zip.Checksum;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
@@ -86,18 +88,26 @@ public class StreamUtil {
     }
 
     public static boolean inputStreamToOutputStream(InputStream inputStream, OutputStream outputStream, Interrupt interrupt) throws Exception {
-        Log.d(StreamUtil.class.getName(), "inputStreamToOutputStream");
+        return inputStreamToOutputStream(inputStream, outputStream, BUFFER_SIZE_4096, BUFFER_SIZE_4096, interrupt);
+    }
+
+    public static boolean inputStreamToOutputStream(InputStream inputStream, OutputStream outputStream, int initialBufferSize, int maxBufferSize, Interrupt interrupt) throws Exception {
+        Log.d(StreamUtil.class.getName(), "inputStreamToOutputStream, initialBufferSize is " + initialBufferSize + ", maxBufferSize is " + maxBufferSize);
         int read = 0;
         if (interrupt == null) {
             interrupt = () -> true;
         }
-        byte[] buffer = new byte[BUFFER_SIZE_4096];
-        int partsProgress = 0;
-        int bytesDownloaded = 0;
+        byte[] buffer = new byte[Math.max(1, initialBufferSize)];
+        int bufferLimit = Math.max(buffer.length, maxBufferSize);
+        long partsProgress = 0;
+        long bytesDownloaded = 0;
         Log.d(StreamUtil.class.getName(), "Starting...");
-        while (interrupt.shouldContinue() && (read = inputStream.read(buffer, 0, BUFFER_SIZE_4096)) >= 0) {
+        while (interrupt.shouldContinue() && (read = fillBuffer(inputStream, buffer, interrupt)) >= 0) {
             outputStream.write(buffer, 0, read);
             bytesDownloaded += read;
+            if (read == buffer.length && buffer.length < bufferLimit) {
+                buffer = new byte[Math.min(buffer.length * 2, bufferLimit)];
+            }
             if (bytesDownloaded / PART_SIZE > partsProgress) {
                 partsProgress++;
                 Log.d(StreamUtil.class.getName(), "Progress: " + bytesDownloaded + " bytes.");
@@ -116,6 +126,51 @@ public class StreamUtil {
         return success;
     }
 
+    private static int fillBuffer(InputStream inputStream, byte[] buffer, Interrupt interrupt) throws IOException {
+        int filled = 0;
+        while (filled < buffer.length) {
+            if (filled > 0 && !interrupt.shouldContinue()) {
+                return filled;
+            }
+            int read = inputStream.read(buffer, filled, buffer.length - filled);
+            if (read < 0) {
+                return filled > 0 ? filled : -1;
+            }
+            filled += read;
+        }
+        return filled;
+    }
+
+    public static long discardInputStream(InputStream inputStream, long maxBytes, Interrupt interrupt) throws Exception {
+        return discardInputStream(inputStream, maxBytes, null, interrupt);
+    }
+
+    public static long discardInputStream(InputStream inputStream, long maxBytes, Checksum checksum, Interrupt interrupt) throws Exception {
+        return discardInputStream(inputStream, maxBytes, BUFFER_SIZE_4096, checksum, interrupt);
+    }
+
+    public static long discardInputStream(InputStream inputStream, long maxBytes, int bufferSize, Checksum checksum, Interrupt interrupt) throws Exception {
+        Log.d(StreamUtil.class.getName(), "discardInputStream, maxBytes is " + maxBytes + ", bufferSize is " + bufferSize + ", checksum is " + checksum);
+        if (interrupt == null) {
+            interrupt = () -> true;
+        }
+        byte[] buffer = new byte[Math.max(1, bufferSize)];
+        long bytesRead = 0;
+        while (interrupt.shouldContinue() && (maxBytes < 0 || bytesRead < maxBytes)) {
+            int length = maxBytes < 0 ? buffer.length : (int) Math.min(buffer.length, maxBytes - bytesRead);
+            int read = inputStream.read(buffer, 0, length);
+            if (read < 0) {
+                break;
+            }
+            if (checksum != null) {
+                checksum.update(buffer, 0, read);
+            }
+            bytesRead += read;
+        }
+        Log.d(StreamUtil.class.getName(), "Bytes discarded: " + bytesRead);
+        return bytesRead;
+    }
+
     @FunctionalInterface
     public interface Interrupt {
         boolean shouldContinue();
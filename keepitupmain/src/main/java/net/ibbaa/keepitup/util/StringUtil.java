@@ -79,6 +79,21 @@ public class StringUtil {
         return numberFormat.format(timeRange) + " " + unit;
     }
 
+    public static String formatThroughput(long bytes, long duration, Context context) {
+        double throughput = (double) Math.max(0, bytes) * 1000 / Math.max(1, duration);
+        String unit = context.getResources().getString(R.string.string_bytes_per_sec);
+        if (throughput >= 1024 * 1024) {
+            throughput /= 1024 * 1024;
+            unit = context.getResources().getString(R.string.string_mbytes_per_sec);
+        } else if (throughput >= 1024) {
+            throughput /= 1024;
+            unit = context.getResources().getString(R.string.string_kbytes_per_sec);
+        }
+        NumberFormat numberFormat = NumberFormat.getNumberInstance();
+        numberFormat.setMaximumFractionDigits(2);
+        return numberFormat.format(throughput) + " " + unit;
+    }
+
     public static boolean isTextSelected(String text, int selectionStart, int selectionEnd) {
         if (selectionStart < 0 || selectionEnd < 0 || selectionStart > selectionEnd) {
             return false;